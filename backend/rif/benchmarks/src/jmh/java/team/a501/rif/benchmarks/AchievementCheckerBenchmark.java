@@ -0,0 +1,97 @@
+package team.a501.rif.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import team.a501.rif.domain.achievement.AchievementCompleteChecker;
+import team.a501.rif.domain.achievement.AchievementTag;
+import team.a501.rif.dto.riflog.RifLogInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 업적 판정: RifLog 이력 전체를 훑어 세는 비용과 누적 카운터로 바로 판정하는 비용
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class AchievementCheckerBenchmark {
+
+    private static final AchievementTag[] TAGS = AchievementTag.values();
+
+    @Param({"10", "100", "1000", "10000"})
+    public int historyLength;
+
+    private List<RifLogInfo> history;
+
+    private int rifUseCount;
+    private int plasticSuccessCount;
+    private int recycleSuccessCount;
+    private int perfectSuccessCount;
+
+    @Setup
+    public void setUp() {
+
+        SplittableRandom random = new SplittableRandom(501);
+
+        history = new ArrayList<>(historyLength);
+
+        for (int i = 0; i < historyLength; ++i) {
+
+            int plasticTotal = random.nextInt(3);
+            int recycleTotal = random.nextInt(3);
+
+            history.add(RifLogInfo.builder()
+                    .plasticTotal(plasticTotal)
+                    .plasticOk(random.nextInt(plasticTotal + 1))
+                    .recycleTotal(recycleTotal)
+                    .recycleOk(random.nextInt(recycleTotal + 1))
+                    .build());
+        }
+
+        LegacyKernels.Checker legacy = LegacyKernels.Checker.of(history);
+        AchievementCompleteChecker checker = AchievementCompleteChecker.of(history);
+
+        rifUseCount = legacy.rifUseCount;
+        plasticSuccessCount = legacy.plasticSuccessCount;
+        recycleSuccessCount = legacy.recycleSuccessCount;
+        perfectSuccessCount = legacy.perfectSuccessCount;
+
+        for (AchievementTag tag : TAGS) {
+
+            boolean expected = legacy.isCompleted(tag);
+
+            if (checker.isCompleted(tag) != expected
+                    || AchievementCompleteChecker.isCompleted(tag, rifUseCount, plasticSuccessCount,
+                    recycleSuccessCount, perfectSuccessCount) != expected)
+                throw new IllegalStateException("checker mismatch for " + tag);
+        }
+    }
+
+    @Benchmark
+    public void legacyBoxedScan(Blackhole bh) {
+
+        LegacyKernels.Checker checker = LegacyKernels.Checker.of(history);
+
+        for (AchievementTag tag : TAGS)
+            bh.consume(checker.isCompleted(tag));
+    }
+
+    @Benchmark
+    public void primitiveScan(Blackhole bh) {
+
+        AchievementCompleteChecker checker = AchievementCompleteChecker.of(history);
+
+        for (AchievementTag tag : TAGS)
+            bh.consume(checker.isCompleted(tag));
+    }
+
+    // 저장 시점에 갱신한 누적값만으로 판정 (이력 길이와 무관)
+    @Benchmark
+    public void counter(Blackhole bh) {
+
+        for (AchievementTag tag : TAGS)
+            bh.consume(AchievementCompleteChecker.isCompleted(tag, rifUseCount, plasticSuccessCount,
+                    recycleSuccessCount, perfectSuccessCount));
+    }
+}
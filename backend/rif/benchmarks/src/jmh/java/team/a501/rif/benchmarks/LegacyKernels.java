@@ -0,0 +1,132 @@
+package team.a501.rif.benchmarks;
+
+import team.a501.rif.domain.achievement.AchievementTag;
+import team.a501.rif.dto.riflog.RifLogInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 박싱 연산을 쓰던 이전 구현. 새 구현과 결과가 같은지, 얼마나 빨라졌는지 비교하는 기준이다
+final class LegacyKernels {
+
+    private static final Integer SCORE_MULTIPLIER = 50;
+
+    private LegacyKernels() {
+    }
+
+    static Integer getScoreOf(Integer plasticTotal, Integer plasticOk, Integer recycleTotal, Integer recycleOk) {
+
+        Integer numerator = plasticOk + recycleOk;
+        Integer denominator = plasticTotal + recycleTotal;
+
+        if (denominator <= 0)
+            return -1;
+
+        Double successRatio = numerator.doubleValue() / denominator;
+
+        Double okCountFactor = Math.log(Math.max(1, (plasticOk + recycleOk) * 2));
+
+        Long result = Math.round(SCORE_MULTIPLIER * successRatio * okCountFactor);
+
+        return result.intValue();
+    }
+
+    // RifLogCounter와 같은 방식으로 Integer 필드를 하나씩 올린 뒤 판정한다
+    static final class Checker {
+
+        Integer rifUseCount = 0;
+        Integer plasticSuccessCount = 0;
+        Integer recycleSuccessCount = 0;
+        Integer perfectSuccessCount = 0;
+
+        static Checker of(List<RifLogInfo> rifLogInfoList) {
+
+            Checker checker = new Checker();
+
+            for (var e : rifLogInfoList) {
+
+                checker.rifUseCount++;
+
+                Boolean isPlasticSuccess = e.getPlasticTotal() > 0 && e.getPlasticTotal().equals(e.getPlasticOk());
+                Boolean isRecycleSuccess = e.getRecycleTotal() > 0 && e.getRecycleTotal().equals(e.getRecycleOk());
+
+                if (isPlasticSuccess) checker.plasticSuccessCount++;
+
+                if (isRecycleSuccess) checker.recycleSuccessCount++;
+
+                if (isPlasticSuccess && isRecycleSuccess) checker.perfectSuccessCount++;
+            }
+
+            return checker;
+        }
+
+        Boolean isCompleted(AchievementTag achievementTag) {
+
+            switch (achievementTag) {
+
+                case RIF_FIRST_USE:
+                    if (rifUseCount > 0) return true;
+
+                case PLASTIC_SUCCESS_FIRST:
+                    if (plasticSuccessCount > 0) return true;
+
+                case RECYCLE_SUCCESS_FIRST:
+                    if (recycleSuccessCount > 0) return true;
+
+                case RIF_PERFECT_FIRST:
+                    if (perfectSuccessCount > 0) return true;
+
+                case PLASTIC_SUCCESS_TEN_TIMES:
+                    if (plasticSuccessCount >= 10) return true;
+
+                case RECYCLE_SUCCESS_TEN_TIMES:
+                    if (recycleSuccessCount >= 10) return true;
+
+                case PLASTIC_SUCCESS_FIVE_TIMES:
+                    if (plasticSuccessCount >= 5) return true;
+
+                case RECYCLE_SUCCESS_FIVE_TIMES:
+                    if (recycleSuccessCount >= 5) return true;
+
+                case RIF_PERFECT_FIVE_TIMES:
+                    if (perfectSuccessCount >= 5) return true;
+            }
+
+            return false;
+        }
+    }
+
+    // 랭킹 API가 매 요청마다 하던 전체 정렬 후 순위 찾기
+    static final class MemberExp {
+
+        final String id;
+        final Integer exp;
+
+        MemberExp(String id, Integer exp) {
+            this.id = id;
+            this.exp = exp;
+        }
+    }
+
+    static int sortAndFindRank(List<MemberExp> members, String memberId, int topN, List<MemberExp> top) {
+
+        List<MemberExp> ordered = new ArrayList<>(members);
+        ordered.sort((m1, m2) -> m1.exp.equals(m2.exp) ? m1.id.compareTo(m2.id) : m2.exp.compareTo(m1.exp));
+
+        int myRank = -1;
+        int rank = 1;
+
+        for (var e : ordered) {
+
+            if (rank <= topN)
+                top.add(e);
+
+            if (e.id.equals(memberId))
+                myRank = rank;
+
+            rank++;
+        }
+
+        return myRank;
+    }
+}
@@ -0,0 +1,126 @@
+package team.a501.rif.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import team.a501.rif.RifApplication;
+import team.a501.rif.domain.member.Member;
+import team.a501.rif.dto.member.MemberIdentity;
+import team.a501.rif.dto.member.MemberResponse;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.service.member.MemberService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// 멤버 조회 GET: 엔티티를 읽어 DTO로 옮기던 방식과 DTO 프로젝션의 요청당 할당량 비교
+// 옛 방식은 읽기/쓰기 트랜잭션 안에서 Member를 영속성 컨텍스트에 올리고(스냅샷 포함) 변환했다
+// gc.alloc.rate.norm(요청 1회당 바이트)을 본다. H2 메모리 DB라 DB 왕복 비용은 둘 다 같다
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MemberReadBenchmark {
+
+    private static final int MEMBER_COUNT = 1000;
+    private static final int TOP_N = 10;
+
+    private ConfigurableApplicationContext context;
+
+    private MemberRepository memberRepository;
+    private MemberService memberService;
+    private TransactionTemplate readWrite;
+
+    private String memberId;
+    private String uid;
+    private List<String> topIds;
+
+    @Setup
+    public void setUp() {
+
+        context = new SpringApplicationBuilder(RifApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("loadtest")
+                .properties("spring-doc.version=benchmark")
+                .run();
+
+        memberRepository = context.getBean(MemberRepository.class);
+        memberService = context.getBean(MemberService.class);
+        readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<Member> members = new ArrayList<>(MEMBER_COUNT);
+
+        for (int i = 0; i < MEMBER_COUNT; ++i) {
+
+            String id = String.format("9%06d", i);
+
+            members.add(Member.builder()
+                    .id(id)
+                    .password(id)
+                    .uid("BENCH:" + id)
+                    .name("bench" + i)
+                    .point(i)
+                    .exp(i)
+                    .profileImgPath("/profile/default.png")
+                    .build());
+        }
+
+        memberRepository.saveAll(members);
+
+        memberId = members.get(MEMBER_COUNT / 2).getId();
+        uid = members.get(MEMBER_COUNT / 2).getUid();
+        topIds = members.subList(0, TOP_N).stream().map(Member::getId).collect(Collectors.toList());
+
+        if (!memberService.findById(memberId).getName().equals(legacyFindById().getName()))
+            throw new IllegalStateException("member mismatch");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void findByIdLegacy(Blackhole bh) {
+        bh.consume(legacyFindById());
+    }
+
+    @Benchmark
+    public void findByIdProjection(Blackhole bh) {
+        bh.consume(memberService.findById(memberId));
+    }
+
+    @Benchmark
+    public void rankingMembersLegacy(Blackhole bh) {
+        bh.consume(readWrite.execute(status -> memberRepository.findAllById(topIds)
+                .stream()
+                .map(MemberResponse::from)
+                .collect(Collectors.toList())));
+    }
+
+    @Benchmark
+    public void rankingMembersProjection(Blackhole bh) {
+        bh.consume(memberRepository.findResponsesByIdIn(topIds));
+    }
+
+    @Benchmark
+    public void identityByUidLegacy(Blackhole bh) {
+        bh.consume(readWrite.execute(status -> memberRepository.findByUid(uid)
+                .map(MemberIdentity::from)
+                .orElseThrow()));
+    }
+
+    @Benchmark
+    public void identityByUidProjection(Blackhole bh) {
+        bh.consume(memberRepository.findIdentityByUid(uid).orElseThrow());
+    }
+
+    private MemberResponse legacyFindById() {
+        return readWrite.execute(status -> MemberResponse.from(memberRepository.findById(memberId).orElseThrow()));
+    }
+}
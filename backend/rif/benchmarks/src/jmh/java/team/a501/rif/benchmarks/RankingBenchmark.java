@@ -0,0 +1,80 @@
+package team.a501.rif.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import team.a501.rif.service.leaderboard.LeaderboardEntry;
+import team.a501.rif.service.leaderboard.RankTree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 랭킹 조회: 매번 전체를 정렬하던 방식과 RankTree의 상위 10명 + 내 순위 조회
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RankingBenchmark {
+
+    private static final int TOP_N = 10;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int memberCount;
+
+    private List<LegacyKernels.MemberExp> members;
+    private RankTree rankTree;
+
+    private String myId;
+    private int myExp;
+
+    @Setup
+    public void setUp() {
+
+        SplittableRandom random = new SplittableRandom(501);
+
+        members = new ArrayList<>(memberCount);
+        rankTree = new RankTree();
+
+        for (int i = 0; i < memberCount; ++i) {
+
+            String id = String.format("%07d", i);
+            // 동점자가 충분히 생기도록 범위를 좁힌다
+            int exp = random.nextInt(Math.max(10, memberCount / 4));
+
+            members.add(new LegacyKernels.MemberExp(id, exp));
+            rankTree.insert(id, exp);
+        }
+
+        LegacyKernels.MemberExp me = members.get(random.nextInt(memberCount));
+        myId = me.id;
+        myExp = me.exp;
+
+        List<LegacyKernels.MemberExp> legacyTop = new ArrayList<>();
+        int legacyRank = LegacyKernels.sortAndFindRank(members, myId, TOP_N, legacyTop);
+        List<LeaderboardEntry> treeTop = rankTree.top(TOP_N);
+
+        if (legacyRank != rankTree.rank(myId, myExp) || legacyTop.size() != treeTop.size())
+            throw new IllegalStateException("rank mismatch");
+
+        for (int i = 0; i < treeTop.size(); ++i) {
+            if (!legacyTop.get(i).id.equals(treeTop.get(i).getMemberId()))
+                throw new IllegalStateException("top " + TOP_N + " mismatch at " + i);
+        }
+    }
+
+    @Benchmark
+    public void legacyFullSort(Blackhole bh) {
+
+        List<LegacyKernels.MemberExp> top = new ArrayList<>(TOP_N);
+
+        bh.consume(LegacyKernels.sortAndFindRank(members, myId, TOP_N, top));
+        bh.consume(top);
+    }
+
+    @Benchmark
+    public void rankTree(Blackhole bh) {
+
+        bh.consume(rankTree.top(TOP_N));
+        bh.consume(rankTree.rank(myId, myExp));
+    }
+}
@@ -0,0 +1,76 @@
+package team.a501.rif.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import team.a501.rif.domain.riflog.RifScore;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 점수 계산: 박싱 연산 + 매번 Math.log 하던 이전 구현과 RifScore.scoreOf 비교
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RifScoreBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    // 한 번에 넣는 최대 개수. 8은 log 표 안, 1000은 표 밖
+    @Param({"8", "1000"})
+    public int maxCount;
+
+    private int[] plasticTotal;
+    private int[] plasticOk;
+    private int[] recycleTotal;
+    private int[] recycleOk;
+
+    @Setup
+    public void setUp() {
+
+        SplittableRandom random = new SplittableRandom(501);
+
+        plasticTotal = new int[INPUTS];
+        plasticOk = new int[INPUTS];
+        recycleTotal = new int[INPUTS];
+        recycleOk = new int[INPUTS];
+
+        for (int i = 0; i < INPUTS; ++i) {
+            plasticTotal[i] = random.nextInt(maxCount + 1);
+            plasticOk[i] = random.nextInt(plasticTotal[i] + 1);
+            recycleTotal[i] = random.nextInt(maxCount + 1);
+            recycleOk[i] = random.nextInt(recycleTotal[i] + 1);
+        }
+
+        for (int i = 0; i < INPUTS; ++i) {
+
+            int legacy = LegacyKernels.getScoreOf(plasticTotal[i], plasticOk[i], recycleTotal[i], recycleOk[i]);
+            int primitive = RifScore.scoreOf(plasticTotal[i], plasticOk[i], recycleTotal[i], recycleOk[i]);
+
+            if (legacy != primitive)
+                throw new IllegalStateException("score mismatch at " + i + ": " + legacy + " != " + primitive);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public long legacyBoxed() {
+
+        long sum = 0;
+
+        for (int i = 0; i < INPUTS; ++i)
+            sum += LegacyKernels.getScoreOf(plasticTotal[i], plasticOk[i], recycleTotal[i], recycleOk[i]);
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public long primitive() {
+
+        long sum = 0;
+
+        for (int i = 0; i < INPUTS; ++i)
+            sum += RifScore.scoreOf(plasticTotal[i], plasticOk[i], recycleTotal[i], recycleOk[i]);
+
+        return sum;
+    }
+}
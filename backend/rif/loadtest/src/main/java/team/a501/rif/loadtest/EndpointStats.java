@@ -0,0 +1,105 @@
+package team.a501.rif.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+
+// 엔드포인트 하나의 지연 시간 분포와 응답 코드별 횟수
+// 지연 시간은 예정된 도착 시각부터 재므로, 서버가 밀려 늦게 보낸 요청의 대기 시간도 포함된다
+class EndpointStats {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final String name;
+
+    private final Recorder recorder = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+
+    private final AtomicLong success = new AtomicLong();
+    private final AtomicLong clientError = new AtomicLong();
+    private final AtomicLong serverError = new AtomicLong();
+    private final AtomicLong failure = new AtomicLong();
+
+    private volatile boolean measuring;
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    // 워밍업이 끝나면 그때까지의 기록을 버리고 측정을 시작한다
+    synchronized void startMeasuring() {
+        recorder.reset();
+        total.reset();
+        success.set(0);
+        clientError.set(0);
+        serverError.set(0);
+        failure.set(0);
+        measuring = true;
+    }
+
+    void record(int status, long latencyNanos) {
+
+        if (!measuring)
+            return;
+
+        recorder.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+
+        if (status < 400) success.incrementAndGet();
+        else if (status < 500) clientError.incrementAndGet();
+        else serverError.incrementAndGet();
+    }
+
+    // 타임아웃, 연결 실패
+    void recordFailure(long latencyNanos) {
+
+        if (!measuring)
+            return;
+
+        recorder.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        failure.incrementAndGet();
+    }
+
+    synchronized Map<String, Object> report(double measuredSeconds) {
+
+        total.add(recorder.getIntervalHistogram());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+
+        report.put("endpoint", name);
+        report.put("count", total.getTotalCount());
+        report.put("throughputPerSecond", total.getTotalCount() / measuredSeconds);
+        report.put("success", success.get());
+        report.put("clientError", clientError.get());
+        report.put("serverError", serverError.get());
+        report.put("failure", failure.get());
+
+        Map<String, Object> millis = new LinkedHashMap<>();
+
+        millis.put("mean", total.getMean() / 1e6);
+        millis.put("p50", total.getValueAtPercentile(50) / 1e6);
+        millis.put("p90", total.getValueAtPercentile(90) / 1e6);
+        millis.put("p99", total.getValueAtPercentile(99) / 1e6);
+        millis.put("p99.9", total.getValueAtPercentile(99.9) / 1e6);
+        millis.put("max", total.getMaxValue() / 1e6);
+
+        report.put("latencyMillis", millis);
+
+        // 다른 실행과 분포 전체를 비교할 수 있도록 HdrHistogram 압축 형식(base64)도 남긴다
+        ByteBuffer buffer = ByteBuffer.allocate(total.getNeededByteBufferCapacity());
+        int length = total.encodeIntoCompressedByteBuffer(buffer, Deflater.BEST_COMPRESSION);
+        byte[] encoded = new byte[length];
+        buffer.flip();
+        buffer.get(encoded);
+
+        report.put("histogram", Base64.getEncoder().encodeToString(encoded));
+
+        return report;
+    }
+}
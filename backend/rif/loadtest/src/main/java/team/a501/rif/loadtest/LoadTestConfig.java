@@ -0,0 +1,93 @@
+package team.a501.rif.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// --key=value 형식의 실행 인자. 지정하지 않은 값은 기본값을 쓴다
+public class LoadTestConfig {
+
+    final String baseUrl;
+
+    // 키오스크 수와 키오스크 한 대의 태깅 빈도 (초당)
+    final int kiosks;
+    final double kioskTapsPerSecond;
+
+    // 앱 사용자 수와 사용자 한 명의 세션 시작 빈도 (초당)
+    final int appUsers;
+    final double appSessionsPerSecond;
+
+    final Duration warmup;
+    final Duration duration;
+
+    // 동시에 진행 중인 시나리오 상한. 넘으면 도착을 버리고 dropped로 센다
+    final int maxInFlight;
+
+    final Duration requestTimeout;
+
+    final String membersFile;
+    final String reportDir;
+    final long seed;
+
+    private LoadTestConfig(Map<String, String> args) {
+        this.baseUrl = args.getOrDefault("base-url", "http://localhost:8080");
+        this.kiosks = Integer.parseInt(args.getOrDefault("kiosks", "10"));
+        this.kioskTapsPerSecond = Double.parseDouble(args.getOrDefault("kiosk-rate", "0.5"));
+        this.appUsers = Integer.parseInt(args.getOrDefault("app-users", "100"));
+        this.appSessionsPerSecond = Double.parseDouble(args.getOrDefault("app-rate", "0.05"));
+        this.warmup = Duration.ofSeconds(Long.parseLong(args.getOrDefault("warmup-seconds", "10")));
+        this.duration = Duration.ofSeconds(Long.parseLong(args.getOrDefault("duration-seconds", "60")));
+        this.maxInFlight = Integer.parseInt(args.getOrDefault("max-in-flight", "2000"));
+        this.requestTimeout = Duration.ofMillis(Long.parseLong(args.getOrDefault("timeout-millis", "10000")));
+        this.membersFile = args.getOrDefault("members", "../src/main/resources/members.json");
+        this.reportDir = args.getOrDefault("report-dir", "build/reports/loadtest");
+        this.seed = Long.parseLong(args.getOrDefault("seed", "501"));
+
+        if (kiosks < 0 || appUsers < 0 || kioskTapsPerSecond < 0 || appSessionsPerSecond < 0)
+            throw new IllegalArgumentException("kiosks, app-users, kiosk-rate, app-rate는 0 이상이어야 합니다");
+    }
+
+    static LoadTestConfig parse(String[] argv) {
+
+        Map<String, String> args = new HashMap<>();
+
+        for (String arg : argv) {
+
+            if (!arg.startsWith("--") || !arg.contains("="))
+                throw new IllegalArgumentException("인자는 --key=value 형식이어야 합니다: " + arg);
+
+            int eq = arg.indexOf('=');
+            args.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        return new LoadTestConfig(args);
+    }
+
+    // 열린 모델: 전체 도착률은 (대수 * 대당 빈도), 응답 속도와 무관하게 유지된다
+    double kioskArrivalRate() {
+        return kiosks * kioskTapsPerSecond;
+    }
+
+    double appArrivalRate() {
+        return appUsers * appSessionsPerSecond;
+    }
+
+    Map<String, Object> toMap() {
+
+        Map<String, Object> map = new LinkedHashMap<>();
+
+        map.put("baseUrl", baseUrl);
+        map.put("kiosks", kiosks);
+        map.put("kioskTapsPerSecond", kioskTapsPerSecond);
+        map.put("appUsers", appUsers);
+        map.put("appSessionsPerSecond", appSessionsPerSecond);
+        map.put("warmupSeconds", warmup.getSeconds());
+        map.put("durationSeconds", duration.getSeconds());
+        map.put("maxInFlight", maxInFlight);
+        map.put("timeoutMillis", requestTimeout.toMillis());
+        map.put("seed", seed);
+
+        return map;
+    }
+}
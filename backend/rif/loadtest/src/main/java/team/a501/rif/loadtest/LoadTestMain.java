@@ -0,0 +1,157 @@
+package team.a501.rif.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// 키오스크/앱 트래픽을 열린 모델로 재현하고 엔드포인트별 지연 시간 분포를 JSON으로 남긴다
+// 대상 앱: ./gradlew bootRun --args='--spring.profiles.active=dev,loadtest' (H2 + members.json)
+// 실행: ./gradlew :loadtest:run --args='--kiosks=20 --kiosk-rate=0.5 --app-users=300 --app-rate=0.02 --duration-seconds=120'
+public class LoadTestMain {
+
+    public static void main(String[] argv) throws Exception {
+
+        LoadTestConfig config = LoadTestConfig.parse(argv);
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+        List<TrafficMix.TestMember> members = loadMembers(objectMapper, Path.of(config.membersFile));
+
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        TrafficMix mix = new TrafficMix(config, client, objectMapper, members);
+        AtomicInteger inFlight = new AtomicInteger();
+
+        List<OpenModelArrivals> arrivals = List.of(
+                new OpenModelArrivals("kiosk", config.kioskArrivalRate(), config.seed, mix::kioskTap, inFlight, config.maxInFlight),
+                new OpenModelArrivals("app", config.appArrivalRate(), config.seed + 1, mix::appSession, inFlight, config.maxInFlight));
+
+        List<Thread> threads = arrivals.stream()
+                .map(a -> new Thread(a, "arrivals-" + a.getName()))
+                .collect(Collectors.toList());
+
+        System.out.printf("%d members, kiosk %.2f/s, app %.2f/s, warmup %ds, measure %ds%n",
+                members.size(), config.kioskArrivalRate(), config.appArrivalRate(),
+                config.warmup.getSeconds(), config.duration.getSeconds());
+
+        String startedAt = LocalDateTime.now().toString();
+
+        threads.forEach(Thread::start);
+
+        Thread.sleep(config.warmup.toMillis());
+
+        mix.getStats().values().forEach(EndpointStats::startMeasuring);
+        arrivals.forEach(OpenModelArrivals::resetCounts);
+        long measureStart = System.nanoTime();
+
+        Thread.sleep(config.duration.toMillis());
+
+        arrivals.forEach(OpenModelArrivals::stop);
+        for (Thread thread : threads)
+            thread.join();
+
+        double measuredSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+        // 진행 중인 시나리오가 끝나거나 타임아웃될 때까지 기다린다
+        long deadline = System.nanoTime() + config.requestTimeout.toNanos() * 3;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline)
+            Thread.sleep(50);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt);
+        report.put("config", config.toMap());
+        report.put("members", members.size());
+        report.put("measuredSeconds", measuredSeconds);
+        report.put("unfinished", inFlight.get());
+
+        List<Map<String, Object>> arrivalReports = new ArrayList<>();
+        for (OpenModelArrivals a : arrivals) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("scenario", a.getName());
+            entry.put("targetRatePerSecond", a.getRatePerSecond());
+            entry.put("scheduled", a.getScheduled());
+            entry.put("dropped", a.getDropped());
+            arrivalReports.add(entry);
+        }
+        report.put("arrivals", arrivalReports);
+
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (EndpointStats stats : mix.getStats().values())
+            endpoints.add(stats.report(measuredSeconds));
+        report.put("endpoints", endpoints);
+
+        Path out = writeReport(objectMapper, Path.of(config.reportDir), report);
+
+        printSummary(endpoints);
+        System.out.println("report: " + out.toAbsolutePath());
+
+        httpExecutor.shutdownNow();
+        httpExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static List<TrafficMix.TestMember> loadMembers(ObjectMapper objectMapper, Path path) throws IOException {
+
+        List<Map<String, Object>> rows = objectMapper.readValue(path.toFile(), new TypeReference<>() {
+        });
+
+        List<TrafficMix.TestMember> members = rows.stream()
+                .map(row -> new TrafficMix.TestMember(
+                        String.valueOf(row.get("id")),
+                        String.valueOf(row.get("password")),
+                        String.valueOf(row.get("uid"))))
+                .collect(Collectors.toList());
+
+        if (members.isEmpty())
+            throw new IllegalArgumentException("멤버가 없습니다: " + path);
+
+        return members;
+    }
+
+    private static Path writeReport(ObjectMapper objectMapper, Path dir, Map<String, Object> report) throws IOException {
+
+        Files.createDirectories(dir);
+
+        String name = "loadtest-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json";
+        Path out = dir.resolve(name);
+
+        objectMapper.writeValue(out.toFile(), report);
+
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(List<Map<String, Object>> endpoints) {
+
+        System.out.printf("%-18s %8s %8s %8s %8s %10s %10s %10s%n",
+                "endpoint", "count", "2xx/3xx", "4xx", "5xx+fail", "p50 ms", "p99 ms", "max ms");
+
+        for (Map<String, Object> e : endpoints) {
+
+            Map<String, Object> millis = (Map<String, Object>) e.get("latencyMillis");
+
+            System.out.printf("%-18s %8d %8d %8d %8d %10.2f %10.2f %10.2f%n",
+                    e.get("endpoint"), (Long) e.get("count"), (Long) e.get("success"), (Long) e.get("clientError"),
+                    (Long) e.get("serverError") + (Long) e.get("failure"),
+                    (Double) millis.get("p50"), (Double) millis.get("p99"), (Double) millis.get("max"));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package team.a501.rif.loadtest;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+import java.util.concurrent.CompletableFuture;
+
+// 열린 모델 도착 생성기. 도착 간격은 지수 분포(포아송 과정)이고, 앞선 요청이 끝났는지와 무관하게 예정 시각에 시작한다
+// 예정 시각을 시나리오에 넘겨서 지연 시간을 예정 시각부터 재도록 한다 (coordinated omission 방지)
+class OpenModelArrivals implements Runnable {
+
+    private final String name;
+    private final double ratePerSecond;
+    private final SplittableRandom random;
+    private final LongFunction<CompletableFuture<?>> scenario;
+
+    private final AtomicInteger inFlight;
+    private final int maxInFlight;
+
+    private final AtomicLong scheduled = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    OpenModelArrivals(String name, double ratePerSecond, long seed,
+                      LongFunction<CompletableFuture<?>> scenario, AtomicInteger inFlight, int maxInFlight) {
+        this.name = name;
+        this.ratePerSecond = ratePerSecond;
+        this.random = new SplittableRandom(seed);
+        this.scenario = scenario;
+        this.inFlight = inFlight;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void run() {
+
+        if (ratePerSecond <= 0)
+            return;
+
+        long next = System.nanoTime();
+
+        while (running) {
+
+            next += (long) (-Math.log(1.0 - random.nextDouble()) / ratePerSecond * 1e9);
+
+            long wait;
+            while (running && (wait = next - System.nanoTime()) > 0)
+                LockSupport.parkNanos(wait);
+
+            if (!running)
+                break;
+
+            scheduled.incrementAndGet();
+
+            // 클라이언트 자원이 바닥나면 부하 생성기가 병목이 되므로 버리고 따로 센다
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                dropped.incrementAndGet();
+                continue;
+            }
+
+            try {
+                scenario.apply(next).whenComplete((r, e) -> inFlight.decrementAndGet());
+            } catch (RuntimeException e) {
+                inFlight.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    void resetCounts() {
+        scheduled.set(0);
+        dropped.set(0);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    long getScheduled() {
+        return scheduled.get();
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,241 @@
+package team.a501.rif.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 키오스크와 모바일 앱의 요청 흐름
+// 키오스크: qtMain.py와 같이 RFID 태깅 -> GET /api/member?uid= -> 분리수거 후 POST /api/member/riflog
+// 앱: 로그인(토큰이 없을 때만) -> 내 뱃지 -> 랭킹 -> 일부는 뽑기
+class TrafficMix {
+
+    static final String KIOSK_FIND_MEMBER = "kiosk.findMember";
+    static final String KIOSK_SAVE_RIFLOG = "kiosk.saveRifLog";
+    static final String KIOSK_TAP = "kiosk.tap";
+    static final String APP_LOGIN = "app.login";
+    static final String APP_BADGES = "app.badges";
+    static final String APP_RANKING = "app.ranking";
+    static final String APP_GATCHA = "app.gatcha";
+    static final String APP_SESSION = "app.session";
+
+    // 앱 세션 중 뽑기까지 하는 비율
+    private static final double GATCHA_RATIO = 0.3;
+
+    // 태깅 중 등록되지 않은 카드 비율
+    private static final double UNKNOWN_TAG_RATIO = 0.02;
+
+    static final class TestMember {
+
+        final String id;
+        final String password;
+        final String uid;
+
+        TestMember(String id, String password, String uid) {
+            this.id = id;
+            this.password = password;
+            this.uid = uid;
+        }
+    }
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final List<TestMember> members;
+
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    // 멤버 id -> 액세스 토큰. 만료되거나 거절되면 지우고 다음 세션에서 다시 로그인한다
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+
+    TrafficMix(LoadTestConfig config, HttpClient client, ObjectMapper objectMapper, List<TestMember> members) {
+        this.config = config;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.members = members;
+
+        for (String endpoint : List.of(KIOSK_FIND_MEMBER, KIOSK_SAVE_RIFLOG, KIOSK_TAP,
+                APP_LOGIN, APP_BADGES, APP_RANKING, APP_GATCHA, APP_SESSION))
+            stats.put(endpoint, new EndpointStats(endpoint));
+    }
+
+    Map<String, EndpointStats> getStats() {
+        return stats;
+    }
+
+    CompletableFuture<?> kioskTap(long intendedStartNanos) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String kioskId = "kiosk-" + random.nextInt(Math.max(1, config.kiosks));
+
+        String uid = random.nextDouble() < UNKNOWN_TAG_RATIO
+                ? "unknown-" + random.nextInt(1000)
+                : pickMember().uid;
+
+        HttpRequest find = HttpRequest.newBuilder(uri("/api/member?uid=" + encode(uid)))
+                .timeout(config.requestTimeout)
+                .GET()
+                .build();
+
+        return send(KIOSK_FIND_MEMBER, find, intendedStartNanos)
+                .thenCompose(found -> {
+
+                    if (found.statusCode() != 200)
+                        return CompletableFuture.completedFuture(found);
+
+                    int plasticTotal = random.nextInt(4);
+                    int recycleTotal = random.nextInt(4);
+
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("uid", uid);
+                    body.put("plasticTotal", plasticTotal);
+                    body.put("plasticOk", random.nextInt(plasticTotal + 1));
+                    body.put("recycleTotal", recycleTotal);
+                    body.put("recycleOk", random.nextInt(recycleTotal + 1));
+
+                    HttpRequest save = HttpRequest.newBuilder(uri("/api/member/riflog"))
+                            .timeout(config.requestTimeout)
+                            .header("Content-Type", "application/json")
+                            .header("Idempotency-Key", UUID.randomUUID().toString())
+                            .header("X-Kiosk-Id", kioskId)
+                            .POST(HttpRequest.BodyPublishers.ofString(toJson(body)))
+                            .build();
+
+                    return send(KIOSK_SAVE_RIFLOG, save, System.nanoTime());
+                })
+                .whenComplete((response, error) -> recordFlow(KIOSK_TAP, intendedStartNanos, response, error));
+    }
+
+    CompletableFuture<?> appSession(long intendedStartNanos) {
+
+        TestMember member = pickMember();
+
+        return token(member, intendedStartNanos)
+                .thenCompose(token -> {
+
+                    if (token == null)
+                        return CompletableFuture.completedFuture(null);
+
+                    return sendAuthorized(APP_BADGES, member, token, "GET", "/api/v/member/badge?memberId=" + encode(member.id))
+                            .thenCompose(r -> sendAuthorized(APP_RANKING, member, token, "GET", "/api/v/ranking?memberId=" + encode(member.id)))
+                            .thenCompose(r -> ThreadLocalRandom.current().nextDouble() < GATCHA_RATIO
+                                    ? sendAuthorized(APP_GATCHA, member, token, "POST", "/api/v/gatcha?memberId=" + encode(member.id))
+                                    : CompletableFuture.completedFuture(r));
+                })
+                .whenComplete((response, error) -> recordFlow(APP_SESSION, intendedStartNanos,
+                        response instanceof HttpResponse ? (HttpResponse<?>) response : null, error));
+    }
+
+    private CompletableFuture<String> token(TestMember member, long intendedStartNanos) {
+
+        String cached = tokens.get(member.id);
+
+        if (cached != null)
+            return CompletableFuture.completedFuture(cached);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", member.id);
+        body.put("password", member.password);
+
+        HttpRequest login = HttpRequest.newBuilder(uri("/api/login"))
+                .timeout(config.requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(body)))
+                .build();
+
+        return send(APP_LOGIN, login, intendedStartNanos)
+                .thenApply(response -> {
+
+                    if (response.statusCode() != 200)
+                        return null;
+
+                    try {
+                        JsonNode node = objectMapper.readTree(response.body());
+                        String token = node.path("accessToken").asText(null);
+
+                        if (token != null)
+                            tokens.put(member.id, token);
+
+                        return token;
+                    } catch (Exception e) {
+                        return null;
+                    }
+                });
+    }
+
+    private CompletableFuture<HttpResponse<String>> sendAuthorized(String endpoint, TestMember member, String token,
+                                                                   String method, String path) {
+
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .timeout(config.requestTimeout)
+                .header("Authorization", "Bearer " + token)
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+
+        return send(endpoint, request, System.nanoTime())
+                .thenApply(response -> {
+                    if (response.statusCode() == 401 || response.statusCode() == 403)
+                        tokens.remove(member.id, token);
+                    return response;
+                });
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(String endpoint, HttpRequest request, long startNanos) {
+
+        EndpointStats endpointStats = stats.get(endpoint);
+
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+
+                    long latency = System.nanoTime() - startNanos;
+
+                    if (error != null)
+                        endpointStats.recordFailure(latency);
+                    else
+                        endpointStats.record(response.statusCode(), latency);
+                });
+    }
+
+    // 여러 요청으로 이뤄진 흐름 전체의 시간. 마지막 응답 코드로 분류한다
+    private void recordFlow(String flow, long intendedStartNanos, HttpResponse<?> last, Throwable error) {
+
+        long latency = System.nanoTime() - intendedStartNanos;
+
+        if (error != null)
+            stats.get(flow).recordFailure(latency);
+        else
+            stats.get(flow).record(last == null ? 401 : last.statusCode(), latency);
+    }
+
+    private TestMember pickMember() {
+        return members.get(ThreadLocalRandom.current().nextInt(members.size()));
+    }
+
+    private URI uri(String path) {
+        return URI.create(config.baseUrl + path);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package team.a501.rif;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import team.a501.rif.repository.member.AcqKind;
+import team.a501.rif.repository.member.MemberRepository;
+
+// 비트셋 컬럼 도입 이전 멤버의 보유 비트셋을 획득 테이블로부터 채우는 일회성 작업
+// backfill.acq-bits.enabled=true 로 실행한다
+@ConditionalOnProperty(
+        prefix = "backfill.acq-bits",
+        value = "enabled",
+        havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+@Component
+public class AcqBitsBackfillRunner implements CommandLineRunner {
+
+    private final MemberRepository memberRepository;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+
+        long start = System.currentTimeMillis();
+
+        for (AcqKind kind : AcqKind.values()) {
+
+            int filled = memberRepository.backfillAcqBits(kind);
+
+            log.info("{} acq bits backfill: {} members filled", kind, filled);
+        }
+
+        log.info("Acq bits backfill finished: {} ms", System.currentTimeMillis() - start);
+    }
+}
@@ -3,24 +3,21 @@ package team.a501.rif;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import team.a501.rif.dto.achievement.AchievementSaveRequest;
 import team.a501.rif.dto.badge.BadgeSaveRequest;
-import team.a501.rif.dto.member.MemberRegisterRequest;
 import team.a501.rif.service.achievement.AchievementService;
 import team.a501.rif.service.badge.BadgeService;
-import team.a501.rif.service.member.MemberService;
+import team.a501.rif.service.member.MemberSeedLoader;
 
-import javax.transaction.Transactional;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
 
 @ConditionalOnProperty(
@@ -29,11 +26,12 @@ import java.util.List;
         havingValue = "true",
         matchIfMissing = true)
 @RequiredArgsConstructor
+@Slf4j
 @Component
 @Profile("dev")
 public class DummyDataInitializer implements CommandLineRunner {
 
-    private final MemberService memberService;
+    private final MemberSeedLoader memberSeedLoader;
     private final BadgeService badgeService;
     private final AchievementService achievementService;
 
@@ -41,40 +39,30 @@ public class DummyDataInitializer implements CommandLineRunner {
     @Transactional
     public void run(String... args) throws IOException {
 
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        // 실행 파일에서는 resources 디렉토리 하위 파일을 불러올 수 없으므로 inputstream으로 파일을 가져온 뒤
-        InputStream membersJsonInputStream = new ClassPathResource("members.json").getInputStream();
-        InputStream achievementsJsonInputStream = new ClassPathResource("achievements.json").getInputStream();
-        InputStream badgesJsonInputStream = new ClassPathResource("badges.json").getInputStream();
-        InputStream rifLogsJsonInputStream = new ClassPathResource("riflogs.json").getInputStream();
-
-        File membersJson = File.createTempFile("members", ".json");
-        File achievementsJson = File.createTempFile("achievements", ".json");
-        File badgesJson = File.createTempFile("badges", ".json");
-        File rifLogsJson = File.createTempFile("riflogs", ".json");
+        long start = System.currentTimeMillis();
 
-        Files.copy(membersJsonInputStream, membersJson.toPath(), StandardCopyOption.REPLACE_EXISTING);
-        Files.copy(achievementsJsonInputStream, achievementsJson.toPath(), StandardCopyOption.REPLACE_EXISTING);
-        Files.copy(badgesJsonInputStream, badgesJson.toPath(), StandardCopyOption.REPLACE_EXISTING);
-        Files.copy(rifLogsJsonInputStream, rifLogsJson.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        ObjectMapper objectMapper = new ObjectMapper();
 
-        // 멤버 등록
-        List<MemberRegisterRequest> memberRegisterRequestList =
-                objectMapper.readValue(membersJson, new TypeReference<>() {
-                });
-        memberService.registerAll(memberRegisterRequestList);
+        // 실행 파일에서는 resources 디렉토리 하위 파일을 불러올 수 없으므로 inputstream으로 바로 읽는다
+        // 멤버 등록. 건수가 많아도 한 건씩 읽고 해시는 병렬로, insert는 배치로 한다
+        try (InputStream in = new ClassPathResource("members.json").getInputStream()) {
+            memberSeedLoader.load(in);
+        }
 
         // 뱃지 등록
-        List<BadgeSaveRequest> badgeSaveRequestList =
-                objectMapper.readValue(badgesJson, new TypeReference<>() {
-                });
-        badgeService.saveAll(badgeSaveRequestList);
+        try (InputStream in = new ClassPathResource("badges.json").getInputStream()) {
+            List<BadgeSaveRequest> badgeSaveRequestList = objectMapper.readValue(in, new TypeReference<>() {
+            });
+            badgeService.saveAll(badgeSaveRequestList);
+        }
 
         // 업적 등록
-        List<AchievementSaveRequest> achievementSaveRequests =
-                objectMapper.readValue(achievementsJson, new TypeReference<>() {
-                });
-        achievementService.saveAll(achievementSaveRequests);
+        try (InputStream in = new ClassPathResource("achievements.json").getInputStream()) {
+            List<AchievementSaveRequest> achievementSaveRequests = objectMapper.readValue(in, new TypeReference<>() {
+            });
+            achievementService.saveAll(achievementSaveRequests);
+        }
+
+        log.info("Dummy data initialized in {} ms", System.currentTimeMillis() - start);
     }
 }
@@ -0,0 +1,73 @@
+package team.a501.rif;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.service.member.MemberStatsService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// RifLog로부터 MemberStats를 다시 계산하는 일회성 작업. 통계 도입 이전 데이터나 어긋난 통계를 바로잡는다
+// rebuild.member-stats.enabled=true 로 실행한다. 멤버 묶음마다 트랜잭션 하나로 여러 스레드에서 나눠 돈다
+// 재계산 중에 저장된 RifLog는 덮어쓰일 수 있으므로 키오스크 트래픽이 없을 때 돌린다
+@ConditionalOnProperty(
+        prefix = "rebuild.member-stats",
+        value = "enabled",
+        havingValue = "true")
+@Slf4j
+@Component
+public class MemberStatsRebuildRunner implements CommandLineRunner {
+
+    private final MemberRepository memberRepository;
+    private final MemberStatsService memberStatsService;
+
+    private final int chunkSize;
+    private final int threads;
+
+    public MemberStatsRebuildRunner(MemberRepository memberRepository,
+                                    MemberStatsService memberStatsService,
+                                    @Value("${rebuild.member-stats.chunk-size:1000}") int chunkSize,
+                                    @Value("${rebuild.member-stats.threads:4}") int threads) {
+        this.memberRepository = memberRepository;
+        this.memberStatsService = memberStatsService;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+
+        long start = System.currentTimeMillis();
+
+        List<String> memberIds = memberRepository.findAllIds();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        int rebuilt = 0;
+
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+
+            for (int from = 0; from < memberIds.size(); from += chunkSize) {
+
+                List<String> chunk = memberIds.subList(from, Math.min(memberIds.size(), from + chunkSize));
+
+                futures.add(executor.submit(() -> memberStatsService.rebuild(chunk)));
+            }
+
+            for (Future<Integer> future : futures)
+                rebuilt += future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("MemberStats rebuild finished: {} members, {} threads, {} ms",
+                rebuilt, threads, System.currentTimeMillis() - start);
+    }
+}
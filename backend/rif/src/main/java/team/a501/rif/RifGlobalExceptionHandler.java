@@ -1,6 +1,7 @@
 package team.a501.rif;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,12 +15,21 @@ import team.a501.rif.exception.RifCustomException;
 @Slf4j
 public class RifGlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     // 여기서 모든 RuntimeException을 다 처리하도록 한다
     @ExceptionHandler(RifCustomException.class)
     public ResponseEntity<ExceptionResponse> handleRifCustomException(RifCustomException e) {
 
         ErrorCode code = e.getErrorCode();
 
+        // 적재 큐가 가득 찬 경우 키오스크가 잠시 후 재전송하도록 알려준다
+        if (code == ErrorCode.INGEST_QUEUE_FULL) {
+            return ResponseEntity.status(code.getHttpStatus())
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(ExceptionResponse.from(code));
+        }
+
         return ResponseEntity.status(code.getHttpStatus()).body(ExceptionResponse.from(code));
     }
 
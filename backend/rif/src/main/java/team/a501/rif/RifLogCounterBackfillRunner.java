@@ -0,0 +1,69 @@
+package team.a501.rif;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import team.a501.rif.domain.riflog.RifLogCounter;
+import team.a501.rif.repository.riflog.RifLogCounterRepository;
+import team.a501.rif.repository.riflog.RifLogCounterRepository.RifLogCounterRow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 카운터 도입 이전에 쌓인 RifLog로부터 RifLogCounter를 채우는 일회성 작업
+// backfill.riflog-counter.enabled=true 로 실행한다
+@ConditionalOnProperty(
+        prefix = "backfill.riflog-counter",
+        value = "enabled",
+        havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+@Component
+public class RifLogCounterBackfillRunner implements CommandLineRunner {
+
+    private final RifLogCounterRepository rifLogCounterRepository;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+
+        long start = System.currentTimeMillis();
+
+        Map<String, RifLogCounter> existing = rifLogCounterRepository.findAll()
+                .stream()
+                .collect(Collectors.toMap(RifLogCounter::getMemberId, Function.identity()));
+
+        List<RifLogCounter> counters = new ArrayList<>();
+        int overwritten = 0;
+
+        for (RifLogCounterRow row : rifLogCounterRepository.aggregateAllFromRifLogs()) {
+
+            RifLogCounter aggregated = RifLogCounter.of(row.getMemberId(),
+                    row.getRifUseCount().intValue(),
+                    row.getPlasticSuccessCount().intValue(),
+                    row.getRecycleSuccessCount().intValue(),
+                    row.getPerfectSuccessCount().intValue());
+
+            RifLogCounter counter = existing.get(row.getMemberId());
+
+            if (counter == null) {
+                counters.add(aggregated);
+                continue;
+            }
+
+            counter.overwrite(aggregated);
+            overwritten++;
+        }
+
+        rifLogCounterRepository.saveAll(counters);
+
+        log.info("RifLogCounter backfill finished: {} created, {} overwritten, {} ms",
+                counters.size(), overwritten, System.currentTimeMillis() - start);
+    }
+}
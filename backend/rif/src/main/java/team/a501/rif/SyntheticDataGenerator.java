@@ -0,0 +1,459 @@
+package team.a501.rif;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import team.a501.rif.domain.achievement.AchievementTag;
+import team.a501.rif.dto.achievement.AchievementInfo;
+import team.a501.rif.dto.badge.BadgeInfo;
+import team.a501.rif.service.catalog.CatalogService;
+import team.a501.rif.service.catalog.CatalogSnapshot;
+import team.a501.rif.service.member.MemberUidCache;
+import team.a501.rif.synthetic.SyntheticDataset;
+import team.a501.rif.synthetic.SyntheticMember;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 대량 부하/성능 테스트용 합성 데이터를 DB에 직접 넣는다. synthetic 프로필로 실행한다
+// 예) --spring.profiles.active=synthetic --rif.synthetic.members=1000000 --rif.synthetic.rif-logs=100000000
+// 같은 시드, 같은 카탈로그면 스레드 수와 상관없이 같은 데이터가 들어간다 (SyntheticDataset)
+// member, rif_log_counter, member_stats는 생성한 RifLog와 일치하게 함께 넣는다
+// JPA를 거치지 않고 멤버 묶음마다 커넥션 하나로 JDBC 배치를 보내고 묶음 단위로 커밋한다
+// MariaDB는 jdbc url에 rewriteBatchedStatements=true(또는 useBulkStmts=true)를 붙여야 배치가 한 번에 전송된다
+// 스레드마다 커넥션을 하나씩 쓰므로 hikari maximum-pool-size를 threads보다 크게 잡는다
+@Slf4j
+@Component
+@Profile("synthetic")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String DEFAULT_IMG_PATH = "/profile/default.png";
+
+    private static final String INSERT_MEMBER =
+            "insert into member (id, uid, password, name, point, exp, img_path) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_COUNTER =
+            "insert into rif_log_counter (member_id, rif_use_count, plastic_success_count, recycle_success_count, perfect_success_count) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_RIF_LOG =
+            "insert into rif_log (id, member_id, plastic_total, plastic_ok, recycle_total, recycle_ok, exp, point, created, last_modified) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MEMBER_STATS =
+            "insert into member_stats (member_id, visit_count, plastic_total, plastic_ok, recycle_total, recycle_ok, exp_total, best_score, first_visit, last_visit) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BADGE_ACQ =
+            "insert into badge_acq (id, on_display, member_id, badge_id, created, last_modified) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ACHIEVEMENT_ACQ =
+            "insert into achievement_acq (id, on_display, member_id, achievement_id, created, last_modified) values (?, ?, ?, ?, ?, ?)";
+
+    // 엔티티의 pooled 시퀀스(allocationSize 50)와 맞춘다
+    private static final int SEQUENCE_ALLOCATION = 50;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final CatalogService catalogService;
+    private final MemberUidCache memberUidCache;
+
+    private final int members;
+    private final long rifLogs;
+    private final double zipfExponent;
+    private final int months;
+    private final LocalDate endDate;
+    private final long seed;
+    private final int batchSize;
+    private final int chunkSize;
+    private final int threads;
+    private final String password;
+
+    public SyntheticDataGenerator(DataSource dataSource,
+                                  PasswordEncoder passwordEncoder,
+                                  CatalogService catalogService,
+                                  MemberUidCache memberUidCache,
+                                  @Value("${rif.synthetic.members:100000}") int members,
+                                  @Value("${rif.synthetic.rif-logs:10000000}") long rifLogs,
+                                  @Value("${rif.synthetic.zipf-exponent:1.1}") double zipfExponent,
+                                  @Value("${rif.synthetic.months:12}") int months,
+                                  @Value("${rif.synthetic.end-date:2023-01-01}") String endDate,
+                                  @Value("${rif.synthetic.seed:501}") long seed,
+                                  @Value("${rif.synthetic.batch-size:5000}") int batchSize,
+                                  @Value("${rif.synthetic.chunk-size:1000}") int chunkSize,
+                                  @Value("${rif.synthetic.threads:0}") int threads,
+                                  @Value("${rif.synthetic.password:synthetic}") String password) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.passwordEncoder = passwordEncoder;
+        this.catalogService = catalogService;
+        this.memberUidCache = memberUidCache;
+        this.members = members;
+        this.rifLogs = rifLogs;
+        this.zipfExponent = zipfExponent;
+        this.months = months;
+        this.endDate = LocalDate.parse(endDate);
+        this.seed = seed;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.password = password;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+
+        Long existing = jdbcTemplate.queryForObject(
+                "select count(*) from member where id like 'syn%'", Long.class);
+
+        if (existing != null && existing > 0) {
+            log.warn("Synthetic data already exists ({} members), skipping", existing);
+            return;
+        }
+
+        CatalogSnapshot catalog = catalogService.getSnapshot();
+
+        if (catalog.getBadgeCount() == 0 && catalog.getAchievements().isEmpty()) {
+            catalogService.reload();
+            catalog = catalogService.getSnapshot();
+        }
+
+        List<AchievementInfo> achievements = catalog.getAchievements();
+
+        long[] badgeIds = catalog.getBadges().stream().mapToLong(BadgeInfo::getId).toArray();
+        long[] achievementIds = achievements.stream().mapToLong(AchievementInfo::getId).toArray();
+        AchievementTag[] achievementTags = achievements.stream()
+                .map(a -> AchievementTag.valueOf(a.getTag()))
+                .toArray(AchievementTag[]::new);
+
+        LocalDateTime end = endDate.atStartOfDay();
+
+        SyntheticDataset dataset = new SyntheticDataset(seed, members, rifLogs, zipfExponent,
+                end.minusMonths(months), end, badgeIds, achievementIds, achievementTags);
+
+        IdBase idBase = new IdBase(maxId("rif_log"), maxId("badge_acq"), maxId("achievement_acq"));
+
+        // bcrypt는 느리므로 모든 합성 멤버가 같은 해시를 쓴다
+        String encodedPassword = passwordEncoder.encode(password);
+
+        log.info("Generating synthetic data: {} members, {} rif logs (s={}, seed={}), {} threads",
+                members, dataset.getTotalLogCount(), zipfExponent, seed, threads);
+
+        long start = System.currentTimeMillis();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicInteger done = new AtomicInteger();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int from = 0; from < members; from += chunkSize) {
+
+                int chunkFrom = from;
+                int chunkTo = Math.min(members, from + chunkSize);
+
+                futures.add(executor.submit(() -> {
+                    writeChunk(dataset, idBase, encodedPassword, chunkFrom, chunkTo);
+
+                    int count = done.addAndGet(chunkTo - chunkFrom);
+                    if (count % (chunkSize * 100) < chunkTo - chunkFrom || count == members)
+                        log.info("Synthetic members written: {}/{}", count, members);
+
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 직접 넣은 id 다음부터 JPA가 id를 받도록 시퀀스를 옮긴다
+        restartSequence("rif_log_seq", maxId("rif_log"));
+        restartSequence("badge_acq_seq", maxId("badge_acq"));
+        restartSequence("achievement_acq_seq", maxId("achievement_acq"));
+
+        catalogService.invalidate();
+        memberUidCache.clear();
+
+        log.info("Synthetic data generated in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private void writeChunk(SyntheticDataset dataset, IdBase idBase, String encodedPassword,
+                            int from, int to) throws SQLException {
+
+        try (Connection connection = dataSource.getConnection()) {
+
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement memberStatement = connection.prepareStatement(INSERT_MEMBER);
+                 PreparedStatement counterStatement = connection.prepareStatement(INSERT_COUNTER);
+                 PreparedStatement rifLogStatement = connection.prepareStatement(INSERT_RIF_LOG);
+                 PreparedStatement statsStatement = connection.prepareStatement(INSERT_MEMBER_STATS);
+                 PreparedStatement badgeStatement = connection.prepareStatement(INSERT_BADGE_ACQ);
+                 PreparedStatement achievementStatement = connection.prepareStatement(INSERT_ACHIEVEMENT_ACQ)) {
+
+                // 외래키 때문에 멤버를 먼저 넣어야 하는데 멤버의 누적값은 RifLog를 다 만들어야 나온다
+                // 이력이 긴 멤버를 메모리에 쌓아 두지 않도록, 결정적인 생성을 두 번 돌린다
+                for (int i = from; i < to; ++i) {
+
+                    SyntheticMember member = dataset.generate(i, NO_OP);
+
+                    memberStatement.setString(1, member.getId());
+                    memberStatement.setString(2, member.getUid());
+                    memberStatement.setString(3, encodedPassword);
+                    memberStatement.setString(4, member.getName());
+                    memberStatement.setInt(5, member.getPoint());
+                    memberStatement.setInt(6, member.getExp());
+                    memberStatement.setString(7, DEFAULT_IMG_PATH);
+                    memberStatement.addBatch();
+
+                    counterStatement.setString(1, member.getId());
+                    counterStatement.setInt(2, member.getRifUseCount());
+                    counterStatement.setInt(3, member.getPlasticSuccessCount());
+                    counterStatement.setInt(4, member.getRecycleSuccessCount());
+                    counterStatement.setInt(5, member.getPerfectSuccessCount());
+                    counterStatement.addBatch();
+                }
+
+                memberStatement.executeBatch();
+                counterStatement.executeBatch();
+
+                BatchSink sink = new BatchSink(idBase, dataset, rifLogStatement, statsStatement,
+                        badgeStatement, achievementStatement);
+
+                for (int i = from; i < to; ++i) {
+                    sink.member(i);
+                    dataset.generate(i, sink);
+                    sink.memberDone();
+                }
+
+                sink.flush();
+
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private long maxId(String table) {
+
+        Long max = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+
+        return max == null ? 0 : max;
+    }
+
+    // pooled 최적화는 시퀀스 값 바로 아래 allocationSize 개를 쓰므로 그만큼 띄운다
+    private void restartSequence(String sequence, long maxId) {
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + SEQUENCE_ALLOCATION + 1));
+    }
+
+    private static final class IdBase {
+
+        final long rifLog;
+        final long badgeAcq;
+        final long achievementAcq;
+
+        IdBase(long rifLog, long badgeAcq, long achievementAcq) {
+            this.rifLog = rifLog;
+            this.badgeAcq = badgeAcq;
+            this.achievementAcq = achievementAcq;
+        }
+    }
+
+    private static final SyntheticDataset.Sink NO_OP = new SyntheticDataset.Sink() {
+
+        @Override
+        public void rifLog(long seq, int plasticTotal, int plasticOk, int recycleTotal, int recycleOk,
+                           int exp, int point, LocalDateTime created) {
+        }
+
+        @Override
+        public void badgeAcq(int seq, long badgeId, LocalDateTime created) {
+        }
+
+        @Override
+        public void achievementAcq(int seq, long achievementId, LocalDateTime created) {
+        }
+    };
+
+    // 행을 배치에 쌓다가 batchSize마다 보낸다. id는 멤버 index로부터 정해지므로 스레드끼리 겹치지 않는다
+    private final class BatchSink implements SyntheticDataset.Sink {
+
+        private final IdBase idBase;
+        private final SyntheticDataset dataset;
+        private final PreparedStatement rifLogStatement;
+        private final PreparedStatement statsStatement;
+        private final PreparedStatement badgeStatement;
+        private final PreparedStatement achievementStatement;
+
+        private int index;
+        private String memberId;
+        private int pending;
+
+        // 멤버 하나의 MemberStats 누적값
+        private long visitCount;
+        private long plasticTotal;
+        private long plasticOk;
+        private long recycleTotal;
+        private long recycleOk;
+        private long expTotal;
+        private int bestScore;
+        private LocalDateTime firstVisit;
+        private LocalDateTime lastVisit;
+
+        BatchSink(IdBase idBase, SyntheticDataset dataset, PreparedStatement rifLogStatement,
+                  PreparedStatement statsStatement, PreparedStatement badgeStatement,
+                  PreparedStatement achievementStatement) {
+            this.idBase = idBase;
+            this.dataset = dataset;
+            this.rifLogStatement = rifLogStatement;
+            this.statsStatement = statsStatement;
+            this.badgeStatement = badgeStatement;
+            this.achievementStatement = achievementStatement;
+        }
+
+        void member(int index) {
+            this.index = index;
+            this.memberId = SyntheticDataset.memberId(index);
+
+            visitCount = 0;
+            plasticTotal = 0;
+            plasticOk = 0;
+            recycleTotal = 0;
+            recycleOk = 0;
+            expTotal = 0;
+            bestScore = 0;
+            firstVisit = null;
+            lastVisit = null;
+        }
+
+        // 사용 이력이 있는 멤버만 통계 행을 만든다. 없는 멤버는 조회할 때 0으로 보인다
+        void memberDone() throws SQLException {
+
+            if (visitCount == 0)
+                return;
+
+            statsStatement.setString(1, memberId);
+            statsStatement.setLong(2, visitCount);
+            statsStatement.setLong(3, plasticTotal);
+            statsStatement.setLong(4, plasticOk);
+            statsStatement.setLong(5, recycleTotal);
+            statsStatement.setLong(6, recycleOk);
+            statsStatement.setLong(7, expTotal);
+            statsStatement.setInt(8, bestScore);
+            statsStatement.setTimestamp(9, Timestamp.valueOf(firstVisit));
+            statsStatement.setTimestamp(10, Timestamp.valueOf(lastVisit));
+            statsStatement.addBatch();
+
+            added();
+        }
+
+        @Override
+        public void rifLog(long seq, int plasticTotal, int plasticOk, int recycleTotal, int recycleOk,
+                           int exp, int point, LocalDateTime created) {
+            try {
+                Timestamp timestamp = Timestamp.valueOf(created);
+
+                rifLogStatement.setLong(1, idBase.rifLog + dataset.getLogOffset(index) + seq + 1);
+                rifLogStatement.setString(2, memberId);
+                rifLogStatement.setInt(3, plasticTotal);
+                rifLogStatement.setInt(4, plasticOk);
+                rifLogStatement.setInt(5, recycleTotal);
+                rifLogStatement.setInt(6, recycleOk);
+                rifLogStatement.setInt(7, exp);
+                rifLogStatement.setInt(8, point);
+                rifLogStatement.setTimestamp(9, timestamp);
+                rifLogStatement.setTimestamp(10, timestamp);
+                rifLogStatement.addBatch();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+
+            visitCount++;
+            this.plasticTotal += plasticTotal;
+            this.plasticOk += plasticOk;
+            this.recycleTotal += recycleTotal;
+            this.recycleOk += recycleOk;
+            expTotal += exp;
+            bestScore = Math.max(bestScore, exp);
+
+            if (firstVisit == null)
+                firstVisit = created;
+
+            lastVisit = created;
+
+            added();
+        }
+
+        @Override
+        public void badgeAcq(int seq, long badgeId, LocalDateTime created) {
+            try {
+                addAcq(badgeStatement, idBase.badgeAcq + (long) index * dataset.getBadgeCount() + seq + 1,
+                        badgeId, created);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+
+            added();
+        }
+
+        @Override
+        public void achievementAcq(int seq, long achievementId, LocalDateTime created) {
+            try {
+                addAcq(achievementStatement, idBase.achievementAcq + (long) index * dataset.getAchievementCount() + seq + 1,
+                        achievementId, created);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+
+            added();
+        }
+
+        private void addAcq(PreparedStatement statement, long id, long targetId, LocalDateTime created) throws SQLException {
+
+            Timestamp timestamp = Timestamp.valueOf(created);
+
+            statement.setLong(1, id);
+            statement.setBoolean(2, false);
+            statement.setString(3, memberId);
+            statement.setLong(4, targetId);
+            statement.setTimestamp(5, timestamp);
+            statement.setTimestamp(6, timestamp);
+            statement.addBatch();
+        }
+
+        private void added() {
+
+            if (++pending < batchSize)
+                return;
+
+            try {
+                flush();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void flush() throws SQLException {
+
+            rifLogStatement.executeBatch();
+            statsStatement.executeBatch();
+            badgeStatement.executeBatch();
+            achievementStatement.executeBatch();
+
+            pending = 0;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package team.a501.rif.config.Jpa;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaBatchConfiguration {
+
+    // RifLog, BadgeAcq, AchievementAcq는 pooled 시퀀스를 쓰므로 insert가 flush 시점까지 모였다가 JDBC batch로 나간다
+    // spring.jpa.properties.hibernate.* 에 직접 지정한 값이 있으면 그 값을 따른다
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer(@Value("${rif.jpa.batch-size:50}") Integer batchSize) {
+
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize));
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, "true");
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, "true");
+            properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, "true");
+        };
+    }
+}
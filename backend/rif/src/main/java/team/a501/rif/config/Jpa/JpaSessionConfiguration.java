@@ -0,0 +1,10 @@
+package team.a501.rif.config.Jpa;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+// open-session-in-view 등 영속성 컨텍스트 범위 설정은 jpa.properties
+@Configuration
+@PropertySource("classpath:jpa.properties")
+public class JpaSessionConfiguration {
+}
@@ -0,0 +1,85 @@
+package team.a501.rif.config.Jpa;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+
+// rif.datasource.replica.url이 있으면 주 DB와 복제본 풀을 따로 두고 읽기 전용 트랜잭션을 복제본으로 보낸다
+// 없으면 스프링 부트 기본 풀 하나만 쓴다
+// 풀 지표는 hikaricp.* 의 pool 태그(rif-primary, rif-replica), 라우팅은 rif.datasource.route, 지연은 rif.datasource.replica.lag
+// 여기서는 MeterRegistry를 받지 않는다. 레지스트리를 만들 때 DataSource 빈을 찾으므로 주입하면 순환 참조가 된다
+// 풀 지표는 스프링 부트가 HikariDataSource 빈마다 붙이고, 라우팅/지연 지표는 MeterBinder 빈으로 붙는다
+@Configuration
+@ConditionalOnProperty(prefix = "rif.datasource.replica", name = "url")
+public class ReplicaDataSourceConfiguration {
+
+    // 기존 spring.datasource.* 와 spring.datasource.hikari.* 설정을 그대로 쓴다
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+
+        dataSource.setPoolName("rif-primary");
+
+        return dataSource;
+    }
+
+    // 복제본이 내려가 있어도 서버는 뜨고 주 DB로 읽도록 시작 시 연결을 확인하지 않고, 커넥션 대기도 짧게 둔다
+    @Bean
+    public HikariDataSource replicaDataSource(@Value("${rif.datasource.replica.url}") String url,
+                                              @Value("${rif.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${rif.datasource.replica.password:${spring.datasource.password:}}") String password,
+                                              @Value("${rif.datasource.replica.maximum-pool-size:10}") Integer maximumPoolSize,
+                                              @Value("${rif.datasource.replica.connection-timeout-millis:1000}") Long connectionTimeout) {
+
+        HikariDataSource dataSource = new HikariDataSource();
+
+        dataSource.setPoolName("rif-replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setConnectionTimeout(connectionTimeout);
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.setReadOnly(true);
+
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${rif.datasource.replica.max-lag-millis:3000}") Long maxLagMillis) {
+
+        return new ReplicaLagMonitor(primary, replica, maxLagMillis, Clock.systemUTC());
+    }
+
+    // 라우팅 지표(MeterBinder)가 붙도록 빈으로 둔다. 주입은 아래 dataSource로 받는다
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                             @Qualifier("replicaDataSource") DataSource replica,
+                                                             ReplicaLagMonitor replicaLagMonitor) {
+
+        return new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor);
+    }
+
+    // JPA, JdbcTemplate이 쓰는 DataSource
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,125 @@
+package team.a501.rif.config.Jpa;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.List;
+
+// 주 DB의 replica_heartbeat에 주기마다 시각을 쓰고, 복제본에 보이는 값과 비교해 복제 지연을 잰다
+// 지연은 주기 단위로 잰다: 복제본이 직전 주기에 쓴 값까지 보고 있으면 0
+// 지연이 허용치를 넘거나 복제본을 읽지 못하면 복제본을 쓰지 않는다. 첫 확인 전에도 쓰지 않는다
+// 지표는 MeterBinder로 붙는다. 레지스트리가 DataSource 지표를 만들며 이 빈을 찾으므로 생성자에서 레지스트리를 받지 않는다
+@Slf4j
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private static final String CREATE_TABLE =
+            "create table if not exists replica_heartbeat (id int not null primary key, beat_at bigint not null)";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private final Clock clock;
+
+    // 바인딩 전에 등록한 게이지도 bindTo로 붙는 레지스트리에 옮겨진다
+    private final CompositeMeterRegistry meters = new CompositeMeterRegistry();
+
+    // check()를 부르는 스케줄러 스레드만 쓴다
+    private long lastBeat = -1;
+
+    private volatile boolean usable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMillis, Clock clock) {
+
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+        this.clock = clock;
+
+        Gauge.builder("rif.datasource.replica.lag", this, m -> m.lagMillis)
+                .description("Replication lag seen through replica_heartbeat, -1 when unknown")
+                .baseUnit("milliseconds")
+                .register(meters);
+
+        Gauge.builder("rif.datasource.replica.usable", this, m -> m.usable ? 1 : 0)
+                .description("Whether read-only transactions are routed to the replica")
+                .register(meters);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        meters.add(registry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    // 커넥션을 받지 못했을 때 라우팅이 부른다
+    public void markUnusable(Exception cause) {
+
+        if (usable)
+            log.warn("Replica unavailable, routing reads to primary: {}", cause.getMessage());
+
+        usable = false;
+        lagMillis = -1;
+    }
+
+    // 복제본을 먼저 읽고 새 시각을 쓴다. 방금 쓴 값은 아직 복제되지 않았을 수 있어 비교하지 않는다
+    @Scheduled(fixedDelayString = "${rif.datasource.replica.heartbeat-millis:1000}")
+    public void check() {
+
+        if (lastBeat >= 0)
+            measure();
+
+        beat();
+    }
+
+    private void measure() {
+
+        try {
+            List<Long> beats = replica.queryForList("select beat_at from replica_heartbeat where id = 1", Long.class);
+
+            long lag = beats.isEmpty() ? Long.MAX_VALUE : Math.max(0, lastBeat - beats.get(0));
+            boolean ok = lag <= maxLagMillis;
+
+            if (ok != usable)
+                log.info("Replica {} (lag {} ms)", ok ? "in sync, routing reads to replica" : "lagging, routing reads to primary",
+                        lag == Long.MAX_VALUE ? "unknown" : lag);
+
+            lagMillis = lag == Long.MAX_VALUE ? -1 : lag;
+            usable = ok;
+        } catch (DataAccessException e) {
+            markUnusable(e);
+        }
+    }
+
+    private void beat() {
+
+        long now = clock.millis();
+
+        try {
+            if (lastBeat < 0)
+                primary.execute(CREATE_TABLE);
+
+            if (primary.update("update replica_heartbeat set beat_at = ? where id = 1", now) == 0)
+                primary.update("insert into replica_heartbeat (id, beat_at) values (1, ?)", now);
+
+            lastBeat = now;
+        } catch (DataAccessException e) {
+            log.warn("Replica heartbeat write failed: {}", e.getMessage());
+        }
+    }
+}
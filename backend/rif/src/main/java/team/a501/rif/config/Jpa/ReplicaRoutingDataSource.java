@@ -0,0 +1,107 @@
+package team.a501.rif.config.Jpa;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+// 읽기 전용 트랜잭션은 복제본 풀로, 나머지는 주 DB 풀로 보낸다
+// 트랜잭션 시작이 아니라 첫 SQL에서 커넥션을 받아야 readOnly 표시가 보이므로 LazyConnectionDataSourceProxy로 감싸 쓴다
+// 복제본이 밀려 있거나(ReplicaLagMonitor) 커넥션을 주지 못하면 읽기 전용이어도 주 DB에서 읽는다
+// 지표는 ReplicaLagMonitor와 같이 MeterBinder로 붙는다
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+
+    private final CompositeMeterRegistry meters = new CompositeMeterRegistry();
+
+    // rif.datasource.route: 어느 풀로 보냈는지와 그 이유
+    private final Counter readWrite;
+    private final Counter readOnly;
+    private final Counter lagFallback;
+    private final Counter errorFallback;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+
+        this.readWrite = route(Target.PRIMARY, "read-write");
+        this.readOnly = route(Target.REPLICA, "read-only");
+        this.lagFallback = route(Target.PRIMARY, "replica-lag");
+        this.errorFallback = route(Target.PRIMARY, "replica-error");
+
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        meters.add(registry);
+    }
+
+    // unwrap/isWrapperFor가 쓴다. 커넥션은 아래 getConnection이 지표와 함께 고른다
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+            return Target.PRIMARY;
+
+        return lagMonitor.isReplicaUsable() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readWrite.increment();
+            return primary.getConnection();
+        }
+
+        if (!lagMonitor.isReplicaUsable()) {
+            lagFallback.increment();
+            return primary.getConnection();
+        }
+
+        try {
+            Connection connection = replica.getConnection();
+            readOnly.increment();
+            return connection;
+        } catch (SQLException e) {
+            // 다음 확인에서 복제본이 살아날 때까지 주 DB를 쓴다
+            lagMonitor.markUnusable(e);
+            errorFallback.increment();
+            return primary.getConnection();
+        }
+    }
+
+    // 풀마다 계정이 정해져 있으므로 계정은 쓰지 않고 getConnection()과 같이 보낸다
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    private Counter route(Target target, String reason) {
+
+        return Counter.builder("rif.datasource.route")
+                .description("Connections handed out per pool")
+                .tag("target", target.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meters);
+    }
+}
@@ -1,8 +1,10 @@
 package team.a501.rif.config.Jwt;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -14,6 +16,7 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 @Component
@@ -22,21 +25,45 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
 
     private final JwtTokenProvider jwtTokenProvider;
 
+    private final MeterRegistry meterRegistry;
+
+    // 검증한 토큰의 Claims. 컨트롤러/서비스는 토큰을 다시 파싱하지 않고 이 값을 쓴다
+    public static final String CLAIMS_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".CLAIMS";
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
 
+        // 보안 필터 체인과 서블릿 필터로 두 번 불릴 수 있으므로 이미 검증한 요청은 넘긴다
+        if (request.getAttribute(CLAIMS_ATTRIBUTE) != null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
         String token = resolveToken((HttpServletRequest) request);
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            Authentication authentication = jwtTokenProvider.getAuthentication(token);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (token != null) {
+            // 서명 검증과 인증 객체 생성에 걸린 시간 (rif.jwt.validate)
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Optional<VerifiedToken> verified = jwtTokenProvider.verify(token);
+            if (verified.isPresent()) {
+                request.setAttribute(CLAIMS_ATTRIBUTE, verified.get().getClaims());
+                SecurityContextHolder.getContext().setAuthentication(verified.get().getAuthentication());
+            }
+            sample.stop(Timer.builder("rif.jwt.validate")
+                    .tag("result", verified.isPresent() ? "valid" : "invalid")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
         }
         chain.doFilter(request, response);
     }
 
+    public static Optional<Claims> claimsOf(HttpServletRequest request) {
+        return Optional.ofNullable((Claims) request.getAttribute(CLAIMS_ATTRIBUTE));
+    }
+
     // Request Header 에서 토큰 정보 추출
     public String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
-        log.info("resolveToken bearerToken = {}", bearerToken);
+        log.debug("resolveToken bearerToken = {}", bearerToken);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer")) {
             return bearerToken.substring(7);
         }
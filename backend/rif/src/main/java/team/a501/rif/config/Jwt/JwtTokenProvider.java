@@ -14,12 +14,14 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import team.a501.rif.dto.auth.TokenDto;
 import team.a501.rif.repository.auth.RefreshtokenRepository;
+import team.a501.rif.util.ExpiringLruCache;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Date;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,11 +30,29 @@ public class JwtTokenProvider {
     private final Key key;
     private final long expire;
 
+    // JwtParser는 불변이라 스레드 간에 공유해도 된다
+    private final JwtParser jwtParser;
+
+    // 토큰 digest -> 검증 결과. 토큰의 exp에 맞춰 만료된다
+    private final ExpiringLruCache<String, VerifiedToken> verifiedTokens;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
     public JwtTokenProvider(@Value("${security.jwt.token.secret}") String secretKey,
-                            @Value("${security.jwt.token.expire}") long expire, RefreshtokenRepository refreshtokenRepository) {
+                            @Value("${security.jwt.token.expire}") long expire, RefreshtokenRepository refreshtokenRepository,
+                            @Value("${security.jwt.cache.max-size:10000}") int cacheMaxSize) {
         this.expire = expire;
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        // 만료는 항목마다 exp로 정하므로 기본 TTL은 토큰 유효 기간으로 둔다
+        this.verifiedTokens = new ExpiringLruCache<>(cacheMaxSize, Duration.ofMillis(expire));
     }
 
     // accesstoken 발행하는 메서드
@@ -58,24 +78,73 @@ public class JwtTokenProvider {
     }
 
 
+    // 서명과 만료를 확인하고 인증 객체를 만든다. 같은 토큰은 exp까지 캐시에서 돌려준다
+    public Optional<VerifiedToken> verify(String token) {
+
+        String digest = digest(token);
+
+        Optional<VerifiedToken> cached = verifiedTokens.get(digest);
+
+        if (cached.isPresent())
+            return cached;
+
+        Claims claims;
+        try {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.info("Info Invalid JWT Token = {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        if (claims.get("auth") == null) {
+            log.info("Info JWT Token without authorities");
+            return Optional.empty();
+        }
+
+        VerifiedToken verified = new VerifiedToken(claims, toAuthentication(claims));
+
+        // exp가 없는 토큰은 캐시하지 않는다
+        if (claims.getExpiration() != null)
+            verifiedTokens.put(digest, verified, claims.getExpiration().getTime());
+
+        return Optional.of(verified);
+    }
+
+    private static String digest(String token) {
+
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
     // JWT 토큰 복호화 하여 토큰 정보 꺼내기
     public Authentication getAuthentication(String accessToken) {
         // 토큰 복호화해서 권한 확인
         Claims claims = parseClaims(accessToken);
+        return toAuthentication(claims);
+    }
+
+    private Authentication toAuthentication(Claims claims) {
         if (claims.get("auth") == null) {
             throw new RuntimeException("권한 정보가 없는 토큰");
         }
 //        Collection<? extends GrantedAuthority> authorities = Arrays.stream(claims.get("auth").toString().split(","))
 //                .map(SimpleGrantedAuthority::new)
 //                .collect(Collectors.toList());
-        Collection<? extends GrantedAuthority> authorities = new ArrayList<>(Arrays.asList(new SimpleGrantedAuthority("MEMBER")));
+        // 로그인한 멤버는 모두 MEMBER이고, 멤버의 Role(예: ROLE_ADMIN)은 auth 클레임으로 함께 온다
+        List<GrantedAuthority> authorities = new ArrayList<>(Arrays.asList(new SimpleGrantedAuthority("MEMBER")));
+        Arrays.stream(claims.get("auth").toString().split(","))
+                .map(String::trim)
+                .filter(a -> !a.isEmpty() && !a.equals("MEMBER"))
+                .map(SimpleGrantedAuthority::new)
+                .forEach(authorities::add);
         UserDetails principal = new User(claims.getSubject(), "", authorities);
         return new UsernamePasswordAuthenticationToken(principal, "", authorities);
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            jwtParser.parseClaimsJws(token);
             return true;
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("Info Invalid JWT Token = {}", e);
@@ -94,7 +163,7 @@ public class JwtTokenProvider {
 
     public Claims parseClaims(String accessToken) {
         try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(accessToken).getBody();
+            return jwtParser.parseClaimsJws(accessToken).getBody();
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
@@ -0,0 +1,18 @@
+package team.a501.rif.config.Jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+
+// 서명을 확인한 액세스 토큰의 Claims와 그로부터 만든 인증 객체
+@Getter
+public class VerifiedToken {
+
+    private final Claims claims;
+    private final Authentication authentication;
+
+    public VerifiedToken(Claims claims, Authentication authentication) {
+        this.claims = claims;
+        this.authentication = authentication;
+    }
+}
@@ -0,0 +1,97 @@
+package team.a501.rif.config.Metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// 풀에서 커넥션을 받은 뒤 close(풀 반납)까지 걸린 시간을 스레드별로 누적한다. 요청 단위 집계는 ConnectionHoldFilter가 한다
+// 풀에서 기다린 시간은 빼고 잰다 (대기 시간은 hikaricp.connections.acquire)
+public class ConnectionHoldDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    // [0] 누적 점유 시간(ns), [1] 커넥션을 받은 횟수
+    private static final ThreadLocal<long[]> HELD = ThreadLocal.withInitial(() -> new long[2]);
+
+    public ConnectionHoldDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    // 빈 종료 시 감싼 풀도 닫히도록 넘긴다. 스프링은 AutoCloseable 빈의 close를 부른다
+    // HikariDataSource는 Closeable이다. Exception을 던지지 않게 선언해 try-with-resources에서도 쓸 수 있게 한다
+    @Override
+    public void close() {
+
+        DataSource target = getTargetDataSource();
+
+        if (!(target instanceof Closeable))
+            return;
+
+        try {
+            ((Closeable) target).close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void reset() {
+        long[] held = HELD.get();
+        held[0] = 0;
+        held[1] = 0;
+    }
+
+    public static long heldNanos() {
+        return HELD.get()[0];
+    }
+
+    public static long acquisitions() {
+        return HELD.get()[1];
+    }
+
+    private static Connection track(Connection connection) {
+
+        long start = System.nanoTime();
+        HELD.get()[1]++;
+
+        boolean[] closed = new boolean[1];
+
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionHoldDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+
+                    if (method.getName().equals("equals"))
+                        return proxy == args[0];
+
+                    if (method.getName().equals("hashCode"))
+                        return System.identityHashCode(proxy);
+
+                    // 두 번 닫아도 한 번만 센다
+                    if (method.getName().equals("close") && !closed[0]) {
+                        closed[0] = true;
+                        HELD.get()[0] += System.nanoTime() - start;
+                    }
+
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
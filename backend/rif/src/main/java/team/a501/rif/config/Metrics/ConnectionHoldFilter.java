@@ -0,0 +1,53 @@
+package team.a501.rif.config.Metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// 요청 하나가 DB 커넥션을 잡고 있던 시간의 합을 URI 패턴별 분포로 남긴다 (rif.http.connection.hold)
+// DB를 쓰지 않은 요청은 0으로 남는다
+@RequiredArgsConstructor
+@Component
+public class ConnectionHoldFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        ConnectionHoldDataSource.reset();
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long heldNanos = ConnectionHoldDataSource.heldNanos();
+
+            // 컨트롤러까지 가지 않은 요청은 URI 패턴이 없다
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+            Timer.builder("rif.http.connection.hold")
+                    .description("Time a request held JDBC connections")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(heldNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+}
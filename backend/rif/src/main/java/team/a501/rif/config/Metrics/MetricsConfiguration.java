@@ -0,0 +1,64 @@
+package team.a501.rif.config.Metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+// 액추에이터 기본 설정은 metrics.properties, /actuator/prometheus 로 수집한다
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfiguration {
+
+    // 서비스 메서드의 @Timed
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // hibernate.* 지표는 통계를 켜야 나온다. 세션마다 찍히는 통계 로그는 끈다
+    @Bean
+    public HibernatePropertiesCustomizer hibernateMetricsCustomizer() {
+
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, "true");
+            properties.putIfAbsent(AvailableSettings.LOG_SESSION_METRICS, "false");
+            properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+        };
+    }
+
+    // 커넥션 풀을 감싸 요청별 커넥션 점유 시간을 잰다 (ConnectionHoldFilter)
+    // 풀 지표는 DataSourceUnwrapper로 안쪽 HikariDataSource를 찾으므로 그대로 나온다
+    // 이미 감싼 풀 위에 만든 DataSource(복제본 라우팅)는 두 번 세지 않도록 그대로 둔다
+    @Bean
+    public static BeanPostProcessor connectionHoldDataSourcePostProcessor() {
+
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+                if (bean instanceof DataSource && !isTracked((DataSource) bean))
+                    return new ConnectionHoldDataSource((DataSource) bean);
+
+                return bean;
+            }
+        };
+    }
+
+    private static boolean isTracked(DataSource dataSource) {
+
+        try {
+            return dataSource.isWrapperFor(ConnectionHoldDataSource.class);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
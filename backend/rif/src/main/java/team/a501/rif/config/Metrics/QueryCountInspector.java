@@ -0,0 +1,27 @@
+package team.a501.rif.config.Metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate가 준비하는 SQL 문을 스레드별로 센다. 요청 단위 집계는 QueryCountFilter가 한다
+// batch로 묶인 insert는 문장 하나로 센다
+public class QueryCountInspector implements StatementInspector {
+
+    // StatementInspector가 Serializable이다. 상태는 static ThreadLocal에만 둔다
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int current() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,71 @@
+package team.a501.rif.config.Metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 업무 지표: 키오스크별 제출 수, 점수 분포
+@Component
+public class RifMetrics {
+
+    public static final String UNKNOWN_KIOSK = "unknown";
+    private static final String OTHER_KIOSK = "other";
+    private static final int MAX_KIOSK_ID_LENGTH = 32;
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary scores;
+
+    // 헤더 값을 그대로 태그로 쓰면 시계열이 끝없이 늘어날 수 있으므로 키오스크 수를 제한한다
+    private final int maxKiosks;
+    private final Set<String> kiosks = ConcurrentHashMap.newKeySet();
+
+    public RifMetrics(MeterRegistry meterRegistry,
+                      @Value("${rif.metrics.max-kiosks:100}") int maxKiosks) {
+        this.meterRegistry = meterRegistry;
+        this.maxKiosks = maxKiosks;
+        this.scores = DistributionSummary.builder("rif.riflog.score")
+                .description("Score of saved RifLogs")
+                // 경계는 0보다 커야 한다. 0점은 20 이하 버킷에 들어간다
+                .serviceLevelObjectives(20, 40, 60, 80, 100)
+                .register(meterRegistry);
+    }
+
+    // outcome: saved, replayed, queued
+    public void countSubmission(String kioskId, String outcome) {
+
+        Counter.builder("rif.riflog.submissions")
+                .description("RifLog submissions per kiosk")
+                .tag("kiosk", kioskTag(kioskId))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordScore(int score) {
+        scores.record(score);
+    }
+
+    private String kioskTag(String kioskId) {
+
+        if (kioskId == null || kioskId.isBlank())
+            return UNKNOWN_KIOSK;
+
+        if (kioskId.length() > MAX_KIOSK_ID_LENGTH)
+            return OTHER_KIOSK;
+
+        if (kiosks.contains(kioskId))
+            return kioskId;
+
+        if (kiosks.size() >= maxKiosks)
+            return OTHER_KIOSK;
+
+        kiosks.add(kioskId);
+
+        return kioskId;
+    }
+}
@@ -8,9 +8,10 @@ import org.springframework.web.bind.annotation.*;
 import team.a501.rif.dto.achievement.AchievementInfo;
 import team.a501.rif.dto.achievement.AchievementSaveRequest;
 import team.a501.rif.service.achievement.AchievementService;
+import team.a501.rif.service.catalog.CatalogService;
+import team.a501.rif.service.catalog.CatalogSnapshot;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Tag(name = "AchievementController")
 @RequiredArgsConstructor
@@ -21,6 +22,8 @@ public class AchievementController {
 
     private final AchievementService achievementService;
 
+    private final CatalogService catalogService;
+
     @PostMapping("/achievement")
     @Operation(summary = "업적 추가")
     public ResponseEntity<AchievementInfo> saveAchievement(@RequestBody AchievementSaveRequest request) {
@@ -32,14 +35,13 @@ public class AchievementController {
     }
 
     @GetMapping("/achievement")
-    @Operation(summary = "모든 종류의 업적을 반환")
+    @Operation(summary = "모든 종류의 업적을 반환", description = "카탈로그 버전을 ETag로 내려주며, If-None-Match가 같으면 304를 반환한다")
     public ResponseEntity<List<AchievementInfo>> findAllAchievement() {
 
-        List<AchievementInfo> achievementInfoList = achievementService.findAll()
-                .stream()
-                .map(achievement -> AchievementInfo.from(achievement))
-                .collect(Collectors.toList());
+        CatalogSnapshot catalog = catalogService.getSnapshot();
 
-        return ResponseEntity.ok(achievementInfoList);
+        return ResponseEntity.ok()
+                .eTag(catalog.getETag())
+                .body(catalog.getAchievements());
     }
 }
@@ -8,9 +8,10 @@ import org.springframework.web.bind.annotation.*;
 import team.a501.rif.dto.badge.BadgeInfo;
 import team.a501.rif.dto.badge.BadgeSaveRequest;
 import team.a501.rif.service.badge.BadgeService;
+import team.a501.rif.service.catalog.CatalogService;
+import team.a501.rif.service.catalog.CatalogSnapshot;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Tag(name = "BadgeController")
 @RequiredArgsConstructor
@@ -21,6 +22,8 @@ public class BadgeController {
 
     private final BadgeService badgeService;
 
+    private final CatalogService catalogService;
+
     @PostMapping("/badge")
     @Operation(summary = "뱃지 추가")
     public ResponseEntity<BadgeInfo> saveBadge(@RequestBody BadgeSaveRequest request) {
@@ -31,14 +34,13 @@ public class BadgeController {
     }
 
     @GetMapping("/badge")
-    @Operation(summary = "모든 종류의 뱃지 반환")
+    @Operation(summary = "모든 종류의 뱃지 반환", description = "카탈로그 버전을 ETag로 내려주며, If-None-Match가 같으면 304를 반환한다")
     public ResponseEntity<List<BadgeInfo>> findAllBadges() {
 
-        List<BadgeInfo> badgeInfoList = badgeService.findAll()
-                .stream()
-                .map(badge -> BadgeInfo.from(badge))
-                .collect(Collectors.toList());
+        CatalogSnapshot catalog = catalogService.getSnapshot();
 
-        return ResponseEntity.ok(badgeInfoList);
+        return ResponseEntity.ok()
+                .eTag(catalog.getETag())
+                .body(catalog.getBadges());
     }
 }
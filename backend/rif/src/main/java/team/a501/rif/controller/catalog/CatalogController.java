@@ -0,0 +1,43 @@
+package team.a501.rif.controller.catalog;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import team.a501.rif.dto.catalog.CatalogReloadResponse;
+import team.a501.rif.service.catalog.CatalogService;
+
+import java.util.Map;
+
+@Tag(name = "CatalogController")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin("*")
+@RequestMapping("/api")
+@RestController
+public class CatalogController {
+
+    private final CatalogService catalogService;
+
+    @GetMapping("/catalog/version")
+    @Operation(summary = "뱃지/업적 카탈로그 버전을 조회한다", description = "카탈로그가 바뀔 때마다 증가하며 뱃지/업적 목록의 ETag와 같다")
+    public ResponseEntity<Map<String, Object>> findCatalogVersion() {
+
+        return ResponseEntity.ok(Map.of("version", catalogService.getSnapshot().getVersion()));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/v/admin/catalog/reload")
+    @Operation(summary = "뱃지/업적 카탈로그를 다시 불러온다", description = "관리자(ROLE_ADMIN)만 호출할 수 있다. badges.json, achievements.json과 비교해서 추가/수정/삭제된 항목만 반영한다. 획득한 멤버가 있는 항목은 삭제하지 않는다")
+    public ResponseEntity<CatalogReloadResponse> reloadCatalog() {
+
+        CatalogReloadResponse response = catalogService.reload();
+
+        log.info("reloadCatalog: {}", response);
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -4,25 +4,37 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import team.a501.rif.config.Metrics.RifMetrics;
 import team.a501.rif.dto.achievement.AchievementAcqInfo;
 import team.a501.rif.dto.badge.BadgeAcqInfo;
 import team.a501.rif.dto.member.*;
+import team.a501.rif.dto.riflog.RifLogCursorResponse;
 import team.a501.rif.dto.riflog.RifLogInfo;
+import team.a501.rif.dto.riflog.RifLogIngestStats;
 import team.a501.rif.dto.riflog.RifLogSaveRequest;
 import team.a501.rif.dto.riflog.RifLogSaveResponse;
+import team.a501.rif.service.member.MemberDirectory;
 import team.a501.rif.service.member.MemberService;
+import team.a501.rif.service.member.MemberStatsService;
+import team.a501.rif.service.riflog.RifLogIngestService;
 import team.a501.rif.service.riflog.RifLogService;
+import team.a501.rif.service.riflog.RifLogSubmissionCache;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Tag(name = "MemberController")
 @RequiredArgsConstructor
@@ -34,8 +46,21 @@ public class MemberController {
 
     private final MemberService memberService;
 
+    private final MemberDirectory memberDirectory;
+
+    private final MemberStatsService memberStatsService;
+
     private final RifLogService rifLogService;
 
+    private final RifLogIngestService rifLogIngestService;
+
+    private final RifLogSubmissionCache rifLogSubmissionCache;
+
+    private final RifMetrics rifMetrics;
+
+    private static final Integer MAX_SUBMISSION_ID_LENGTH = 64;
+    private static final Integer MAX_SEARCH_LIMIT = 50;
+
     @PostMapping("/member")
     @Operation(summary = "멤버를 등록한다")
     public ResponseEntity<MemberResponse> registerMember(@RequestBody MemberRegisterRequest request) {
@@ -110,6 +135,15 @@ public class MemberController {
         return ResponseEntity.ok(Map.of("onDisplayAchievement", onDisplayAchievements));
     }
 
+    @GetMapping("/member/stats")
+    @Operation(summary = "멤버의 RIF 사용 통계를 조회한다", description = "분리한 개수, 플라스틱/재활용 정확도, 최고 점수, 방문당 평균 경험치, 마지막 방문. 저장할 때 미리 집계해 둔 값을 읽는다")
+    public ResponseEntity<MemberStatsResponse> findMemberStats(@RequestParam String memberId) {
+
+        log.info("findMemberStats: {}", memberId);
+
+        return ResponseEntity.ok(memberStatsService.findByMemberId(memberId));
+    }
+
     @GetMapping("/v/member/achievement")
     @Operation(summary = "멤버의 전체 업적을 조회한다", description = "인증된 사용자가 자신의 전체 업적을 조회할 수 있다")
     public ResponseEntity<Map<String, Object>> findAllMemberAchievementAcq(@RequestParam String memberId) {
@@ -144,6 +178,32 @@ public class MemberController {
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping(value = "/v/gatcha", params = "count")
+    @Operation(summary = "뱃지 뽑기를 여러 번 진행한다", description = "count회(최대 10회) 뽑기를 한 트랜잭션으로 진행한다. 포인트가 count * 100보다 적으면 한 번도 뽑지 않는다. 결과는 뽑은 순서대로 반환한다")
+    public ResponseEntity<List<BadgeGatchaResponse>> badgeGatchaMultiple(@RequestParam String memberId,
+                                                                         @RequestParam Integer count) {
+
+        log.info("badgeGatchaMultiple: {}, {}", memberId, count);
+
+        List<BadgeGatchaResponse> results = memberService.drawRandomBadges(memberId, count);
+
+        return ResponseEntity.ok(results);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/v/admin/member/balance")
+    @Operation(summary = "멤버에게 경험치/포인트를 지급한다", description = "관리자(ROLE_ADMIN)만 호출할 수 있다. 음수를 주면 회수한다. 포인트가 음수가 되는 회수는 반영하지 않는다")
+    public ResponseEntity<MemberBalance> grantBalance(@RequestParam String memberId,
+                                                      @RequestParam(defaultValue = "0") Integer exp,
+                                                      @RequestParam(defaultValue = "0") Integer point) {
+
+        log.info("grantBalance: {}, {}, {}", memberId, exp, point);
+
+        MemberBalance balance = memberService.grant(memberId, exp, point);
+
+        return ResponseEntity.ok(balance);
+    }
+
     @GetMapping("/v/member/riflog")
     @Operation(summary = "멤버의 전체 RIF 사용 이력을 조회한다")
     public ResponseEntity<Slice<RifLogInfo>> findMemberRifLogs(@RequestParam String memberId,
@@ -159,16 +219,74 @@ public class MemberController {
         return ResponseEntity.ok(rifLogInfoSlice);
     }
 
+    @GetMapping("/v/member/riflog/cursor")
+    @Operation(summary = "멤버의 RIF 사용 이력을 최신순으로 조회한다", description = "첫 요청은 cursor 없이 보내고, 다음 페이지는 응답의 nextCursor를 cursor로 넘긴다. 깊은 페이지도 앞 페이지를 건너뛰며 읽지 않는다")
+    public ResponseEntity<RifLogCursorResponse> findMemberRifLogsByCursor(@RequestParam String memberId,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(defaultValue = "20") Integer size) {
+
+        log.info("findMemberRifLogsByCursor: {}, {}, {}", memberId, cursor, size);
+
+        return ResponseEntity.ok(rifLogService.findByMember(memberId, cursor, size));
+    }
+
     @PostMapping("/member/riflog")
-    @Operation(summary = "멤버의 RIF 사용 이력을 추가한다")
-    public ResponseEntity<RifLogSaveResponse> saveRifLog(@RequestBody RifLogSaveRequest body) {
+    @Operation(summary = "멤버의 RIF 사용 이력을 추가한다", description = "Idempotency-Key 헤더나 submissionId가 같은 재전송은 저장하지 않고 처음 응답을 돌려준다")
+    public ResponseEntity<RifLogSaveResponse> saveRifLog(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                         @RequestHeader(value = "X-Kiosk-Id", required = false) String kioskId,
+                                                         @RequestBody RifLogSaveRequest body) {
         log.info("saveRifLog: {}", body);
 
-        RifLogSaveResponse rifLogSaveResponse = memberService.addRifLog(body);
+        if (idempotencyKey != null)
+            body.setSubmissionId(idempotencyKey);
+
+        if (body.getSubmissionId() != null && body.getSubmissionId().length() > MAX_SUBMISSION_ID_LENGTH)
+            throw new IllegalArgumentException("제출 ID는 " + MAX_SUBMISSION_ID_LENGTH + "자 이하여야 합니다");
+
+        // 재전송된 제출이면 DB에 가지 않고 처음 응답을 돌려준다
+        Optional<RifLogSaveResponse> replayed = rifLogSubmissionCache.find(body.getSubmissionId());
+
+        if (replayed.isPresent()) {
+            rifMetrics.countSubmission(kioskId, "replayed");
+            return ResponseEntity.ok(replayed.get());
+        }
+
+        RifLogSaveResponse rifLogSaveResponse;
+        boolean async = rifLogIngestService.isEnabled();
+
+        try {
+            // 비동기 적재가 켜져 있으면 점수만 계산해서 바로 응답한다
+            rifLogSaveResponse = async
+                    ? rifLogIngestService.accept(body)
+                    : memberService.addRifLog(body);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 제출이 동시에 들어와 다른 요청이 먼저 저장한 경우
+            rifLogSaveResponse = rifLogService.findBySubmissionId(body.getSubmissionId())
+                    .orElseThrow(() -> e);
+        }
+
+        rifMetrics.countSubmission(kioskId, async ? "queued" : "saved");
 
         return ResponseEntity.ok(rifLogSaveResponse);
     }
 
+    @PostMapping("/member/riflog/batch")
+    @Operation(summary = "멤버들의 RIF 사용 이력을 한 번에 추가한다", description = "키오스크가 밀린 이력을 재전송할 때 사용한다. 응답은 요청 순서대로 항목별 결과를 담고, 없는 uid의 항목은 status 404와 message를 담는다")
+    public ResponseEntity<List<RifLogSaveResponse>> saveRifLogs(@RequestBody List<RifLogSaveRequest> body) {
+        log.info("saveRifLogs: {} items", body.size());
+
+        List<RifLogSaveResponse> rifLogSaveResponses = memberService.addRifLogs(body);
+
+        return ResponseEntity.ok(rifLogSaveResponses);
+    }
+
+    @GetMapping("/member/riflog/ingest")
+    @Operation(summary = "RIF 사용 이력 비동기 적재 상태를 조회한다", description = "큐 길이, 그룹 커밋 횟수와 소요 시간을 반환한다")
+    public ResponseEntity<RifLogIngestStats> findRifLogIngestStats() {
+
+        return ResponseEntity.ok(rifLogIngestService.getStats());
+    }
+
     @Operation(summary = "권한 테스트", description = "권한 테스트하는 메서드입니다. 토큰을 넣으면 hello")
     @PostMapping(value = "/v/hello")
     public String hello() {
@@ -211,17 +329,59 @@ public class MemberController {
         return ResponseEntity.ok(Map.of("members", getNameAll));
     }
 
-    @Operation(summary = "회원 찾기", description = "이름으로 회원을 찾는 메서드입니다.")
+    @Operation(summary = "회원이름 페이지", description = "회원 이름을 학번순으로 size명씩 반환한다. 첫 요청은 cursor 없이 보내고, 다음 페이지는 응답의 nextCursor를 cursor로 넘긴다")
+    @GetMapping(value = "/member/name/cursor")
+    public ResponseEntity<MemberDirectoryResponse> getMemberNamePage(@RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "100") Integer size) {
+
+        log.info("getMemberNamePage: {}, {}", cursor, size);
+
+        return ResponseEntity.ok(memberService.getMembersName(cursor, size));
+    }
+
+    @Operation(summary = "회원이름 스트리밍", description = "/member/name과 같은 모양의 JSON을 DB에서 읽는 대로 내려준다. 회원 수와 관계없이 서버 메모리가 일정하다")
+    @GetMapping(value = "/member/name/stream")
+    public ResponseEntity<StreamingResponseBody> streamMemberNameAll() {
+
+        // 트랜잭션 밖에서 쓰도록 서비스를 거치지 않는다. 트랜잭션에 묶이면 JPA 커넥션까지 함께 잡힌다
+        StreamingResponseBody body = out -> memberDirectory.writeAll(out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @Operation(summary = "회원 찾기", description = "이름에 name이 들어 있는 회원을 이름순으로 찾는다. 자음만 주면 초성으로 찾는다 (ㅂㄷㅇ -> 박도윤)")
     @GetMapping(value = "/member/search")
-    public ResponseEntity<Map<String, Object>> findMembers(@RequestParam String name) {
+    public ResponseEntity<Map<String, Object>> findMembers(@RequestParam String name,
+                                                           @RequestParam(defaultValue = "20") Integer limit) {
+
+        log.info("Search member name info = {}, {}", name, limit);
 
-        log.info("Search member name info = {}", name);
+        checkSearchLimit(limit);
 
-        List<FindMemberByName> repoResponse = memberService.findByName(name);
+        List<FindMemberByName> repoResponse = memberService.findByName(name, limit);
 
         return ResponseEntity.ok(Map.of("members", repoResponse));
     }
 
+    @Operation(summary = "회원 이름 자동완성", description = "이름이 prefix로 시작하는 회원을 이름순으로 찾는다. 자음만 주면 초성으로 찾는다")
+    @GetMapping(value = "/member/search/autocomplete")
+    public ResponseEntity<Map<String, Object>> autocompleteMembers(@RequestParam String prefix,
+                                                                   @RequestParam(defaultValue = "10") Integer limit) {
+
+        log.info("autocompleteMembers: {}, {}", prefix, limit);
+
+        checkSearchLimit(limit);
+
+        return ResponseEntity.ok(Map.of("members", memberService.autocomplete(prefix, limit)));
+    }
+
+    private static void checkSearchLimit(Integer limit) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT)
+            throw new IllegalArgumentException("limit은 1 이상 " + MAX_SEARCH_LIMIT + " 이하여야 합니다");
+    }
+
     @GetMapping("/ranking")
     @Operation(summary = "누적 경험치 Top 10 랭킹을 조회한다")
     public ResponseEntity<Map<String, Object>> findExpTop10Members() {
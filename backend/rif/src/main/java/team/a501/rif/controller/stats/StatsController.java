@@ -0,0 +1,58 @@
+package team.a501.rif.controller.stats;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import team.a501.rif.domain.stats.RollupGrain;
+import team.a501.rif.dto.stats.TimeSeriesResponse;
+import team.a501.rif.service.stats.RifLogRollupCorrectionJob;
+import team.a501.rif.service.stats.RifLogRollupService;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+
+@Tag(name = "StatsController")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin("*")
+@RequestMapping("/api")
+@RestController
+public class StatsController {
+
+    private final RifLogRollupService rifLogRollupService;
+
+    private final RifLogRollupCorrectionJob rifLogRollupCorrectionJob;
+
+    @GetMapping("/stats/timeseries")
+    @Operation(summary = "전체 키오스크의 분리수거량과 정확도를 시간/일/월 단위로 조회한다",
+            description = "grain은 hour, day, month. from, to는 ISO 날짜시간이고 [from, to) 구간이다. 미리 더해 둔 롤업만 읽으며 최근 몇 초의 제출은 아직 반영되지 않았을 수 있다")
+    public ResponseEntity<TimeSeriesResponse> findTimeSeries(@RequestParam String grain,
+                                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        log.info("findTimeSeries: {}, {}, {}", grain, from, to);
+
+        RollupGrain rollupGrain = RollupGrain.valueOf(grain.toUpperCase(Locale.ROOT));
+
+        return ResponseEntity.ok(rifLogRollupService.findTimeSeries(rollupGrain, from, to));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/v/admin/stats/rollup/correct")
+    @Operation(summary = "시계열 롤업을 RifLog로부터 다시 계산한다", description = "관리자(ROLE_ADMIN)만 호출할 수 있다. 구간은 최대 31일이다. 대량 적재처럼 저장 경로를 거치지 않은 구간에 쓴다")
+    public ResponseEntity<Map<String, Object>> correctRollups(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        log.info("correctRollups: {}, {}", from, to);
+
+        int corrected = rifLogRollupCorrectionJob.correct(from, to);
+
+        return ResponseEntity.ok(Map.of("correctedHours", corrected));
+    }
+}
@@ -27,6 +27,10 @@ public class Achievement {
     @Column(length = 50)
     private String imgPath;
 
+    // 멤버 보유 비트셋(AcqBits)의 비트 번호. CatalogService가 처음 불러올 때 정하고 바꾸지 않는다
+    @Column(unique = true)
+    private Integer slot;
+
     @Column
     @Enumerated(EnumType.STRING)
     private AchievementTag achievementTag;
@@ -47,6 +51,14 @@ public class Achievement {
         return id;
     }
 
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public void assignSlot(Integer slot) {
+        this.slot = slot;
+    }
+
     public Integer getTier() {
         return tier;
     }
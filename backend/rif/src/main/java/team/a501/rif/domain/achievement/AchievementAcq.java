@@ -9,7 +9,8 @@ import javax.persistence.*;
 public class AchievementAcq extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "achievement_acq_seq")
+    @SequenceGenerator(name = "achievement_acq_seq", sequenceName = "achievement_acq_seq", allocationSize = 50)
     private Long id;
 
     private Boolean onDisplay;
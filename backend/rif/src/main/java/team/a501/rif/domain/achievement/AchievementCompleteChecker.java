@@ -1,73 +1,66 @@
 package team.a501.rif.domain.achievement;
 
+import team.a501.rif.domain.riflog.RifLogCounter;
 import team.a501.rif.dto.riflog.RifLogInfo;
 
 import java.util.List;
 
 public class AchievementCompleteChecker {
 
-    private Integer rifUseCount;
-    private Integer plasticSuccessCount;
-    private Integer recycleSuccessCount;
-    private Integer perfectSuccessCount;
-
-    private AchievementCompleteChecker() {
-        this.rifUseCount = 0;
-        this.plasticSuccessCount = 0;
-        this.recycleSuccessCount = 0;
-        this.perfectSuccessCount = 0;
-    }
-
-    private void addRifUseCount() {
-        this.rifUseCount++;
-    }
-
-    private void addPlasticSuccess() {
-        this.plasticSuccessCount++;
-    }
-
-    private void addRecycleSuccess() {
-        this.recycleSuccessCount++;
-    }
-
-    private void addPerfectSuccess() {
-        this.perfectSuccessCount++;
+    private final int rifUseCount;
+    private final int plasticSuccessCount;
+    private final int recycleSuccessCount;
+    private final int perfectSuccessCount;
+
+    private AchievementCompleteChecker(int rifUseCount, int plasticSuccessCount,
+                                       int recycleSuccessCount, int perfectSuccessCount) {
+        this.rifUseCount = rifUseCount;
+        this.plasticSuccessCount = plasticSuccessCount;
+        this.recycleSuccessCount = recycleSuccessCount;
+        this.perfectSuccessCount = perfectSuccessCount;
     }
 
+    // RifLogServiceImpl.countRifLog가 카운터를 올리는 것과 같은 기준으로 세되 중간 객체 없이 지역 변수로 센다
     public static AchievementCompleteChecker of(List<RifLogInfo> rifLogInfoList) {
 
-        AchievementCompleteChecker instance = new AchievementCompleteChecker();
+        int rifUseCount = 0;
+        int plasticSuccessCount = 0;
+        int recycleSuccessCount = 0;
+        int perfectSuccessCount = 0;
 
-        for (var e :
-                rifLogInfoList) {
+        for (int i = 0, n = rifLogInfoList.size(); i < n; ++i) {
 
-            instance.addRifUseCount();
+            RifLogInfo e = rifLogInfoList.get(i);
 
-            Boolean isPlasticSuccess = false;
-            Boolean isRecycleSuccess = false;
+            boolean isPlasticSuccess = RifLogCounter.isPlasticSuccess(e.getPlasticTotal(), e.getPlasticOk());
+            boolean isRecycleSuccess = RifLogCounter.isRecycleSuccess(e.getRecycleTotal(), e.getRecycleOk());
 
-            if (e.getPlasticTotal() > 0 && e.getPlasticTotal().equals(e.getPlasticOk())) {
+            rifUseCount++;
 
-                isPlasticSuccess = true;
-                instance.addPlasticSuccess();
-            }
+            if (isPlasticSuccess) plasticSuccessCount++;
 
-            if (e.getRecycleTotal() > 0 && e.getRecycleTotal().equals(e.getRecycleOk())) {
+            if (isRecycleSuccess) recycleSuccessCount++;
 
-                isRecycleSuccess = true;
-                instance.addRecycleSuccess();
-            }
+            if (isPlasticSuccess && isRecycleSuccess) perfectSuccessCount++;
+        }
 
-            if (isPlasticSuccess && isRecycleSuccess) {
+        return new AchievementCompleteChecker(rifUseCount, plasticSuccessCount, recycleSuccessCount, perfectSuccessCount);
+    }
 
-                instance.addPerfectSuccess();
-            }
-        }
+    // 누적 카운터로부터 O(1)에 판정기를 만든다
+    public static AchievementCompleteChecker of(RifLogCounter counter) {
 
-        return instance;
+        return new AchievementCompleteChecker(counter.getRifUseCount(), counter.getPlasticSuccessCount(),
+                counter.getRecycleSuccessCount(), counter.getPerfectSuccessCount());
     }
 
     public Boolean isCompleted(AchievementTag achievementTag) {
+        return isCompleted(achievementTag, rifUseCount, plasticSuccessCount, recycleSuccessCount, perfectSuccessCount);
+    }
+
+    // 판정기 객체 없이 누적값만으로 판정한다
+    public static boolean isCompleted(AchievementTag achievementTag, int rifUseCount, int plasticSuccessCount,
+                                      int recycleSuccessCount, int perfectSuccessCount) {
 
         switch (achievementTag) {
 
@@ -27,6 +27,10 @@ public class Badge {
     @Column(length = 40)
     private String imgPath;
 
+    // 멤버 보유 비트셋(AcqBits)의 비트 번호. CatalogService가 처음 불러올 때 정하고 바꾸지 않는다
+    @Column(unique = true)
+    private Integer slot;
+
     @JsonIgnore
     @OneToMany(mappedBy = "badge")
     private List<BadgeAcq> badgeAcqs;
@@ -46,6 +50,14 @@ public class Badge {
         return id;
     }
 
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public void assignSlot(Integer slot) {
+        this.slot = slot;
+    }
+
     public String getTitle() {
         return title;
     }
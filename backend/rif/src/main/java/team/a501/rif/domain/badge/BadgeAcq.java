@@ -5,11 +5,14 @@ import team.a501.rif.domain.member.Member;
 
 import javax.persistence.*;
 
+// 같은 뱃지를 두 번 획득할 수 없다
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_badge_acq_member_badge", columnNames = {"member_id", "badge_id"}))
 public class BadgeAcq extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "badge_acq_seq")
+    @SequenceGenerator(name = "badge_acq_seq", sequenceName = "badge_acq_seq", allocationSize = 50)
     private Long id;
 
     private Boolean onDisplay;
@@ -0,0 +1,128 @@
+package team.a501.rif.domain.member;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+// 멤버가 가진 뱃지(또는 업적)를 카탈로그 slot 번호로 모아 둔 비트셋
+// owned/displayed는 slot당 1비트, acquiredAt은 slot당 4바이트(획득 시각을 UTC로 본 epoch 초, 부호 없음)
+// 배열은 가장 큰 slot까지만 늘어나므로 카탈로그가 작으면 수십 바이트다
+public final class AcqBits {
+
+    public static final int MAX_SLOTS = 512;
+
+    public static final int BITS_LENGTH = MAX_SLOTS / 8;
+    public static final int TIMES_LENGTH = MAX_SLOTS * 4;
+
+    private byte[] owned;
+    private byte[] displayed;
+    private byte[] acquiredAt;
+
+    public AcqBits(byte[] owned, byte[] displayed, byte[] acquiredAt) {
+        this.owned = owned == null ? new byte[0] : owned;
+        this.displayed = displayed == null ? new byte[0] : displayed;
+        this.acquiredAt = acquiredAt == null ? new byte[0] : acquiredAt;
+    }
+
+    public static AcqBits empty() {
+        return new AcqBits(null, null, null);
+    }
+
+    public boolean isOwned(int slot) {
+        return get(owned, slot);
+    }
+
+    public boolean isDisplayed(int slot) {
+        return get(displayed, slot);
+    }
+
+    // 없으면 null
+    public LocalDateTime getAcquiredAt(int slot) {
+
+        if (!isOwned(slot) || (slot + 1) * 4 > acquiredAt.length)
+            return null;
+
+        int i = slot * 4;
+        long seconds = ((acquiredAt[i] & 0xFFL) << 24)
+                | ((acquiredAt[i + 1] & 0xFFL) << 16)
+                | ((acquiredAt[i + 2] & 0xFFL) << 8)
+                | (acquiredAt[i + 3] & 0xFFL);
+
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+
+    // 이미 가진 slot이면 처음 획득 시각을 그대로 둔다
+    public void acquire(int slot, LocalDateTime at) {
+
+        if (isOwned(slot))
+            return;
+
+        owned = set(owned, slot, true);
+
+        long seconds = at.toEpochSecond(ZoneOffset.UTC);
+
+        if ((slot + 1) * 4 > acquiredAt.length)
+            acquiredAt = Arrays.copyOf(acquiredAt, (slot + 1) * 4);
+
+        int i = slot * 4;
+        acquiredAt[i] = (byte) (seconds >>> 24);
+        acquiredAt[i + 1] = (byte) (seconds >>> 16);
+        acquiredAt[i + 2] = (byte) (seconds >>> 8);
+        acquiredAt[i + 3] = (byte) seconds;
+    }
+
+    public void release(int slot) {
+
+        owned = set(owned, slot, false);
+        displayed = set(displayed, slot, false);
+    }
+
+    public void setDisplayed(int slot, boolean value) {
+        displayed = set(displayed, slot, value);
+    }
+
+    public byte[] getOwned() {
+        return owned;
+    }
+
+    public byte[] getDisplayed() {
+        return displayed;
+    }
+
+    public byte[] getAcquiredAt() {
+        return acquiredAt;
+    }
+
+    private static boolean get(byte[] bits, int slot) {
+
+        checkSlot(slot);
+
+        return slot / 8 < bits.length && (bits[slot / 8] & (1 << (slot % 8))) != 0;
+    }
+
+    private static byte[] set(byte[] bits, int slot, boolean value) {
+
+        checkSlot(slot);
+
+        if (slot / 8 >= bits.length) {
+
+            if (!value)
+                return bits;
+
+            bits = Arrays.copyOf(bits, slot / 8 + 1);
+        }
+
+        if (value)
+            bits[slot / 8] |= (byte) (1 << (slot % 8));
+        else
+            bits[slot / 8] &= (byte) ~(1 << (slot % 8));
+
+        return bits;
+    }
+
+    private static void checkSlot(int slot) {
+
+        if (slot < 0 || slot >= MAX_SLOTS)
+            throw new IllegalArgumentException("slot은 0 이상 " + MAX_SLOTS + " 미만이어야 합니다: " + slot);
+    }
+}
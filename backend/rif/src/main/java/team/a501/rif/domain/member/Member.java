@@ -3,6 +3,7 @@ package team.a501.rif.domain.member;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -16,7 +17,9 @@ import javax.persistence.*;
 import java.util.*;
 import java.util.stream.Collectors;
 
+// exp/point는 MemberAccountingRepository가 SQL로 직접 증감하므로, 다른 컬럼을 고칠 때 읽어둔 값으로 덮어쓰지 않도록 바뀐 컬럼만 UPDATE 한다
 @NoArgsConstructor
+@DynamicUpdate
 @Entity
 public class Member implements UserDetails {
     @JsonIgnore
@@ -40,6 +43,26 @@ public class Member implements UserDetails {
     @Column(length = 40)
     private String imgPath; // 기본값 /profile/default.png
 
+    // 뱃지/업적 보유 비트셋(AcqBits). MemberAcqBitsRepository가 행을 잠그고 SQL로만 읽고 고친다
+    // 엔티티에서는 스키마만 정의하고 쓰지 않는다. null이면 처음 읽을 때 획득 테이블에서 만든다
+    @Column(name = "badge_owned", length = AcqBits.BITS_LENGTH, insertable = false, updatable = false)
+    private byte[] badgeOwned;
+
+    @Column(name = "badge_displayed", length = AcqBits.BITS_LENGTH, insertable = false, updatable = false)
+    private byte[] badgeDisplayed;
+
+    @Column(name = "badge_acquired_at", length = AcqBits.TIMES_LENGTH, insertable = false, updatable = false)
+    private byte[] badgeAcquiredAt;
+
+    @Column(name = "achievement_owned", length = AcqBits.BITS_LENGTH, insertable = false, updatable = false)
+    private byte[] achievementOwned;
+
+    @Column(name = "achievement_displayed", length = AcqBits.BITS_LENGTH, insertable = false, updatable = false)
+    private byte[] achievementDisplayed;
+
+    @Column(name = "achievement_acquired_at", length = AcqBits.TIMES_LENGTH, insertable = false, updatable = false)
+    private byte[] achievementAcquiredAt;
+
     @OneToMany(mappedBy = "member", cascade = CascadeType.REMOVE)
     private Map<Long, BadgeAcq> badgeAcqs;
 
@@ -161,6 +184,10 @@ public class Member implements UserDetails {
         this.imgPath = profileImgPath;
     }
 
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
     public Boolean hasBadge(@NotNull Long badgeId) {
         return badgeAcqs.containsKey(badgeId);
     }
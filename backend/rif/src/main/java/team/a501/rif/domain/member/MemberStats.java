@@ -0,0 +1,137 @@
+package team.a501.rif.domain.member;
+
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+// 멤버별 통계 화면용 누적 집계. RifLog 저장과 같은 트랜잭션에서 원자적 증가 쿼리로 갱신한다
+// 정확도, 방문당 평균 경험치 같은 비율은 저장하지 않고 응답을 만들 때 계산한다
+@NoArgsConstructor
+@Entity
+public class MemberStats {
+
+    @Id
+    private String memberId;
+
+    private Long visitCount;
+
+    private Long plasticTotal;
+
+    private Long plasticOk;
+
+    private Long recycleTotal;
+
+    private Long recycleOk;
+
+    private Long expTotal;
+
+    private Integer bestScore;
+
+    private LocalDateTime firstVisit;
+
+    private LocalDateTime lastVisit;
+
+    private MemberStats(String memberId) {
+        this.memberId = memberId;
+        this.visitCount = 0L;
+        this.plasticTotal = 0L;
+        this.plasticOk = 0L;
+        this.recycleTotal = 0L;
+        this.recycleOk = 0L;
+        this.expTotal = 0L;
+        this.bestScore = 0;
+    }
+
+    public static MemberStats empty(String memberId) {
+        return new MemberStats(memberId);
+    }
+
+    public static MemberStats of(String memberId, Long visitCount, Long plasticTotal, Long plasticOk,
+                                 Long recycleTotal, Long recycleOk, Long expTotal, Integer bestScore,
+                                 LocalDateTime firstVisit, LocalDateTime lastVisit) {
+
+        MemberStats stats = new MemberStats(memberId);
+
+        stats.visitCount = visitCount;
+        stats.plasticTotal = plasticTotal;
+        stats.plasticOk = plasticOk;
+        stats.recycleTotal = recycleTotal;
+        stats.recycleOk = recycleOk;
+        stats.expTotal = expTotal;
+        stats.bestScore = bestScore;
+        stats.firstVisit = firstVisit;
+        stats.lastVisit = lastVisit;
+
+        return stats;
+    }
+
+    public void overwrite(MemberStats other) {
+        this.visitCount = other.visitCount;
+        this.plasticTotal = other.plasticTotal;
+        this.plasticOk = other.plasticOk;
+        this.recycleTotal = other.recycleTotal;
+        this.recycleOk = other.recycleOk;
+        this.expTotal = other.expTotal;
+        this.bestScore = other.bestScore;
+        this.firstVisit = other.firstVisit;
+        this.lastVisit = other.lastVisit;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public Long getVisitCount() {
+        return visitCount;
+    }
+
+    public Long getPlasticTotal() {
+        return plasticTotal;
+    }
+
+    public Long getPlasticOk() {
+        return plasticOk;
+    }
+
+    public Long getRecycleTotal() {
+        return recycleTotal;
+    }
+
+    public Long getRecycleOk() {
+        return recycleOk;
+    }
+
+    public Long getExpTotal() {
+        return expTotal;
+    }
+
+    public Integer getBestScore() {
+        return bestScore;
+    }
+
+    public LocalDateTime getFirstVisit() {
+        return firstVisit;
+    }
+
+    public LocalDateTime getLastVisit() {
+        return lastVisit;
+    }
+
+    @Override
+    public String toString() {
+        return "MemberStats{" +
+                "\n memberId='" + memberId + '\'' +
+                ",\n visitCount=" + visitCount +
+                ",\n plasticTotal=" + plasticTotal +
+                ",\n plasticOk=" + plasticOk +
+                ",\n recycleTotal=" + recycleTotal +
+                ",\n recycleOk=" + recycleOk +
+                ",\n expTotal=" + expTotal +
+                ",\n bestScore=" + bestScore +
+                ",\n firstVisit=" + firstVisit +
+                ",\n lastVisit=" + lastVisit +
+                "\n}";
+    }
+}
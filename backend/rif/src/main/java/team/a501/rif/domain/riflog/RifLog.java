@@ -8,12 +8,18 @@ import team.a501.rif.domain.member.Member;
 
 import javax.persistence.*;
 
+// 멤버별 최신순 이력 조회(키셋 페이지네이션)가 인덱스만 타고 내려가도록 (member_id, created, id) 복합 인덱스를 둔다
+// 시계열 롤업 보정은 최근 구간만 읽도록 created 인덱스를 쓴다
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_rif_log_member_created_id", columnList = "member_id, created, id"),
+        @Index(name = "idx_rif_log_created", columnList = "created")})
 public class RifLog extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rif_log_seq")
+    @SequenceGenerator(name = "rif_log_seq", sequenceName = "rif_log_seq", allocationSize = 50)
     private Long id;
 
     @JsonIgnore
@@ -31,14 +37,18 @@ public class RifLog extends BaseEntity {
 
     private Integer point;
 
+    @Column(unique = true, length = 64)
+    private String submissionId;
+
     @Builder
-    public RifLog(Integer plasticTotal, Integer plasticOk, Integer recycleTotal, Integer recycleOk, Integer exp, Integer point) {
+    public RifLog(Integer plasticTotal, Integer plasticOk, Integer recycleTotal, Integer recycleOk, Integer exp, Integer point, String submissionId) {
         this.plasticTotal = plasticTotal;
         this.plasticOk = plasticOk;
         this.recycleTotal = recycleTotal;
         this.recycleOk = recycleOk;
         this.exp = exp;
         this.point = point;
+        this.submissionId = submissionId;
     }
 
     public Long getId() {
@@ -77,6 +87,10 @@ public class RifLog extends BaseEntity {
         return point;
     }
 
+    public String getSubmissionId() {
+        return submissionId;
+    }
+
     @Override
     public String toString() {
         return "RifLog{" +
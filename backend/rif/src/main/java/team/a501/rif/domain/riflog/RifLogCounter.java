@@ -0,0 +1,94 @@
+package team.a501.rif.domain.riflog;
+
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+// 멤버별 RifLog 누적 집계. 업적 판정 시 전체 RifLog를 다시 읽지 않도록 저장 시점에 함께 갱신한다
+@NoArgsConstructor
+@Entity
+public class RifLogCounter {
+
+    @Id
+    private String memberId;
+
+    private Integer rifUseCount;
+
+    private Integer plasticSuccessCount;
+
+    private Integer recycleSuccessCount;
+
+    private Integer perfectSuccessCount;
+
+    private RifLogCounter(String memberId) {
+        this.memberId = memberId;
+        this.rifUseCount = 0;
+        this.plasticSuccessCount = 0;
+        this.recycleSuccessCount = 0;
+        this.perfectSuccessCount = 0;
+    }
+
+    public static RifLogCounter empty(String memberId) {
+        return new RifLogCounter(memberId);
+    }
+
+    public static RifLogCounter of(String memberId, Integer rifUseCount, Integer plasticSuccessCount,
+                                   Integer recycleSuccessCount, Integer perfectSuccessCount) {
+
+        RifLogCounter counter = new RifLogCounter(memberId);
+
+        counter.rifUseCount = rifUseCount;
+        counter.plasticSuccessCount = plasticSuccessCount;
+        counter.recycleSuccessCount = recycleSuccessCount;
+        counter.perfectSuccessCount = perfectSuccessCount;
+
+        return counter;
+    }
+
+    public static Boolean isPlasticSuccess(Integer plasticTotal, Integer plasticOk) {
+        return plasticTotal > 0 && plasticTotal.equals(plasticOk);
+    }
+
+    public static Boolean isRecycleSuccess(Integer recycleTotal, Integer recycleOk) {
+        return recycleTotal > 0 && recycleTotal.equals(recycleOk);
+    }
+
+    public void overwrite(RifLogCounter other) {
+        this.rifUseCount = other.rifUseCount;
+        this.plasticSuccessCount = other.plasticSuccessCount;
+        this.recycleSuccessCount = other.recycleSuccessCount;
+        this.perfectSuccessCount = other.perfectSuccessCount;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public Integer getRifUseCount() {
+        return rifUseCount;
+    }
+
+    public Integer getPlasticSuccessCount() {
+        return plasticSuccessCount;
+    }
+
+    public Integer getRecycleSuccessCount() {
+        return recycleSuccessCount;
+    }
+
+    public Integer getPerfectSuccessCount() {
+        return perfectSuccessCount;
+    }
+
+    @Override
+    public String toString() {
+        return "RifLogCounter{" +
+                "\n memberId='" + memberId + '\'' +
+                ",\n rifUseCount=" + rifUseCount +
+                ",\n plasticSuccessCount=" + plasticSuccessCount +
+                ",\n recycleSuccessCount=" + recycleSuccessCount +
+                ",\n perfectSuccessCount=" + perfectSuccessCount +
+                "\n}";
+    }
+}
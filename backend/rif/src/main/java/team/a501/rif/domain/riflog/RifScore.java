@@ -1,27 +1,46 @@
 package team.a501.rif.domain.riflog;
 
 import lombok.NoArgsConstructor;
-import team.a501.rif.exception.ErrorCode;
-import team.a501.rif.exception.RifCustomException;
 
 @NoArgsConstructor
 public class RifScore {
-    private static final Integer SCORE_MULTIPLIER = 50;
+    private static final int SCORE_MULTIPLIER = 50;
+
+    // 키오스크 한 번에 넣는 개수는 대부분 이 안이므로 log 값을 미리 계산해 둔다
+    private static final int LOG_TABLE_SIZE = 512;
+    private static final double[] LOG_TABLE = new double[LOG_TABLE_SIZE];
+
+    static {
+        for (int i = 1; i < LOG_TABLE_SIZE; ++i)
+            LOG_TABLE[i] = Math.log(i);
+    }
 
     public static Integer getScoreOf(Integer plasticTotal, Integer plasticOk, Integer recycleTotal, Integer recycleOk) {
+        return scoreOf(plasticTotal, plasticOk, recycleTotal, recycleOk);
+    }
 
-        Integer numerator = plasticOk + recycleOk;
-        Integer denominator = plasticTotal + recycleTotal;
+    // 박싱 없이 계산한다. 분리수거 내역이 없으면 -1
+    public static int scoreOf(int plasticTotal, int plasticOk, int recycleTotal, int recycleOk) {
+
+        int numerator = plasticOk + recycleOk;
+        int denominator = plasticTotal + recycleTotal;
 
         if (denominator <= 0)
             return -1;
 
-        Double successRatio = numerator.doubleValue() / denominator;
+        double successRatio = (double) numerator / denominator;
+
+        double okCountFactor = log(Math.max(1, numerator * 2));
 
-        Double okCountFactor = Math.log(Math.max(1, (plasticOk + recycleOk) * 2));
+        return (int) Math.round(SCORE_MULTIPLIER * successRatio * okCountFactor);
+    }
 
-        Long result = Math.round(SCORE_MULTIPLIER * successRatio * okCountFactor);
+    private static double log(int value) {
+        return value < LOG_TABLE_SIZE ? LOG_TABLE[value] : Math.log(value);
+    }
 
-        return result.intValue();
+    // 점수를 10 단위로 반올림한 값을 포인트로 지급한다
+    public static Integer getPointOf(Integer score) {
+        return 10 * ((score + 5) / 10);
     }
 }
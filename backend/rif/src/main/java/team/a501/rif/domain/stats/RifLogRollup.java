@@ -0,0 +1,102 @@
+package team.a501.rif.domain.stats;
+
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 전체 키오스크의 RifLog를 시간/일/월 단위로 미리 더해 둔 값
+// (grain, bucket_start)가 기본키라 구간 조회는 버킷 수만큼만 읽는다
+@NoArgsConstructor
+@Entity
+@IdClass(RifLogRollupId.class)
+public class RifLogRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8)
+    private RollupGrain grain;
+
+    @Id
+    private LocalDateTime bucketStart;
+
+    private Long submissions;
+
+    private Long plasticTotal;
+
+    private Long plasticOk;
+
+    private Long recycleTotal;
+
+    private Long recycleOk;
+
+    private Long expTotal;
+
+    public RifLogRollup(RollupGrain grain, LocalDateTime bucketStart, Long submissions, Long plasticTotal,
+                        Long plasticOk, Long recycleTotal, Long recycleOk, Long expTotal) {
+        this.grain = grain;
+        this.bucketStart = bucketStart;
+        this.submissions = submissions;
+        this.plasticTotal = plasticTotal;
+        this.plasticOk = plasticOk;
+        this.recycleTotal = recycleTotal;
+        this.recycleOk = recycleOk;
+        this.expTotal = expTotal;
+    }
+
+    public void overwrite(Long submissions, Long plasticTotal, Long plasticOk,
+                          Long recycleTotal, Long recycleOk, Long expTotal) {
+        this.submissions = submissions;
+        this.plasticTotal = plasticTotal;
+        this.plasticOk = plasticOk;
+        this.recycleTotal = recycleTotal;
+        this.recycleOk = recycleOk;
+        this.expTotal = expTotal;
+    }
+
+    public RollupGrain getGrain() {
+        return grain;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public Long getSubmissions() {
+        return submissions;
+    }
+
+    public Long getPlasticTotal() {
+        return plasticTotal;
+    }
+
+    public Long getPlasticOk() {
+        return plasticOk;
+    }
+
+    public Long getRecycleTotal() {
+        return recycleTotal;
+    }
+
+    public Long getRecycleOk() {
+        return recycleOk;
+    }
+
+    public Long getExpTotal() {
+        return expTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "RifLogRollup{" +
+                "\n grain=" + grain +
+                ",\n bucketStart=" + bucketStart +
+                ",\n submissions=" + submissions +
+                ",\n plasticTotal=" + plasticTotal +
+                ",\n plasticOk=" + plasticOk +
+                ",\n recycleTotal=" + recycleTotal +
+                ",\n recycleOk=" + recycleOk +
+                ",\n expTotal=" + expTotal +
+                "\n}";
+    }
+}
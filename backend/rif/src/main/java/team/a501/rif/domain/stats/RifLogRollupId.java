@@ -0,0 +1,35 @@
+package team.a501.rif.domain.stats;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public class RifLogRollupId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private RollupGrain grain;
+
+    private LocalDateTime bucketStart;
+
+    public RifLogRollupId() {
+    }
+
+    public RifLogRollupId(RollupGrain grain, LocalDateTime bucketStart) {
+        this.grain = grain;
+        this.bucketStart = bucketStart;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RifLogRollupId)) return false;
+        RifLogRollupId that = (RifLogRollupId) o;
+        return grain == that.grain && Objects.equals(bucketStart, that.bucketStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(grain, bucketStart);
+    }
+}
@@ -0,0 +1,50 @@
+package team.a501.rif.domain.stats;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// 시계열 롤업의 집계 단위. 버킷은 시작 시각으로 나타낸다
+public enum RollupGrain {
+    HOUR,
+    DAY,
+    MONTH;
+
+    // time이 속한 버킷의 시작 시각
+    public LocalDateTime truncate(LocalDateTime time) {
+
+        switch (this) {
+            case HOUR:
+                return time.truncatedTo(ChronoUnit.HOURS);
+            case DAY:
+                return time.truncatedTo(ChronoUnit.DAYS);
+            default:
+                return time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        }
+    }
+
+    // 다음 버킷의 시작 시각
+    public LocalDateTime next(LocalDateTime bucketStart) {
+
+        switch (this) {
+            case HOUR:
+                return bucketStart.plusHours(1);
+            case DAY:
+                return bucketStart.plusDays(1);
+            default:
+                return bucketStart.plusMonths(1);
+        }
+    }
+
+    // 한 단계 큰 단위. MONTH는 없다
+    public RollupGrain parent() {
+
+        switch (this) {
+            case HOUR:
+                return DAY;
+            case DAY:
+                return MONTH;
+            default:
+                return null;
+        }
+    }
+}
@@ -33,6 +33,25 @@ public class AchievementAcqInfo {
                 .build();
     }
 
+    public static AchievementAcqInfo from(AchievementInfo achievementInfo) {
+        return AchievementAcqInfo.builder()
+                .achievementInfo(achievementInfo)
+                .onDisplay(false)
+                .achievedAt(null)
+                .hasAchievement(false)
+                .build();
+    }
+
+    // 멤버 보유 비트셋으로 만든다
+    public static AchievementAcqInfo of(AchievementInfo achievementInfo, Boolean onDisplay, LocalDateTime achievedAt) {
+        return AchievementAcqInfo.builder()
+                .achievementInfo(achievementInfo)
+                .onDisplay(onDisplay)
+                .achievedAt(achievedAt)
+                .hasAchievement(true)
+                .build();
+    }
+
     public static AchievementAcqInfo from(Achievement achievement) {
         return AchievementAcqInfo.builder()
                 .achievementInfo(AchievementInfo.from(achievement))
@@ -1,5 +1,6 @@
 package team.a501.rif.dto.achievement;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,14 +17,18 @@ public class AchievementInfo {
     private String imgPath;
     private String tag;
 
+    @JsonIgnore
+    private Integer slot;
+
     @Builder
-    public AchievementInfo(Long id, Integer tier, String title, String description, String imgPath, String tag) {
+    public AchievementInfo(Long id, Integer tier, String title, String description, String imgPath, String tag, Integer slot) {
         this.id = id;
         this.tier = tier;
         this.title = title;
         this.description = description;
         this.imgPath = imgPath;
         this.tag = tag;
+        this.slot = slot;
     }
 
     public static AchievementInfo from(Achievement achievement) {
@@ -34,6 +39,7 @@ public class AchievementInfo {
                 .title(achievement.getTitle())
                 .description(achievement.getDescription())
                 .tag(achievement.getAchievementTag().toString())
+                .slot(achievement.getSlot())
                 .build();
     }
 
@@ -37,6 +37,25 @@ public class BadgeAcqInfo {
                 .build();
     }
 
+    public static BadgeAcqInfo from(BadgeInfo badgeInfo) {
+        return BadgeAcqInfo.builder()
+                .badgeInfo(badgeInfo)
+                .onDisplay(false)
+                .achievedAt(null)
+                .hasBadge(false)
+                .build();
+    }
+
+    // 멤버 보유 비트셋으로 만든다
+    public static BadgeAcqInfo of(BadgeInfo badgeInfo, Boolean onDisplay, LocalDateTime achievedAt) {
+        return BadgeAcqInfo.builder()
+                .badgeInfo(badgeInfo)
+                .onDisplay(onDisplay)
+                .achievedAt(achievedAt)
+                .hasBadge(true)
+                .build();
+    }
+
     public static BadgeAcqInfo from(Badge badge) {
         return BadgeAcqInfo.builder()
                 .badgeInfo(BadgeInfo.from(badge))
@@ -1,5 +1,6 @@
 package team.a501.rif.dto.badge;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,6 +16,9 @@ public class BadgeInfo {
     private String description;
     private String imgPath;
 
+    @JsonIgnore
+    private Integer slot;
+
     public static BadgeInfo from(Badge badge) {
 
         return BadgeInfo.builder()
@@ -23,16 +27,18 @@ public class BadgeInfo {
                 .title(badge.getTitle())
                 .description(badge.getDescription())
                 .imgPath(badge.getImgPath())
+                .slot(badge.getSlot())
                 .build();
     }
 
     @Builder
-    public BadgeInfo(Long id, Integer tier, String title, String description, String imgPath) {
+    public BadgeInfo(Long id, Integer tier, String title, String description, String imgPath, Integer slot) {
         this.id = id;
         this.tier = tier;
         this.title = title;
         this.description = description;
         this.imgPath = imgPath;
+        this.slot = slot;
     }
 
     @Override
@@ -0,0 +1,55 @@
+package team.a501.rif.dto.catalog;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@Getter
+public class CatalogReloadResponse {
+
+    private Long version;
+
+    private Integer badgesAdded;
+    private Integer badgesUpdated;
+    private Integer badgesRemoved;
+    // 파일에서 빠졌지만 이미 획득한 멤버가 있어 남겨둔 뱃지
+    private List<String> badgesKept;
+
+    private Integer achievementsAdded;
+    private Integer achievementsUpdated;
+    private Integer achievementsRemoved;
+    private List<String> achievementsKept;
+
+    @Builder
+    public CatalogReloadResponse(Long version, Integer badgesAdded, Integer badgesUpdated, Integer badgesRemoved,
+                                 List<String> badgesKept, Integer achievementsAdded, Integer achievementsUpdated,
+                                 Integer achievementsRemoved, List<String> achievementsKept) {
+        this.version = version;
+        this.badgesAdded = badgesAdded;
+        this.badgesUpdated = badgesUpdated;
+        this.badgesRemoved = badgesRemoved;
+        this.badgesKept = badgesKept;
+        this.achievementsAdded = achievementsAdded;
+        this.achievementsUpdated = achievementsUpdated;
+        this.achievementsRemoved = achievementsRemoved;
+        this.achievementsKept = achievementsKept;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogReloadResponse{" +
+                "\n version=" + version +
+                ",\n badgesAdded=" + badgesAdded +
+                ",\n badgesUpdated=" + badgesUpdated +
+                ",\n badgesRemoved=" + badgesRemoved +
+                ",\n badgesKept=" + badgesKept +
+                ",\n achievementsAdded=" + achievementsAdded +
+                ",\n achievementsUpdated=" + achievementsUpdated +
+                ",\n achievementsRemoved=" + achievementsRemoved +
+                ",\n achievementsKept=" + achievementsKept +
+                "\n}";
+    }
+}
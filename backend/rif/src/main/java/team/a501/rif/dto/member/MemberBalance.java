@@ -0,0 +1,31 @@
+package team.a501.rif.dto.member;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 원자적 증감 직후의 멤버 누적 경험치/포인트
+@NoArgsConstructor
+@Getter
+public class MemberBalance {
+
+    private String memberId;
+    private Integer exp;
+    private Integer point;
+
+    @Builder
+    public MemberBalance(String memberId, Integer exp, Integer point) {
+        this.memberId = memberId;
+        this.exp = exp;
+        this.point = point;
+    }
+
+    @Override
+    public String toString() {
+        return "MemberBalance{" +
+                "\n memberId='" + memberId + '\'' +
+                ",\n exp=" + exp +
+                ",\n point=" + point +
+                "\n}";
+    }
+}
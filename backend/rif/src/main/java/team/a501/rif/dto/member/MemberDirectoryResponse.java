@@ -0,0 +1,33 @@
+package team.a501.rif.dto.member;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 학번순 회원 이름 한 페이지. 다음 페이지는 nextCursor를 cursor 파라미터로 넘겨 받는다
+@NoArgsConstructor
+@Getter
+public class MemberDirectoryResponse {
+
+    private List<GetMembersName> content;
+    private String nextCursor; // 마지막 페이지면 null
+    private Boolean hasNext;
+
+    @Builder
+    public MemberDirectoryResponse(List<GetMembersName> content, String nextCursor, Boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    @Override
+    public String toString() {
+        return "MemberDirectoryResponse{" +
+                "\n content.size=" + (content == null ? 0 : content.size()) +
+                ",\n nextCursor=" + nextCursor +
+                ",\n hasNext=" + hasNext +
+                "\n}";
+    }
+}
@@ -0,0 +1,45 @@
+package team.a501.rif.dto.member;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import team.a501.rif.domain.member.Member;
+
+// 키오스크 태깅에 필요한 만큼만 담은 멤버 정보. uid 캐시에 들어간다
+@NoArgsConstructor
+@Getter
+public class MemberIdentity {
+
+    private String memberId;
+    private String uid;
+    private String name;
+    private String profileImgPath;
+
+    @Builder
+    public MemberIdentity(String memberId, String uid, String name, String profileImgPath) {
+        this.memberId = memberId;
+        this.uid = uid;
+        this.name = name;
+        this.profileImgPath = profileImgPath;
+    }
+
+    public static MemberIdentity from(Member member) {
+
+        return MemberIdentity.builder()
+                .memberId(member.getId())
+                .uid(member.getUid())
+                .name(member.getName())
+                .profileImgPath(member.getProfileImgPath())
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return "MemberIdentity{" +
+                "\n memberId='" + memberId + '\'' +
+                ",\n uid='" + uid + '\'' +
+                ",\n name='" + name + '\'' +
+                ",\n profileImgPath='" + profileImgPath + '\'' +
+                "\n}";
+    }
+}
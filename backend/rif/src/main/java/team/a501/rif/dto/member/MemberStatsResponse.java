@@ -0,0 +1,72 @@
+package team.a501.rif.dto.member;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import team.a501.rif.domain.member.MemberStats;
+
+import java.time.LocalDateTime;
+
+// 멤버 통계 화면. 정확도는 0~1, 사용 이력이 없으면 0
+@NoArgsConstructor
+@Getter
+public class MemberStatsResponse {
+
+    private String memberId;
+    private Long visitCount;
+    private Long itemsSorted;
+    private Double plasticAccuracy;
+    private Double recycleAccuracy;
+    private Integer bestScore;
+    private Double averageExpPerVisit;
+    private LocalDateTime firstVisit;
+    private LocalDateTime lastVisit;
+
+    @Builder
+    public MemberStatsResponse(String memberId, Long visitCount, Long itemsSorted, Double plasticAccuracy,
+                               Double recycleAccuracy, Integer bestScore, Double averageExpPerVisit,
+                               LocalDateTime firstVisit, LocalDateTime lastVisit) {
+        this.memberId = memberId;
+        this.visitCount = visitCount;
+        this.itemsSorted = itemsSorted;
+        this.plasticAccuracy = plasticAccuracy;
+        this.recycleAccuracy = recycleAccuracy;
+        this.bestScore = bestScore;
+        this.averageExpPerVisit = averageExpPerVisit;
+        this.firstVisit = firstVisit;
+        this.lastVisit = lastVisit;
+    }
+
+    public static MemberStatsResponse from(MemberStats stats) {
+        return MemberStatsResponse.builder()
+                .memberId(stats.getMemberId())
+                .visitCount(stats.getVisitCount())
+                .itemsSorted(stats.getPlasticTotal() + stats.getRecycleTotal())
+                .plasticAccuracy(ratio(stats.getPlasticOk(), stats.getPlasticTotal()))
+                .recycleAccuracy(ratio(stats.getRecycleOk(), stats.getRecycleTotal()))
+                .bestScore(stats.getBestScore())
+                .averageExpPerVisit(ratio(stats.getExpTotal(), stats.getVisitCount()))
+                .firstVisit(stats.getFirstVisit())
+                .lastVisit(stats.getLastVisit())
+                .build();
+    }
+
+    private static Double ratio(long numerator, long denominator) {
+        return denominator == 0 ? 0.0 : (double) numerator / denominator;
+    }
+
+    @Override
+    public String toString() {
+        return "MemberStatsResponse{" +
+                "\n memberId='" + memberId + '\'' +
+                ",\n visitCount=" + visitCount +
+                ",\n itemsSorted=" + itemsSorted +
+                ",\n plasticAccuracy=" + plasticAccuracy +
+                ",\n recycleAccuracy=" + recycleAccuracy +
+                ",\n bestScore=" + bestScore +
+                ",\n averageExpPerVisit=" + averageExpPerVisit +
+                ",\n firstVisit=" + firstVisit +
+                ",\n lastVisit=" + lastVisit +
+                "\n}";
+    }
+}
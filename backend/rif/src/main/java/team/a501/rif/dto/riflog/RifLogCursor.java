@@ -0,0 +1,62 @@
+package team.a501.rif.dto.riflog;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+// 키셋 페이지네이션의 이어보기 위치. 마지막으로 받은 RifLog의 (created, id)
+// 클라이언트에는 base64url 문자열로만 주고 내부 형식은 약속하지 않는다
+@Getter
+public class RifLogCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime created;
+    private final Long id;
+
+    // DB 컬럼은 마이크로초까지만 저장하므로, 아직 영속성 컨텍스트에 있는 엔티티의 나노초 값과 비교가 어긋나지 않게 자른다
+    public RifLogCursor(LocalDateTime created, Long id) {
+        this.created = created.truncatedTo(ChronoUnit.MICROS);
+        this.id = id;
+    }
+
+    public static RifLogCursor from(RifLogInfo rifLogInfo) {
+        return new RifLogCursor(rifLogInfo.getCreatedAt(), rifLogInfo.getId());
+    }
+
+    public String encode() {
+
+        String raw = created.toString() + SEPARATOR + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 형식이 맞지 않으면 IllegalArgumentException (400)
+    public static RifLogCursor decode(String token) {
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+
+            if (separator < 0)
+                throw new IllegalArgumentException("잘못된 커서입니다");
+
+            return new RifLogCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RifLogCursor{" +
+                "\n created=" + created +
+                ",\n id=" + id +
+                "\n}";
+    }
+}
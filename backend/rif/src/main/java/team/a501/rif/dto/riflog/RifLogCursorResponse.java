@@ -0,0 +1,33 @@
+package team.a501.rif.dto.riflog;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 최신순 RifLog 한 페이지. 다음 페이지는 nextCursor를 cursor 파라미터로 넘겨 받는다
+@NoArgsConstructor
+@Getter
+public class RifLogCursorResponse {
+
+    private List<RifLogInfo> content;
+    private String nextCursor; // 마지막 페이지면 null
+    private Boolean hasNext;
+
+    @Builder
+    public RifLogCursorResponse(List<RifLogInfo> content, String nextCursor, Boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    @Override
+    public String toString() {
+        return "RifLogCursorResponse{" +
+                "\n content.size=" + (content == null ? 0 : content.size()) +
+                ",\n nextCursor=" + nextCursor +
+                ",\n hasNext=" + hasNext +
+                "\n}";
+    }
+}
@@ -0,0 +1,39 @@
+package team.a501.rif.dto.riflog;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Getter
+public class RifLogIngestStats {
+
+    private Boolean enabled;
+    private Integer queueDepth;
+    private Integer queueCapacity;
+    private Long acceptedCount;
+    private Long committedCount;
+    private Long rejectedCount;
+    private Long failedCount;
+    private Long groupCommitCount;
+    private Double lastCommitMillis;
+    private Double avgCommitMillis;
+    private Double maxCommitMillis;
+
+    @Builder
+    public RifLogIngestStats(Boolean enabled, Integer queueDepth, Integer queueCapacity, Long acceptedCount,
+                             Long committedCount, Long rejectedCount, Long failedCount, Long groupCommitCount,
+                             Double lastCommitMillis, Double avgCommitMillis, Double maxCommitMillis) {
+        this.enabled = enabled;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.acceptedCount = acceptedCount;
+        this.committedCount = committedCount;
+        this.rejectedCount = rejectedCount;
+        this.failedCount = failedCount;
+        this.groupCommitCount = groupCommitCount;
+        this.lastCommitMillis = lastCommitMillis;
+        this.avgCommitMillis = avgCommitMillis;
+        this.maxCommitMillis = maxCommitMillis;
+    }
+}
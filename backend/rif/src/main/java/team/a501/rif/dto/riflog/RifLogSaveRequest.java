@@ -12,15 +12,21 @@ public class RifLogSaveRequest {
     private Integer plasticOk;
     private Integer recycleTotal;
     private Integer recycleOk;
+    // 키오스크가 생성한 제출 ID. 재전송된 요청을 구분하는 데 쓰인다
+    private String submissionId;
 
     @Builder
-    public RifLogSaveRequest(String uid, Integer plasticTotal, Integer plasticOk, Integer recycleTotal, Integer recycleOk) {
+    public RifLogSaveRequest(String uid, Integer plasticTotal, Integer plasticOk, Integer recycleTotal, Integer recycleOk, String submissionId) {
         this.uid = uid;
         this.plasticTotal = plasticTotal;
         this.plasticOk = plasticOk;
         this.recycleTotal = recycleTotal;
         this.recycleOk = recycleOk;
+        this.submissionId = submissionId;
     }
 
+    public void setSubmissionId(String submissionId) {
+        this.submissionId = submissionId;
+    }
 
 }
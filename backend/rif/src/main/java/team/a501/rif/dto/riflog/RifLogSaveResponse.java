@@ -1,8 +1,11 @@
 package team.a501.rif.dto.riflog;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import team.a501.rif.domain.riflog.RifLog;
+import team.a501.rif.exception.ErrorCode;
 
 import java.time.LocalDateTime;
 
@@ -19,6 +22,12 @@ public class RifLogSaveResponse {
     private Integer exp;
     private LocalDateTime createdAt;
 
+    // 배치 저장에서 저장하지 못한 항목만 채운다. 정상 응답에는 나오지 않는다
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer status;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String message;
+
     @Builder
     public RifLogSaveResponse(String name, Integer plasticTotal, Integer plasticOk, Integer recycleTotal, Integer recycleOk, Integer point, Integer exp, LocalDateTime createdAt) {
         this.name = name;
@@ -30,4 +39,35 @@ public class RifLogSaveResponse {
         this.exp = exp;
         this.createdAt = createdAt;
     }
+
+    // 배치 안에서 uid에 해당하는 멤버가 없는 항목
+    public static RifLogSaveResponse notFound(RifLogSaveRequest request) {
+
+        RifLogSaveResponse response = RifLogSaveResponse.builder()
+                .plasticTotal(request.getPlasticTotal())
+                .plasticOk(request.getPlasticOk())
+                .recycleTotal(request.getRecycleTotal())
+                .recycleOk(request.getRecycleOk())
+                .point(0)
+                .exp(0)
+                .build();
+
+        response.status = ErrorCode.ENTITY_INSTANCE_NOT_FOUND.getHttpStatus().value();
+        response.message = ErrorCode.ENTITY_INSTANCE_NOT_FOUND.getMessage();
+
+        return response;
+    }
+
+    public static RifLogSaveResponse from(RifLog rifLog) {
+        return RifLogSaveResponse.builder()
+                .name(rifLog.getMember().getName())
+                .plasticTotal(rifLog.getPlasticTotal())
+                .plasticOk(rifLog.getPlasticOk())
+                .recycleTotal(rifLog.getRecycleTotal())
+                .recycleOk(rifLog.getRecycleOk())
+                .point(rifLog.getPoint())
+                .exp(rifLog.getExp())
+                .createdAt(rifLog.getCreated())
+                .build();
+    }
 }
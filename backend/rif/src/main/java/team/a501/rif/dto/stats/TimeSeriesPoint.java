@@ -0,0 +1,73 @@
+package team.a501.rif.dto.stats;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import team.a501.rif.domain.stats.RifLogRollup;
+
+import java.time.LocalDateTime;
+
+// 시계열의 버킷 하나. 정확도는 0~1, 분리한 것이 없으면 0
+@NoArgsConstructor
+@Getter
+public class TimeSeriesPoint {
+
+    private LocalDateTime bucketStart;
+    private Long submissions;
+    private Long plasticTotal;
+    private Long plasticOk;
+    private Long recycleTotal;
+    private Long recycleOk;
+    private Double plasticAccuracy;
+    private Double recycleAccuracy;
+    private Long expTotal;
+
+    @Builder
+    public TimeSeriesPoint(LocalDateTime bucketStart, Long submissions, Long plasticTotal, Long plasticOk,
+                           Long recycleTotal, Long recycleOk, Long expTotal) {
+        this.bucketStart = bucketStart;
+        this.submissions = submissions;
+        this.plasticTotal = plasticTotal;
+        this.plasticOk = plasticOk;
+        this.recycleTotal = recycleTotal;
+        this.recycleOk = recycleOk;
+        this.plasticAccuracy = plasticTotal == 0 ? 0.0 : (double) plasticOk / plasticTotal;
+        this.recycleAccuracy = recycleTotal == 0 ? 0.0 : (double) recycleOk / recycleTotal;
+        this.expTotal = expTotal;
+    }
+
+    public static TimeSeriesPoint from(RifLogRollup rollup) {
+        return TimeSeriesPoint.builder()
+                .bucketStart(rollup.getBucketStart())
+                .submissions(rollup.getSubmissions())
+                .plasticTotal(rollup.getPlasticTotal())
+                .plasticOk(rollup.getPlasticOk())
+                .recycleTotal(rollup.getRecycleTotal())
+                .recycleOk(rollup.getRecycleOk())
+                .expTotal(rollup.getExpTotal())
+                .build();
+    }
+
+    public static TimeSeriesPoint empty(LocalDateTime bucketStart) {
+        return TimeSeriesPoint.builder()
+                .bucketStart(bucketStart)
+                .submissions(0L)
+                .plasticTotal(0L)
+                .plasticOk(0L)
+                .recycleTotal(0L)
+                .recycleOk(0L)
+                .expTotal(0L)
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSeriesPoint{" +
+                "\n bucketStart=" + bucketStart +
+                ",\n submissions=" + submissions +
+                ",\n plasticAccuracy=" + plasticAccuracy +
+                ",\n recycleAccuracy=" + recycleAccuracy +
+                ",\n expTotal=" + expTotal +
+                "\n}";
+    }
+}
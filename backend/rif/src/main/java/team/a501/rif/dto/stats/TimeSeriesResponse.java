@@ -0,0 +1,37 @@
+package team.a501.rif.dto.stats;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// [from, to) 구간의 버킷을 빠짐없이 시간순으로 담는다. 데이터가 없는 버킷은 0
+@NoArgsConstructor
+@Getter
+public class TimeSeriesResponse {
+
+    private String grain;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<TimeSeriesPoint> points;
+
+    @Builder
+    public TimeSeriesResponse(String grain, LocalDateTime from, LocalDateTime to, List<TimeSeriesPoint> points) {
+        this.grain = grain;
+        this.from = from;
+        this.to = to;
+        this.points = points;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSeriesResponse{" +
+                "\n grain='" + grain + '\'' +
+                ",\n from=" + from +
+                ",\n to=" + to +
+                ",\n points.size=" + (points == null ? 0 : points.size()) +
+                "\n}";
+    }
+}
@@ -10,6 +10,7 @@ public enum ErrorCode {
 
     ENTITY_INSTANCE_NOT_FOUND(HttpStatus.NOT_FOUND, "존재하지 않는 엔티티 인스턴스입니다"),
     NOT_ENOUGH_POINTS(HttpStatus.OK, "포인트가 부족합니다"),
+    INGEST_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "RIF 사용 이력 처리가 밀려 있습니다. 잠시 후 다시 시도해주세요"),
 
     DIV_BY_ZERO(HttpStatus.OK, "0으로 나눌 수 없습니다"),
     REFRESHTOKEN_EXPIRED(HttpStatus.TEMPORARY_REDIRECT, "refreshtoken_expired");
@@ -1,11 +1,22 @@
 package team.a501.rif.exception;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor
 @Getter
 public class RifCustomException extends RuntimeException {
     private final ErrorCode errorCode;
 
+    public RifCustomException(ErrorCode errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    private RifCustomException(ErrorCode errorCode, boolean writableStackTrace) {
+        super(errorCode.getMessage(), null, false, writableStackTrace);
+        this.errorCode = errorCode;
+    }
+
+    // 자주 일어나는 예상된 실패용. 스택 트레이스를 만들지 않는다
+    public static RifCustomException withoutStackTrace(ErrorCode errorCode) {
+        return new RifCustomException(errorCode, false);
+    }
 }
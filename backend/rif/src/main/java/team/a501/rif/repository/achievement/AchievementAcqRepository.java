@@ -1,7 +1,26 @@
 package team.a501.rif.repository.achievement;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import team.a501.rif.domain.achievement.AchievementAcq;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface AchievementAcqRepository extends JpaRepository<AchievementAcq, Long> {
+
+    @Query("select a.achievement.id from AchievementAcq a where a.member.id = :memberId")
+    List<Long> findAchievementIdsByMemberId(@Param("memberId") String memberId);
+
+    // 멤버의 획득 컬렉션 전체 대신 한 건만 읽는다. AchievementAcqInfo를 만들 때 업적을 쓰므로 함께 읽는다
+    @EntityGraph(attributePaths = "achievement")
+    Optional<AchievementAcq> findByMemberIdAndAchievementId(String memberId, Long achievementId);
+
+    // 탈퇴용. 획득 행을 하나씩 읽어 지우지 않는다
+    @Modifying
+    @Query("delete from AchievementAcq a where a.member.id = :memberId")
+    int deleteByMemberId(@Param("memberId") String memberId);
 }
@@ -1,7 +1,42 @@
 package team.a501.rif.repository.badge;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import team.a501.rif.domain.badge.BadgeAcq;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 public interface BadgeAcqRepository extends JpaRepository<BadgeAcq, Long> {
+
+    @Query("select a.badge.id from BadgeAcq a where a.member.id = :memberId")
+    List<Long> findBadgeIdsByMemberId(@Param("memberId") String memberId);
+
+    // 멤버의 획득 컬렉션 전체 대신 한 건만 읽는다. BadgeAcqInfo를 만들 때 뱃지를 쓰므로 함께 읽는다
+    @EntityGraph(attributePaths = "badge")
+    Optional<BadgeAcq> findByMemberIdAndBadgeId(String memberId, Long badgeId);
+
+    // 이미 가진 뱃지면 아무것도 넣지 않고 0을 돌려준다. 동시에 저장해도 (member, badge) 유니크 제약에서 한 건만 들어간다
+    // id는 시퀀스에서 바로 받는다. pooled 최적화기는 자기가 받은 값 아래 구간만 쓰므로 Hibernate가 나눠준 id와 겹치지 않는다
+    @Modifying
+    @Query(value = "insert ignore into badge_acq (id, created, last_modified, on_display, member_id, badge_id)" +
+            " values (next value for badge_acq_seq, :now, :now, false, :memberId, :badgeId)", nativeQuery = true)
+    int insertIfAbsent(@Param("memberId") String memberId, @Param("badgeId") Long badgeId, @Param("now") LocalDateTime now);
+
+    // insertIfAbsent 직후에 읽는다. 다른 트랜잭션이 먼저 넣은 행은 스냅샷 읽기로는 안 보이므로 잠금 읽기로 최신 행을 본다
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @EntityGraph(attributePaths = "badge")
+    @Query("select a from BadgeAcq a where a.member.id = :memberId and a.badge.id = :badgeId")
+    Optional<BadgeAcq> findLatestByMemberIdAndBadgeId(@Param("memberId") String memberId, @Param("badgeId") Long badgeId);
+
+    // 탈퇴용. 획득 행을 하나씩 읽어 지우지 않는다
+    @Modifying
+    @Query("delete from BadgeAcq a where a.member.id = :memberId")
+    int deleteByMemberId(@Param("memberId") String memberId);
 }
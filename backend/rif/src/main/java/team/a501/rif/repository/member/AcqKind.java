@@ -0,0 +1,42 @@
+package team.a501.rif.repository.member;
+
+// 보유 비트셋 종류별 컬럼/테이블 이름
+public enum AcqKind {
+
+    BADGE("badge", "badge_acq", "badge_id"),
+    ACHIEVEMENT("achievement", "achievement_acq", "achievement_id");
+
+    private final String catalogTable;
+    private final String acqTable;
+    private final String catalogIdColumn;
+
+    AcqKind(String catalogTable, String acqTable, String catalogIdColumn) {
+        this.catalogTable = catalogTable;
+        this.acqTable = acqTable;
+        this.catalogIdColumn = catalogIdColumn;
+    }
+
+    String ownedColumn() {
+        return catalogTable + "_owned";
+    }
+
+    String displayedColumn() {
+        return catalogTable + "_displayed";
+    }
+
+    String acquiredAtColumn() {
+        return catalogTable + "_acquired_at";
+    }
+
+    String catalogTable() {
+        return catalogTable;
+    }
+
+    String acqTable() {
+        return acqTable;
+    }
+
+    String catalogIdColumn() {
+        return catalogIdColumn;
+    }
+}
@@ -0,0 +1,14 @@
+package team.a501.rif.repository.member;
+
+import team.a501.rif.dto.member.MemberBalance;
+
+import java.util.Optional;
+
+// 경험치/포인트 증감은 모두 여기를 거친다
+// 엔티티를 읽고 고쳐 쓰지 않고 SQL 한 문장으로 더하므로 동시에 들어온 증감이 사라지지 않는다
+// 영속성 컨텍스트에 올라와 있는 Member의 exp/point는 갱신되지 않으므로 반환값을 사용한다
+public interface MemberAccountingRepository {
+
+    // point가 음수가 되는 증감은 반영하지 않고 empty를 반환한다 (멤버가 없어도 empty)
+    Optional<MemberBalance> addExpAndPoint(String memberId, int exp, int point);
+}
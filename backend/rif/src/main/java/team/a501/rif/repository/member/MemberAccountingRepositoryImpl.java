@@ -0,0 +1,135 @@
+package team.a501.rif.repository.member;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import team.a501.rif.domain.member.Member;
+import team.a501.rif.dto.member.MemberBalance;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+public class MemberAccountingRepositoryImpl implements MemberAccountingRepository {
+
+    private enum Strategy {
+        // UPDATE ... RETURNING
+        RETURNING,
+        // SELECT ... FROM FINAL TABLE (UPDATE ...)
+        DATA_CHANGE_DELTA_TABLE,
+        // UPDATE 후 같은 트랜잭션에서 다시 읽는다. 갱신한 행의 락을 쥐고 있으므로 값이 바뀌지 않는다
+        REREAD
+    }
+
+    private static final String UPDATE_SQL =
+            "update member set exp = coalesce(exp, 0) + :exp, point = coalesce(point, 0) + :point" +
+                    " where id = :id and coalesce(point, 0) + :point >= 0";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Strategy strategy;
+
+    @Override
+    public Optional<MemberBalance> addExpAndPoint(String memberId, int exp, int point) {
+
+        // 아직 쓰지 않은 변경이 네이티브 UPDATE보다 늦게 나가지 않도록 먼저 내보낸다
+        entityManager.flush();
+
+        Optional<MemberBalance> balance = update(memberId, exp, point);
+
+        // 영속성 컨텍스트에 이미 읽어 둔 멤버는 UPDATE 이전 값을 들고 있다
+        // 그대로 두면 이후 읽기가 옛 값을 보고, 다른 컬럼이 바뀌어 flush될 때 옛 exp/point를 다시 쓴다
+        if (balance.isPresent())
+            refreshIfManaged(memberId);
+
+        return balance;
+    }
+
+    private Optional<MemberBalance> update(String memberId, int exp, int point) {
+
+        switch (strategy()) {
+            case RETURNING:
+                return single(entityManager.createNativeQuery(UPDATE_SQL + " returning exp, point"), memberId, exp, point);
+            case DATA_CHANGE_DELTA_TABLE:
+                return single(entityManager.createNativeQuery("select exp, point from final table (" + UPDATE_SQL + ")"), memberId, exp, point);
+            default:
+                int updated = entityManager.createNativeQuery(UPDATE_SQL)
+                        .setParameter("exp", exp)
+                        .setParameter("point", point)
+                        .setParameter("id", memberId)
+                        .executeUpdate();
+
+                if (updated == 0)
+                    return Optional.empty();
+
+                return toBalance(memberId, entityManager.createNativeQuery("select exp, point from member where id = :id")
+                        .setParameter("id", memberId)
+                        .getResultList());
+        }
+    }
+
+    // 아직 읽지 않았거나 프록시뿐이면 다음에 읽을 때 새 값을 가져오므로 쿼리를 보내지 않는다
+    private void refreshIfManaged(String memberId) {
+
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(Member.class);
+
+        Object managed = session.getPersistenceContext().getEntity(session.generateEntityKey(memberId, persister));
+
+        if (managed != null)
+            entityManager.refresh(managed);
+    }
+
+    private Optional<MemberBalance> single(javax.persistence.Query query, String memberId, int exp, int point) {
+
+        List<?> rows = query
+                .setParameter("exp", exp)
+                .setParameter("point", point)
+                .setParameter("id", memberId)
+                .getResultList();
+
+        return toBalance(memberId, rows);
+    }
+
+    private Optional<MemberBalance> toBalance(String memberId, List<?> rows) {
+
+        if (rows.isEmpty())
+            return Optional.empty();
+
+        Object[] row = (Object[]) rows.get(0);
+
+        return Optional.of(MemberBalance.builder()
+                .memberId(memberId)
+                .exp(((Number) row[0]).intValue())
+                .point(((Number) row[1]).intValue())
+                .build());
+    }
+
+    private Strategy strategy() {
+
+        Strategy resolved = strategy;
+
+        if (resolved != null)
+            return resolved;
+
+        String product = entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+
+        if ("PostgreSQL".equalsIgnoreCase(product))
+            resolved = Strategy.RETURNING;
+        else if ("H2".equalsIgnoreCase(product))
+            resolved = Strategy.DATA_CHANGE_DELTA_TABLE;
+        else
+            resolved = Strategy.REREAD;
+
+        log.info("MemberAccountingRepository: {} uses {}", product, resolved);
+
+        strategy = resolved;
+
+        return resolved;
+    }
+}
@@ -0,0 +1,26 @@
+package team.a501.rif.repository.member;
+
+import team.a501.rif.domain.member.AcqBits;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// 뱃지/업적 보유 비트셋은 모두 여기를 거친다
+// 멤버 행을 FOR UPDATE로 잠그고 읽어 고친 뒤 그 종류의 컬럼만 다시 쓰므로 동시에 들어온 획득/대표 설정이 서로 덮어쓰지 않는다
+// 컬럼이 null인 멤버(신규, 이전 스키마, JDBC로 넣은 시드)는 읽을 때 획득 테이블에서 메모리로만 만들고,
+// 처음 획득/해제/대표 설정을 하거나 AcqBitsBackfillRunner가 돌 때 저장한다
+public interface MemberAcqBitsRepository {
+
+    // 멤버가 없으면 empty. 잠그거나 쓰지 않는다
+    Optional<AcqBits> findAcqBits(String memberId, AcqKind kind);
+
+    // 컬럼이 null인 멤버의 비트셋을 획득 테이블에서 만들어 저장한다. 채운 멤버 수를 돌려준다
+    int backfillAcqBits(AcqKind kind);
+
+    // 멤버가 없으면 아무것도 하지 않는다
+    void markAcquired(String memberId, AcqKind kind, int slot, LocalDateTime acquiredAt);
+
+    void markReleased(String memberId, AcqKind kind, int slot);
+
+    void markDisplayed(String memberId, AcqKind kind, int slot, boolean displayed);
+}
@@ -0,0 +1,152 @@
+package team.a501.rif.repository.member;
+
+import team.a501.rif.domain.member.AcqBits;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public class MemberAcqBitsRepositoryImpl implements MemberAcqBitsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<AcqBits> findAcqBits(String memberId, AcqKind kind) {
+
+        List<?> rows = entityManager.createNativeQuery(select(kind))
+                .setParameter("id", memberId)
+                .getResultList();
+
+        if (rows.isEmpty())
+            return Optional.empty();
+
+        Object[] row = (Object[]) rows.get(0);
+
+        if (row[0] != null)
+            return Optional.of(toBits(row));
+
+        // 아직 만들어지지 않았으면 메모리에서만 만든다. 읽기는 잠그거나 쓰지 않으므로 복제본으로 보내도 된다
+        return Optional.of(derive(memberId, kind));
+    }
+
+    @Override
+    public int backfillAcqBits(AcqKind kind) {
+
+        @SuppressWarnings("unchecked")
+        List<String> ids = entityManager.createNativeQuery("select id from member where " + kind.ownedColumn() + " is null")
+                .getResultList();
+
+        // 잠근 뒤 다시 읽으므로 그사이 획득/대표 설정으로 채워진 멤버는 저장된 값을 그대로 쓴다
+        for (String id : ids)
+            update(id, kind, bits -> {
+            });
+
+        return ids.size();
+    }
+
+    @Override
+    public void markAcquired(String memberId, AcqKind kind, int slot, LocalDateTime acquiredAt) {
+        LocalDateTime at = acquiredAt == null ? LocalDateTime.now() : acquiredAt;
+
+        update(memberId, kind, bits -> bits.acquire(slot, at));
+    }
+
+    @Override
+    public void markReleased(String memberId, AcqKind kind, int slot) {
+        update(memberId, kind, bits -> bits.release(slot));
+    }
+
+    @Override
+    public void markDisplayed(String memberId, AcqKind kind, int slot, boolean displayed) {
+        update(memberId, kind, bits -> bits.setDisplayed(slot, displayed));
+    }
+
+    private Optional<AcqBits> update(String memberId, AcqKind kind, Consumer<AcqBits> change) {
+
+        // 같은 트랜잭션에서 저장한 획득 행이 아래 재구성 쿼리에 보이도록 먼저 내보낸다
+        entityManager.flush();
+
+        List<?> rows = entityManager.createNativeQuery(select(kind) + " for update")
+                .setParameter("id", memberId)
+                .getResultList();
+
+        if (rows.isEmpty())
+            return Optional.empty();
+
+        Object[] row = (Object[]) rows.get(0);
+
+        AcqBits bits = row[0] != null ? toBits(row) : derive(memberId, kind);
+
+        change.accept(bits);
+
+        entityManager.createNativeQuery("update member set " +
+                        kind.ownedColumn() + " = :owned, " +
+                        kind.displayedColumn() + " = :displayed, " +
+                        kind.acquiredAtColumn() + " = :acquiredAt where id = :id")
+                .setParameter("owned", bits.getOwned())
+                .setParameter("displayed", bits.getDisplayed())
+                .setParameter("acquiredAt", bits.getAcquiredAt())
+                .setParameter("id", memberId)
+                .executeUpdate();
+
+        return Optional.of(bits);
+    }
+
+    // 획득 테이블을 한 번 읽어 만든다. slot이 아직 없는 카탈로그 항목은 CatalogService가 slot을 준 뒤에 들어온다
+    private AcqBits derive(String memberId, AcqKind kind) {
+
+        List<?> rows = entityManager.createNativeQuery("select c.slot, a.on_display, a.created" +
+                        " from " + kind.acqTable() + " a join " + kind.catalogTable() + " c on c.id = a." + kind.catalogIdColumn() +
+                        " where a.member_id = :id and c.slot is not null")
+                .setParameter("id", memberId)
+                .getResultList();
+
+        AcqBits bits = AcqBits.empty();
+
+        for (Object r : rows) {
+
+            Object[] row = (Object[]) r;
+            int slot = ((Number) row[0]).intValue();
+
+            bits.acquire(slot, toLocalDateTime(row[2]));
+            bits.setDisplayed(slot, toBoolean(row[1]));
+        }
+
+        return bits;
+    }
+
+    private static String select(AcqKind kind) {
+        return "select " + kind.ownedColumn() + ", " + kind.displayedColumn() + ", " + kind.acquiredAtColumn() +
+                " from member where id = :id";
+    }
+
+    private static AcqBits toBits(Object[] row) {
+        return new AcqBits((byte[]) row[0], (byte[]) row[1], (byte[]) row[2]);
+    }
+
+    // 드라이버마다 TIMESTAMP를 Timestamp나 LocalDateTime으로 돌려준다
+    private static LocalDateTime toLocalDateTime(Object value) {
+
+        if (value == null)
+            return LocalDateTime.now();
+
+        if (value instanceof Timestamp)
+            return ((Timestamp) value).toLocalDateTime();
+
+        return (LocalDateTime) value;
+    }
+
+    // MariaDB의 bit(1)은 Boolean, 일부 드라이버는 숫자로 돌려준다
+    private static boolean toBoolean(Object value) {
+
+        if (value instanceof Boolean)
+            return (Boolean) value;
+
+        return value instanceof Number && ((Number) value).intValue() != 0;
+    }
+}
@@ -1,14 +1,27 @@
 package team.a501.rif.repository.member;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import team.a501.rif.domain.member.Member;
+import team.a501.rif.dto.member.MemberIdentity;
+import team.a501.rif.dto.member.MemberResponse;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface MemberRepository extends JpaRepository<Member, String> {
+public interface MemberRepository extends JpaRepository<Member, String>, MemberAccountingRepository, MemberAcqBitsRepository {
     Optional<Member> findByUid(String uid);
 
+    // RIF 이력 배치 저장용. 멤버 엔티티를 읽지 않고 id와 이름만 가져온다
+    @Query("select new team.a501.rif.dto.member.MemberIdentity(m.id, m.uid, m.name, m.imgPath)" +
+            " from Member m where m.uid in :uids")
+    List<MemberIdentity> findIdentitiesByUidIn(@Param("uids") Collection<String> uids);
+
     List<Member> findAll();
 
     List<Member> findAllByName(String name);
@@ -18,4 +31,72 @@ public interface MemberRepository extends JpaRepository<Member, String> {
     List<Member> findByOrderByExpDesc();
 
     List<Member> findByNameLike(String name);
+
+    // 조회 API용 읽기 모델. 엔티티(비밀번호, 컬렉션 래퍼)를 만들지 않고 영속성 컨텍스트에도 올리지 않는다
+    // 선언한 쿼리 메서드는 트랜잭션 설정을 물려받지 않으므로 읽기 전용을 직접 단다
+    @Transactional(readOnly = true)
+    @Query("select new team.a501.rif.dto.member.MemberResponse(m.id, m.uid, m.name, m.imgPath, m.exp, m.point)" +
+            " from Member m where m.id = :id")
+    Optional<MemberResponse> findResponseById(@Param("id") String id);
+
+    @Transactional(readOnly = true)
+    @Query("select new team.a501.rif.dto.member.MemberResponse(m.id, m.uid, m.name, m.imgPath, m.exp, m.point)" +
+            " from Member m where m.id in :ids")
+    List<MemberResponse> findResponsesByIdIn(@Param("ids") Collection<String> ids);
+
+    // uid 캐시가 비었을 때
+    @Transactional(readOnly = true)
+    @Query("select new team.a501.rif.dto.member.MemberIdentity(m.id, m.uid, m.name, m.imgPath)" +
+            " from Member m where m.uid = :uid")
+    Optional<MemberIdentity> findIdentityByUid(@Param("uid") String uid);
+
+    // 랭킹 재구성용, 엔티티 대신 (id, exp)만 읽는다
+    @Query("select m.id as id, coalesce(m.exp, 0) as exp from Member m")
+    List<MemberExp> findAllExp();
+
+    // 멤버 행만 잠근다. 뽑기의 포인트 차감과 같은 순서(멤버 -> 획득 행)로 잠가서 서로 기다리다 교착되지 않는다
+    @Query(value = "select id from member where id = :id for update", nativeQuery = true)
+    Optional<String> lockById(@Param("id") String id);
+
+    // 통계 재계산을 멤버 묶음으로 나누기 위한 id 목록
+    @Query("select m.id from Member m order by m.id")
+    List<String> findAllIds();
+
+    // 검색 색인 재구성용, 엔티티 대신 이름과 프로필 이미지만 읽는다
+    @Transactional(readOnly = true)
+    @Query("select m.id as id, m.name as name, m.imgPath as imgPath from Member m")
+    List<MemberSearchRow> findAllSearchRows();
+
+    // 회원 목록 keyset 페이지. 첫 페이지는 after에 ""를 넘긴다
+    @Transactional(readOnly = true)
+    @Query("select m.id as id, m.name as name from Member m where m.id > :after order by m.id")
+    List<MemberNameRow> findNamesAfter(@Param("after") String after, Pageable pageable);
+
+    // 탈퇴용. delete(member)는 cascade를 위해 획득/이력 컬렉션을 모두 읽는다. 연관 행은 먼저 지워야 한다
+    @Modifying
+    @Query("delete from Member m where m.id = :id")
+    int deleteMemberById(@Param("id") String id);
+
+    interface MemberNameRow {
+
+        String getId();
+
+        String getName();
+    }
+
+    interface MemberSearchRow {
+
+        String getId();
+
+        String getName();
+
+        String getImgPath();
+    }
+
+    interface MemberExp {
+
+        String getId();
+
+        Integer getExp();
+    }
 }
@@ -0,0 +1,83 @@
+package team.a501.rif.repository.member;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import team.a501.rif.domain.member.MemberStats;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface MemberStatsRepository extends JpaRepository<MemberStats, String> {
+
+    // 읽고 고쳐 쓰지 않고 DB에서 더한다. 같은 멤버의 동시 저장이 서로 덮어쓰지 않는다
+    // 행이 아직 없으면 0을 돌려준다
+    // expTotal은 Long, bestScore는 Integer라서 같은 경험치를 타입별로 따로 받는다
+    @Modifying
+    @Query("update MemberStats s set" +
+            " s.visitCount = s.visitCount + 1," +
+            " s.plasticTotal = s.plasticTotal + :plasticTotal," +
+            " s.plasticOk = s.plasticOk + :plasticOk," +
+            " s.recycleTotal = s.recycleTotal + :recycleTotal," +
+            " s.recycleOk = s.recycleOk + :recycleOk," +
+            " s.expTotal = s.expTotal + :expDelta," +
+            " s.bestScore = case when s.bestScore < :exp then :exp else s.bestScore end," +
+            " s.firstVisit = case when s.firstVisit is null or s.firstVisit > :visitedAt then :visitedAt else s.firstVisit end," +
+            " s.lastVisit = case when s.lastVisit is null or s.lastVisit < :visitedAt then :visitedAt else s.lastVisit end" +
+            " where s.memberId = :memberId")
+    int accumulate(@Param("memberId") String memberId,
+                   @Param("plasticTotal") long plasticTotal,
+                   @Param("plasticOk") long plasticOk,
+                   @Param("recycleTotal") long recycleTotal,
+                   @Param("recycleOk") long recycleOk,
+                   @Param("expDelta") long expDelta,
+                   @Param("exp") int exp,
+                   @Param("visitedAt") LocalDateTime visitedAt);
+
+    // 빈 통계 행을 만든다. save는 id가 정해진 엔티티를 merge하므로 이미 있는 행을 0으로 덮어쓸 수 있다
+    // 행이 있으면 DataIntegrityViolationException
+    @Modifying
+    @Query(value = "insert into member_stats" +
+            " (member_id, visit_count, plastic_total, plastic_ok, recycle_total, recycle_ok, exp_total, best_score)" +
+            " values (:memberId, 0, 0, 0, 0, 0, 0, 0)", nativeQuery = true)
+    int insertEmpty(@Param("memberId") String memberId);
+
+    // 통계 재계산용. 멤버 묶음의 RifLog를 한 번에 집계한다
+    @Query("select r.member.id as memberId," +
+            " count(r) as visitCount," +
+            " sum(r.plasticTotal) as plasticTotal," +
+            " sum(r.plasticOk) as plasticOk," +
+            " sum(r.recycleTotal) as recycleTotal," +
+            " sum(r.recycleOk) as recycleOk," +
+            " sum(coalesce(r.exp, 0)) as expTotal," +
+            " max(coalesce(r.exp, 0)) as bestScore," +
+            " min(r.created) as firstVisit," +
+            " max(r.created) as lastVisit" +
+            " from RifLog r where r.member.id in :memberIds group by r.member.id")
+    List<MemberStatsRow> aggregateFromRifLogs(@Param("memberIds") Collection<String> memberIds);
+
+    interface MemberStatsRow {
+
+        String getMemberId();
+
+        Long getVisitCount();
+
+        Long getPlasticTotal();
+
+        Long getPlasticOk();
+
+        Long getRecycleTotal();
+
+        Long getRecycleOk();
+
+        Long getExpTotal();
+
+        Integer getBestScore();
+
+        LocalDateTime getFirstVisit();
+
+        LocalDateTime getLastVisit();
+    }
+}
@@ -0,0 +1,67 @@
+package team.a501.rif.repository.riflog;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import team.a501.rif.domain.riflog.RifLogCounter;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface RifLogCounterRepository extends JpaRepository<RifLogCounter, String> {
+
+    // 읽고 고쳐 쓰지 않고 DB에서 더한다. 같은 멤버의 동시 저장이 서로 덮어쓰지 않는다
+    // 행이 아직 없으면 0을 돌려준다
+    @Modifying
+    @Query("update RifLogCounter c set" +
+            " c.rifUseCount = c.rifUseCount + 1," +
+            " c.plasticSuccessCount = c.plasticSuccessCount + :plasticSuccess," +
+            " c.recycleSuccessCount = c.recycleSuccessCount + :recycleSuccess," +
+            " c.perfectSuccessCount = c.perfectSuccessCount + :perfectSuccess" +
+            " where c.memberId = :memberId")
+    int increment(@Param("memberId") String memberId,
+                  @Param("plasticSuccess") int plasticSuccess,
+                  @Param("recycleSuccess") int recycleSuccess,
+                  @Param("perfectSuccess") int perfectSuccess);
+
+    // 빈 카운터 행을 만든다. save는 id가 정해진 엔티티를 merge하므로 이미 있는 행을 0으로 덮어쓸 수 있다
+    // 행이 있으면 DataIntegrityViolationException
+    @Modifying
+    @Query(value = "insert into rif_log_counter" +
+            " (member_id, rif_use_count, plastic_success_count, recycle_success_count, perfect_success_count)" +
+            " values (:memberId, 0, 0, 0, 0)", nativeQuery = true)
+    int insertEmpty(@Param("memberId") String memberId);
+
+    // 업적 판정용. 엔티티로 읽으면 같은 트랜잭션에서 increment 이전에 읽어 둔 값이 돌아올 수 있다
+    @Query("select c.memberId as memberId," +
+            " c.rifUseCount as rifUseCount," +
+            " c.plasticSuccessCount as plasticSuccessCount," +
+            " c.recycleSuccessCount as recycleSuccessCount," +
+            " c.perfectSuccessCount as perfectSuccessCount" +
+            " from RifLogCounter c where c.memberId = :memberId")
+    Optional<RifLogCounterRow> findRowByMemberId(@Param("memberId") String memberId);
+
+    // 기존 RifLog로부터 멤버별 카운터를 한 번에 집계한다 (backfill 전용)
+    @Query("select r.member.id as memberId," +
+            " count(r) as rifUseCount," +
+            " sum(case when r.plasticTotal > 0 and r.plasticTotal = r.plasticOk then 1 else 0 end) as plasticSuccessCount," +
+            " sum(case when r.recycleTotal > 0 and r.recycleTotal = r.recycleOk then 1 else 0 end) as recycleSuccessCount," +
+            " sum(case when r.plasticTotal > 0 and r.plasticTotal = r.plasticOk" +
+            " and r.recycleTotal > 0 and r.recycleTotal = r.recycleOk then 1 else 0 end) as perfectSuccessCount" +
+            " from RifLog r group by r.member.id")
+    List<RifLogCounterRow> aggregateAllFromRifLogs();
+
+    interface RifLogCounterRow {
+
+        String getMemberId();
+
+        Long getRifUseCount();
+
+        Long getPlasticSuccessCount();
+
+        Long getRecycleSuccessCount();
+
+        Long getPerfectSuccessCount();
+    }
+}
@@ -3,10 +3,42 @@ package team.a501.rif.repository.riflog;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import team.a501.rif.domain.member.Member;
 import team.a501.rif.domain.riflog.RifLog;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface RifLogRepository extends JpaRepository<RifLog, Long> {
 
     Slice<RifLog> findByMember(Member member, Pageable pageable);
+
+    // 키셋 페이지네이션 첫 페이지. (member_id, created, id) 인덱스를 거꾸로 읽는다
+    @Query("select r from RifLog r where r.member.id = :memberId order by r.created desc, r.id desc")
+    List<RifLog> findLatestByMemberId(@Param("memberId") String memberId, Pageable pageable);
+
+    // (created, id)가 커서보다 앞선(오래된) 것부터
+    @Query("select r from RifLog r where r.member.id = :memberId " +
+            "and (r.created < :created or (r.created = :created and r.id < :id)) " +
+            "order by r.created desc, r.id desc")
+    List<RifLog> findByMemberIdBefore(@Param("memberId") String memberId,
+                                      @Param("created") LocalDateTime created,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    @Query("select r from RifLog r join fetch r.member where r.submissionId = :submissionId")
+    Optional<RifLog> findBySubmissionId(@Param("submissionId") String submissionId);
+
+    @Query("select r from RifLog r join fetch r.member where r.submissionId in :submissionIds")
+    List<RifLog> findAllBySubmissionIdIn(@Param("submissionIds") Collection<String> submissionIds);
+
+    // 탈퇴용. Member.rifLogs의 cascade로 이력을 하나씩 읽어 지우지 않는다
+    @Modifying
+    @Query("delete from RifLog r where r.member.id = :memberId")
+    int deleteByMemberId(@Param("memberId") String memberId);
 }
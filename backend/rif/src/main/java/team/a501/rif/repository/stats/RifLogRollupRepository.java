@@ -0,0 +1,78 @@
+package team.a501.rif.repository.stats;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import team.a501.rif.domain.stats.RifLogRollup;
+import team.a501.rif.domain.stats.RifLogRollupId;
+import team.a501.rif.domain.stats.RollupGrain;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RifLogRollupRepository extends JpaRepository<RifLogRollup, RifLogRollupId> {
+
+    // 버킷 행이 없으면 만들고 있으면 DB에서 더한다
+    // 여러 노드가 같은 버킷의 첫 기록을 동시에 써도 기본키 충돌 없이 한쪽이 만들고 다른 쪽이 더한다
+    // 영속성 컨텍스트를 거치지 않으므로 앞서 읽어 둔 롤업 엔티티가 옛 값을 들고 있지 않도록 비운다
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "insert into rif_log_rollup" +
+            " (grain, bucket_start, submissions, plastic_total, plastic_ok, recycle_total, recycle_ok, exp_total)" +
+            " values (:grain, :bucketStart, :submissions, :plasticTotal, :plasticOk, :recycleTotal, :recycleOk, :expTotal)" +
+            " on duplicate key update" +
+            " submissions = submissions + :submissions," +
+            " plastic_total = plastic_total + :plasticTotal," +
+            " plastic_ok = plastic_ok + :plasticOk," +
+            " recycle_total = recycle_total + :recycleTotal," +
+            " recycle_ok = recycle_ok + :recycleOk," +
+            " exp_total = exp_total + :expTotal", nativeQuery = true)
+    int upsert(@Param("grain") String grain,
+               @Param("bucketStart") LocalDateTime bucketStart,
+               @Param("submissions") long submissions,
+               @Param("plasticTotal") long plasticTotal,
+               @Param("plasticOk") long plasticOk,
+               @Param("recycleTotal") long recycleTotal,
+               @Param("recycleOk") long recycleOk,
+               @Param("expTotal") long expTotal);
+
+    // [from, to) 구간의 버킷. 기본키 (grain, bucket_start) 범위 조회
+    @Query("select r from RifLogRollup r where r.grain = :grain" +
+            " and r.bucketStart >= :from and r.bucketStart < :to order by r.bucketStart")
+    List<RifLogRollup> findRange(@Param("grain") RollupGrain grain,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to);
+
+    // 보정 작업 전용. [from, to)에 만들어진 RifLog를 DB에서 시간 버킷별로 더한다 (rif_log.created 인덱스)
+    // 행 수와 관계없이 구간의 시간 수만큼만 돌려받는다
+    @Query("select year(r.created) as bucketYear, month(r.created) as bucketMonth," +
+            " day(r.created) as bucketDay, hour(r.created) as bucketHour," +
+            " count(r) as submissions, sum(r.plasticTotal) as plasticTotal, sum(r.plasticOk) as plasticOk," +
+            " sum(r.recycleTotal) as recycleTotal, sum(r.recycleOk) as recycleOk, sum(coalesce(r.exp, 0)) as expTotal" +
+            " from RifLog r where r.created >= :from and r.created < :to" +
+            " group by year(r.created), month(r.created), day(r.created), hour(r.created)")
+    List<RifLogHourlySum> sumRifLogsByHour(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    interface RifLogHourlySum {
+
+        Integer getBucketYear();
+
+        Integer getBucketMonth();
+
+        Integer getBucketDay();
+
+        Integer getBucketHour();
+
+        Long getSubmissions();
+
+        Long getPlasticTotal();
+
+        Long getPlasticOk();
+
+        Long getRecycleTotal();
+
+        Long getRecycleOk();
+
+        Long getExpTotal();
+    }
+}
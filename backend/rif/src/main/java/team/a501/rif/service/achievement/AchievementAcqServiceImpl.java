@@ -2,14 +2,16 @@ package team.a501.rif.service.achievement;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import team.a501.rif.domain.achievement.Achievement;
 import team.a501.rif.domain.achievement.AchievementAcq;
 import team.a501.rif.domain.member.Member;
 import team.a501.rif.dto.achievement.AchievementAcqInfo;
 import team.a501.rif.repository.achievement.AchievementAcqRepository;
+import team.a501.rif.repository.member.AcqKind;
 import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.service.catalog.CatalogService;
 
-import javax.transaction.Transactional;
 import java.util.NoSuchElementException;
 
 @RequiredArgsConstructor
@@ -19,6 +21,7 @@ public class AchievementAcqServiceImpl implements AchievementAcqService {
     private final AchievementAcqRepository achievementAcqRepository;
     private final AchievementService achievementService;
     private final MemberRepository memberRepository;
+    private final CatalogService catalogService;
 
     @Override
     @Transactional
@@ -33,6 +36,9 @@ public class AchievementAcqServiceImpl implements AchievementAcqService {
         achievement.addAchievementAcq(achievementAcq);
         member.addAchievementAcq(achievementAcq);
 
+        // 컬렉션 화면은 획득 테이블 대신 멤버의 보유 비트셋을 읽는다
+        memberRepository.markAcquired(memberId, AcqKind.ACHIEVEMENT, catalogService.getAchievementSlot(achievementId), achievementAcq.getCreated());
+
         return AchievementAcqInfo.from(achievementAcq);
     }
 }
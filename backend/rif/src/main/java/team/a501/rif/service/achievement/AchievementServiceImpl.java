@@ -2,14 +2,16 @@ package team.a501.rif.service.achievement;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import team.a501.rif.domain.achievement.Achievement;
 import team.a501.rif.dto.achievement.AchievementInfo;
 import team.a501.rif.dto.achievement.AchievementSaveRequest;
 import team.a501.rif.exception.ErrorCode;
 import team.a501.rif.exception.RifCustomException;
 import team.a501.rif.repository.achievement.AchievementRepository;
+import team.a501.rif.service.catalog.CatalogService;
+import team.a501.rif.util.TransactionCallbacks;
 
-import javax.transaction.Transactional;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -20,6 +22,8 @@ public class AchievementServiceImpl implements AchievementService {
 
     private final AchievementRepository achievementRepository;
 
+    private final CatalogService catalogService;
+
     @Override
     public AchievementInfo save(AchievementSaveRequest achievementSaveRequest) {
 
@@ -32,6 +36,8 @@ public class AchievementServiceImpl implements AchievementService {
                         .tag(achievementSaveRequest.getTag())
                         .build());
 
+        TransactionCallbacks.afterCommit(catalogService::invalidate);
+
         return AchievementInfo.from(achievement);
     }
 
@@ -55,17 +61,20 @@ public class AchievementServiceImpl implements AchievementService {
             achievementInfoList.add(AchievementInfo.from(achievement));
         }
 
+        TransactionCallbacks.afterCommit(catalogService::invalidate);
+
         return achievementInfoList;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Achievement> findAll() {
 
         return achievementRepository.findAll();
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public Achievement findById(Long id) {
         return achievementRepository.findById(id)
                 .orElseThrow(() -> new RifCustomException(ErrorCode.NOT_ENOUGH_POINTS));
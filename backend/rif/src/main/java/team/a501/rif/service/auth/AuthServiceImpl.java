@@ -1,12 +1,14 @@
 package team.a501.rif.service.auth;
 
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import team.a501.rif.config.Jwt.JwtTokenProvider;
 import team.a501.rif.domain.auth.RefreshToken;
 import team.a501.rif.domain.member.Member;
@@ -16,7 +18,6 @@ import team.a501.rif.exception.RifCustomException;
 import team.a501.rif.repository.auth.RefreshtokenRepository;
 import team.a501.rif.repository.member.MemberRepository;
 
-import javax.transaction.Transactional;
 import java.util.UUID;
 
 @Service
@@ -33,6 +34,7 @@ public class AuthServiceImpl implements AuthService {
 
     @Transactional
     @Override
+    @Timed(value = "rif.auth.login", histogram = true)
     public TokenDto login(String studentId, String password) {
         log.info("studentId info id,password = {}", studentId, password);
 
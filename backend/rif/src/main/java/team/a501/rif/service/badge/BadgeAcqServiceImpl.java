@@ -2,17 +2,17 @@ package team.a501.rif.service.badge;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import team.a501.rif.domain.badge.Badge;
+import org.springframework.transaction.annotation.Transactional;
 import team.a501.rif.domain.badge.BadgeAcq;
-import team.a501.rif.domain.member.Member;
 import team.a501.rif.dto.badge.BadgeAcqInfo;
 import team.a501.rif.exception.ErrorCode;
 import team.a501.rif.exception.RifCustomException;
 import team.a501.rif.repository.badge.BadgeAcqRepository;
-import team.a501.rif.repository.badge.BadgeRepository;
+import team.a501.rif.repository.member.AcqKind;
 import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.service.catalog.CatalogService;
 
-import javax.transaction.Transactional;
+import java.time.LocalDateTime;
 
 @RequiredArgsConstructor
 @Transactional
@@ -20,29 +20,35 @@ import javax.transaction.Transactional;
 public class BadgeAcqServiceImpl implements BadgeAcqService {
 
     private final BadgeAcqRepository badgeAcqRepository;
-    private final BadgeRepository badgeRepository;
     private final MemberRepository memberRepository;
+    private final CatalogService catalogService;
 
     @Override
     public BadgeAcqInfo save(String memberId, Long badgeId) {
 
-
-        Member member = memberRepository.findById(memberId)
+        memberRepository.lockById(memberId)
                 .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
 
-        Badge badge = badgeRepository
-                .findById(badgeId)
+        // 없는 뱃지면 ENTITY_INSTANCE_NOT_FOUND
+        int slot = catalogService.getBadgeSlot(badgeId);
+
+        // 이미 가진 뱃지면 넣지 않는다. 확인과 저장을 한 문장으로 해서 동시에 같은 뱃지를 얻어도 한쪽이 실패하지 않는다
+        LocalDateTime now = LocalDateTime.now();
+        boolean acquired = badgeAcqRepository.insertIfAbsent(memberId, badgeId, now) > 0;
+
+        BadgeAcq badgeAcq = badgeAcqRepository.findLatestByMemberIdAndBadgeId(memberId, badgeId)
                 .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
 
-        BadgeAcq badgeAcq = badgeAcqRepository.save(new BadgeAcq());
-        badge.addBadgeAcq(badgeAcq);
-        member.addBadgeAcq(badgeAcq);
+        // 컬렉션 화면은 획득 테이블 대신 멤버의 보유 비트셋을 읽는다
+        if (acquired)
+            memberRepository.markAcquired(memberId, AcqKind.BADGE, slot, now);
 
         return BadgeAcqInfo.from(badgeAcq);
     }
 
     @Override
     public void delete(BadgeAcq badgeAcq) {
+        memberRepository.markReleased(badgeAcq.getMember().getId(), AcqKind.BADGE, catalogService.getBadgeSlot(badgeAcq.getBadge().getId()));
         badgeAcqRepository.delete(badgeAcq);
     }
 
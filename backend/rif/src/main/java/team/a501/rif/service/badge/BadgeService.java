@@ -14,7 +14,7 @@ public interface BadgeService {
 
     Badge findById(Long id);
 
-    Badge getRandomBadge();
+    BadgeInfo getRandomBadge();
 
     List<Badge> findAll();
 
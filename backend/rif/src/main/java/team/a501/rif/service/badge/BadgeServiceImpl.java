@@ -2,17 +2,19 @@ package team.a501.rif.service.badge;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import team.a501.rif.domain.badge.Badge;
 import team.a501.rif.dto.badge.BadgeInfo;
 import team.a501.rif.dto.badge.BadgeSaveRequest;
 import team.a501.rif.exception.ErrorCode;
 import team.a501.rif.exception.RifCustomException;
 import team.a501.rif.repository.badge.BadgeRepository;
+import team.a501.rif.service.catalog.CatalogService;
+import team.a501.rif.service.gatcha.BadgeGatchaEngine;
+import team.a501.rif.util.TransactionCallbacks;
 
-import javax.transaction.Transactional;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 @RequiredArgsConstructor
 @Transactional
@@ -21,6 +23,10 @@ public class BadgeServiceImpl implements BadgeService {
 
     private final BadgeRepository badgeRepository;
 
+    private final CatalogService catalogService;
+
+    private final BadgeGatchaEngine badgeGatchaEngine;
+
     @Override
     public BadgeInfo save(BadgeSaveRequest badgeSaveRequest) {
 
@@ -31,6 +37,8 @@ public class BadgeServiceImpl implements BadgeService {
                 .imgPath(badgeSaveRequest.getImgPath())
                 .build());
 
+        TransactionCallbacks.afterCommit(catalogService::invalidate);
+
         return BadgeInfo.from(badge);
     }
 
@@ -52,10 +60,13 @@ public class BadgeServiceImpl implements BadgeService {
             badgeInfoList.add(BadgeInfo.from(badge));
         }
 
+        TransactionCallbacks.afterCommit(catalogService::invalidate);
+
         return badgeInfoList;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Badge findById(Long id) {
 
         Badge badge = badgeRepository.findById(id)
@@ -65,20 +76,14 @@ public class BadgeServiceImpl implements BadgeService {
     }
 
     @Override
-    public Badge getRandomBadge() {
-
-        List<Badge> allBadges = badgeRepository.findAll();
-
-        Random random = new Random();
+    @Transactional(readOnly = true)
+    public BadgeInfo getRandomBadge() {
 
-        Integer bound = allBadges.size();
-
-        Badge badge = allBadges.get(random.nextInt(bound));
-
-        return badge;
+        return badgeGatchaEngine.draw();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Badge> findAll() {
 
         return badgeRepository.findAll();
@@ -88,11 +93,15 @@ public class BadgeServiceImpl implements BadgeService {
     public void deleteById(Long id) {
 
         badgeRepository.deleteById(id);
+
+        TransactionCallbacks.afterCommit(catalogService::invalidate);
     }
 
     @Override
     public void deleteAll() {
 
         badgeRepository.deleteAll();
+
+        TransactionCallbacks.afterCommit(catalogService::invalidate);
     }
 }
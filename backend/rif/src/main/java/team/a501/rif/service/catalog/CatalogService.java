@@ -0,0 +1,20 @@
+package team.a501.rif.service.catalog;
+
+import team.a501.rif.dto.catalog.CatalogReloadResponse;
+
+public interface CatalogService {
+
+    // 현재 스냅샷, 무효화된 뒤 처음 호출되면 DB에서 다시 만든다
+    CatalogSnapshot getSnapshot();
+
+    // 뱃지/업적이 바뀐 트랜잭션의 커밋 이후에 호출한다
+    void invalidate();
+
+    // 멤버 보유 비트셋(AcqBits)의 비트 번호. 스냅샷에 없으면 한 번 다시 불러오고, 그래도 없으면 ENTITY_INSTANCE_NOT_FOUND
+    int getBadgeSlot(Long badgeId);
+
+    int getAchievementSlot(Long achievementId);
+
+    // badges.json, achievements.json과 DB를 비교해서 달라진 항목만 반영한다
+    CatalogReloadResponse reload();
+}
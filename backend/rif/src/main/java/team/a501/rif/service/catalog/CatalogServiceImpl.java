@@ -0,0 +1,348 @@
+package team.a501.rif.service.catalog;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import team.a501.rif.domain.achievement.Achievement;
+import team.a501.rif.domain.achievement.AchievementTag;
+import team.a501.rif.domain.badge.Badge;
+import team.a501.rif.domain.member.AcqBits;
+import team.a501.rif.dto.achievement.AchievementInfo;
+import team.a501.rif.dto.achievement.AchievementSaveRequest;
+import team.a501.rif.dto.badge.BadgeInfo;
+import team.a501.rif.dto.badge.BadgeSaveRequest;
+import team.a501.rif.dto.catalog.CatalogReloadResponse;
+import team.a501.rif.exception.ErrorCode;
+import team.a501.rif.exception.RifCustomException;
+import team.a501.rif.repository.achievement.AchievementRepository;
+import team.a501.rif.repository.badge.BadgeRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class CatalogServiceImpl implements CatalogService {
+
+    private static final String BADGES_JSON = "badges.json";
+    private static final String ACHIEVEMENTS_JSON = "achievements.json";
+
+    private final BadgeRepository badgeRepository;
+    private final AchievementRepository achievementRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate loadTransactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+
+    // 재시작 후에도 이전 ETag와 겹치지 않도록 시작 시각에서 출발한다
+    private final AtomicLong versionSequence = new AtomicLong(System.currentTimeMillis());
+
+    public CatalogServiceImpl(BadgeRepository badgeRepository,
+                              AchievementRepository achievementRepository,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper) {
+        this.badgeRepository = badgeRepository;
+        this.achievementRepository = achievementRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+
+        this.loadTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.loadTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public CatalogSnapshot getSnapshot() {
+
+        CatalogSnapshot snapshot = current.get();
+
+        if (snapshot != null)
+            return snapshot;
+
+        synchronized (this) {
+
+            snapshot = current.get();
+
+            if (snapshot == null) {
+                snapshot = load();
+                current.set(snapshot);
+            }
+
+            return snapshot;
+        }
+    }
+
+    // 읽는 중인 스냅샷이 무효화 이전 데이터로 덮어쓰지 않도록 load와 같은 락을 잡는다
+    @Override
+    public synchronized void invalidate() {
+        current.set(null);
+    }
+
+    @Override
+    public int getBadgeSlot(Long badgeId) {
+
+        Optional<BadgeInfo> badge = getSnapshot().findBadge(badgeId);
+
+        // 스냅샷 이후에 추가된 뱃지
+        if (badge.isEmpty()) {
+            invalidate();
+            badge = getSnapshot().findBadge(badgeId);
+        }
+
+        return badge.map(BadgeInfo::getSlot)
+                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
+    }
+
+    @Override
+    public int getAchievementSlot(Long achievementId) {
+
+        Optional<AchievementInfo> achievement = getSnapshot().findAchievement(achievementId);
+
+        if (achievement.isEmpty()) {
+            invalidate();
+            achievement = getSnapshot().findAchievement(achievementId);
+        }
+
+        return achievement.map(AchievementInfo::getSlot)
+                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
+    }
+
+    @Override
+    public CatalogReloadResponse reload() {
+
+        List<BadgeSaveRequest> badgeRequests = readJson(BADGES_JSON, new TypeReference<>() {
+        });
+        List<AchievementSaveRequest> achievementRequests = readJson(ACHIEVEMENTS_JSON, new TypeReference<>() {
+        });
+
+        CatalogReloadResponse.CatalogReloadResponseBuilder builder = CatalogReloadResponse.builder();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            diffBadges(badgeRequests, builder);
+            diffAchievements(achievementRequests, builder);
+        });
+
+        invalidate();
+
+        CatalogReloadResponse response = builder.version(getSnapshot().getVersion()).build();
+
+        log.info("Catalog reloaded: {}", response);
+
+        return response;
+    }
+
+    private CatalogSnapshot load() {
+
+        List<BadgeInfo> badges = new ArrayList<>();
+        List<AchievementInfo> achievements = new ArrayList<>();
+
+        // slot은 한 번 정하면 바뀌지 않으므로 모두 있으면 호출한 쪽 트랜잭션에서 그대로 읽는다
+        if (!read(badges, achievements, false)) {
+
+            // 새 항목에 slot을 준다. 서버 여러 대가 동시에 주면 유니크 제약에 걸린 쪽이 먼저 준 slot으로 다시 읽는다
+            try {
+                assignAndRead(badges, achievements);
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Catalog slot assignment collided, reloading: {}", e.getMessage());
+                assignAndRead(badges, achievements);
+            }
+        }
+
+        CatalogSnapshot snapshot = new CatalogSnapshot(versionSequence.incrementAndGet(), badges, achievements);
+
+        log.info("Catalog snapshot {} loaded: {} badges, {} achievements",
+                snapshot.getVersion(), badges.size(), achievements.size());
+
+        return snapshot;
+    }
+
+    // assign이 false면 slot이 빠진 항목이 있을 때 false를 돌려준다
+    private boolean read(List<BadgeInfo> badges, List<AchievementInfo> achievements, boolean assign) {
+
+        List<Badge> badgeEntities = badgeRepository.findAll();
+        List<Achievement> achievementEntities = achievementRepository.findAll();
+
+        if (assign) {
+            assignSlots(badgeEntities, Badge::getId, Badge::getSlot, Badge::assignSlot);
+            assignSlots(achievementEntities, Achievement::getId, Achievement::getSlot, Achievement::assignSlot);
+        } else if (badgeEntities.stream().anyMatch(b -> b.getSlot() == null)
+                || achievementEntities.stream().anyMatch(a -> a.getSlot() == null)) {
+            return false;
+        }
+
+        badgeEntities.stream().map(BadgeInfo::from).forEach(badges::add);
+        achievementEntities.stream().map(AchievementInfo::from).forEach(achievements::add);
+
+        return true;
+    }
+
+    // 호출한 쪽 영속성 컨텍스트에 slot이 비어 있던 때의 엔티티가 남아 있을 수 있으므로 새 트랜잭션에서 읽는다
+    private void assignAndRead(List<BadgeInfo> badges, List<AchievementInfo> achievements) {
+
+        badges.clear();
+        achievements.clear();
+
+        loadTransactionTemplate.executeWithoutResult(status -> read(badges, achievements, true));
+    }
+
+    // 보유 비트셋의 비트 번호. slot이 없는 항목에 id 순으로 지금까지 쓴 가장 큰 slot 다음 번호를 주고 바꾸지 않는다
+    // 삭제는 아무도 획득하지 않은 항목만 하므로 비어 있는 번호가 다시 쓰여도 남아 있는 비트와 겹치지 않는다
+    private static <T> void assignSlots(List<T> items,
+                                        Function<T, Long> id,
+                                        Function<T, Integer> slot,
+                                        BiConsumer<T, Integer> assign) {
+
+        int next = items.stream()
+                .map(slot)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .max()
+                .orElse(-1) + 1;
+
+        List<T> unassigned = items.stream()
+                .filter(item -> slot.apply(item) == null)
+                .sorted(Comparator.comparing(id))
+                .collect(Collectors.toList());
+
+        for (T item : unassigned) {
+
+            if (next >= AcqBits.MAX_SLOTS)
+                throw new IllegalStateException("카탈로그 항목은 " + AcqBits.MAX_SLOTS + "개를 넘을 수 없습니다");
+
+            assign.accept(item, next++);
+        }
+    }
+
+    // 뱃지는 제목으로 같은 뱃지인지 판단한다
+    private void diffBadges(List<BadgeSaveRequest> requests, CatalogReloadResponse.CatalogReloadResponseBuilder builder) {
+
+        Map<String, Badge> existing = badgeRepository.findAll()
+                .stream()
+                .collect(Collectors.toMap(Badge::getTitle, Function.identity(), (a, b) -> a));
+
+        int added = 0;
+        int updated = 0;
+        int removed = 0;
+        List<String> kept = new ArrayList<>();
+
+        for (var request : requests) {
+
+            Badge badge = existing.remove(request.getTitle());
+
+            if (badge == null) {
+                badgeRepository.save(Badge.builder()
+                        .tier(request.getTier())
+                        .title(request.getTitle())
+                        .description(request.getDescription())
+                        .imgPath(request.getImgPath())
+                        .build());
+                added++;
+                continue;
+            }
+
+            if (!Objects.equals(badge.getTier(), request.getTier())
+                    || !Objects.equals(badge.getDescription(), request.getDescription())
+                    || !Objects.equals(badge.getImgPath(), request.getImgPath())) {
+                badge.setTier(request.getTier());
+                badge.setDescription(request.getDescription());
+                badge.setImgPath(request.getImgPath());
+                updated++;
+            }
+        }
+
+        // 파일에서 빠진 뱃지는 아무도 획득하지 않았을 때만 지운다
+        for (var badge : existing.values()) {
+
+            if (badge.getBadgeAcqs().isEmpty()) {
+                badgeRepository.delete(badge);
+                removed++;
+            } else {
+                kept.add(badge.getTitle());
+            }
+        }
+
+        builder.badgesAdded(added)
+                .badgesUpdated(updated)
+                .badgesRemoved(removed)
+                .badgesKept(kept);
+    }
+
+    // 업적은 달성 조건인 태그로 같은 업적인지 판단한다
+    private void diffAchievements(List<AchievementSaveRequest> requests, CatalogReloadResponse.CatalogReloadResponseBuilder builder) {
+
+        Map<AchievementTag, Achievement> existing = achievementRepository.findAll()
+                .stream()
+                .collect(Collectors.toMap(Achievement::getAchievementTag, Function.identity(), (a, b) -> a));
+
+        int added = 0;
+        int updated = 0;
+        int removed = 0;
+        List<String> kept = new ArrayList<>();
+
+        for (var request : requests) {
+
+            Achievement achievement = existing.remove(AchievementTag.valueOf(request.getTag()));
+
+            if (achievement == null) {
+                achievementRepository.save(Achievement.builder()
+                        .tier(request.getTier())
+                        .title(request.getTitle())
+                        .description(request.getDescription())
+                        .imgPath(request.getImgPath())
+                        .tag(request.getTag())
+                        .build());
+                added++;
+                continue;
+            }
+
+            if (!Objects.equals(achievement.getTier(), request.getTier())
+                    || !Objects.equals(achievement.getTitle(), request.getTitle())
+                    || !Objects.equals(achievement.getDescription(), request.getDescription())
+                    || !Objects.equals(achievement.getImgPath(), request.getImgPath())) {
+                achievement.setTier(request.getTier());
+                achievement.setTitle(request.getTitle());
+                achievement.setDescription(request.getDescription());
+                achievement.setImgPath(request.getImgPath());
+                updated++;
+            }
+        }
+
+        for (var achievement : existing.values()) {
+
+            if (achievement.getAchievementAcqs().isEmpty()) {
+                achievementRepository.delete(achievement);
+                removed++;
+            } else {
+                kept.add(achievement.getTitle());
+            }
+        }
+
+        builder.achievementsAdded(added)
+                .achievementsUpdated(updated)
+                .achievementsRemoved(removed)
+                .achievementsKept(kept);
+    }
+
+    // 실행 파일 안의 resources는 파일로 열 수 없으므로 스트림으로 읽는다
+    private <T> T readJson(String path, TypeReference<T> type) {
+
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return objectMapper.readValue(in, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package team.a501.rif.service.catalog;
+
+import team.a501.rif.domain.achievement.AchievementTag;
+import team.a501.rif.dto.achievement.AchievementInfo;
+import team.a501.rif.dto.badge.BadgeInfo;
+
+import java.util.*;
+
+// 뱃지/업적 카탈로그의 불변 스냅샷
+// id 순으로 정렬된 배열과 id -> 인덱스, 태그 -> 업적 인덱스를 함께 들고 있어 조회에 DB가 필요 없다
+// 카탈로그가 바뀌면 새 스냅샷을 만들어 통째로 교체하고, version으로 클라이언트 캐시를 검증한다
+public final class CatalogSnapshot {
+
+    private final long version;
+
+    private final BadgeInfo[] badges;
+    private final AchievementInfo[] achievements;
+
+    private final Map<Long, Integer> badgeIndexById;
+    private final Map<Long, Integer> achievementIndexById;
+    private final Map<AchievementTag, List<AchievementInfo>> achievementsByTag;
+
+    private final List<BadgeInfo> badgeList;
+    private final List<AchievementInfo> achievementList;
+
+    public CatalogSnapshot(long version, Collection<BadgeInfo> badges, Collection<AchievementInfo> achievements) {
+
+        this.version = version;
+
+        this.badges = badges.stream()
+                .sorted(Comparator.comparing(BadgeInfo::getId))
+                .toArray(BadgeInfo[]::new);
+
+        this.achievements = achievements.stream()
+                .sorted(Comparator.comparing(AchievementInfo::getId))
+                .toArray(AchievementInfo[]::new);
+
+        Map<Long, Integer> badgeIndex = new HashMap<>();
+        for (int i = 0; i < this.badges.length; ++i)
+            badgeIndex.put(this.badges[i].getId(), i);
+
+        Map<Long, Integer> achievementIndex = new HashMap<>();
+        Map<AchievementTag, List<AchievementInfo>> byTag = new EnumMap<>(AchievementTag.class);
+
+        for (int i = 0; i < this.achievements.length; ++i) {
+
+            AchievementInfo achievement = this.achievements[i];
+
+            achievementIndex.put(achievement.getId(), i);
+            byTag.computeIfAbsent(AchievementTag.valueOf(achievement.getTag()), k -> new ArrayList<>())
+                    .add(achievement);
+        }
+
+        byTag.replaceAll((tag, list) -> Collections.unmodifiableList(list));
+
+        this.badgeIndexById = Collections.unmodifiableMap(badgeIndex);
+        this.achievementIndexById = Collections.unmodifiableMap(achievementIndex);
+        this.achievementsByTag = Collections.unmodifiableMap(byTag);
+
+        this.badgeList = Collections.unmodifiableList(Arrays.asList(this.badges));
+        this.achievementList = Collections.unmodifiableList(Arrays.asList(this.achievements));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // 조건부 요청(If-None-Match)에 쓰는 strong ETag
+    public String getETag() {
+        return "\"" + version + "\"";
+    }
+
+    public List<BadgeInfo> getBadges() {
+        return badgeList;
+    }
+
+    public List<AchievementInfo> getAchievements() {
+        return achievementList;
+    }
+
+    public int getBadgeCount() {
+        return badges.length;
+    }
+
+    // 0 <= index < getBadgeCount()
+    public BadgeInfo getBadgeAt(int index) {
+        return badges[index];
+    }
+
+    public Optional<BadgeInfo> findBadge(Long id) {
+
+        Integer index = badgeIndexById.get(id);
+
+        return index == null ? Optional.empty() : Optional.of(badges[index]);
+    }
+
+    public Optional<AchievementInfo> findAchievement(Long id) {
+
+        Integer index = achievementIndexById.get(id);
+
+        return index == null ? Optional.empty() : Optional.of(achievements[index]);
+    }
+
+    public Map<AchievementTag, List<AchievementInfo>> getAchievementsByTag() {
+        return achievementsByTag;
+    }
+}
@@ -0,0 +1,85 @@
+package team.a501.rif.service.gatcha;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+// Walker alias method (Vose 구현)
+// 가중치 배열로 O(n)에 테이블을 만들고, 이후 한 번 뽑을 때마다 난수 두 개로 O(1)에 인덱스를 고른다
+public final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    public AliasTable(double[] weights) {
+
+        int n = weights.length;
+
+        if (n == 0)
+            throw new IllegalArgumentException("weights must not be empty");
+
+        double sum = 0;
+
+        for (double w : weights) {
+            if (w < 0 || Double.isNaN(w) || Double.isInfinite(w))
+                throw new IllegalArgumentException("weight must be a finite non-negative number: " + w);
+            sum += w;
+        }
+
+        if (sum <= 0)
+            throw new IllegalArgumentException("sum of weights must be positive");
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        // 평균이 1이 되도록 맞춘 뒤 1보다 작은 칸을 큰 칸의 몫으로 채운다
+        double[] scaled = new double[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+
+        for (int i = 0; i < n; ++i) {
+            scaled[i] = weights[i] * n / sum;
+
+            if (scaled[i] < 1.0) small.push(i);
+            else large.push(i);
+        }
+
+        while (!small.isEmpty() && !large.isEmpty()) {
+
+            int s = small.pop();
+            int l = large.pop();
+
+            probability[s] = scaled[s];
+            alias[s] = l;
+
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+
+            if (scaled[l] < 1.0) small.push(l);
+            else large.push(l);
+        }
+
+        // 남은 칸은 부동소수점 오차만 있으므로 자기 자신으로 채운다
+        while (!large.isEmpty()) {
+            int l = large.pop();
+            probability[l] = 1.0;
+            alias[l] = l;
+        }
+
+        while (!small.isEmpty()) {
+            int s = small.pop();
+            probability[s] = 1.0;
+            alias[s] = s;
+        }
+    }
+
+    public int size() {
+        return probability.length;
+    }
+
+    public int sample(Random random) {
+
+        int column = random.nextInt(probability.length);
+
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+}
@@ -0,0 +1,125 @@
+package team.a501.rif.service.gatcha;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import team.a501.rif.dto.badge.BadgeInfo;
+import team.a501.rif.exception.ErrorCode;
+import team.a501.rif.exception.RifCustomException;
+import team.a501.rif.service.catalog.CatalogService;
+import team.a501.rif.service.catalog.CatalogSnapshot;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+// 뱃지 뽑기 확률표
+// rif.gatcha.tier-weights=1:5,2:15,3:30,4:50 처럼 티어별 전체 확률 비중을 주면 같은 티어 뱃지끼리 나눠 가진다
+// 설정하지 않으면 모든 뱃지가 같은 확률이다. 설정했는데 빠진 티어의 뱃지는 나오지 않는다
+// 카탈로그 버전이 바뀌면 alias table을 다시 만든다
+@Slf4j
+@Component
+public class BadgeGatchaEngine {
+
+    private static class DrawTable {
+
+        final long catalogVersion;
+        final BadgeInfo[] badges;
+        final AliasTable aliasTable;
+
+        DrawTable(long catalogVersion, BadgeInfo[] badges, AliasTable aliasTable) {
+            this.catalogVersion = catalogVersion;
+            this.badges = badges;
+            this.aliasTable = aliasTable;
+        }
+    }
+
+    private final CatalogService catalogService;
+
+    // 비어 있으면 균등 확률
+    private final Map<Integer, Double> tierWeights;
+
+    private final AtomicReference<DrawTable> drawTable = new AtomicReference<>();
+
+    public BadgeGatchaEngine(CatalogService catalogService,
+                             @Value("${rif.gatcha.tier-weights:}") String tierWeights) {
+        this.catalogService = catalogService;
+        this.tierWeights = parseTierWeights(tierWeights);
+    }
+
+    public BadgeInfo draw() {
+
+        DrawTable table = currentTable();
+
+        return table.badges[table.aliasTable.sample(ThreadLocalRandom.current())];
+    }
+
+    private DrawTable currentTable() {
+
+        CatalogSnapshot catalog = catalogService.getSnapshot();
+        DrawTable table = drawTable.get();
+
+        if (table != null && table.catalogVersion == catalog.getVersion())
+            return table;
+
+        // 동시에 여러 스레드가 만들어도 결과가 같으므로 마지막 것을 쓴다
+        table = build(catalog);
+        drawTable.set(table);
+
+        return table;
+    }
+
+    private DrawTable build(CatalogSnapshot catalog) {
+
+        int n = catalog.getBadgeCount();
+
+        if (n == 0)
+            throw new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND);
+
+        BadgeInfo[] badges = new BadgeInfo[n];
+        Map<Integer, Integer> countByTier = new HashMap<>();
+
+        for (int i = 0; i < n; ++i) {
+            badges[i] = catalog.getBadgeAt(i);
+            countByTier.merge(badges[i].getTier(), 1, Integer::sum);
+        }
+
+        double[] weights = new double[n];
+
+        for (int i = 0; i < n; ++i) {
+
+            if (tierWeights.isEmpty()) {
+                weights[i] = 1.0;
+                continue;
+            }
+
+            Integer tier = badges[i].getTier();
+            weights[i] = tierWeights.getOrDefault(tier, 0.0) / countByTier.get(tier);
+        }
+
+        log.info("Gatcha table built for catalog {}: {} badges, tiers {}", catalog.getVersion(), n, countByTier);
+
+        return new DrawTable(catalog.getVersion(), badges, new AliasTable(weights));
+    }
+
+    private static Map<Integer, Double> parseTierWeights(String value) {
+
+        Map<Integer, Double> weights = new HashMap<>();
+
+        if (value == null || value.isBlank())
+            return weights;
+
+        for (String pair : value.split(",")) {
+
+            String[] parts = pair.trim().split(":");
+
+            if (parts.length != 2)
+                throw new IllegalArgumentException("rif.gatcha.tier-weights 형식은 tier:weight,... 입니다: " + value);
+
+            weights.put(Integer.valueOf(parts[0].trim()), Double.valueOf(parts[1].trim()));
+        }
+
+        return weights;
+    }
+}
@@ -0,0 +1,117 @@
+package team.a501.rif.service.leaderboard;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.repository.member.MemberRepository.MemberExp;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@ConditionalOnProperty(
+        prefix = "rif.leaderboard",
+        value = "backend",
+        havingValue = "memory",
+        matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+@Service
+public class InMemoryLeaderboardService implements LeaderboardService {
+
+    private final MemberRepository memberRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Integer> expById = new HashMap<>();
+
+    private RankTree rankTree = new RankTree();
+
+    @Override
+    public void update(String memberId, Integer exp) {
+
+        int value = exp == null ? 0 : exp;
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = expById.put(memberId, value);
+
+            if (previous != null)
+                rankTree.remove(memberId, previous);
+
+            rankTree.insert(memberId, value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String memberId) {
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = expById.remove(memberId);
+
+            if (previous != null)
+                rankTree.remove(memberId, previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<LeaderboardEntry> top(int n) {
+
+        lock.readLock().lock();
+        try {
+            return rankTree.top(n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<LeaderboardEntry> rankOf(String memberId) {
+
+        lock.readLock().lock();
+        try {
+            Integer exp = expById.get(memberId);
+
+            if (exp == null)
+                return Optional.empty();
+
+            return Optional.of(new LeaderboardEntry(rankTree.rank(memberId, exp), memberId, exp));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild() {
+
+        long start = System.currentTimeMillis();
+
+        Map<String, Integer> loadedExpById = new HashMap<>();
+        RankTree loadedRankTree = new RankTree();
+
+        for (MemberExp e : memberRepository.findAllExp()) {
+            loadedExpById.put(e.getId(), e.getExp());
+            loadedRankTree.insert(e.getId(), e.getExp());
+        }
+
+        lock.writeLock().lock();
+        try {
+            expById = loadedExpById;
+            rankTree = loadedRankTree;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Leaderboard rebuilt: {} members, {} ms", loadedExpById.size(), System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,35 @@
+package team.a501.rif.service.leaderboard;
+
+public class LeaderboardEntry {
+
+    private final Integer rank;
+    private final String memberId;
+    private final Integer exp;
+
+    public LeaderboardEntry(Integer rank, String memberId, Integer exp) {
+        this.rank = rank;
+        this.memberId = memberId;
+        this.exp = exp;
+    }
+
+    public Integer getRank() {
+        return rank;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public Integer getExp() {
+        return exp;
+    }
+
+    @Override
+    public String toString() {
+        return "LeaderboardEntry{" +
+                "\n rank=" + rank +
+                ",\n memberId='" + memberId + '\'' +
+                ",\n exp=" + exp +
+                "\n}";
+    }
+}
@@ -0,0 +1,19 @@
+package team.a501.rif.service.leaderboard;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// CommandLineRunner(더미 데이터 등록 등)가 모두 끝난 뒤 DB 기준으로 랭킹을 다시 만든다
+@RequiredArgsConstructor
+@Component
+public class LeaderboardInitializer {
+
+    private final LeaderboardService leaderboardService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        leaderboardService.rebuild();
+    }
+}
@@ -0,0 +1,19 @@
+package team.a501.rif.service.leaderboard;
+
+import java.util.List;
+import java.util.Optional;
+
+// 경험치 내림차순, 학번 오름차순 랭킹
+// 단일 노드는 InMemoryLeaderboardService, 여러 노드가 랭킹을 공유할 때는 rif.leaderboard.backend=redis
+public interface LeaderboardService {
+
+    void update(String memberId, Integer exp);
+
+    void remove(String memberId);
+
+    List<LeaderboardEntry> top(int n);
+
+    Optional<LeaderboardEntry> rankOf(String memberId);
+
+    void rebuild();
+}
@@ -0,0 +1,167 @@
+package team.a501.rif.service.leaderboard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// (exp 내림차순, id 오름차순)으로 정렬된 order-statistic treap
+// 삽입, 삭제, 순위 조회가 모두 기대 O(log n), 상위 n명 조회는 O(log n + n)
+// 동기화는 호출하는 쪽에서 책임진다
+public class RankTree {
+
+    private static class Node {
+
+        final String id;
+        final int exp;
+        final int priority;
+
+        int size;
+        Node left;
+        Node right;
+
+        Node(String id, int exp, int priority) {
+            this.id = id;
+            this.exp = exp;
+            this.priority = priority;
+            this.size = 1;
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    private Node root;
+
+    public int size() {
+        return size(root);
+    }
+
+    public void insert(String id, int exp) {
+
+        Node[] parts = splitLess(root, id, exp);
+
+        root = merge(merge(parts[0], new Node(id, exp, random.nextInt())), parts[1]);
+    }
+
+    public boolean remove(String id, int exp) {
+
+        Node[] parts = splitLess(root, id, exp);
+        Node[] head = splitBySize(parts[1], 1);
+
+        if (head[0] != null && compare(head[0], id, exp) == 0) {
+            root = merge(parts[0], head[1]);
+            return true;
+        }
+
+        root = merge(parts[0], merge(head[0], head[1]));
+        return false;
+    }
+
+    // 1부터 시작하는 순위, (id, exp)가 트리에 없으면 들어갔을 때의 순위
+    public int rank(String id, int exp) {
+
+        int less = 0;
+        Node node = root;
+
+        while (node != null) {
+
+            if (compare(node, id, exp) < 0) {
+                less += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+
+        return less + 1;
+    }
+
+    public List<LeaderboardEntry> top(int n) {
+
+        List<LeaderboardEntry> result = new ArrayList<>(Math.min(Math.max(n, 0), size()));
+        Deque<Node> stack = new ArrayDeque<>();
+
+        Node node = root;
+
+        while ((node != null || !stack.isEmpty()) && result.size() < n) {
+
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+
+            node = stack.pop();
+            result.add(new LeaderboardEntry(result.size() + 1, node.id, node.exp));
+            node = node.right;
+        }
+
+        return result;
+    }
+
+    // node의 키가 (id, exp)보다 앞이면 음수
+    private static int compare(Node node, String id, int exp) {
+
+        if (node.exp != exp)
+            return Integer.compare(exp, node.exp);
+
+        return node.id.compareTo(id);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    // [키 < (id, exp)] 와 [키 >= (id, exp)] 로 나눈다
+    private static Node[] splitLess(Node node, String id, int exp) {
+
+        if (node == null)
+            return new Node[]{null, null};
+
+        if (compare(node, id, exp) < 0) {
+            Node[] parts = splitLess(node.right, id, exp);
+            node.right = parts[0];
+            return new Node[]{update(node), parts[1]};
+        }
+
+        Node[] parts = splitLess(node.left, id, exp);
+        node.left = parts[1];
+        return new Node[]{parts[0], update(node)};
+    }
+
+    // 앞쪽 k개와 나머지로 나눈다
+    private static Node[] splitBySize(Node node, int k) {
+
+        if (node == null)
+            return new Node[]{null, null};
+
+        if (size(node.left) < k) {
+            Node[] parts = splitBySize(node.right, k - size(node.left) - 1);
+            node.right = parts[0];
+            return new Node[]{update(node), parts[1]};
+        }
+
+        Node[] parts = splitBySize(node.left, k);
+        node.left = parts[1];
+        return new Node[]{parts[0], update(node)};
+    }
+
+    private static Node merge(Node left, Node right) {
+
+        if (left == null) return right;
+        if (right == null) return left;
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+}
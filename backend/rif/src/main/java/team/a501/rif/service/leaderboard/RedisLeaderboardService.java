@@ -0,0 +1,105 @@
+package team.a501.rif.service.leaderboard;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Service;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.repository.member.MemberRepository.MemberExp;
+
+import java.util.*;
+
+// Redis sorted set 기반 랭킹. 여러 앱 노드가 하나의 랭킹을 공유할 때 사용한다
+// score를 -exp로 저장하면 ZRANGE의 오름차순(동점이면 member 사전순)이 곧 exp 내림차순, 학번 오름차순이 된다
+@ConditionalOnProperty(
+        prefix = "rif.leaderboard",
+        value = "backend",
+        havingValue = "redis")
+@RequiredArgsConstructor
+@Slf4j
+@Service
+public class RedisLeaderboardService implements LeaderboardService {
+
+    private static final String KEY = "rif:leaderboard";
+
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final MemberRepository memberRepository;
+
+    @Override
+    public void update(String memberId, Integer exp) {
+
+        redisTemplate.opsForZSet().add(KEY, memberId, -(exp == null ? 0 : exp));
+    }
+
+    @Override
+    public void remove(String memberId) {
+
+        redisTemplate.opsForZSet().remove(KEY, memberId);
+    }
+
+    @Override
+    public List<LeaderboardEntry> top(int n) {
+
+        if (n <= 0)
+            return List.of();
+
+        Set<TypedTuple<String>> tuples = redisTemplate.opsForZSet().rangeWithScores(KEY, 0, n - 1);
+
+        List<LeaderboardEntry> result = new ArrayList<>();
+
+        if (tuples == null)
+            return result;
+
+        for (var e : tuples) {
+            result.add(new LeaderboardEntry(result.size() + 1, e.getValue(), toExp(e.getScore())));
+        }
+
+        return result;
+    }
+
+    @Override
+    public Optional<LeaderboardEntry> rankOf(String memberId) {
+
+        Long rank = redisTemplate.opsForZSet().rank(KEY, memberId);
+        Double score = redisTemplate.opsForZSet().score(KEY, memberId);
+
+        if (rank == null || score == null)
+            return Optional.empty();
+
+        return Optional.of(new LeaderboardEntry(rank.intValue() + 1, memberId, toExp(score)));
+    }
+
+    // 다른 노드의 갱신과 경합하지 않도록 키를 지우지 않고 덮어쓴다. 삭제된 멤버는 remove에서 처리된다
+    @Override
+    public void rebuild() {
+
+        long start = System.currentTimeMillis();
+
+        List<MemberExp> all = memberRepository.findAllExp();
+        Set<TypedTuple<String>> chunk = new HashSet<>();
+
+        for (MemberExp e : all) {
+
+            chunk.add(TypedTuple.of(e.getId(), (double) -e.getExp()));
+
+            if (chunk.size() >= REBUILD_CHUNK_SIZE) {
+                redisTemplate.opsForZSet().add(KEY, chunk);
+                chunk = new HashSet<>();
+            }
+        }
+
+        if (!chunk.isEmpty())
+            redisTemplate.opsForZSet().add(KEY, chunk);
+
+        log.info("Redis leaderboard rebuilt: {} members, {} ms", all.size(), System.currentTimeMillis() - start);
+    }
+
+    private static Integer toExp(Double score) {
+        return score == null ? 0 : (int) -score;
+    }
+}
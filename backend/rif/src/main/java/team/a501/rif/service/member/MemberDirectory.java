@@ -0,0 +1,109 @@
+package team.a501.rif.service.member;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import team.a501.rif.dto.member.GetMembersName;
+import team.a501.rif.dto.member.MemberDirectoryResponse;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.repository.member.MemberRepository.MemberNameRow;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 전체 회원 이름 목록. findAll()로 엔티티를 전부 올리지 않는다
+// page는 학번 keyset으로 앞 페이지를 건너뛰며 읽지 않고, writeAll은 fetchSize씩 끊어 읽으면서 바로 JSON으로 쓴다
+// MariaDB 드라이버는 fetchSize가 0보다 크면 결과를 한 번에 받지 않고 나눠 받으므로 회원 수와 관계없이 메모리가 일정하다
+// 쓰는 동안 커넥션을 잡고 있으므로 느린 클라이언트가 많으면 page를 쓴다
+@Slf4j
+@Component
+public class MemberDirectory {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final String SELECT_NAMES = "select name from member order by id";
+
+    private final MemberRepository memberRepository;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public MemberDirectory(MemberRepository memberRepository,
+                           DataSource dataSource,
+                           ObjectMapper objectMapper,
+                           @Value("${rif.member.directory.fetch-size:500}") int fetchSize) {
+        this.memberRepository = memberRepository;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    public MemberDirectoryResponse page(String cursor, int size) {
+
+        if (size <= 0 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_PAGE_SIZE + " 이하여야 합니다");
+
+        // 다음 페이지가 있는지 알기 위해 하나 더 읽는다
+        List<MemberNameRow> rows = memberRepository.findNamesAfter(cursor == null ? "" : cursor, PageRequest.of(0, size + 1));
+
+        boolean hasNext = rows.size() > size;
+
+        List<GetMembersName> content = rows.stream()
+                .limit(size)
+                .map(row -> GetMembersName.builder().name(row.getName()).build())
+                .collect(Collectors.toList());
+
+        return MemberDirectoryResponse.builder()
+                .content(content)
+                .nextCursor(hasNext ? rows.get(size - 1).getId() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    // GET /member/name과 같은 {"members":[{"name":...}, ...]} 모양으로 쓰고 쓴 수를 돌려준다
+    public int writeAll(OutputStream out) throws IOException {
+
+        long start = System.currentTimeMillis();
+        int[] written = new int[1];
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+
+            // 응답 스트림은 서블릿 컨테이너가 닫는다
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("members");
+
+            try {
+                streamingJdbcTemplate.query(SELECT_NAMES, rs -> {
+                    try {
+                        generator.writeStartObject();
+                        generator.writeStringField("name", rs.getString(1));
+                        generator.writeEndObject();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    written[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                // 클라이언트가 끊으면 여기로 온다. 커서와 커넥션은 JdbcTemplate이 이미 닫았다
+                throw e.getCause();
+            }
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+
+        log.info("Member directory streamed: {} members, {} ms", written[0], System.currentTimeMillis() - start);
+
+        return written[0];
+    }
+}
@@ -0,0 +1,313 @@
+package team.a501.rif.service.member;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.repository.member.MemberRepository.MemberSearchRow;
+import team.a501.rif.util.Hangul;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 이름 검색용 메모리 색인. '%이름%' LIKE는 인덱스를 못 타서 매번 member 전체를 읽는다
+// 이름과 초성("박도윤" -> "ㅂㄷㅇ")을 각각 글자 하나, 두 글자 조각으로 나눠 역색인하고
+// 검색어의 두 글자 조각 중 가장 드문 것의 후보만 실제 포함 여부를 확인한다
+// 자음만으로 된 검색어는 초성으로 찾는다. 자동완성은 정렬된 맵에서 접두사 구간만 읽는다
+// 가입/탈퇴/프로필 변경은 커밋 이후 put/remove를 호출해야 한다
+@Slf4j
+@Component
+public class MemberSearchIndex {
+
+    public static final class Hit {
+
+        private final String memberId;
+        private final String name;
+        private final String imgPath;
+
+        Hit(String memberId, String name, String imgPath) {
+            this.memberId = memberId;
+            this.name = name;
+            this.imgPath = imgPath;
+        }
+
+        public String getMemberId() {
+            return memberId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getImgPath() {
+            return imgPath;
+        }
+    }
+
+    private static final class Entry {
+
+        final Hit hit;
+        final String text;      // 공백 제거, 소문자
+        final String choseong;
+
+        Entry(String memberId, String name, String imgPath) {
+            this.hit = new Hit(memberId, name, imgPath);
+            this.text = normalize(name == null ? "" : name);
+            this.choseong = Hangul.choseongOf(text);
+        }
+    }
+
+    // 이름순, 같으면 학번순. 게시 목록과 접두사 맵이 같은 순서라 limit개만 읽고 멈출 수 있다
+    private static final Comparator<Entry> BY_NAME = Comparator.<Entry, String>comparing(e -> e.text)
+            .thenComparing(e -> e.hit.memberId);
+
+    private static final Comparator<Entry> BY_CHOSEONG = Comparator.<Entry, String>comparing(e -> e.choseong)
+            .thenComparing(e -> e.hit.memberId);
+
+    private static final class Index {
+
+        final Map<String, Entry> byMemberId = new HashMap<>();
+
+        final Map<String, NavigableSet<Entry>> nameGrams = new HashMap<>();
+        final Map<String, NavigableSet<Entry>> choseongGrams = new HashMap<>();
+
+        final NavigableSet<Entry> byName = new TreeSet<>(BY_NAME);
+        final NavigableSet<Entry> byChoseong = new TreeSet<>(BY_CHOSEONG);
+
+        void put(Entry entry) {
+
+            remove(entry.hit.memberId);
+
+            byMemberId.put(entry.hit.memberId, entry);
+            byName.add(entry);
+            byChoseong.add(entry);
+
+            for (String gram : grams(entry.text))
+                nameGrams.computeIfAbsent(gram, k -> new TreeSet<>(BY_NAME)).add(entry);
+
+            for (String gram : grams(entry.choseong))
+                choseongGrams.computeIfAbsent(gram, k -> new TreeSet<>(BY_CHOSEONG)).add(entry);
+        }
+
+        void remove(String memberId) {
+
+            Entry entry = byMemberId.remove(memberId);
+
+            if (entry == null)
+                return;
+
+            byName.remove(entry);
+            byChoseong.remove(entry);
+
+            removePostings(nameGrams, grams(entry.text), entry);
+            removePostings(choseongGrams, grams(entry.choseong), entry);
+        }
+
+        private static void removePostings(Map<String, NavigableSet<Entry>> postings, Set<String> grams, Entry entry) {
+
+            for (String gram : grams) {
+
+                NavigableSet<Entry> entries = postings.get(gram);
+
+                if (entries != null && entries.remove(entry) && entries.isEmpty())
+                    postings.remove(gram);
+            }
+        }
+    }
+
+    private final MemberRepository memberRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // lock으로 보호한다
+    private Index index = new Index();
+
+    public MemberSearchIndex(MemberRepository memberRepository) {
+        this.memberRepository = memberRepository;
+    }
+
+    // CommandLineRunner의 시드 등록까지 끝난 뒤 DB 기준으로 만든다
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        long start = System.currentTimeMillis();
+
+        Index fresh = new Index();
+
+        for (MemberSearchRow row : memberRepository.findAllSearchRows())
+            fresh.put(new Entry(row.getId(), row.getName(), row.getImgPath()));
+
+        lock.writeLock().lock();
+        try {
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Member search index built: {} members, {} ms",
+                fresh.byMemberId.size(), System.currentTimeMillis() - start);
+    }
+
+    public void put(String memberId, String name, String imgPath) {
+
+        Entry entry = new Entry(memberId, name, imgPath);
+
+        lock.writeLock().lock();
+        try {
+            index.put(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String memberId) {
+
+        lock.writeLock().lock();
+        try {
+            index.remove(memberId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 이름 어디든 query가 들어 있는 멤버를 이름순으로 최대 limit명
+    public List<Hit> search(String query, int limit) {
+
+        String q = normalize(query);
+
+        if (q.isEmpty() || limit <= 0)
+            return List.of();
+
+        boolean choseong = Hangul.isChoseongOnly(q);
+
+        lock.readLock().lock();
+        try {
+            Map<String, NavigableSet<Entry>> postings = choseong ? index.choseongGrams : index.nameGrams;
+
+            // 가장 짧은 게시 목록을 고른다. 조각 하나라도 없으면 결과도 없다
+            NavigableSet<Entry> rarest = null;
+
+            for (String gram : queryGrams(q)) {
+
+                NavigableSet<Entry> entries = postings.get(gram);
+
+                if (entries == null)
+                    return List.of();
+
+                if (rarest == null || entries.size() < rarest.size())
+                    rarest = entries;
+            }
+
+            List<Hit> hits = new ArrayList<>(Math.min(limit, rarest.size()));
+
+            for (Entry entry : rarest) {
+
+                if (!(choseong ? entry.choseong : entry.text).contains(q))
+                    continue;
+
+                hits.add(entry.hit);
+
+                if (hits.size() == limit)
+                    break;
+            }
+
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 이름이 prefix로 시작하는 멤버를 이름순으로 최대 limit명. 자음만으로 된 prefix는 초성으로 찾는다
+    public List<Hit> autocomplete(String prefix, int limit) {
+
+        String q = normalize(prefix);
+
+        if (q.isEmpty() || limit <= 0)
+            return List.of();
+
+        boolean choseong = Hangul.isChoseongOnly(q);
+
+        lock.readLock().lock();
+        try {
+            NavigableSet<Entry> sorted = choseong ? index.byChoseong : index.byName;
+
+            // 정렬 키가 q이고 학번이 빈 가상의 항목부터, prefix로 시작하지 않는 첫 항목 전까지
+            // 자음만으로 된 q는 초성으로 바꿔도 그대로라 두 정렬 모두에 쓸 수 있다
+            Entry from = new Entry("", q, null);
+
+            List<Hit> hits = new ArrayList<>(limit);
+
+            for (Entry entry : sorted.tailSet(from, true)) {
+
+                if (!(choseong ? entry.choseong : entry.text).startsWith(q))
+                    break;
+
+                hits.add(entry.hit);
+
+                if (hits.size() == limit)
+                    break;
+            }
+
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+
+        lock.readLock().lock();
+        try {
+            return index.byMemberId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String normalize(String text) {
+
+        StringBuilder sb = new StringBuilder(text.length());
+
+        for (int i = 0; i < text.length(); ++i) {
+
+            char c = text.charAt(i);
+
+            if (!Character.isWhitespace(c))
+                sb.append(Character.toLowerCase(c));
+        }
+
+        return sb.toString();
+    }
+
+    // 색인할 조각: 글자 하나와 연속한 두 글자
+    private static Set<String> grams(String text) {
+
+        Set<String> grams = new HashSet<>();
+
+        for (int i = 0; i < text.length(); ++i) {
+
+            grams.add(text.substring(i, i + 1));
+
+            if (i + 1 < text.length())
+                grams.add(text.substring(i, i + 2));
+        }
+
+        return grams;
+    }
+
+    // 검색할 조각: 한 글자면 그 글자, 아니면 두 글자 조각들
+    private static Set<String> queryGrams(String q) {
+
+        if (q.length() == 1)
+            return Set.of(q);
+
+        Set<String> grams = new HashSet<>();
+
+        for (int i = 0; i + 1 < q.length(); ++i)
+            grams.add(q.substring(i, i + 2));
+
+        return grams;
+    }
+}
@@ -0,0 +1,153 @@
+package team.a501.rif.service.member;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import team.a501.rif.domain.member.Member;
+import team.a501.rif.dto.member.MemberRegisterRequest;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+// members.json 같은 시드 파일을 한 번에 메모리에 올리지 않고 한 건씩 읽어 등록한다
+// bcrypt는 건당 수십 ms라 제한된 스레드 풀에서 병렬로 돌리고, 읽는 동안 해시가 먼저 시작되도록 바로 제출한다
+// batchSize건이 모이면 JDBC 배치 한 번으로 넣는다. 호출한 쪽 트랜잭션에 참여한다
+// 시드는 신규 DB를 가정하므로 리더보드는 기동 후 LeaderboardInitializer가 다시 만든다
+@Slf4j
+@Component
+public class MemberSeedLoader {
+
+    private static final String INSERT_MEMBER =
+            "insert into member (id, uid, password, name, point, exp, img_path) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final MemberUidCache memberUidCache;
+    private final ObjectMapper objectMapper;
+
+    private final int batchSize;
+    private final int hashThreads;
+
+    public MemberSeedLoader(DataSource dataSource,
+                            PasswordEncoder passwordEncoder,
+                            MemberUidCache memberUidCache,
+                            ObjectMapper objectMapper,
+                            @Value("${rif.seed.batch-size:500}") int batchSize,
+                            @Value("${rif.seed.hash-threads:0}") int hashThreads) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.passwordEncoder = passwordEncoder;
+        this.memberUidCache = memberUidCache;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.hashThreads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    // JSON 배열의 MemberRegisterRequest를 등록하고 등록한 수를 돌려준다
+    public int load(InputStream in) throws IOException {
+
+        long start = System.nanoTime();
+        // [해시 대기, insert]
+        long[] nanos = new long[2];
+        int loaded = 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(hashThreads);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+
+            if (parser.nextToken() != JsonToken.START_ARRAY)
+                throw new IllegalArgumentException("시드 파일은 JSON 배열이어야 합니다");
+
+            List<MemberRegisterRequest> pending = new ArrayList<>(batchSize);
+            List<Future<String>> hashes = new ArrayList<>(batchSize);
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+
+                MemberRegisterRequest request = objectMapper.readValue(parser, MemberRegisterRequest.class);
+                String password = request.getPassword();
+
+                pending.add(request);
+                hashes.add(executor.submit(() -> passwordEncoder.encode(password)));
+
+                if (pending.size() < batchSize)
+                    continue;
+
+                loaded += flush(pending, hashes, nanos);
+            }
+
+            if (!pending.isEmpty())
+                loaded += flush(pending, hashes, nanos);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 시드 이전에 찍혀 미등록으로 기억된 uid가 남지 않게 한다
+        memberUidCache.clear();
+
+        log.info("Seeded {} members in {} ms (hash wait {} ms on {} threads, insert {} ms, batch {})",
+                loaded, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                TimeUnit.NANOSECONDS.toMillis(nanos[0]), hashThreads,
+                TimeUnit.NANOSECONDS.toMillis(nanos[1]), batchSize);
+
+        return loaded;
+    }
+
+    private int flush(List<MemberRegisterRequest> pending, List<Future<String>> hashes, long[] nanos) {
+
+        long waited = System.nanoTime();
+        List<String> encoded = await(hashes);
+        long inserting = System.nanoTime();
+
+        insert(pending, encoded);
+
+        nanos[0] += inserting - waited;
+        nanos[1] += System.nanoTime() - inserting;
+
+        int flushed = pending.size();
+
+        pending.clear();
+        hashes.clear();
+
+        return flushed;
+    }
+
+    private void insert(List<MemberRegisterRequest> requests, List<String> encodedPasswords) {
+
+        List<Object[]> rows = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); ++i) {
+
+            MemberRegisterRequest e = requests.get(i);
+
+            rows.add(new Object[]{e.getId(), e.getUid(), encodedPasswords.get(i), e.getName(),
+                    e.getPoint(), e.getExp(), Member.DEFAULT_PROFILE_IMG});
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_MEMBER, rows);
+    }
+
+    private static List<String> await(List<Future<String>> futures) {
+
+        List<String> values = new ArrayList<>(futures.size());
+
+        try {
+            for (Future<String> future : futures)
+                values.add(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+
+        return values;
+    }
+}
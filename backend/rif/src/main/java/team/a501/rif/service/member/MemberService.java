@@ -29,6 +29,11 @@ public interface MemberService extends UserDetailsService {
 
     BadgeGatchaResponse drawRandomBadge(String memberId);
 
+    List<BadgeGatchaResponse> drawRandomBadges(String memberId, Integer count);
+
+    // 관리자 지급/회수, 음수면 차감한다
+    MemberBalance grant(String memberId, Integer exp, Integer point);
+
     List<AchievementAcqInfo> findAllAchievementAcq(String memberId);
 
     List<AchievementAcqInfo> findAchievementAcqOnDisplay(String memberId);
@@ -41,6 +46,8 @@ public interface MemberService extends UserDetailsService {
 
     RifLogSaveResponse addRifLog(RifLogSaveRequest dto);
 
+    List<RifLogSaveResponse> addRifLogs(List<RifLogSaveRequest> dtoList);
+
     List<AchievementAcqInfo> checkRifLogsAndAddAchievements(String memberId);
 
     void deleteByUid(String uid);
@@ -51,7 +58,13 @@ public interface MemberService extends UserDetailsService {
 
     List<GetMembersName> getMembersName();
 
-    List<FindMemberByName> findByName(String name);
+    MemberDirectoryResponse getMembersName(String cursor, int size);
+
+    // 이름 어디든 name이 들어 있는 멤버. 자음만 주면 초성으로 찾는다
+    List<FindMemberByName> findByName(String name, int limit);
+
+    // 이름이 prefix로 시작하는 멤버
+    List<FindMemberByName> autocomplete(String prefix, int limit);
 
     List<MemberRankingResponse> getFirst10ByOrderByExp();
 
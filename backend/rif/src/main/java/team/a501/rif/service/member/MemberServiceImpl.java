@@ -1,24 +1,28 @@
 package team.a501.rif.service.member;
 
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import team.a501.rif.config.Jwt.JwtAuthenticationFilter;
 import team.a501.rif.config.Jwt.JwtTokenProvider;
-import team.a501.rif.domain.achievement.Achievement;
+import team.a501.rif.config.Metrics.RifMetrics;
 import team.a501.rif.domain.achievement.AchievementAcq;
 import team.a501.rif.domain.achievement.AchievementCompleteChecker;
-import team.a501.rif.domain.badge.Badge;
 import team.a501.rif.domain.badge.BadgeAcq;
+import team.a501.rif.domain.member.AcqBits;
 import team.a501.rif.domain.member.Member;
-import team.a501.rif.domain.riflog.RifLog;
+import team.a501.rif.domain.riflog.RifLogCounter;
 import team.a501.rif.domain.riflog.RifScore;
 import team.a501.rif.dto.achievement.AchievementAcqInfo;
+import team.a501.rif.dto.achievement.AchievementInfo;
 import team.a501.rif.dto.badge.BadgeAcqInfo;
 import team.a501.rif.dto.badge.BadgeInfo;
 import team.a501.rif.dto.member.*;
@@ -27,16 +31,24 @@ import team.a501.rif.dto.riflog.RifLogSaveRequest;
 import team.a501.rif.dto.riflog.RifLogSaveResponse;
 import team.a501.rif.exception.ErrorCode;
 import team.a501.rif.exception.RifCustomException;
-import team.a501.rif.repository.achievement.AchievementRepository;
-import team.a501.rif.repository.badge.BadgeRepository;
+import team.a501.rif.repository.achievement.AchievementAcqRepository;
+import team.a501.rif.repository.badge.BadgeAcqRepository;
+import team.a501.rif.repository.member.AcqKind;
 import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.repository.member.MemberStatsRepository;
+import team.a501.rif.repository.riflog.RifLogCounterRepository;
+import team.a501.rif.repository.riflog.RifLogRepository;
 import team.a501.rif.service.achievement.AchievementAcqService;
 import team.a501.rif.service.badge.BadgeAcqService;
 import team.a501.rif.service.badge.BadgeService;
+import team.a501.rif.service.catalog.CatalogService;
+import team.a501.rif.service.leaderboard.LeaderboardEntry;
+import team.a501.rif.service.leaderboard.LeaderboardService;
 import team.a501.rif.service.riflog.RifLogService;
+import team.a501.rif.service.riflog.RifLogSubmissionCache;
+import team.a501.rif.util.TransactionCallbacks;
 
 import javax.servlet.http.HttpServletRequest;
-import javax.transaction.Transactional;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -51,11 +63,25 @@ public class MemberServiceImpl implements MemberService {
     private final BadgeService badgeService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final JwtTokenProvider jwtTokenProvider;
-    private final BadgeRepository badgeRepository;
     private final BadgeAcqService badgeAcqService;
-    private final AchievementRepository achievementRepository;
+    private final BadgeAcqRepository badgeAcqRepository;
+    private final AchievementAcqRepository achievementAcqRepository;
     private final AchievementAcqService achievementAcqService;
     private final RifLogService rifLogService;
+    private final RifLogRepository rifLogRepository;
+    private final RifLogCounterRepository rifLogCounterRepository;
+
+    private final MemberStatsRepository memberStatsRepository;
+    private final LeaderboardService leaderboardService;
+    private final RifLogSubmissionCache rifLogSubmissionCache;
+    private final CatalogService catalogService;
+    private final MemberUidCache memberUidCache;
+    private final MemberSearchIndex memberSearchIndex;
+    private final MemberDirectory memberDirectory;
+    private final RifMetrics rifMetrics;
+
+    private static final Integer RANKING_SIZE = 10;
+    private static final Integer MAX_RIFLOG_BATCH_SIZE = 500;
 
     @Override
     public MemberResponse register(MemberRegisterRequest dto) {
@@ -69,6 +95,11 @@ public class MemberServiceImpl implements MemberService {
                 .profileImgPath(Member.DEFAULT_PROFILE_IMG)
                 .build());
 
+        TransactionCallbacks.afterCommit(() -> leaderboardService.update(member.getId(), member.getExp()));
+        // 가입 전에 찍어본 태그가 미등록으로 남아 있을 수 있다
+        TransactionCallbacks.afterCommit(() -> memberUidCache.invalidate(member.getUid()));
+        TransactionCallbacks.afterCommit(() -> memberSearchIndex.put(member.getId(), member.getName(), member.getProfileImgPath()));
+
         return MemberResponse.builder()
                 .id(member.getId())
                 .uid(member.getUid())
@@ -82,7 +113,7 @@ public class MemberServiceImpl implements MemberService {
     @Override
     public void registerAll(List<MemberRegisterRequest> dtoList) {
         for (var e : dtoList) {
-            memberRepository.save(Member.builder()
+            Member member = memberRepository.save(Member.builder()
                     .id(e.getId())
                     .password(passwordEncoder.encode(e.getPassword()))
                     .uid(e.getUid())
@@ -91,17 +122,21 @@ public class MemberServiceImpl implements MemberService {
                     .exp(e.getExp())
                     .profileImgPath(Member.DEFAULT_PROFILE_IMG)
                     .build());
+
+            TransactionCallbacks.afterCommit(() -> leaderboardService.update(member.getId(), member.getExp()));
+            TransactionCallbacks.afterCommit(() -> memberUidCache.invalidate(member.getUid()));
+            TransactionCallbacks.afterCommit(() -> memberSearchIndex.put(member.getId(), member.getName(), member.getProfileImgPath()));
         }
     }
 
+    // 조회는 읽기 전용 트랜잭션으로 연다. flush와 변경 감지를 하지 않고, 복제본이 있으면 복제본에서 읽는다 (ReplicaRoutingDataSource)
     @Override
+    @Transactional(readOnly = true)
     public MemberResponse findByUid(String uid) {
-        Member member = memberRepository
-                .findByUid(uid)
-                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
+        MemberIdentity member = memberUidCache.resolve(uid);
 
         return MemberResponse.builder()
-                .id(member.getId())
+                .id(member.getMemberId())
                 .uid(member.getUid())
                 .name(member.getName())
                 .profileImgPath(member.getProfileImgPath())
@@ -109,37 +144,29 @@ public class MemberServiceImpl implements MemberService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public MemberResponse findById(String id) {
-        Member member = memberRepository
-                .findById(id)
-                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
 
-        return MemberResponse.builder()
-                .id(member.getId())
-                .uid(member.getUid())
-                .name(member.getName())
-                .exp(member.getExp())
-                .point(member.getPoint())
-                .profileImgPath(member.getProfileImgPath())
-                .build();
+        return memberRepository
+                .findResponseById(id)
+                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BadgeAcqInfo> findAllBadgeAcq(String memberId) {
-        Member member = memberRepository
-                .findById(memberId)
-                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
 
-        Map<Long, BadgeAcq> memberBadgeAcqs = member.getBadgeAcqs();
-        List<Badge> allBadges = badgeRepository.findAll();
+        // 멤버 보유 비트셋과 카탈로그 스냅샷을 slot으로 맞춰 본다. 획득 테이블과 뱃지 테이블은 읽지 않는다
+        AcqBits bits = findAcqBits(memberId, AcqKind.BADGE);
+        List<BadgeInfo> allBadges = catalogService.getSnapshot().getBadges();
 
-        List<BadgeAcqInfo> badgeAcqInfoList = new ArrayList<>();
+        List<BadgeAcqInfo> badgeAcqInfoList = new ArrayList<>(allBadges.size());
 
         for (var e : allBadges) {
 
-            if (memberBadgeAcqs.containsKey(e.getId())) {
+            if (bits.isOwned(e.getSlot())) {
 
-                badgeAcqInfoList.add(BadgeAcqInfo.from(memberBadgeAcqs.get(e.getId())));
+                badgeAcqInfoList.add(BadgeAcqInfo.of(e, bits.isDisplayed(e.getSlot()), bits.getAcquiredAt(e.getSlot())));
                 continue;
             }
 
@@ -150,35 +177,33 @@ public class MemberServiceImpl implements MemberService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BadgeAcqInfo> findBadgeAcqOnDisplay(String memberId) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
 
-        return member
-                .getBadgeAcqs()
-                .values()
+        AcqBits bits = findAcqBits(memberId, AcqKind.BADGE);
+
+        return catalogService.getSnapshot()
+                .getBadges()
                 .stream()
-                .filter(BadgeAcq::getOnDisplay)
-                .map(BadgeAcqInfo::from)
+                .filter(e -> bits.isDisplayed(e.getSlot()))
+                .map(e -> BadgeAcqInfo.of(e, true, bits.getAcquiredAt(e.getSlot())))
                 .collect(Collectors.toList());
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<AchievementAcqInfo> findAllAchievementAcq(String memberId) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
 
-        Map<Long, AchievementAcq> memberAchievementAcqs = member.getAchievementAcqs();
-        List<Achievement> allAchievements = achievementRepository.findAll();
+        AcqBits bits = findAcqBits(memberId, AcqKind.ACHIEVEMENT);
+        List<AchievementInfo> allAchievements = catalogService.getSnapshot().getAchievements();
 
-        List<AchievementAcqInfo> achievementAcqInfoList = new ArrayList<>();
+        List<AchievementAcqInfo> achievementAcqInfoList = new ArrayList<>(allAchievements.size());
 
         for (var e : allAchievements) {
 
-            if (memberAchievementAcqs.containsKey(e.getId())) {
+            if (bits.isOwned(e.getSlot())) {
 
-                achievementAcqInfoList.add(AchievementAcqInfo.from(memberAchievementAcqs.get(e.getId())));
+                achievementAcqInfoList.add(AchievementAcqInfo.of(e, bits.isDisplayed(e.getSlot()), bits.getAcquiredAt(e.getSlot())));
                 continue;
             }
 
@@ -189,75 +214,123 @@ public class MemberServiceImpl implements MemberService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AchievementAcqInfo> findAchievementAcqOnDisplay(String memberId) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
 
-        return member.getAchievementAcqs()
-                .values()
+        AcqBits bits = findAcqBits(memberId, AcqKind.ACHIEVEMENT);
+
+        return catalogService.getSnapshot()
+                .getAchievements()
                 .stream()
-                .filter(AchievementAcq::getOnDisplay)
-                .map(AchievementAcqInfo::from)
+                .filter(e -> bits.isDisplayed(e.getSlot()))
+                .map(e -> AchievementAcqInfo.of(e, true, bits.getAcquiredAt(e.getSlot())))
                 .collect(Collectors.toList());
     }
 
+    private AcqBits findAcqBits(String memberId, AcqKind kind) {
+        return memberRepository.findAcqBits(memberId, kind)
+                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
+    }
+
     private static final Integer GATCHA_COST = 100;
+    private static final Integer MAX_GATCHA_COUNT = 10;
 
     @Override
+    @Timed(value = "rif.gatcha.draw", extraTags = {"mode", "single"}, histogram = true)
     public BadgeGatchaResponse drawRandomBadge(String memberId) {
 
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow();
+        return drawRandomBadges(memberId, 1).get(0);
+    }
+
+    @Override
+    @Timed(value = "rif.gatcha.draw", extraTags = {"mode", "multi"}, histogram = true)
+    public List<BadgeGatchaResponse> drawRandomBadges(String memberId, Integer count) {
+
+        if (count < 1 || count > MAX_GATCHA_COUNT)
+            throw new IllegalArgumentException("뱃지 뽑기는 한 번에 1~" + MAX_GATCHA_COUNT + "회 가능합니다");
+
+        Integer cost = GATCHA_COST * count;
 
-        Integer balance = member.getPoint();
-        if (balance < GATCHA_COST)
-            throw new RifCustomException(ErrorCode.NOT_ENOUGH_POINTS);
+        // 잔액 확인과 차감을 UPDATE 한 번으로 처리해서 동시에 뽑아도 잔액이 음수가 되지 않는다
+        // 차감한 행의 락은 트랜잭션이 끝날 때까지 유지되므로 같은 멤버의 뽑기는 여기서 줄을 선다
+        Integer remainingPoint = chargeBalance(memberId, 0, -cost).getPoint();
 
-        member.setPoint(balance - GATCHA_COST);
+        // 멤버 행 락을 잡은 뒤에 읽으므로 다른 뽑기와 겹치지 않는다
+        Set<Long> ownedBadgeIds = new HashSet<>(badgeAcqRepository.findBadgeIdsByMemberId(memberId));
 
-        // get random badge
-        Badge badge = badgeService.getRandomBadge();
+        List<BadgeGatchaResponse> results = new ArrayList<>();
 
-        // if we already have the badge
-        Boolean reduplicated = member.hasBadge(badge.getId());
+        for (int i = 0; i < count; ++i) {
 
-        // or add badgeAcq to member
-        if (!reduplicated) {
-            badgeAcqService.save(memberId, badge.getId());
+            BadgeInfo badge = badgeService.getRandomBadge();
+
+            // 이미 가진 뱃지(이번 뽑기에서 먼저 나온 것 포함)면 중복 표시만 한다
+            Boolean reduplicated = !ownedBadgeIds.add(badge.getId());
+
+            if (!reduplicated) {
+                badgeAcqService.save(memberId, badge.getId());
+            }
+
+            results.add(BadgeGatchaResponse.builder()
+                    .reduplicated(reduplicated)
+                    .remainingPoint(remainingPoint + GATCHA_COST * (count - 1 - i))
+                    .badge(badge)
+                    .build());
         }
 
-        return BadgeGatchaResponse.builder()
-                .reduplicated(reduplicated)
-                .remainingPoint(member.getPoint())
-                .badge(BadgeInfo.from(badge))
-                .build();
+        return results;
     }
 
     @Override
-    public BadgeAcqInfo updateBadgeOnDisplay(String memberId, Long badgeId) {
+    public MemberBalance grant(String memberId, Integer exp, Integer point) {
 
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
+        MemberBalance balance = chargeBalance(memberId, exp, point);
+
+        log.info("MemberService.grant: {} exp {}, point {} -> {}", memberId, exp, point, balance);
 
-        BadgeAcq badgeAcq = Optional.of(member.getBadgeAcqs().get(badgeId))
+        if (exp != 0)
+            TransactionCallbacks.afterCommit(() -> leaderboardService.update(memberId, balance.getExp()));
+
+        return balance;
+    }
+
+    // 포인트가 모자라면 아무것도 바꾸지 않고 NOT_ENOUGH_POINTS
+    private MemberBalance chargeBalance(String memberId, Integer exp, Integer point) {
+
+        Optional<MemberBalance> balance = memberRepository.addExpAndPoint(memberId, exp, point);
+
+        if (balance.isPresent())
+            return balance.get();
+
+        if (!memberRepository.existsById(memberId))
+            throw new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND);
+
+        throw new RifCustomException(ErrorCode.NOT_ENOUGH_POINTS);
+    }
+
+    @Override
+    public BadgeAcqInfo updateBadgeOnDisplay(String memberId, Long badgeId) {
+
+        BadgeAcq badgeAcq = badgeAcqRepository.findByMemberIdAndBadgeId(memberId, badgeId)
                 .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
 
         badgeAcq.toggleOnDisplay();
 
+        memberRepository.markDisplayed(memberId, AcqKind.BADGE, catalogService.getBadgeSlot(badgeId), badgeAcq.getOnDisplay());
+
         return BadgeAcqInfo.from(badgeAcq);
     }
 
     @Override
     public AchievementAcqInfo updateAchievementOnDisplay(String memberId, Long achievementId) {
 
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
-
-        AchievementAcq achievementAcq = Optional.of(member.getAchievementAcqs().get(achievementId))
+        AchievementAcq achievementAcq = achievementAcqRepository.findByMemberIdAndAchievementId(memberId, achievementId)
                 .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
 
         achievementAcq.toggleOnDisplay();
 
+        memberRepository.markDisplayed(memberId, AcqKind.ACHIEVEMENT, catalogService.getAchievementSlot(achievementId), achievementAcq.getOnDisplay());
+
         return AchievementAcqInfo.from(achievementAcq);
     }
 
@@ -273,44 +346,135 @@ public class MemberServiceImpl implements MemberService {
     }
 
     @Override
+    @Timed(value = "rif.riflog.add", histogram = true)
     public RifLogSaveResponse addRifLog(RifLogSaveRequest request) {
 
         log.info("MemberService.addRifLog: {}", request);
 
-        Member member = memberRepository.findByUid(request.getUid())
-                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
-        log.info("Member info ={}", member);
+        // 캐시에서 밀려난 재전송은 저장된 RifLog로 처음 응답을 돌려준다
+        Optional<RifLogSaveResponse> saved = rifLogService.findBySubmissionId(request.getSubmissionId());
+
+        if (saved.isPresent())
+            return saved.get();
+
+        MemberIdentity identity = memberUidCache.resolve(request.getUid());
+        log.info("Member info ={}", identity);
         Integer score = RifScore.getScoreOf(request.getPlasticTotal(), request.getPlasticOk(),
                 request.getRecycleTotal(), request.getRecycleOk());
 
         if(score.equals(-1)){
-            return RifLogSaveResponse.builder()
-                    .name(member.getName())
-                    .point(0)
-                    .exp(0)
-                    .createdAt(null)
-                    .plasticTotal(0)
-                    .plasticOk(0)
-                    .recycleTotal(0)
-                    .recycleOk(0)
-                    .build();
+            return emptyRifLogSaveResponse(identity.getName());
         }
 
         log.info("score info ={}", score);
-        Integer gainedExp = score;
-        Integer gainedPoint = 10 * ((score + 5) / 10);
 
-        member.setExp(member.getExp() + gainedExp);
-        member.setPoint(member.getPoint() + gainedPoint);
+        // RifLog의 외래키로만 쓰므로 멤버를 읽지 않고 프록시를 건넨다
+        Member member = memberRepository.getReferenceById(identity.getMemberId());
 
-        RifLogInfo rifLogInfo = rifLogService.save(request, gainedExp, gainedPoint);
+        Map<String, Integer> updatedExpById = new HashMap<>();
+        RifLogSaveResponse response = saveScoredRifLog(member, identity.getName(), request, score, updatedExpById);
 
         checkRifLogsAndAddAchievements(member.getId());
 
         log.info("checkRifLogAndAddAchievements successfully worked");
 
-        return RifLogSaveResponse.builder()
-                .name(member.getName())
+        Integer updatedExp = updatedExpById.get(member.getId());
+        TransactionCallbacks.afterCommit(() -> leaderboardService.update(member.getId(), updatedExp));
+
+        return response;
+    }
+
+    @Override
+    public List<RifLogSaveResponse> addRifLogs(List<RifLogSaveRequest> requests) {
+
+        if (requests.size() > MAX_RIFLOG_BATCH_SIZE)
+            throw new IllegalArgumentException("한 번에 저장할 수 있는 RIF 사용 이력은 " + MAX_RIFLOG_BATCH_SIZE + "개 입니다");
+
+        Set<String> uids = requests.stream()
+                .map(RifLogSaveRequest::getUid)
+                .collect(Collectors.toSet());
+
+        // uid별로 멤버를 한 번만 조회한다. 경험치/포인트는 네이티브 UPDATE로 바꾸므로 엔티티는 읽지 않는다
+        Map<String, MemberIdentity> membersByUid = memberRepository.findIdentitiesByUidIn(uids)
+                .stream()
+                .collect(Collectors.toMap(MemberIdentity::getUid, m -> m));
+
+        // 이미 저장된 제출과 배치 안에서 중복된 제출은 처음 응답으로 대신한다
+        Set<String> submissionIds = requests.stream()
+                .map(RifLogSaveRequest::getSubmissionId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<String, RifLogSaveResponse> savedResponses = rifLogService.findBySubmissionIds(submissionIds);
+
+        List<RifLogSaveResponse> responses = new ArrayList<>();
+        Map<String, Integer> updatedExpById = new LinkedHashMap<>();
+
+        for (var request : requests) {
+
+            if (request.getSubmissionId() != null && savedResponses.containsKey(request.getSubmissionId())) {
+                responses.add(savedResponses.get(request.getSubmissionId()));
+                continue;
+            }
+
+            MemberIdentity identity = membersByUid.get(request.getUid());
+
+            // 없는 uid는 빈 응답과 구분되도록 항목별 not found로 돌려준다
+            if (identity == null) {
+                responses.add(RifLogSaveResponse.notFound(request));
+                continue;
+            }
+
+            Integer score = RifScore.getScoreOf(request.getPlasticTotal(), request.getPlasticOk(),
+                    request.getRecycleTotal(), request.getRecycleOk());
+
+            if (score.equals(-1)) {
+                responses.add(emptyRifLogSaveResponse(identity.getName()));
+                continue;
+            }
+
+            Member member = memberRepository.getReferenceById(identity.getMemberId());
+
+            RifLogSaveResponse response = saveScoredRifLog(member, identity.getName(), request, score, updatedExpById);
+
+            if (request.getSubmissionId() != null)
+                savedResponses.put(request.getSubmissionId(), response);
+
+            responses.add(response);
+        }
+
+        // 업적 확인과 랭킹 갱신은 멤버당 한 번
+        for (var e : updatedExpById.entrySet()) {
+
+            String memberId = e.getKey();
+            Integer updatedExp = e.getValue();
+
+            checkRifLogsAndAddAchievements(memberId);
+
+            TransactionCallbacks.afterCommit(() -> leaderboardService.update(memberId, updatedExp));
+        }
+
+        log.info("MemberService.addRifLogs: {} requests, {} members", requests.size(), updatedExpById.size());
+
+        return responses;
+    }
+
+    // 누적 경험치는 updatedExpById에 멤버별 최신값으로 남긴다
+    private RifLogSaveResponse saveScoredRifLog(Member member, String memberName, RifLogSaveRequest request, Integer score,
+                                                Map<String, Integer> updatedExpById) {
+
+        Integer gainedExp = score;
+        Integer gainedPoint = RifScore.getPointOf(score);
+
+        MemberBalance balance = memberRepository.addExpAndPoint(member.getId(), gainedExp, gainedPoint)
+                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
+
+        updatedExpById.put(member.getId(), balance.getExp());
+
+        RifLogInfo rifLogInfo = rifLogService.save(member, request, gainedExp, gainedPoint);
+
+        RifLogSaveResponse response = RifLogSaveResponse.builder()
+                .name(memberName)
                 .point(gainedPoint)
                 .exp(gainedExp)
                 .createdAt(rifLogInfo.getCreatedAt())
@@ -319,33 +483,60 @@ public class MemberServiceImpl implements MemberService {
                 .recycleTotal(rifLogInfo.getRecycleTotal())
                 .recycleOk(rifLogInfo.getRecycleOk())
                 .build();
+
+        TransactionCallbacks.afterCommit(() -> {
+            rifLogSubmissionCache.put(request.getSubmissionId(), response);
+            rifMetrics.recordScore(gainedExp);
+        });
+
+        return response;
     }
 
-    public List<AchievementAcqInfo> checkRifLogsAndAddAchievements(String memberId) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
+    private RifLogSaveResponse emptyRifLogSaveResponse(String name) {
 
-        List<RifLogInfo> rifLogInfoList = member.getRifLogs()
-                .stream()
-                .map(RifLogInfo::from)
-                .collect(Collectors.toList());
+        return RifLogSaveResponse.builder()
+                .name(name)
+                .point(0)
+                .exp(0)
+                .createdAt(null)
+                .plasticTotal(0)
+                .plasticOk(0)
+                .recycleTotal(0)
+                .recycleOk(0)
+                .build();
+    }
 
-        AchievementCompleteChecker checker = AchievementCompleteChecker.of(rifLogInfoList);
+    // 멤버 행은 읽지 않는다. 호출하는 쪽이 이미 멤버를 확인했고, 업적 획득(AchievementAcqService.save)도 멤버를 확인한다
+    public List<AchievementAcqInfo> checkRifLogsAndAddAchievements(String memberId) {
 
-        Set<Long> alreadyAchieved = member.getAchievementAcqs().keySet();
+        RifLogCounter counter = rifLogCounterRepository.findRowByMemberId(memberId)
+                .map(row -> RifLogCounter.of(row.getMemberId(),
+                        row.getRifUseCount().intValue(),
+                        row.getPlasticSuccessCount().intValue(),
+                        row.getRecycleSuccessCount().intValue(),
+                        row.getPerfectSuccessCount().intValue()))
+                .orElseGet(() -> RifLogCounter.empty(memberId));
 
-        List<Achievement> achievementsToCheck = achievementRepository.findAll()
-                .stream()
-                .filter(a -> !alreadyAchieved.contains(a.getId()))
-                .collect(Collectors.toList());
+        AchievementCompleteChecker checker = AchievementCompleteChecker.of(counter);
+
+        // 획득 컬렉션(엔티티) 대신 업적 id만 읽는다
+        Set<Long> alreadyAchieved = new HashSet<>(achievementAcqRepository.findAchievementIdsByMemberId(memberId));
 
         List<AchievementAcqInfo> newlyAdded = new ArrayList<>();
 
-        for (var e : achievementsToCheck) {
+        // 태그별로 한 번만 판정한다
+        for (var e : catalogService.getSnapshot().getAchievementsByTag().entrySet()) {
+
+            if (!checker.isCompleted(e.getKey()))
+                continue;
+
+            for (var achievement : e.getValue()) {
+
+                if (alreadyAchieved.contains(achievement.getId()))
+                    continue;
 
-            if (checker.isCompleted(e.getAchievementTag())) {
                 AchievementAcqInfo info
-                        = this.addAchievementAcq(member.getId(), e.getId());
+                        = this.addAchievementAcq(memberId, achievement.getId());
                 newlyAdded.add(info);
             }
         }
@@ -359,17 +550,7 @@ public class MemberServiceImpl implements MemberService {
                 .findByUid(uid)
                 .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
 
-        // Badge.badgeAcqs에서 삭제
-        for (var acq : member.getBadgeAcqs().values()) {
-            acq.getBadge().removeBadgeAcq(acq);
-        }
-
-        // Achievement.achievementAcqs에서 삭제
-        for (var acq : member.getAchievementAcqs().values()) {
-            acq.getAchievement().removeAchievementAcq(acq);
-        }
-
-        memberRepository.delete(member);
+        delete(member);
     }
 
     @Override
@@ -379,26 +560,33 @@ public class MemberServiceImpl implements MemberService {
                 .findById(id)
                 .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
 
-        for (var acq : member.getBadgeAcqs().values()) {
-            acq.getBadge().removeBadgeAcq(acq);
-        }
+        delete(member);
+    }
 
-        for (var acq : member.getAchievementAcqs().values()) {
-            acq.getAchievement().removeAchievementAcq(acq);
-        }
+    // 획득/이력 수와 관계없이 테이블마다 DELETE 한 번. 컬렉션을 읽어 cascade로 지우면 행마다 SELECT, DELETE가 나간다
+    // Badge.badgeAcqs, Achievement.achievementAcqs는 읽지 않았으므로 맞출 필요가 없다
+    private void delete(Member member) {
 
-        memberRepository.delete(member);
+        badgeAcqRepository.deleteByMemberId(member.getId());
+        achievementAcqRepository.deleteByMemberId(member.getId());
+        rifLogRepository.deleteByMemberId(member.getId());
 
+        rifLogCounterRepository.findById(member.getId()).ifPresent(rifLogCounterRepository::delete);
+        memberStatsRepository.findById(member.getId()).ifPresent(memberStatsRepository::delete);
+        memberRepository.deleteMemberById(member.getId());
+
+        TransactionCallbacks.afterCommit(() -> leaderboardService.remove(member.getId()));
+        TransactionCallbacks.afterCommit(() -> memberUidCache.invalidate(member.getUid()));
+        TransactionCallbacks.afterCommit(() -> memberSearchIndex.remove(member.getId()));
     }
 
     @Override
     public MemberResponse passwordChange(HttpServletRequest request, String memberId, PasswordChangeRequest passwordChangeRequest) {
-        String accessToken = jwtAuthenticationFilter.resolveToken(request);
-
         log.info("passwordChange info : {}", passwordChangeRequest, memberId);
         log.info("memberid ={}", memberId);
-        log.info("accesstoken info ={}", accessToken);
-        Claims claims = jwtTokenProvider.parseClaims(accessToken);
+        // 필터에서 이미 검증한 Claims를 쓴다
+        Claims claims = JwtAuthenticationFilter.claimsOf(request)
+                .orElseGet(() -> jwtTokenProvider.parseClaims(jwtAuthenticationFilter.resolveToken(request)));
         log.info("Claims info = {}", claims);
         Member member = memberRepository.findById(claims.getSubject()).orElseThrow(() -> new UsernameNotFoundException("해당 유저를 찾을수 없습니다."));
         log.info("Member by token info = {}", member);
@@ -407,71 +595,65 @@ public class MemberServiceImpl implements MemberService {
             throw new BadCredentialsException("다시 입력해주세요.");
         if (!passwordChangeRequest.getNewPassword().equals(passwordChangeRequest.getNewPasswordConfirm()))
             throw new BadCredentialsException("다시 입력해주세요.");
-        Member changeMember = memberRepository.save(Member.builder()
+        // 새 Member를 merge하면 빈 컬렉션을 덮어쓰려고 획득/이력 컬렉션을 모두 읽는다. 읽어 둔 엔티티만 고친다
+        member.setPassword(passwordEncoder.encode(passwordChangeRequest.getNewPassword()));
+        return MemberResponse.builder()
                 .id(member.getId())
                 .uid(member.getUid())
-                .exp(member.getExp())
-                .password(passwordEncoder.encode(passwordChangeRequest.getNewPassword()))
                 .name(member.getName())
-                .point(member.getPoint())
                 .profileImgPath(member.getProfileImgPath())
-                .build());
-        return MemberResponse.builder()
-                .id(changeMember.getId())
-                .uid(changeMember.getUid())
-                .name(changeMember.getName())
-                .profileImgPath(changeMember.getProfileImgPath())
                 .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<GetMembersName> getMembersName() {
-        List<Member> getNameAll = memberRepository.findAll();
-        List<GetMembersName> response = new ArrayList<>();
-        for (Member b : getNameAll) {
-            response.add(GetMembersName.builder().name(b.getName()).build());
+        // 엔티티와 연관 컬렉션 대신 이름만 읽는다
+        List<MemberRepository.MemberSearchRow> getNameAll = memberRepository.findAllSearchRows();
+        List<GetMembersName> response = new ArrayList<>(getNameAll.size());
+        for (var row : getNameAll) {
+            response.add(GetMembersName.builder().name(row.getName()).build());
         }
         return response;
     }
 
     @Override
-    public List<FindMemberByName> findByName(String name) {
-        List<Member> repo = memberRepository.findByNameLike("%" + name + "%");
-        List<FindMemberByName> response = new ArrayList<>();
-        for (Member b : repo) {
+    @Transactional(readOnly = true)
+    public MemberDirectoryResponse getMembersName(String cursor, int size) {
+        return memberDirectory.page(cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FindMemberByName> findByName(String name, int limit) {
+        return toFindMemberByName(memberSearchIndex.search(name, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FindMemberByName> autocomplete(String prefix, int limit) {
+        return toFindMemberByName(memberSearchIndex.autocomplete(prefix, limit));
+    }
+
+    // 경험치는 계속 바뀌므로 색인에 두지 않고 랭킹에서 읽는다
+    private List<FindMemberByName> toFindMemberByName(List<MemberSearchIndex.Hit> hits) {
+        List<FindMemberByName> response = new ArrayList<>(hits.size());
+        for (var hit : hits) {
             response.add(FindMemberByName.builder()
-                    .id(b.getId())
-                    .name(b.getName())
-                    .exp(b.getExp())
-                    .imgPath(b.getProfileImgPath())
+                    .id(hit.getMemberId())
+                    .name(hit.getName())
+                    .exp(leaderboardService.rankOf(hit.getMemberId()).map(LeaderboardEntry::getExp).orElse(0))
+                    .imgPath(hit.getImgPath())
                     .build());
         }
         return response;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MemberRankingResponse> getFirst10ByOrderByExp() {
 
-        List<MemberResponse> top10 = memberRepository
-                .findFirst10ByOrderByExpDesc()
-                .stream()
-                .sorted((m1, m2) -> m1.getExp().equals(m2.getExp()) ? m1.getId().compareTo(m2.getId()) : 1)
-                .map(MemberResponse::from)
-                .collect(Collectors.toList());
-
-        List<MemberRankingResponse> memberRankingResponses = new ArrayList<>();
-
-        Integer rank = 1;
-        for (var e :
-                top10) {
-            memberRankingResponses.add(MemberRankingResponse.builder()
-                    .rank(rank)
-                    .member(e)
-                    .build());
-            rank++;
-        }
-
-        return memberRankingResponses;
+        return toRankingResponses(leaderboardService.top(RANKING_SIZE));
     }
 
     @Override
@@ -481,6 +663,9 @@ public class MemberServiceImpl implements MemberService {
 
         response.setProfileImgPath(changedProfile.getProfileImgPath());
 
+        TransactionCallbacks.afterCommit(() -> memberUidCache.invalidate(response.getUid()));
+        TransactionCallbacks.afterCommit(() -> memberSearchIndex.put(response.getId(), response.getName(), response.getProfileImgPath()));
+
         return MemberResponse.builder()
                 .id(response.getId())
                 .uid(response.getUid())
@@ -490,52 +675,69 @@ public class MemberServiceImpl implements MemberService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "rif.ranking.query", histogram = true)
     public List<MemberRankingResponse> getFirstAllByOrderByExp(String memberId) {
 
-        List<MemberResponse> orderedMembers = memberRepository
-                .findByOrderByExpDesc()
-                .stream()
-                .sorted((m1, m2) -> m1.getExp().equals(m2.getExp()) ? m1.getId().compareTo(m2.getId()) : 1)
-                .map(MemberResponse::from)
+        List<MemberRankingResponse> memberRankingResponses = toRankingResponses(leaderboardService.top(RANKING_SIZE));
+
+        // 마지막 원소는 나의 랭킹 (랭킹에 없으면 null)
+        MemberRankingResponse myRanking = leaderboardService.rankOf(memberId)
+                .flatMap(e -> memberRepository.findResponseById(e.getMemberId())
+                        .map(member -> MemberRankingResponse.builder()
+                                .rank(e.getRank())
+                                .member(member)
+                                .build()))
+                .orElse(null);
+
+        memberRankingResponses.add(myRanking);
+
+        return memberRankingResponses;
+    }
+
+    private List<MemberRankingResponse> toRankingResponses(List<LeaderboardEntry> entries) {
+
+        List<String> ids = entries.stream()
+                .map(LeaderboardEntry::getMemberId)
                 .collect(Collectors.toList());
 
         List<MemberRankingResponse> memberRankingResponses = new ArrayList<>();
 
-        MemberRankingResponse myRanking = null;
+        if (ids.isEmpty())
+            return memberRankingResponses;
 
-        Integer rank = 1;
+        Map<String, MemberResponse> members = memberRepository.findResponsesByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(MemberResponse::getId, m -> m));
 
-        for (var e : orderedMembers) {
+        for (var e : entries) {
 
-            if(rank <= 10) {
-                memberRankingResponses.add(MemberRankingResponse.builder()
-                        .rank(rank)
-                        .member(e)
-                        .build());
-            }
+            MemberResponse member = members.get(e.getMemberId());
 
-            if(e.getId().equals(memberId)) {
-                myRanking = MemberRankingResponse.builder()
-                        .rank(rank)
-                        .member(e)
-                        .build();
-            }
+            if (member == null)
+                continue;
 
-            rank++;
+            memberRankingResponses.add(MemberRankingResponse.builder()
+                    .rank(e.getRank())
+                    .member(member)
+                    .build());
         }
 
-        memberRankingResponses.add(myRanking);
-
         return memberRankingResponses;
     }
 
-
+    // 엔티티 대신 권한까지 채운 UserDetails를 돌려준다. roles는 지연 로딩이라 트랜잭션 밖에서 읽으면 실패한다
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) {
 
-        return memberRepository
+        Member member = memberRepository
                 .findById(username)
                 .orElseThrow(() -> new UsernameNotFoundException("해당하는 username 으로 멤버를 조회할 수 없습니다"));
+
+        return User.withUsername(member.getUsername())
+                .password(member.getPassword())
+                .authorities(member.getAuthorities())
+                .build();
     }
 }
@@ -0,0 +1,17 @@
+package team.a501.rif.service.member;
+
+import team.a501.rif.domain.riflog.RifLog;
+import team.a501.rif.dto.member.MemberStatsResponse;
+
+import java.util.List;
+
+public interface MemberStatsService {
+
+    // RifLog 저장과 같은 트랜잭션에서 호출한다
+    void record(String memberId, RifLog rifLog);
+
+    MemberStatsResponse findByMemberId(String memberId);
+
+    // 멤버 묶음의 통계를 RifLog로부터 다시 계산해 덮어쓴다. 재계산한 멤버 수를 돌려준다
+    int rebuild(List<String> memberIds);
+}
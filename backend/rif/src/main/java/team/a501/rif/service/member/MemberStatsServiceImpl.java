@@ -0,0 +1,110 @@
+package team.a501.rif.service.member;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import team.a501.rif.domain.member.MemberStats;
+import team.a501.rif.domain.riflog.RifLog;
+import team.a501.rif.dto.member.MemberStatsResponse;
+import team.a501.rif.exception.ErrorCode;
+import team.a501.rif.exception.RifCustomException;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.repository.member.MemberStatsRepository;
+import team.a501.rif.repository.member.MemberStatsRepository.MemberStatsRow;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Transactional
+@Service
+public class MemberStatsServiceImpl implements MemberStatsService {
+
+    private final MemberStatsRepository memberStatsRepository;
+
+    private final MemberStatsCreator memberStatsCreator;
+
+    private final MemberRepository memberRepository;
+
+    @Override
+    public void record(String memberId, RifLog rifLog) {
+
+        // 첫 기록이면 행을 먼저 만든다. 다른 요청이 먼저 만들었으면 그 행에 더한다
+        // 없는 행을 update하면 간격 잠금이 잡혀 새 트랜잭션의 insert가 기다리므로 잠금 없는 조회로 먼저 확인한다
+        if (!memberStatsRepository.existsById(memberId)) {
+            try {
+                memberStatsCreator.create(memberId);
+            } catch (DataIntegrityViolationException ignored) {
+            }
+        }
+
+        accumulate(memberId, rifLog);
+    }
+
+    private int accumulate(String memberId, RifLog rifLog) {
+
+        int exp = rifLog.getExp() == null ? 0 : rifLog.getExp();
+
+        return memberStatsRepository.accumulate(memberId,
+                rifLog.getPlasticTotal(),
+                rifLog.getPlasticOk(),
+                rifLog.getRecycleTotal(),
+                rifLog.getRecycleOk(),
+                exp,
+                exp,
+                rifLog.getCreated());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MemberStatsResponse findByMemberId(String memberId) {
+
+        return memberStatsRepository.findById(memberId)
+                .map(MemberStatsResponse::from)
+                .orElseGet(() -> {
+                    // 아직 RIF를 사용하지 않은 멤버
+                    if (!memberRepository.existsById(memberId))
+                        throw new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND);
+
+                    return MemberStatsResponse.from(MemberStats.empty(memberId));
+                });
+    }
+
+    @Override
+    public int rebuild(List<String> memberIds) {
+
+        if (memberIds.isEmpty())
+            return 0;
+
+        Map<String, MemberStats> existing = memberStatsRepository.findAllById(memberIds)
+                .stream()
+                .collect(Collectors.toMap(MemberStats::getMemberId, Function.identity()));
+
+        Map<String, MemberStatsRow> rows = memberStatsRepository.aggregateFromRifLogs(memberIds)
+                .stream()
+                .collect(Collectors.toMap(MemberStatsRow::getMemberId, Function.identity()));
+
+        for (String memberId : memberIds) {
+
+            MemberStatsRow row = rows.get(memberId);
+
+            MemberStats aggregated = row == null
+                    ? MemberStats.empty(memberId)
+                    : MemberStats.of(memberId, row.getVisitCount(), row.getPlasticTotal(), row.getPlasticOk(),
+                    row.getRecycleTotal(), row.getRecycleOk(), row.getExpTotal(), row.getBestScore(),
+                    row.getFirstVisit(), row.getLastVisit());
+
+            MemberStats stats = existing.get(memberId);
+
+            if (stats == null)
+                memberStatsRepository.save(aggregated);
+            else
+                stats.overwrite(aggregated);
+        }
+
+        return memberIds.size();
+    }
+}
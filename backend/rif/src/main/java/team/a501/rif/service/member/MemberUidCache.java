@@ -0,0 +1,81 @@
+package team.a501.rif.service.member;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import team.a501.rif.dto.member.MemberIdentity;
+import team.a501.rif.exception.ErrorCode;
+import team.a501.rif.exception.RifCustomException;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.util.ExpiringLruCache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// RFID 태깅마다 uid로 멤버를 찾지 않도록 uid -> 멤버 정보를 잠시 기억한다
+// 등록되지 않은 uid도 짧게 기억해서, 떠도는 태그가 계속 찍혀도 DB에 가지 않고 거절한다
+// 가입/탈퇴/프로필 변경은 커밋 이후 invalidate를 호출해야 한다
+@Slf4j
+@Component
+public class MemberUidCache {
+
+    private final MemberRepository memberRepository;
+
+    private final ExpiringLruCache<String, MemberIdentity> members;
+    private final ExpiringLruCache<String, Boolean> unknownUids;
+
+    public MemberUidCache(MemberRepository memberRepository,
+                          @Value("${rif.member.uid-cache.max-size:10000}") int maxSize,
+                          @Value("${rif.member.uid-cache.ttl-seconds:600}") long ttlSeconds,
+                          @Value("${rif.member.uid-cache.negative-max-size:10000}") int negativeMaxSize,
+                          @Value("${rif.member.uid-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.memberRepository = memberRepository;
+        this.members = new ExpiringLruCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        this.unknownUids = new ExpiringLruCache<>(negativeMaxSize, Duration.ofSeconds(negativeTtlSeconds));
+    }
+
+    // 없는 uid면 스택 트레이스 없는 ENTITY_INSTANCE_NOT_FOUND
+    public MemberIdentity resolve(String uid) {
+
+        return find(uid).orElseThrow(() -> RifCustomException.withoutStackTrace(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
+    }
+
+    public Optional<MemberIdentity> find(String uid) {
+
+        if (uid == null)
+            return Optional.empty();
+
+        Optional<MemberIdentity> cached = members.get(uid);
+
+        if (cached.isPresent())
+            return cached;
+
+        if (unknownUids.get(uid).isPresent())
+            return Optional.empty();
+
+        Optional<MemberIdentity> loaded = memberRepository.findIdentityByUid(uid);
+
+        if (loaded.isPresent()) {
+            members.put(uid, loaded.get());
+        } else {
+            log.debug("Unknown uid cached: {}", uid);
+            unknownUids.put(uid, Boolean.TRUE);
+        }
+
+        return loaded;
+    }
+
+    public void invalidate(String uid) {
+
+        if (uid == null)
+            return;
+
+        members.invalidate(uid);
+        unknownUids.invalidate(uid);
+    }
+
+    public void clear() {
+        members.clear();
+        unknownUids.clear();
+    }
+}
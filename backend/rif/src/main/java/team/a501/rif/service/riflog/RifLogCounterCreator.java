@@ -0,0 +1,22 @@
+package team.a501.rif.service.riflog;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import team.a501.rif.repository.riflog.RifLogCounterRepository;
+
+// 카운터 행이 처음 필요할 때 별도 트랜잭션으로 만든다
+// 같은 멤버의 첫 저장이 동시에 들어와 한쪽이 키 중복으로 실패해도 바깥 RifLog 저장 트랜잭션은 살아 있다
+@RequiredArgsConstructor
+@Component
+public class RifLogCounterCreator {
+
+    private final RifLogCounterRepository rifLogCounterRepository;
+
+    // 이미 있으면 DataIntegrityViolationException
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void create(String memberId) {
+        rifLogCounterRepository.insertEmpty(memberId);
+    }
+}
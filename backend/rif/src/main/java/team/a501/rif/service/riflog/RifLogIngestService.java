@@ -0,0 +1,15 @@
+package team.a501.rif.service.riflog;
+
+import team.a501.rif.dto.riflog.RifLogIngestStats;
+import team.a501.rif.dto.riflog.RifLogSaveRequest;
+import team.a501.rif.dto.riflog.RifLogSaveResponse;
+
+public interface RifLogIngestService {
+
+    Boolean isEnabled();
+
+    // 점수만 계산해서 바로 응답하고 저장은 writer 스레드가 묶어서 처리한다
+    RifLogSaveResponse accept(RifLogSaveRequest dto);
+
+    RifLogIngestStats getStats();
+}
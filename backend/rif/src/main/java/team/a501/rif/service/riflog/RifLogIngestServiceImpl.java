@@ -0,0 +1,375 @@
+package team.a501.rif.service.riflog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import team.a501.rif.domain.riflog.RifScore;
+import team.a501.rif.dto.member.MemberIdentity;
+import team.a501.rif.dto.riflog.RifLogIngestStats;
+import team.a501.rif.dto.riflog.RifLogSaveRequest;
+import team.a501.rif.dto.riflog.RifLogSaveResponse;
+import team.a501.rif.exception.ErrorCode;
+import team.a501.rif.exception.RifCustomException;
+import team.a501.rif.service.member.MemberService;
+import team.a501.rif.service.member.MemberUidCache;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// 키오스크 RifLog 요청의 write-behind 적재
+// 요청 스레드는 검증, 점수 계산, 저널 기록까지만 하고 응답한다
+// writer 스레드 하나가 큐를 최대 maxBatchSize개 또는 lingerMillis 동안 모아 addRifLogs 한 번으로 커밋한다
+@Slf4j
+@Service
+public class RifLogIngestServiceImpl implements RifLogIngestService {
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class PendingRifLog {
+        private final long seq;
+        private final RifLogSaveRequest request;
+    }
+
+    private static final long POLL_MILLIS = 100L;
+
+    private final MemberService memberService;
+    private final MemberUidCache memberUidCache;
+    private final RifLogService rifLogService;
+    private final RifLogSubmissionCache rifLogSubmissionCache;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final int queueCapacity;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final long drainTimeoutMillis;
+    private final Path journalDir;
+
+    private final Object appendLock = new Object();
+
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private final AtomicLong committedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong groupCommitCount = new AtomicLong();
+    private final AtomicLong totalCommitNanos = new AtomicLong();
+    private volatile long lastCommitNanos;
+    private volatile long maxCommitNanos;
+
+    // dead letter 기록에 실패한 첫 seq. 이후 checkpoint는 이 앞에서 멈춘다
+    private long checkpointLimit = Long.MAX_VALUE;
+
+    private BlockingQueue<PendingRifLog> queue;
+    private RifLogJournal journal;
+    private Thread writer;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+
+    public RifLogIngestServiceImpl(MemberService memberService,
+                                   MemberUidCache memberUidCache,
+                                   RifLogService rifLogService,
+                                   RifLogSubmissionCache rifLogSubmissionCache,
+                                   ObjectMapper objectMapper,
+                                   @Value("${rif.ingest.async.enabled:false}") boolean enabled,
+                                   @Value("${rif.ingest.async.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${rif.ingest.async.max-batch-size:200}") int maxBatchSize,
+                                   @Value("${rif.ingest.async.linger-millis:20}") long lingerMillis,
+                                   @Value("${rif.ingest.async.drain-timeout-millis:30000}") long drainTimeoutMillis,
+                                   @Value("${rif.ingest.async.journal-dir:./ingest-journal}") String journalDir) {
+        this.memberService = memberService;
+        this.memberUidCache = memberUidCache;
+        this.rifLogService = rifLogService;
+        this.rifLogSubmissionCache = rifLogSubmissionCache;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.queueCapacity = queueCapacity;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.drainTimeoutMillis = drainTimeoutMillis;
+        this.journalDir = Path.of(journalDir);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+
+        if (!enabled)
+            return;
+
+        journal = new RifLogJournal(journalDir, objectMapper);
+        List<RifLogJournal.Entry> recovered = journal.recover();
+        List<RifLogJournal.Entry> deadLetters = journal.takeDeadLetters();
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        running = true;
+        writer = new Thread(() -> runWriter(deadLetters, recovered), "rif-ingest-writer");
+        writer.start();
+
+        accepting = true;
+
+        log.info("RifLogIngestService started: capacity {}, batch {}, linger {}ms, journal {}",
+                queueCapacity, maxBatchSize, TimeUnit.NANOSECONDS.toMillis(lingerNanos), journalDir.toAbsolutePath());
+    }
+
+    @Override
+    public Boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public RifLogSaveResponse accept(RifLogSaveRequest request) {
+
+        if (!accepting) {
+            rejectedCount.incrementAndGet();
+            throw new RifCustomException(ErrorCode.INGEST_QUEUE_FULL);
+        }
+
+        Optional<RifLogSaveResponse> saved = rifLogService.findBySubmissionId(request.getSubmissionId());
+
+        if (saved.isPresent())
+            return saved.get();
+
+        MemberIdentity member = memberUidCache.resolve(request.getUid());
+
+        Integer score = RifScore.getScoreOf(request.getPlasticTotal(), request.getPlasticOk(),
+                request.getRecycleTotal(), request.getRecycleOk());
+
+        // 동기 저장과 마찬가지로 분리수거 내역이 없으면 저장하지 않는다
+        if (score.equals(-1)) {
+            return RifLogSaveResponse.builder()
+                    .name(member.getName())
+                    .point(0)
+                    .exp(0)
+                    .createdAt(null)
+                    .plasticTotal(0)
+                    .plasticOk(0)
+                    .recycleTotal(0)
+                    .recycleOk(0)
+                    .build();
+        }
+
+        // 큐에 자리가 있을 때만 저널에 남겨서, 저널에 있는 항목은 모두 큐에도 들어가도록 한다
+        synchronized (appendLock) {
+
+            // 종료 중이면 writer가 이미 빠져나갔을 수 있으므로 받지 않는다
+            if (!running || queue.remainingCapacity() == 0) {
+                rejectedCount.incrementAndGet();
+                throw new RifCustomException(ErrorCode.INGEST_QUEUE_FULL);
+            }
+
+            long seq;
+            try {
+                seq = journal.append(request);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            queue.add(new PendingRifLog(seq, request));
+        }
+
+        acceptedCount.incrementAndGet();
+
+        RifLogSaveResponse response = RifLogSaveResponse.builder()
+                .name(member.getName())
+                .point(RifScore.getPointOf(score))
+                .exp(score)
+                .createdAt(LocalDateTime.now())
+                .plasticTotal(request.getPlasticTotal())
+                .plasticOk(request.getPlasticOk())
+                .recycleTotal(request.getRecycleTotal())
+                .recycleOk(request.getRecycleOk())
+                .build();
+
+        // 저널에 남은 이상 커밋은 보장되므로 재전송에는 이 응답을 바로 돌려준다
+        // 같은 제출이 캐시에 들어가기 전에 다시 들어오면 writer의 addRifLogs가 한 번만 저장한다
+        rifLogSubmissionCache.put(request.getSubmissionId(), response);
+
+        return response;
+    }
+
+    @Override
+    public RifLogIngestStats getStats() {
+
+        long commits = groupCommitCount.get();
+
+        return RifLogIngestStats.builder()
+                .enabled(enabled)
+                .queueDepth(queue == null ? 0 : queue.size())
+                .queueCapacity(queueCapacity)
+                .acceptedCount(acceptedCount.get())
+                .committedCount(committedCount.get())
+                .rejectedCount(rejectedCount.get())
+                .failedCount(failedCount.get())
+                .groupCommitCount(commits)
+                .lastCommitMillis(toMillis(lastCommitNanos))
+                .avgCommitMillis(commits == 0 ? 0.0 : toMillis(totalCommitNanos.get()) / commits)
+                .maxCommitMillis(toMillis(maxCommitNanos))
+                .build();
+    }
+
+    // 새 요청은 503으로 돌려보내고 큐에 남은 항목을 모두 커밋한 뒤 종료한다
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+
+        if (!enabled)
+            return;
+
+        accepting = false;
+
+        // 저널 기록 중인 요청이 큐에 들어갈 때까지 기다린다
+        synchronized (appendLock) {
+            running = false;
+        }
+
+        writer.join(drainTimeoutMillis);
+
+        if (writer.isAlive())
+            log.warn("RifLogIngestService: drain timed out, {} items left in journal", queue.size());
+
+        journal.close();
+
+        log.info("RifLogIngestService stopped: committed {}, failed {}", committedCount.get(), failedCount.get());
+    }
+
+    private void runWriter(List<RifLogJournal.Entry> deadLetters, List<RifLogJournal.Entry> recovered) {
+
+        // 이전 실행에서 커밋하지 못한 항목부터 반영한다
+        commitAll(deadLetters);
+
+        try {
+            journal.finishReplay();
+        } catch (IOException e) {
+            log.error("RifLogIngestService: failed to clear replayed dead letters", e);
+        }
+
+        commitAll(recovered);
+
+        List<PendingRifLog> batch = new ArrayList<>(maxBatchSize);
+
+        while (running || !queue.isEmpty()) {
+
+            try {
+                PendingRifLog first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (first == null)
+                    continue;
+
+                batch.add(first);
+
+                long deadline = System.nanoTime() + lingerNanos;
+
+                while (batch.size() < maxBatchSize) {
+
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+
+                    long remaining = deadline - System.nanoTime();
+
+                    if (batch.size() >= maxBatchSize || remaining <= 0)
+                        break;
+
+                    PendingRifLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+
+                    if (next == null)
+                        break;
+
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("RifLogIngestService writer interrupted, {} items left in journal", queue.size() + batch.size());
+                return;
+            }
+
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private void commitAll(List<RifLogJournal.Entry> entries) {
+
+        for (int from = 0; from < entries.size(); from += maxBatchSize) {
+
+            List<PendingRifLog> batch = entries.subList(from, Math.min(from + maxBatchSize, entries.size()))
+                    .stream()
+                    .map(e -> new PendingRifLog(e.getSeq(), e.getRequest()))
+                    .collect(Collectors.toList());
+
+            commit(batch);
+        }
+    }
+
+    private void commit(List<PendingRifLog> batch) {
+
+        long start = System.nanoTime();
+
+        List<RifLogSaveRequest> requests = batch.stream()
+                .map(PendingRifLog::getRequest)
+                .collect(Collectors.toList());
+
+        List<RifLogJournal.Entry> failed = new ArrayList<>();
+
+        try {
+            memberService.addRifLogs(requests);
+            committedCount.addAndGet(requests.size());
+        } catch (RuntimeException e) {
+
+            // 한 건 때문에 묶음 전체가 롤백되었으므로 하나씩 다시 커밋한다
+            log.warn("RifLogIngestService: group commit of {} failed, retrying one by one", requests.size(), e);
+
+            for (var pending : batch) {
+                try {
+                    memberService.addRifLogs(List.of(pending.getRequest()));
+                    committedCount.incrementAndGet();
+                } catch (RuntimeException ex) {
+                    failedCount.incrementAndGet();
+                    failed.add(new RifLogJournal.Entry(pending.getSeq(), pending.getRequest()));
+                    log.error("RifLogIngestService: dead letter {}", pending.getRequest(), ex);
+                }
+            }
+        }
+
+        // 실패한 항목이 dead letter에 남은 뒤에만 그 뒤로 checkpoint를 옮긴다
+        if (!failed.isEmpty()) {
+            try {
+                journal.deadLetter(failed);
+            } catch (IOException e) {
+                checkpointLimit = Math.min(checkpointLimit, failed.get(0).getSeq());
+                log.error("RifLogIngestService: dead letter failed, checkpoint held before seq {}", checkpointLimit, e);
+            }
+        }
+
+        try {
+            journal.commit(Math.min(batch.get(batch.size() - 1).getSeq(), checkpointLimit - 1));
+        } catch (IOException e) {
+            // checkpoint가 밀리면 재시작 때 중복 적재될 수 있으므로 남겨둔다
+            log.error("RifLogIngestService: checkpoint failed", e);
+        }
+
+        long elapsed = System.nanoTime() - start;
+
+        groupCommitCount.incrementAndGet();
+        totalCommitNanos.addAndGet(elapsed);
+        lastCommitNanos = elapsed;
+        maxCommitNanos = Math.max(maxCommitNanos, elapsed);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,264 @@
+package team.a501.rif.service.riflog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import team.a501.rif.dto.riflog.RifLogSaveRequest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 비동기 적재 대기 중인 RifLog 요청을 기록하는 append-only 파일
+// 한 줄에 "seq\tjson" 하나, 커밋된 마지막 seq는 checkpoint 파일에 따로 둔다
+// 재시작 시 checkpoint 이후의 항목만 다시 적재하므로 크래시가 나도 응답한 요청은 유실되지 않는다
+// 커밋에 실패한 항목은 checkpoint를 넘기기 전에 dead letter 파일로 옮기고, 다음 시작 때 다시 적재한다
+@Slf4j
+public class RifLogJournal implements Closeable {
+
+    private static final String JOURNAL_FILE = "riflog.journal";
+    private static final String CHECKPOINT_FILE = "riflog.checkpoint";
+    private static final String DEAD_LETTER_FILE = "riflog.deadletter";
+    private static final String REPLAY_FILE = "riflog.deadletter.replay";
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Entry {
+        private final long seq;
+        private final RifLogSaveRequest request;
+    }
+
+    private final Path journalPath;
+    private final Path checkpointPath;
+    private final Path deadLetterPath;
+    private final Path replayPath;
+    private final ObjectMapper objectMapper;
+
+    private FileChannel channel;
+    private long lastAppendedSeq;
+    private long committedSeq;
+
+    public RifLogJournal(Path dir, ObjectMapper objectMapper) throws IOException {
+
+        Files.createDirectories(dir);
+
+        this.journalPath = dir.resolve(JOURNAL_FILE);
+        this.checkpointPath = dir.resolve(CHECKPOINT_FILE);
+        this.deadLetterPath = dir.resolve(DEAD_LETTER_FILE);
+        this.replayPath = dir.resolve(REPLAY_FILE);
+        this.objectMapper = objectMapper;
+    }
+
+    // 커밋되지 않은 항목을 seq 순서대로 돌려주고 이어쓰기 위해 파일을 연다
+    public synchronized List<Entry> recover() throws IOException {
+
+        committedSeq = readCheckpoint();
+        lastAppendedSeq = committedSeq;
+
+        List<Entry> pending = new ArrayList<>();
+
+        if (Files.exists(journalPath)) {
+
+            for (Entry entry : readEntries(journalPath)) {
+
+                lastAppendedSeq = Math.max(lastAppendedSeq, entry.getSeq());
+
+                if (entry.getSeq() > committedSeq)
+                    pending.add(entry);
+            }
+        }
+
+        channel = FileChannel.open(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        // 깨진 줄이 남아 있으면 이어 쓰는 줄과 섞이므로 살아남은 항목만으로 다시 쓴다
+        rewrite(pending);
+
+        log.info("RifLogJournal recovered: committed seq {}, {} pending", committedSeq, pending.size());
+
+        return pending;
+    }
+
+    // fsync까지 끝나야 반환하므로 반환 이후에는 크래시가 나도 요청이 남아 있다
+    public synchronized long append(RifLogSaveRequest request) throws IOException {
+
+        long seq = lastAppendedSeq + 1;
+
+        write(seq, request);
+        channel.force(false);
+
+        lastAppendedSeq = seq;
+
+        return seq;
+    }
+
+    // seq 이하가 DB에 커밋되었음을 기록한다. 밀린 항목이 없으면 저널을 비운다
+    public synchronized void commit(long seq) throws IOException {
+
+        if (seq <= committedSeq)
+            return;
+
+        committedSeq = seq;
+        writeCheckpoint(seq);
+
+        if (committedSeq == lastAppendedSeq) {
+            channel.truncate(0);
+            channel.force(false);
+        }
+    }
+
+    // 커밋에 실패한 항목을 fsync까지 끝내고 반환한다. 반환한 뒤에야 이 항목들을 지나 checkpoint를 옮길 수 있다
+    public synchronized void deadLetter(List<Entry> entries) throws IOException {
+
+        try (FileChannel out = FileChannel.open(deadLetterPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+
+            for (var e : entries)
+                write(out, e.getSeq(), e.getRequest());
+
+            out.force(false);
+        }
+    }
+
+    // 다시 적재할 dead letter 항목을 꺼낸다. 다시 실패한 항목은 deadLetter로 새 파일에 쌓인다
+    // 꺼낸 항목은 finishReplay 전까지 replay 파일에 남아 있어서, 재적재 도중 죽으면 다음 시작 때 다시 꺼낸다
+    public synchronized List<Entry> takeDeadLetters() throws IOException {
+
+        if (Files.exists(deadLetterPath)) {
+
+            if (Files.exists(replayPath)) {
+                Files.write(replayPath, Files.readAllBytes(deadLetterPath), StandardOpenOption.APPEND);
+                Files.delete(deadLetterPath);
+            } else {
+                Files.move(deadLetterPath, replayPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+
+        if (!Files.exists(replayPath))
+            return List.of();
+
+        // checkpoint 이후 항목은 옮기던 중 죽은 것이라 저널에서 다시 적재된다
+        List<Entry> entries = readEntries(replayPath).stream()
+                .filter(e -> e.getSeq() <= committedSeq)
+                .collect(Collectors.toList());
+
+        log.info("RifLogJournal: {} dead letters to replay", entries.size());
+
+        return entries;
+    }
+
+    public synchronized void finishReplay() throws IOException {
+        Files.deleteIfExists(replayPath);
+    }
+
+    public synchronized long getCommittedSeq() {
+        return committedSeq;
+    }
+
+    public synchronized long getLastAppendedSeq() {
+        return lastAppendedSeq;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+
+        if (channel != null && channel.isOpen())
+            channel.close();
+    }
+
+    private void rewrite(List<Entry> entries) throws IOException {
+
+        channel.truncate(0);
+
+        for (var e : entries)
+            write(e.getSeq(), e.getRequest());
+
+        channel.force(false);
+    }
+
+    private void write(long seq, RifLogSaveRequest request) throws IOException {
+        write(channel, seq, request);
+    }
+
+    private void write(FileChannel channel, long seq, RifLogSaveRequest request) throws IOException {
+
+        String line = seq + "\t" + objectMapper.writeValueAsString(request) + "\n";
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    private List<Entry> readEntries(Path path) throws IOException {
+
+        List<Entry> entries = new ArrayList<>();
+
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+
+            Entry entry = parse(line);
+
+            // 기록 도중 죽어서 잘린 마지막 줄은 응답하지 않은 요청이므로 버린다
+            if (entry == null) {
+                log.warn("RifLogJournal: skip broken line '{}'", line);
+                continue;
+            }
+
+            entries.add(entry);
+        }
+
+        return entries;
+    }
+
+    private Entry parse(String line) {
+
+        int tab = line.indexOf('\t');
+
+        if (tab <= 0)
+            return null;
+
+        try {
+            long seq = Long.parseLong(line.substring(0, tab));
+            RifLogSaveRequest request = objectMapper.readValue(line.substring(tab + 1), RifLogSaveRequest.class);
+
+            return new Entry(seq, request);
+        } catch (NumberFormatException | JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+
+        if (!Files.exists(checkpointPath))
+            return 0L;
+
+        String value = Files.readString(checkpointPath, StandardCharsets.UTF_8).trim();
+
+        return value.isEmpty() ? 0L : Long.parseLong(value);
+    }
+
+    // 임시 파일에 쓰고 rename 해서 checkpoint가 반쯤 쓰인 상태로 남지 않게 한다
+    private void writeCheckpoint(long seq) throws IOException {
+
+        Path tmp = checkpointPath.resolveSibling(CHECKPOINT_FILE + ".tmp");
+
+        try (FileChannel out = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            out.write(ByteBuffer.wrap(Long.toString(seq).getBytes(StandardCharsets.UTF_8)));
+            out.force(false);
+        }
+
+        Files.move(tmp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
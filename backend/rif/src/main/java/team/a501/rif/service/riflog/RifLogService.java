@@ -2,8 +2,15 @@ package team.a501.rif.service.riflog;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import team.a501.rif.domain.member.Member;
+import team.a501.rif.dto.riflog.RifLogCursorResponse;
 import team.a501.rif.dto.riflog.RifLogInfo;
 import team.a501.rif.dto.riflog.RifLogSaveRequest;
+import team.a501.rif.dto.riflog.RifLogSaveResponse;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
 
 public interface RifLogService {
 
@@ -11,5 +18,15 @@ public interface RifLogService {
 
     RifLogInfo save(RifLogSaveRequest dto, Integer exp, Integer point);
 
+    RifLogInfo save(Member member, RifLogSaveRequest dto, Integer exp, Integer point);
+
+    // 이미 저장된 제출이면 처음 응답을 다시 만들어 돌려준다
+    Optional<RifLogSaveResponse> findBySubmissionId(String submissionId);
+
+    Map<String, RifLogSaveResponse> findBySubmissionIds(Collection<String> submissionIds);
+
     Slice<RifLogInfo> findByMember(String memberId, Pageable pageable);
+
+    // 최신순 키셋 페이지네이션. cursor가 null이면 첫 페이지
+    RifLogCursorResponse findByMember(String memberId, String cursor, int size);
 }
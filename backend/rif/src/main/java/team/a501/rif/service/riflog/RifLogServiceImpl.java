@@ -1,66 +1,179 @@
 package team.a501.rif.service.riflog;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import team.a501.rif.domain.member.Member;
 import team.a501.rif.domain.riflog.RifLog;
+import team.a501.rif.domain.riflog.RifLogCounter;
+import team.a501.rif.dto.riflog.RifLogCursor;
+import team.a501.rif.dto.riflog.RifLogCursorResponse;
 import team.a501.rif.dto.riflog.RifLogInfo;
 import team.a501.rif.dto.riflog.RifLogSaveRequest;
+import team.a501.rif.dto.riflog.RifLogSaveResponse;
 import team.a501.rif.exception.ErrorCode;
 import team.a501.rif.exception.RifCustomException;
 import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.repository.riflog.RifLogCounterRepository;
 import team.a501.rif.repository.riflog.RifLogRepository;
-
-import javax.transaction.Transactional;
+import team.a501.rif.service.member.MemberStatsService;
+import team.a501.rif.service.member.MemberUidCache;
+import team.a501.rif.service.stats.RifLogRollupBuffer;
+import team.a501.rif.util.TransactionCallbacks;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Transactional
 @Service
 public class RifLogServiceImpl implements RifLogService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final MemberRepository memberRepository;
 
     private final RifLogRepository rifLogRepository;
 
+    private final RifLogCounterRepository rifLogCounterRepository;
+
+    private final RifLogCounterCreator rifLogCounterCreator;
+
+    private final MemberUidCache memberUidCache;
+
+    private final MemberStatsService memberStatsService;
+
+    private final RifLogRollupBuffer rifLogRollupBuffer;
+
     @Override
     public RifLogInfo save(RifLogSaveRequest dto) {
-        Member member = memberRepository.findByUid(dto.getUid())
-                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
+        Member member = memberRepository.getReferenceById(memberUidCache.resolve(dto.getUid()).getMemberId());
 
-        RifLog rifLog = rifLogRepository.save(RifLog.builder()
+        RifLog rifLog = RifLog.builder()
                 .plasticTotal(dto.getPlasticTotal())
                 .plasticOk(dto.getPlasticOk())
                 .recycleTotal(dto.getRecycleTotal())
                 .recycleOk(dto.getRecycleOk())
-                .build());
+                .submissionId(dto.getSubmissionId())
+                .build();
 
-        member.addRifLog(rifLog);
+        attach(member, rifLog);
+        rifLogRepository.save(rifLog);
+        countRifLog(member.getId(), rifLog);
+        memberStatsService.record(member.getId(), rifLog);
+        rollUp(rifLog);
 
         return RifLogInfo.from(rifLog);
     }
 
     @Override
     public RifLogInfo save(RifLogSaveRequest dto, Integer exp, Integer point) {
-        Member member = memberRepository.findByUid(dto.getUid())
-                .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
+        Member member = memberRepository.getReferenceById(memberUidCache.resolve(dto.getUid()).getMemberId());
 
-        RifLog rifLog = rifLogRepository.save(RifLog.builder()
+        return save(member, dto, exp, point);
+    }
+
+    @Override
+    public RifLogInfo save(Member member, RifLogSaveRequest dto, Integer exp, Integer point) {
+
+        RifLog rifLog = RifLog.builder()
                 .plasticTotal(dto.getPlasticTotal())
                 .plasticOk(dto.getPlasticOk())
                 .recycleTotal(dto.getRecycleTotal())
                 .recycleOk(dto.getRecycleOk())
                 .exp(exp)
                 .point(point)
-                .build());
+                .submissionId(dto.getSubmissionId())
+                .build();
 
-        member.addRifLog(rifLog);
+        attach(member, rifLog);
+        rifLogRepository.save(rifLog);
+        countRifLog(member.getId(), rifLog);
+        memberStatsService.record(member.getId(), rifLog);
+        rollUp(rifLog);
 
         return RifLogInfo.from(rifLog);
     }
 
+    // 아직 읽지 않은 멤버 프록시라면 컬렉션을 맞추려고 멤버를 읽지 않는다
+    // 저장 전에 붙여야 insert에 member_id가 들어가고, 저장 후 바뀐 연관 때문에 update가 한 번 더 나가지 않는다
+    private void attach(Member member, RifLog rifLog) {
+
+        if (Hibernate.isInitialized(member))
+            member.addRifLog(rifLog);
+        else
+            rifLog.setMember(member);
+    }
+
+    // RifLog 저장과 같은 트랜잭션에서 멤버별 누적 카운터를 DB에서 더한다
+    // 첫 기록이면 행을 별도 트랜잭션으로 먼저 만든다. 다른 요청이 먼저 만들었으면 그 행에 더한다
+    // 없는 행을 update하면 MariaDB(REPEATABLE READ)는 간격 잠금을 잡고, 새 트랜잭션의 insert가 그 잠금을 기다린다
+    // 그래서 update보다 잠금 없는 조회로 먼저 확인한다
+    private void countRifLog(String memberId, RifLog rifLog) {
+
+        if (!rifLogCounterRepository.existsById(memberId)) {
+            try {
+                rifLogCounterCreator.create(memberId);
+            } catch (DataIntegrityViolationException ignored) {
+            }
+        }
+
+        boolean isPlasticSuccess = RifLogCounter.isPlasticSuccess(rifLog.getPlasticTotal(), rifLog.getPlasticOk());
+        boolean isRecycleSuccess = RifLogCounter.isRecycleSuccess(rifLog.getRecycleTotal(), rifLog.getRecycleOk());
+
+        rifLogCounterRepository.increment(memberId,
+                isPlasticSuccess ? 1 : 0,
+                isRecycleSuccess ? 1 : 0,
+                isPlasticSuccess && isRecycleSuccess ? 1 : 0);
+    }
+
+    // 전체 시계열 롤업은 커밋된 것만 버퍼에 더한다
+    private void rollUp(RifLog rifLog) {
+
+        LocalDateTime created = rifLog.getCreated();
+        int plasticTotal = rifLog.getPlasticTotal();
+        int plasticOk = rifLog.getPlasticOk();
+        int recycleTotal = rifLog.getRecycleTotal();
+        int recycleOk = rifLog.getRecycleOk();
+        int exp = rifLog.getExp() == null ? 0 : rifLog.getExp();
+
+        TransactionCallbacks.afterCommit(() ->
+                rifLogRollupBuffer.record(created, plasticTotal, plasticOk, recycleTotal, recycleOk, exp));
+    }
+
     @Override
+    public Optional<RifLogSaveResponse> findBySubmissionId(String submissionId) {
+
+        if (submissionId == null)
+            return Optional.empty();
+
+        return rifLogRepository.findBySubmissionId(submissionId)
+                .map(RifLogSaveResponse::from);
+    }
+
+    @Override
+    public Map<String, RifLogSaveResponse> findBySubmissionIds(Collection<String> submissionIds) {
+
+        if (submissionIds.isEmpty())
+            return new HashMap<>();
+
+        return rifLogRepository.findAllBySubmissionIdIn(submissionIds)
+                .stream()
+                .collect(Collectors.toMap(RifLog::getSubmissionId, RifLogSaveResponse::from));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Slice<RifLogInfo> findByMember(String memberId, Pageable pageable) {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND));
@@ -71,4 +184,42 @@ public class RifLogServiceImpl implements RifLogService {
 
         return rifLogInfoSlice;
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RifLogCursorResponse findByMember(String memberId, String cursor, int size) {
+
+        if (size <= 0 || size > MAX_CURSOR_PAGE_SIZE)
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_CURSOR_PAGE_SIZE + " 이하여야 합니다");
+
+        // 다음 페이지가 있는지 알기 위해 하나 더 읽는다
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<RifLog> rifLogs;
+
+        if (cursor == null) {
+
+            if (!memberRepository.existsById(memberId))
+                throw new RifCustomException(ErrorCode.ENTITY_INSTANCE_NOT_FOUND);
+
+            rifLogs = rifLogRepository.findLatestByMemberId(memberId, limit);
+        } else {
+
+            RifLogCursor after = RifLogCursor.decode(cursor);
+
+            rifLogs = rifLogRepository.findByMemberIdBefore(memberId, after.getCreated(), after.getId(), limit);
+        }
+
+        boolean hasNext = rifLogs.size() > size;
+
+        List<RifLogInfo> content = rifLogs.stream()
+                .limit(size)
+                .map(RifLogInfo::from)
+                .collect(Collectors.toList());
+
+        return RifLogCursorResponse.builder()
+                .content(content)
+                .nextCursor(hasNext ? RifLogCursor.from(content.get(content.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
 }
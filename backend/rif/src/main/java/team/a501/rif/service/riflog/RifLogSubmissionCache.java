@@ -0,0 +1,38 @@
+package team.a501.rif.service.riflog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import team.a501.rif.dto.riflog.RifLogSaveResponse;
+import team.a501.rif.util.ExpiringLruCache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// 제출 ID별로 처음 보낸 응답을 잠시 기억해서, 키오스크 재전송을 DB에 가지 않고 돌려준다
+// 캐시에서 밀려난 제출은 RifLog.submissionId 유니크 컬럼으로 다시 걸러진다
+@Component
+public class RifLogSubmissionCache {
+
+    private final ExpiringLruCache<String, RifLogSaveResponse> responses;
+
+    public RifLogSubmissionCache(@Value("${rif.riflog.dedupe.max-size:10000}") int maxSize,
+                                 @Value("${rif.riflog.dedupe.ttl-seconds:600}") long ttlSeconds) {
+        this.responses = new ExpiringLruCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public Optional<RifLogSaveResponse> find(String submissionId) {
+
+        if (submissionId == null)
+            return Optional.empty();
+
+        return responses.get(submissionId);
+    }
+
+    public void put(String submissionId, RifLogSaveResponse response) {
+
+        if (submissionId == null)
+            return;
+
+        responses.put(submissionId, response);
+    }
+}
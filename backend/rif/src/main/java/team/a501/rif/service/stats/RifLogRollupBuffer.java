@@ -0,0 +1,84 @@
+package team.a501.rif.service.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import team.a501.rif.domain.stats.RollupGrain;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// 제출마다 롤업 행을 갱신하면 모든 키오스크가 같은 시간 버킷 행의 락을 커밋까지 잡고 기다린다
+// 그래서 커밋된 RifLog를 메모리에서 시간 버킷별로 더해 두었다가 rif.stats.rollup.flush-millis마다 한 트랜잭션으로 반영한다
+// 반영 전에 프로세스가 죽어 잃은 증가분은 RifLogRollupCorrectionJob이 RifLog로부터 다시 계산해 메운다
+@Slf4j
+@Component
+public class RifLogRollupBuffer {
+
+    private final RifLogRollupService rifLogRollupService;
+
+    private final Object lock = new Object();
+
+    // lock으로 보호한다
+    private Map<LocalDateTime, RollupCounts> pending = new HashMap<>();
+
+    public RifLogRollupBuffer(RifLogRollupService rifLogRollupService) {
+        this.rifLogRollupService = rifLogRollupService;
+    }
+
+    // 커밋 이후에 호출한다
+    public void record(LocalDateTime created, int plasticTotal, int plasticOk, int recycleTotal, int recycleOk, int exp) {
+
+        LocalDateTime hour = RollupGrain.HOUR.truncate(created);
+
+        synchronized (lock) {
+            pending.computeIfAbsent(hour, k -> new RollupCounts())
+                    .add(plasticTotal, plasticOk, recycleTotal, recycleOk, exp);
+        }
+    }
+
+    // 반영과 보정이 서로 끼어들지 않도록 이 객체로 직렬화한다
+    @Scheduled(fixedDelayString = "${rif.stats.rollup.flush-millis:5000}")
+    public synchronized void flush() {
+
+        Map<LocalDateTime, RollupCounts> drained;
+
+        synchronized (lock) {
+
+            if (pending.isEmpty())
+                return;
+
+            drained = pending;
+            pending = new HashMap<>();
+        }
+
+        try {
+            rifLogRollupService.apply(drained);
+        } catch (RuntimeException e) {
+
+            // DB 장애 등으로 실패하면 다음 반영 때 다시 시도한다
+            synchronized (lock) {
+                drained.forEach((hour, counts) -> pending.merge(hour, counts, (a, b) -> {
+                    a.add(b);
+                    return a;
+                }));
+            }
+
+            log.warn("RifLog rollup flush failed, {} hour buckets kept for retry", drained.size(), e);
+        }
+    }
+
+    // 버퍼를 비운 뒤 반영이 끼어들지 않는 상태에서 작업을 실행한다
+    public synchronized <T> T flushAndRun(Supplier<T> work) {
+        flush();
+        return work.get();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,51 @@
+package team.a501.rif.service.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import team.a501.rif.domain.stats.RollupGrain;
+
+import java.time.LocalDateTime;
+
+// 늦게 들어온 데이터와 반영 전에 잃은 증가분을 바로잡는다
+// 매시간 최근 lookback-hours 동안 끝난 시간 버킷을 RifLog로부터 다시 계산한다
+// 진행 중인 시간 버킷은 아직 증가분이 들어오므로 건드리지 않는다
+@Slf4j
+@Component
+public class RifLogRollupCorrectionJob {
+
+    private final RifLogRollupBuffer rifLogRollupBuffer;
+    private final RifLogRollupService rifLogRollupService;
+
+    private final int lookbackHours;
+
+    public RifLogRollupCorrectionJob(RifLogRollupBuffer rifLogRollupBuffer,
+                                     RifLogRollupService rifLogRollupService,
+                                     @Value("${rif.stats.rollup.correction-lookback-hours:48}") int lookbackHours) {
+        this.rifLogRollupBuffer = rifLogRollupBuffer;
+        this.rifLogRollupService = rifLogRollupService;
+        this.lookbackHours = lookbackHours;
+    }
+
+    @Scheduled(cron = "${rif.stats.rollup.correction-cron:0 10 * * * *}")
+    public void correctRecent() {
+
+        LocalDateTime to = RollupGrain.HOUR.truncate(LocalDateTime.now());
+
+        correct(to.minusHours(lookbackHours), to);
+    }
+
+    // 대량 적재처럼 쓰기 경로를 거치지 않은 데이터는 구간을 정해 직접 호출한다
+    public int correct(LocalDateTime from, LocalDateTime to) {
+
+        long start = System.currentTimeMillis();
+
+        int corrected = rifLogRollupBuffer.flushAndRun(() -> rifLogRollupService.correct(from, to));
+
+        log.info("RifLog rollup corrected [{}, {}): {} hour buckets, {} ms",
+                from, to, corrected, System.currentTimeMillis() - start);
+
+        return corrected;
+    }
+}
@@ -0,0 +1,20 @@
+package team.a501.rif.service.stats;
+
+import team.a501.rif.domain.stats.RollupGrain;
+import team.a501.rif.dto.stats.TimeSeriesResponse;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface RifLogRollupService {
+
+    // 시간 버킷별로 모은 증가분을 시간/일/월 롤업에 더한다
+    void apply(Map<LocalDateTime, RollupCounts> hourly);
+
+    // 롤업만 읽는다. RifLog는 읽지 않는다
+    TimeSeriesResponse findTimeSeries(RollupGrain grain, LocalDateTime from, LocalDateTime to);
+
+    // [from, to)의 시간 롤업을 RifLog로부터 다시 계산하고, 걸친 일/월 롤업을 시간 롤업으로부터 다시 더한다
+    // 다시 계산한 시간 버킷 수를 돌려준다. 구간이 31일보다 길면 IllegalArgumentException
+    int correct(LocalDateTime from, LocalDateTime to);
+}
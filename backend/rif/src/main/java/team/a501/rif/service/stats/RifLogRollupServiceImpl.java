@@ -0,0 +1,183 @@
+package team.a501.rif.service.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import team.a501.rif.domain.stats.RifLogRollup;
+import team.a501.rif.domain.stats.RollupGrain;
+import team.a501.rif.dto.stats.TimeSeriesPoint;
+import team.a501.rif.dto.stats.TimeSeriesResponse;
+import team.a501.rif.repository.stats.RifLogRollupRepository;
+import team.a501.rif.repository.stats.RifLogRollupRepository.RifLogHourlySum;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Transactional
+@Service
+public class RifLogRollupServiceImpl implements RifLogRollupService {
+
+    // 한 번에 돌려주는 최대 버킷 수. 시간 단위로 약 6주
+    private static final int MAX_BUCKETS = 1000;
+
+    // 한 번에 다시 계산하는 최대 시간 수. 31일
+    private static final int MAX_CORRECTION_HOURS = 31 * 24;
+
+    private final RifLogRollupRepository rifLogRollupRepository;
+
+    @Override
+    public void apply(Map<LocalDateTime, RollupCounts> hourly) {
+
+        Map<LocalDateTime, RollupCounts> daily = new HashMap<>();
+        Map<LocalDateTime, RollupCounts> monthly = new HashMap<>();
+
+        for (var e : hourly.entrySet()) {
+            daily.computeIfAbsent(RollupGrain.DAY.truncate(e.getKey()), k -> new RollupCounts()).add(e.getValue());
+            monthly.computeIfAbsent(RollupGrain.MONTH.truncate(e.getKey()), k -> new RollupCounts()).add(e.getValue());
+        }
+
+        increment(RollupGrain.HOUR, hourly);
+        increment(RollupGrain.DAY, daily);
+        increment(RollupGrain.MONTH, monthly);
+    }
+
+    private void increment(RollupGrain grain, Map<LocalDateTime, RollupCounts> counts) {
+
+        for (var e : counts.entrySet()) {
+
+            RollupCounts c = e.getValue();
+
+            rifLogRollupRepository.upsert(grain.name(), e.getKey(), c.submissions,
+                    c.plasticTotal, c.plasticOk, c.recycleTotal, c.recycleOk, c.expTotal);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TimeSeriesResponse findTimeSeries(RollupGrain grain, LocalDateTime from, LocalDateTime to) {
+
+        LocalDateTime start = grain.truncate(from);
+
+        if (!start.isBefore(to))
+            throw new IllegalArgumentException("from은 to보다 앞서야 합니다");
+
+        Map<LocalDateTime, RifLogRollup> rollups = rifLogRollupRepository.findRange(grain, start, to)
+                .stream()
+                .collect(Collectors.toMap(RifLogRollup::getBucketStart, Function.identity()));
+
+        List<TimeSeriesPoint> points = new ArrayList<>();
+
+        for (LocalDateTime bucket = start; bucket.isBefore(to); bucket = grain.next(bucket)) {
+
+            if (points.size() == MAX_BUCKETS)
+                throw new IllegalArgumentException("한 번에 " + MAX_BUCKETS + "개 버킷까지 조회할 수 있습니다");
+
+            RifLogRollup rollup = rollups.get(bucket);
+
+            points.add(rollup == null ? TimeSeriesPoint.empty(bucket) : TimeSeriesPoint.from(rollup));
+        }
+
+        return TimeSeriesResponse.builder()
+                .grain(grain.name())
+                .from(start)
+                .to(to)
+                .points(points)
+                .build();
+    }
+
+    @Override
+    public int correct(LocalDateTime from, LocalDateTime to) {
+
+        LocalDateTime start = RollupGrain.HOUR.truncate(from);
+        LocalDateTime end = RollupGrain.HOUR.truncate(to);
+
+        if (!start.isBefore(end))
+            return 0;
+
+        if (start.plusHours(MAX_CORRECTION_HOURS).isBefore(end))
+            throw new IllegalArgumentException("한 번에 " + MAX_CORRECTION_HOURS + "시간까지 보정할 수 있습니다");
+
+        Map<LocalDateTime, RollupCounts> hourly = new TreeMap<>();
+
+        for (RifLogHourlySum sum : rifLogRollupRepository.sumRifLogsByHour(start, end)) {
+            hourly.put(LocalDateTime.of(sum.getBucketYear(), sum.getBucketMonth(), sum.getBucketDay(), sum.getBucketHour(), 0),
+                    toCounts(sum));
+        }
+
+        overwrite(RollupGrain.HOUR, start, end, hourly);
+
+        // 시간 -> 일 -> 월 순서로, 보정한 구간에 걸친 상위 버킷을 하위 버킷의 합으로 다시 만든다
+        LocalDateTime childFrom = start;
+        LocalDateTime childTo = end;
+
+        for (RollupGrain child = RollupGrain.HOUR; child.parent() != null; child = child.parent()) {
+
+            RollupGrain parent = child.parent();
+
+            LocalDateTime parentFrom = parent.truncate(childFrom);
+            LocalDateTime parentTo = parent.next(parent.truncate(childTo.minusNanos(1)));
+
+            Map<LocalDateTime, RollupCounts> sums = new TreeMap<>();
+
+            for (RifLogRollup rollup : rifLogRollupRepository.findRange(child, parentFrom, parentTo)) {
+                sums.computeIfAbsent(parent.truncate(rollup.getBucketStart()), k -> new RollupCounts())
+                        .add(toCounts(rollup));
+            }
+
+            overwrite(parent, parentFrom, parentTo, sums);
+
+            childFrom = parentFrom;
+            childTo = parentTo;
+        }
+
+        return hourly.size();
+    }
+
+    // [from, to)의 grain 버킷을 counts로 덮어쓴다. counts에 없는 기존 버킷은 0이 된다
+    private void overwrite(RollupGrain grain, LocalDateTime from, LocalDateTime to,
+                           Map<LocalDateTime, RollupCounts> counts) {
+
+        // 없는 버킷은 0을 더하는 upsert로 먼저 만든다. 다른 노드가 같은 버킷을 먼저 만들어도 충돌하지 않는다
+        for (LocalDateTime bucket : counts.keySet())
+            rifLogRollupRepository.upsert(grain.name(), bucket, 0L, 0L, 0L, 0L, 0L, 0L);
+
+        // upsert가 영속성 컨텍스트를 비우므로 그 뒤에 읽어서 고친다
+        for (RifLogRollup rollup : rifLogRollupRepository.findRange(grain, from, to)) {
+
+            RollupCounts c = counts.getOrDefault(rollup.getBucketStart(), new RollupCounts());
+
+            rollup.overwrite(c.submissions, c.plasticTotal, c.plasticOk, c.recycleTotal, c.recycleOk, c.expTotal);
+        }
+    }
+
+    private static RollupCounts toCounts(RifLogHourlySum sum) {
+
+        RollupCounts counts = new RollupCounts();
+
+        counts.submissions = sum.getSubmissions();
+        counts.plasticTotal = sum.getPlasticTotal();
+        counts.plasticOk = sum.getPlasticOk();
+        counts.recycleTotal = sum.getRecycleTotal();
+        counts.recycleOk = sum.getRecycleOk();
+        counts.expTotal = sum.getExpTotal();
+
+        return counts;
+    }
+
+    private static RollupCounts toCounts(RifLogRollup rollup) {
+
+        RollupCounts counts = new RollupCounts();
+
+        counts.submissions = rollup.getSubmissions();
+        counts.plasticTotal = rollup.getPlasticTotal();
+        counts.plasticOk = rollup.getPlasticOk();
+        counts.recycleTotal = rollup.getRecycleTotal();
+        counts.recycleOk = rollup.getRecycleOk();
+        counts.expTotal = rollup.getExpTotal();
+
+        return counts;
+    }
+}
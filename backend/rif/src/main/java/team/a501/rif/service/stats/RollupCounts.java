@@ -0,0 +1,54 @@
+package team.a501.rif.service.stats;
+
+// 버킷 하나에 더할 값. 한 스레드 안에서만 쓴다
+public class RollupCounts {
+
+    long submissions;
+    long plasticTotal;
+    long plasticOk;
+    long recycleTotal;
+    long recycleOk;
+    long expTotal;
+
+    public void add(int plasticTotal, int plasticOk, int recycleTotal, int recycleOk, int exp) {
+        this.submissions++;
+        this.plasticTotal += plasticTotal;
+        this.plasticOk += plasticOk;
+        this.recycleTotal += recycleTotal;
+        this.recycleOk += recycleOk;
+        this.expTotal += exp;
+    }
+
+    public void add(RollupCounts other) {
+        this.submissions += other.submissions;
+        this.plasticTotal += other.plasticTotal;
+        this.plasticOk += other.plasticOk;
+        this.recycleTotal += other.recycleTotal;
+        this.recycleOk += other.recycleOk;
+        this.expTotal += other.expTotal;
+    }
+
+    public long getSubmissions() {
+        return submissions;
+    }
+
+    public long getPlasticTotal() {
+        return plasticTotal;
+    }
+
+    public long getPlasticOk() {
+        return plasticOk;
+    }
+
+    public long getRecycleTotal() {
+        return recycleTotal;
+    }
+
+    public long getRecycleOk() {
+        return recycleOk;
+    }
+
+    public long getExpTotal() {
+        return expTotal;
+    }
+}
@@ -0,0 +1,253 @@
+package team.a501.rif.synthetic;
+
+import team.a501.rif.domain.achievement.AchievementCompleteChecker;
+import team.a501.rif.domain.achievement.AchievementTag;
+import team.a501.rif.domain.riflog.RifScore;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+// 대량 테스트용 합성 데이터. DB와 무관한 순수 계산이라 같은 시드와 카탈로그면 스레드 수와 상관없이 항상 같은 데이터가 나온다
+// 멤버별 RifLog 수는 Zipf 분포(순위 r의 비중이 1/r^s)를 따르고, 어떤 멤버가 몇 위인지는 시드로 섞는다
+// 경험치/포인트/카운터/업적/뱃지는 실제 적립 규칙(RifScore, 업적 판정, 뽑기 100포인트)과 맞도록 RifLog로부터 계산한다
+public class SyntheticDataset {
+
+    public static final int GATCHA_COST = 100;
+
+    private static final String[] SURNAMES = {"김", "이", "박", "최", "정", "강", "조", "윤", "장", "임", "한", "오", "서", "신", "권"};
+    private static final String[] SYLLABLES = {"민", "서", "지", "현", "우", "준", "하", "윤", "도", "예", "은", "수", "진", "영", "태", "연"};
+
+    // 멤버 하나를 만들면서 나오는 행을 받는다
+    public interface Sink {
+
+        void rifLog(long seq, int plasticTotal, int plasticOk, int recycleTotal, int recycleOk,
+                    int exp, int point, LocalDateTime created);
+
+        void badgeAcq(int seq, long badgeId, LocalDateTime created);
+
+        void achievementAcq(int seq, long achievementId, LocalDateTime created);
+    }
+
+    private final long seed;
+    private final int[] logCounts;
+    private final long[] logOffsets;
+    private final long totalLogCount;
+
+    private final LocalDateTime start;
+    private final long windowSeconds;
+
+    private final long[] badgeIds;
+    private final long[] achievementIds;
+    private final AchievementTag[] achievementTags;
+
+    public SyntheticDataset(long seed, int members, long rifLogs, double zipfExponent,
+                            LocalDateTime start, LocalDateTime end,
+                            long[] badgeIds, long[] achievementIds, AchievementTag[] achievementTags) {
+
+        if (members <= 0 || rifLogs < 0 || zipfExponent <= 0)
+            throw new IllegalArgumentException("members > 0, rifLogs >= 0, zipfExponent > 0 이어야 합니다");
+
+        if (!start.isBefore(end))
+            throw new IllegalArgumentException("start는 end보다 앞서야 합니다");
+
+        if (achievementIds.length != achievementTags.length)
+            throw new IllegalArgumentException("업적 id와 태그 수가 다릅니다");
+
+        this.seed = seed;
+        this.start = start;
+        this.windowSeconds = Duration.between(start, end).getSeconds();
+        this.badgeIds = badgeIds.clone();
+        this.achievementIds = achievementIds.clone();
+        this.achievementTags = achievementTags.clone();
+        this.logCounts = planLogCounts(seed, members, rifLogs, zipfExponent);
+
+        // 멤버별 RifLog id를 미리 정할 수 있도록 앞 멤버들의 RifLog 수를 누적해 둔다
+        this.logOffsets = new long[logCounts.length];
+
+        long total = 0;
+        for (int i = 0; i < logCounts.length; ++i) {
+            logOffsets[i] = total;
+            total += logCounts[i];
+        }
+
+        this.totalLogCount = total;
+    }
+
+    // 순위별 기대값 rifLogs / (H * r^s)를 확률적으로 반올림한다. 합은 rifLogs 근처가 된다
+    private static int[] planLogCounts(long seed, int members, long rifLogs, double s) {
+
+        double harmonic = 0;
+        for (int r = 1; r <= members; ++r)
+            harmonic += Math.pow(r, -s);
+
+        // 멤버 index -> 순위. Fisher-Yates로 섞는다
+        int[] rankOf = new int[members];
+        for (int i = 0; i < members; ++i)
+            rankOf[i] = i + 1;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = members - 1; i > 0; --i) {
+            int j = random.nextInt(i + 1);
+            int tmp = rankOf[i];
+            rankOf[i] = rankOf[j];
+            rankOf[j] = tmp;
+        }
+
+        int[] counts = new int[members];
+
+        for (int i = 0; i < members; ++i) {
+
+            double expected = rifLogs * Math.pow(rankOf[i], -s) / harmonic;
+            long count = (long) expected;
+
+            if (random.nextDouble() < expected - count)
+                count++;
+
+            counts[i] = (int) Math.min(Integer.MAX_VALUE, count);
+        }
+
+        return counts;
+    }
+
+    public int getMemberCount() {
+        return logCounts.length;
+    }
+
+    public int getLogCount(int index) {
+        return logCounts[index];
+    }
+
+    // index보다 앞선 멤버들의 RifLog 수
+    public long getLogOffset(int index) {
+        return logOffsets[index];
+    }
+
+    public long getTotalLogCount() {
+        return totalLogCount;
+    }
+
+    public int getBadgeCount() {
+        return badgeIds.length;
+    }
+
+    public int getAchievementCount() {
+        return achievementIds.length;
+    }
+
+    public static String memberId(int index) {
+        return String.format("syn%07d", index);
+    }
+
+    public static String uid(int index) {
+        return String.format("s%09x", index);
+    }
+
+    // 멤버 index의 RifLog, 업적, 뱃지를 시간 순서대로 sink에 넘기고 누적값을 돌려준다
+    public SyntheticMember generate(int index, Sink sink) {
+
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+
+        String name = SURNAMES[random.nextInt(SURNAMES.length)]
+                + SYLLABLES[random.nextInt(SYLLABLES.length)]
+                + SYLLABLES[random.nextInt(SYLLABLES.length)];
+
+        // 멤버마다 분리수거를 잘하는 정도가 다르다
+        double skill = 0.4 + 0.6 * random.nextDouble();
+
+        int count = logCounts[index];
+
+        int exp = 0;
+        int earnedPoint = 0;
+        int rifUseCount = 0;
+        int plasticSuccessCount = 0;
+        int recycleSuccessCount = 0;
+        int perfectSuccessCount = 0;
+
+        boolean[] completed = new boolean[achievementIds.length];
+        int achievementSeq = 0;
+
+        LocalDateTime first = null;
+
+        // 기간을 count개 구간으로 나누고 구간 안에서 흔든다. 정렬 없이 시간 순서가 된다
+        double slot = (double) windowSeconds / Math.max(1, count);
+
+        for (int k = 0; k < count; ++k) {
+
+            LocalDateTime created = start.plusSeconds((long) ((k + random.nextDouble()) * slot));
+
+            if (first == null)
+                first = created;
+
+            int plasticTotal;
+            int recycleTotal;
+            do {
+                plasticTotal = random.nextInt(4);
+                recycleTotal = random.nextInt(4);
+            } while (plasticTotal + recycleTotal == 0);
+
+            int plasticOk = binomial(random, plasticTotal, skill);
+            int recycleOk = binomial(random, recycleTotal, skill);
+
+            int score = RifScore.scoreOf(plasticTotal, plasticOk, recycleTotal, recycleOk);
+            int point = RifScore.getPointOf(score);
+
+            exp += score;
+            earnedPoint += point;
+
+            boolean plasticSuccess = plasticTotal > 0 && plasticTotal == plasticOk;
+            boolean recycleSuccess = recycleTotal > 0 && recycleTotal == recycleOk;
+
+            rifUseCount++;
+            if (plasticSuccess) plasticSuccessCount++;
+            if (recycleSuccess) recycleSuccessCount++;
+            if (plasticSuccess && recycleSuccess) perfectSuccessCount++;
+
+            sink.rifLog(k, plasticTotal, plasticOk, recycleTotal, recycleOk, score, point, created);
+
+            for (int a = 0; a < achievementIds.length; ++a) {
+
+                if (completed[a] || !AchievementCompleteChecker.isCompleted(achievementTags[a], rifUseCount,
+                        plasticSuccessCount, recycleSuccessCount, perfectSuccessCount))
+                    continue;
+
+                completed[a] = true;
+                sink.achievementAcq(achievementSeq++, achievementIds[a], created);
+            }
+        }
+
+        // 모은 포인트의 일부를 뽑기에 쓴다. 중복으로 나온 뱃지도 포인트는 쓴다
+        int draws = badgeIds.length == 0 ? 0 : (int) (earnedPoint / GATCHA_COST * random.nextDouble());
+
+        boolean[] owned = new boolean[badgeIds.length];
+        int badgeSeq = 0;
+
+        for (int d = 0; d < draws; ++d) {
+
+            int b = random.nextInt(badgeIds.length);
+
+            if (owned[b])
+                continue;
+
+            owned[b] = true;
+
+            long from = first == null ? 0 : Duration.between(start, first).getSeconds();
+            LocalDateTime created = start.plusSeconds(from + (long) (random.nextDouble() * (windowSeconds - from)));
+
+            sink.badgeAcq(badgeSeq++, badgeIds[b], created);
+        }
+
+        return new SyntheticMember(memberId(index), uid(index), name, exp, earnedPoint - GATCHA_COST * draws,
+                rifUseCount, plasticSuccessCount, recycleSuccessCount, perfectSuccessCount);
+    }
+
+    private static int binomial(SplittableRandom random, int n, double p) {
+
+        int k = 0;
+        for (int i = 0; i < n; ++i)
+            if (random.nextDouble() < p)
+                k++;
+
+        return k;
+    }
+}
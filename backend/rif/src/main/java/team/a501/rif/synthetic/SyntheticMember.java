@@ -0,0 +1,32 @@
+package team.a501.rif.synthetic;
+
+import lombok.Getter;
+
+// 합성 멤버 한 명의 누적값. member, rif_log_counter 행이 된다
+@Getter
+public class SyntheticMember {
+
+    private final String id;
+    private final String uid;
+    private final String name;
+    private final int exp;
+    private final int point;
+
+    private final int rifUseCount;
+    private final int plasticSuccessCount;
+    private final int recycleSuccessCount;
+    private final int perfectSuccessCount;
+
+    public SyntheticMember(String id, String uid, String name, int exp, int point, int rifUseCount,
+                           int plasticSuccessCount, int recycleSuccessCount, int perfectSuccessCount) {
+        this.id = id;
+        this.uid = uid;
+        this.name = name;
+        this.exp = exp;
+        this.point = point;
+        this.rifUseCount = rifUseCount;
+        this.plasticSuccessCount = plasticSuccessCount;
+        this.recycleSuccessCount = recycleSuccessCount;
+        this.perfectSuccessCount = perfectSuccessCount;
+    }
+}
@@ -0,0 +1,107 @@
+package team.a501.rif.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// 크기와 유효 시간이 모두 제한된 LRU 캐시
+// 가득 차면 가장 오래 쓰이지 않은 항목부터, 만료된 항목은 조회 시점에 제거한다
+public class ExpiringLruCache<K, V> {
+
+    private static class Entry<V> {
+
+        final V value;
+        final long expiresAtMillis;
+
+        Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public ExpiringLruCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    public ExpiringLruCache(int maxSize, Duration ttl, Clock clock) {
+
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > ExpiringLruCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized Optional<V> get(K key) {
+
+        Entry<V> entry = entries.get(key);
+
+        if (entry == null)
+            return Optional.empty();
+
+        if (entry.expiresAtMillis <= clock.millis()) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+
+        return Optional.of(entry.value);
+    }
+
+    public void put(K key, V value) {
+        put(key, value, clock.millis() + ttlMillis);
+    }
+
+    // 항목마다 만료 시각이 다를 때 사용한다
+    public synchronized void put(K key, V value, long expiresAtMillis) {
+
+        if (expiresAtMillis <= clock.millis())
+            return;
+
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    // 만료된 항목을 한 번에 정리한다
+    public synchronized int evictExpired() {
+
+        long now = clock.millis();
+        int evicted = 0;
+
+        for (Iterator<Entry<V>> it = entries.values().iterator(); it.hasNext(); ) {
+
+            if (it.next().expiresAtMillis <= now) {
+                it.remove();
+                evicted++;
+            }
+        }
+
+        return evicted;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,57 @@
+package team.a501.rif.util;
+
+// 한글 초성 검색용 유틸리티
+// 완성형 음절(가~힣)은 초성 자모(ㄱ~ㅎ)로 바꾸고 나머지 문자는 그대로 둔다
+public final class Hangul {
+
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+
+    // 중성 21개 * 종성 28개
+    private static final int SYLLABLES_PER_CHOSEONG = 21 * 28;
+
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private Hangul() {
+    }
+
+    public static boolean isSyllable(char c) {
+        return c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST;
+    }
+
+    // 호환용 자음 ㄱ(U+3131) ~ ㅎ(U+314E)
+    public static boolean isConsonant(char c) {
+        return c >= 'ㄱ' && c <= 'ㅎ';
+    }
+
+    public static char choseongOf(char c) {
+        return isSyllable(c) ? CHOSEONG[(c - SYLLABLE_FIRST) / SYLLABLES_PER_CHOSEONG] : c;
+    }
+
+    // "박도윤" -> "ㅂㄷㅇ"
+    public static String choseongOf(String text) {
+
+        char[] chars = text.toCharArray();
+
+        for (int i = 0; i < chars.length; ++i)
+            chars[i] = choseongOf(chars[i]);
+
+        return new String(chars);
+    }
+
+    // 자음만으로 된 검색어인지. 이 경우 초성으로 검색한다
+    public static boolean isChoseongOnly(String text) {
+
+        if (text.isEmpty())
+            return false;
+
+        for (int i = 0; i < text.length(); ++i)
+            if (!isConsonant(text.charAt(i)))
+                return false;
+
+        return true;
+    }
+}
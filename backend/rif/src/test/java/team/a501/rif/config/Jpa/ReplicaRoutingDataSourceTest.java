@@ -0,0 +1,263 @@
+package team.a501.rif.config.Jpa;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// H2 두 개를 주 DB와 복제본으로 쓴다. 복제는 replicate()로 흉내 낸다
+class ReplicaRoutingDataSourceTest {
+
+    // 테스트에서 시간을 직접 움직이기 위한 시계
+    private static class ManualClock extends Clock {
+
+        private long millis = 1_000_000;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    // 내려간 복제본
+    private static class FailingDataSource extends DelegatingDataSource {
+
+        private boolean down;
+
+        FailingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+
+            if (down)
+                throw new SQLException("replica down");
+
+            return super.getConnection();
+        }
+    }
+
+    private static final long MAX_LAG_MILLIS = 3000;
+
+    private final ManualClock clock = new ManualClock();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private FailingDataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    private ReplicaLagMonitor monitor;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate routed;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+
+        DataSource primaryDataSource = h2("routing-primary");
+        replicaDataSource = new FailingDataSource(h2("routing-replica"));
+
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        primary.execute("create table which_db (name varchar(10))");
+        primary.update("insert into which_db values ('primary')");
+
+        monitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, MAX_LAG_MILLIS, clock);
+        monitor.bindTo(registry);
+
+        routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, monitor);
+        routingDataSource.bindTo(registry);
+
+        DataSource routing = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        routed = new JdbcTemplate(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        replicaDataSource.down = false;
+
+        primary.execute("drop all objects");
+        replica.execute("drop all objects");
+    }
+
+    @DisplayName("복제본이 따라와 있으면 읽기 전용 트랜잭션만 복제본으로 간다")
+    @Test
+    void routesReadOnlyToReplica() {
+
+        monitor.check();
+        replicate();
+        monitor.check();
+
+        assertThat(monitor.isReplicaUsable()).isTrue();
+        assertThat(monitor.getLagMillis()).isZero();
+
+        assertThat(execute(readWrite, this::whichDb)).isEqualTo("primary");
+        assertThat(execute(readOnly, this::whichDb)).isEqualTo("replica");
+        assertThat(whichDb()).isEqualTo("primary");
+
+        assertThat(routeCount("replica", "read-only")).isEqualTo(1.0);
+    }
+
+    @DisplayName("복제 지연이 허용치를 넘으면 읽기 전용도 주 DB로 가고, 따라오면 다시 복제본을 쓴다")
+    @Test
+    void fallsBackWhileLagging() {
+
+        monitor.check();
+        replicate();
+        monitor.check();
+
+        // 복제가 멈춘 채 시간이 흐른다
+        clock.advance(Duration.ofSeconds(5));
+        monitor.check();
+        clock.advance(Duration.ofSeconds(5));
+        monitor.check();
+
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(monitor.getLagMillis()).isGreaterThan(MAX_LAG_MILLIS);
+        assertThat(execute(readOnly, this::whichDb)).isEqualTo("primary");
+        assertThat(routeCount("primary", "replica-lag")).isEqualTo(1.0);
+        assertThat(registry.get("rif.datasource.replica.usable").gauge().value()).isZero();
+
+        replicate();
+        clock.advance(Duration.ofSeconds(1));
+        monitor.check();
+
+        assertThat(monitor.isReplicaUsable()).isTrue();
+        assertThat(execute(readOnly, this::whichDb)).isEqualTo("replica");
+    }
+
+    @DisplayName("첫 확인 전이나 복제본에 heartbeat가 없으면 복제본을 쓰지 않는다")
+    @Test
+    void unknownLagUsesPrimary() {
+
+        assertThat(execute(readOnly, this::whichDb)).isEqualTo("primary");
+
+        monitor.check();
+        monitor.check();
+
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(monitor.getLagMillis()).isEqualTo(-1);
+        assertThat(execute(readOnly, this::whichDb)).isEqualTo("primary");
+    }
+
+    @DisplayName("복제본이 커넥션을 주지 못하면 주 DB에서 읽고 다음 확인 전까지 복제본을 쓰지 않는다")
+    @Test
+    void fallsBackOnReplicaError() {
+
+        monitor.check();
+        replicate();
+        monitor.check();
+
+        assertThat(monitor.isReplicaUsable()).isTrue();
+
+        replicaDataSource.down = true;
+
+        assertThat(execute(readOnly, this::whichDb)).isEqualTo("primary");
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(routeCount("primary", "replica-error")).isEqualTo(1.0);
+    }
+
+    @DisplayName("계정을 주고 커넥션을 받아도 같은 규칙으로 보낸다")
+    @Test
+    void routesConnectionWithCredentials() {
+
+        monitor.check();
+        replicate();
+        monitor.check();
+
+        assertThat(execute(readOnly, this::whichDbWithCredentials)).isEqualTo("replica");
+        assertThat(execute(readWrite, this::whichDbWithCredentials)).isEqualTo("primary");
+        assertThat(whichDbWithCredentials()).isEqualTo("primary");
+    }
+
+    // 주 DB의 heartbeat와 표시용 테이블을 복제본에 옮긴다
+    private void replicate() {
+
+        Long beat = primary.queryForObject("select beat_at from replica_heartbeat where id = 1", Long.class);
+
+        replica.execute("create table if not exists replica_heartbeat (id int not null primary key, beat_at bigint not null)");
+        replica.execute("create table if not exists which_db (name varchar(10))");
+        replica.update("delete from replica_heartbeat");
+        replica.update("delete from which_db");
+        replica.update("insert into replica_heartbeat (id, beat_at) values (1, ?)", beat);
+        replica.update("insert into which_db values ('replica')");
+    }
+
+    // TransactionTemplate.execute의 반환 타입이 제네릭이라 assertThat 오버로드를 고르지 못하므로 String으로 받는다
+    private static String execute(TransactionTemplate transactionTemplate, Supplier<String> query) {
+        return transactionTemplate.execute(status -> query.get());
+    }
+
+    private String whichDb() {
+        return routed.queryForObject("select name from which_db", String.class);
+    }
+
+    private String whichDbWithCredentials() {
+
+        try (Connection connection = routingDataSource.getConnection("sa", "")) {
+            return new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+                    .queryForObject("select name from which_db", String.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double routeCount(String target, String reason) {
+        return registry.get("rif.datasource.route").tags("target", target, "reason", reason).counter().count();
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,106 @@
+package team.a501.rif.config.Jpa;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import team.a501.rif.dto.badge.BadgeAcqInfo;
+import team.a501.rif.dto.member.MemberRegisterRequest;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.service.member.MemberService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 서비스 -> JPA -> 라우팅 DataSource 경로로 읽기 전용 트랜잭션이 복제본 풀로 가는지 확인한다
+// 로컬에는 복제가 없으므로 application-replica.properties처럼 복제본 풀도 같은 H2 메모리 DB를 가리킨다
+@SpringBootTest(properties = {
+        "spring-doc.version=test",
+        "rif.datasource.replica.url=jdbc:h2:mem:rif-loadtest;MODE=MariaDB;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("loadtest")
+class ReplicaRoutingJpaTest {
+
+    private static final String MEMBER_ID = "0847836";
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+
+        // 비트셋 컬럼이 비어 있는 멤버
+        memberService.register(MemberRegisterRequest.builder()
+                .id(MEMBER_ID)
+                .password("rif1234")
+                .uid("04:A2:19:7F")
+                .name("강승곤")
+                .point(0)
+                .exp(0)
+                .build());
+
+        replicaLagMonitor.check();
+        replicaLagMonitor.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        for (var id : memberRepository.findAllIds())
+            memberService.deleteById(id);
+    }
+
+    @DisplayName("보유 뱃지/업적 조회는 복제본에서 읽고, 비트셋이 없어도 멤버 행을 잠그거나 쓰지 않는다")
+    @Test
+    void acqReadsUseReplica() {
+
+        assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+
+        double before = routeCount("replica", "read-only");
+
+        List<BadgeAcqInfo> badges = memberService.findAllBadgeAcq(MEMBER_ID);
+        memberService.findBadgeAcqOnDisplay(MEMBER_ID);
+        memberService.findAllAchievementAcq(MEMBER_ID);
+        memberService.findAchievementAcqOnDisplay(MEMBER_ID);
+
+        assertThat(badges).noneMatch(BadgeAcqInfo::getHasBadge);
+        assertThat(routeCount("replica", "read-only")).isGreaterThanOrEqualTo(before + 4);
+
+        // 읽기가 비트셋을 만들어 저장했다면 컬럼이 채워져 있다
+        assertThat(jdbcTemplate.queryForObject("select count(*) from member where id = ?" +
+                " and badge_owned is null and achievement_owned is null", Integer.class, MEMBER_ID)).isEqualTo(1);
+    }
+
+    @DisplayName("두 풀의 hikaricp 지표와 복제 지연 지표가 애플리케이션 레지스트리에 붙는다")
+    @Test
+    void poolAndReplicaMetricsAreBound() {
+
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "rif-primary").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "rif-replica").gauge()).isNotNull();
+
+        double usable = meterRegistry.get("rif.datasource.replica.usable").gauge().value();
+        assertThat(usable).isEqualTo(1.0);
+    }
+
+    private double routeCount(String target, String reason) {
+        return meterRegistry.get("rif.datasource.route").tags("target", target, "reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,76 @@
+package team.a501.rif.config.Jwt;
+
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+
+    private String issue(JwtTokenProvider provider) {
+
+        return provider.issueToken(new UsernamePasswordAuthenticationToken("0847836", "",
+                List.of(new SimpleGrantedAuthority("MEMBER")))).getAccessToken();
+    }
+
+    @DisplayName("같은 토큰은 한 번만 검증하고 이후에는 캐시된 인증 객체를 돌려준다")
+    @Test
+    void cachesVerifiedToken() {
+
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000L, null, 100);
+        String token = issue(provider);
+
+        Optional<VerifiedToken> first = provider.verify(token);
+        Optional<VerifiedToken> second = provider.verify(token);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getClaims().getSubject()).isEqualTo("0847836");
+        assertThat(first.get().getAuthentication().getName()).isEqualTo("0847836");
+        assertThat(second.get()).isSameAs(first.get());
+    }
+
+    @DisplayName("서명이 다르거나 만료된 토큰은 거절한다")
+    @Test
+    void rejectsInvalidToken() {
+
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000L, null, 100);
+        String token = issue(provider);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(provider.verify(tampered)).isEmpty();
+        assertThat(provider.verify("not-a-token")).isEmpty();
+
+        JwtTokenProvider expiring = new JwtTokenProvider(SECRET, -1_000L, null, 100);
+
+        assertThat(expiring.verify(issue(expiring))).isEmpty();
+    }
+
+    @DisplayName("auth 클레임의 역할은 MEMBER 권한과 함께 인증 객체에 들어간다")
+    @Test
+    void carriesRolesFromClaim() {
+
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000L, null, 100);
+        String token = provider.issueToken(new UsernamePasswordAuthenticationToken("0847836", "",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")))).getAccessToken();
+
+        assertThat(provider.verify(token).get().getAuthentication().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("MEMBER", "ROLE_ADMIN");
+
+        assertThat(provider.verify(issue(provider)).get().getAuthentication().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("MEMBER");
+    }
+}
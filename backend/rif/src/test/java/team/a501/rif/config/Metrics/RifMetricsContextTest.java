@@ -0,0 +1,38 @@
+package team.a501.rif.config.Metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// RifMetrics는 생성자에서 점수 분포를 등록하므로 설정이 잘못되면 컨텍스트가 뜨지 않는다
+@SpringBootTest(properties = "spring-doc.version=test")
+@ActiveProfiles("loadtest")
+class RifMetricsContextTest {
+
+    @Autowired
+    private RifMetrics rifMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DisplayName("컨텍스트가 뜨고 0점도 가장 낮은 SLO 버킷에 들어간다")
+    @Test
+    void registersScoreBuckets() {
+
+        rifMetrics.recordScore(0);
+
+        CountAtBucket[] buckets = meterRegistry.get("rif.riflog.score").summary().takeSnapshot().histogramCounts();
+
+        assertThat(Arrays.stream(buckets).mapToDouble(CountAtBucket::bucket))
+                .containsExactly(20.0, 40.0, 60.0, 80.0, 100.0);
+        assertThat(buckets[0].count()).isGreaterThanOrEqualTo(1.0);
+    }
+}
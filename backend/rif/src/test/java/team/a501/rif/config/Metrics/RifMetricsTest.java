@@ -0,0 +1,57 @@
+package team.a501.rif.config.Metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RifMetricsTest {
+
+    @DisplayName("키오스크별로 제출 수를 센다")
+    @Test
+    void countsPerKiosk() {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RifMetrics metrics = new RifMetrics(registry, 100);
+
+        metrics.countSubmission("kiosk-1", "saved");
+        metrics.countSubmission("kiosk-1", "saved");
+        metrics.countSubmission("kiosk-2", "replayed");
+        metrics.countSubmission(null, "saved");
+
+        assertThat(registry.get("rif.riflog.submissions").tags("kiosk", "kiosk-1", "outcome", "saved").counter().count()).isEqualTo(2.0);
+        assertThat(registry.get("rif.riflog.submissions").tags("kiosk", "kiosk-2", "outcome", "replayed").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("rif.riflog.submissions").tags("kiosk", RifMetrics.UNKNOWN_KIOSK).counter().count()).isEqualTo(1.0);
+    }
+
+    @DisplayName("키오스크 수가 상한을 넘으면 나머지는 other로 묶는다")
+    @Test
+    void capsKioskTags() {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RifMetrics metrics = new RifMetrics(registry, 2);
+
+        metrics.countSubmission("kiosk-1", "saved");
+        metrics.countSubmission("kiosk-2", "saved");
+        metrics.countSubmission("kiosk-3", "saved");
+        metrics.countSubmission("kiosk-4", "saved");
+
+        assertThat(registry.get("rif.riflog.submissions").tags("kiosk", "other").counter().count()).isEqualTo(2.0);
+        assertThat(registry.find("rif.riflog.submissions").tags("kiosk", "kiosk-3").counter()).isNull();
+    }
+
+    @DisplayName("점수 분포를 기록한다")
+    @Test
+    void recordsScores() {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RifMetrics metrics = new RifMetrics(registry, 100);
+
+        metrics.recordScore(40);
+        metrics.recordScore(100);
+
+        assertThat(registry.get("rif.riflog.score").summary().count()).isEqualTo(2);
+        assertThat(registry.get("rif.riflog.score").summary().totalAmount()).isEqualTo(140.0);
+    }
+}
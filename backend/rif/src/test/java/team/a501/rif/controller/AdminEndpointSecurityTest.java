@@ -0,0 +1,143 @@
+package team.a501.rif.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import team.a501.rif.config.Jwt.JwtTokenProvider;
+import team.a501.rif.dto.member.MemberRegisterRequest;
+import team.a501.rif.repository.achievement.AchievementRepository;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.service.badge.BadgeService;
+import team.a501.rif.service.catalog.CatalogService;
+import team.a501.rif.service.member.MemberService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 관리자 API는 보안 필터를 켠 채로 실제 토큰을 보내서 확인한다
+// 일반 멤버 토큰은 MEMBER 권한만 갖고, 관리자 토큰은 auth 클레임에 ROLE_ADMIN을 더 갖는다
+@SpringBootTest(properties = "spring-doc.version=test")
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class AdminEndpointSecurityTest {
+
+    private static final String MEMBER_ID = "0847836";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private BadgeService badgeService;
+
+    @Autowired
+    private AchievementRepository achievementRepository;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @AfterEach
+    void tearDown() {
+
+        for (var id : memberRepository.findAllIds())
+            memberService.deleteById(id);
+
+        badgeService.deleteAll();
+        achievementRepository.deleteAll();
+        catalogService.invalidate();
+    }
+
+    @DisplayName("카탈로그 다시 불러오기는 일반 멤버에게 403이고 관리자만 할 수 있다")
+    @Test
+    void catalogReload() throws Exception {
+
+        mockMvc.perform(post("/api/v/admin/catalog/reload"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/v/admin/catalog/reload")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("MEMBER")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/v/admin/catalog/reload")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("ROLE_ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("경험치/포인트 지급은 일반 멤버에게 403이고 잔액이 바뀌지 않는다")
+    @Test
+    void memberBalance() throws Exception {
+
+        memberService.register(MemberRegisterRequest.builder()
+                .id(MEMBER_ID)
+                .password("rif1234")
+                .uid("04:A2:19:7F")
+                .name("강승곤")
+                .point(0)
+                .exp(0)
+                .build());
+
+        mockMvc.perform(post("/api/v/admin/member/balance")
+                        .param("memberId", MEMBER_ID)
+                        .param("point", "100000")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("MEMBER")))
+                .andExpect(status().isForbidden());
+
+        assertThat(memberRepository.findById(MEMBER_ID).get().getPoint()).isZero();
+
+        mockMvc.perform(post("/api/v/admin/member/balance")
+                        .param("memberId", MEMBER_ID)
+                        .param("point", "100")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("ROLE_ADMIN")))
+                .andExpect(status().isOk());
+
+        assertThat(memberRepository.findById(MEMBER_ID).get().getPoint()).isEqualTo(100);
+    }
+
+    @DisplayName("롤업 보정은 일반 멤버에게 403이고, 관리자도 31일보다 긴 구간은 400이다")
+    @Test
+    void rollupCorrect() throws Exception {
+
+        mockMvc.perform(post("/api/v/admin/stats/rollup/correct")
+                        .param("from", "2023-03-01T00:00:00")
+                        .param("to", "2023-03-02T00:00:00")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("MEMBER")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/v/admin/stats/rollup/correct")
+                        .param("from", "2023-03-01T00:00:00")
+                        .param("to", "2023-03-02T00:00:00")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("ROLE_ADMIN")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v/admin/stats/rollup/correct")
+                        .param("from", "2023-01-01T00:00:00")
+                        .param("to", "2023-03-01T00:00:00")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("ROLE_ADMIN")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String bearer(String authority) {
+
+        return "Bearer " + jwtTokenProvider.issueToken(new UsernamePasswordAuthenticationToken(MEMBER_ID, "",
+                List.of(new SimpleGrantedAuthority(authority)))).getAccessToken();
+    }
+}
@@ -0,0 +1,354 @@
+package team.a501.rif.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import team.a501.rif.config.Jwt.JwtAuthenticationFilter;
+import team.a501.rif.config.Metrics.QueryCountInspector;
+import team.a501.rif.domain.achievement.AchievementTag;
+import team.a501.rif.dto.achievement.AchievementInfo;
+import team.a501.rif.dto.achievement.AchievementSaveRequest;
+import team.a501.rif.dto.badge.BadgeInfo;
+import team.a501.rif.dto.badge.BadgeSaveRequest;
+import team.a501.rif.dto.member.MemberRegisterRequest;
+import team.a501.rif.dto.member.MemberResponse;
+import team.a501.rif.dto.member.PasswordChangeRequest;
+import team.a501.rif.dto.riflog.RifLogSaveRequest;
+import team.a501.rif.repository.achievement.AchievementRepository;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.service.achievement.AchievementService;
+import team.a501.rif.service.badge.BadgeService;
+import team.a501.rif.service.catalog.CatalogService;
+import team.a501.rif.service.member.MemberService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 요청 하나가 Hibernate로 실행한 SQL 문 수의 상한. 지연 로딩 N+1이 다시 생기면 여기서 깨진다
+// 멤버는 뱃지 6개, 업적 전부, RIF 이력 6건을 가진다. 상한은 이 수보다 작아서 항목마다 쿼리가 나가면 넘는다
+// 보안 필터는 끄고 인증이 필요한 요청은 필터가 남기는 Claims를 직접 넣는다
+// /member/name/stream은 JdbcTemplate으로 다른 스레드에서 읽으므로 여기서 세지 않는다 (MemberDirectoryTest)
+@SpringBootTest(properties = "spring-doc.version=test")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("loadtest")
+class EndpointQueryCountTest {
+
+    private static final String MEMBER_ID = "0847836";
+    private static final String UID = "04:A2:19:7F";
+    private static final String PASSWORD = "rif1234";
+    private static final int OTHER_MEMBERS = 11;
+    private static final int BADGES = 10;
+    private static final int OWNED_BADGES = 6;
+    private static final int RIF_LOGS = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private BadgeService badgeService;
+
+    @Autowired
+    private AchievementService achievementService;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private AchievementRepository achievementRepository;
+
+    private List<BadgeInfo> badges;
+
+    private List<AchievementInfo> achievements;
+
+    @BeforeEach
+    void setUp() {
+
+        List<BadgeSaveRequest> badgeRequests = new ArrayList<>();
+
+        for (int i = 0; i < BADGES; ++i) {
+
+            BadgeSaveRequest request = new BadgeSaveRequest();
+            request.setTier(i % 3 + 1);
+            request.setTitle("뱃지 " + i);
+            request.setDescription("뱃지 " + i);
+            request.setImgPath("badge/" + i + ".png");
+
+            badgeRequests.add(request);
+        }
+
+        badges = badgeService.saveAll(badgeRequests);
+
+        List<AchievementSaveRequest> achievementRequests = new ArrayList<>();
+
+        for (var tag : AchievementTag.values()) {
+            achievementRequests.add(AchievementSaveRequest.builder()
+                    .tier(1)
+                    .title(tag.name())
+                    .description(tag.name())
+                    .achievementImgPath("achievement/" + tag.name() + ".png")
+                    .tag(tag.name())
+                    .build());
+        }
+
+        achievements = achievementService.saveAll(achievementRequests);
+
+        memberService.register(MemberRegisterRequest.builder()
+                .id(MEMBER_ID)
+                .password(PASSWORD)
+                .uid(UID)
+                .name("강승곤")
+                .point(100_000)
+                .exp(0)
+                .build());
+
+        for (int i = 0; i < OTHER_MEMBERS; ++i) {
+            memberService.register(MemberRegisterRequest.builder()
+                    .id(String.format("09%05d", i))
+                    .password(PASSWORD)
+                    .uid("uid-" + i)
+                    .name("강" + i)
+                    .point(0)
+                    .exp(i * 10)
+                    .build());
+        }
+
+        for (int i = 0; i < OWNED_BADGES; ++i) {
+
+            memberService.addBadgeAcq(MEMBER_ID, badges.get(i).getId());
+
+            if (i % 2 == 0)
+                memberService.updateBadgeOnDisplay(MEMBER_ID, badges.get(i).getId());
+        }
+
+        // 업적을 모두 먼저 가져서 이후 RIF 이력 저장이 새 업적을 만들지 않는다
+        for (var achievement : achievements) {
+
+            memberService.addAchievementAcq(MEMBER_ID, achievement.getId());
+            memberService.updateAchievementOnDisplay(MEMBER_ID, achievement.getId());
+        }
+
+        for (int i = 0; i < RIF_LOGS; ++i)
+            memberService.addRifLog(rifLogRequest());
+
+        catalogService.getSnapshot();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        for (var id : memberRepository.findAllIds())
+            memberService.deleteById(id);
+
+        badgeService.deleteAll();
+        achievementRepository.deleteAll();
+        catalogService.invalidate();
+    }
+
+    @DisplayName("멤버 조회 API는 가진 뱃지/업적/이력 수와 관계없이 쿼리 수가 일정하다")
+    @Test
+    void memberReads() throws Exception {
+
+        assertQueries(1, get("/api/member").param("uid", UID));
+        assertQueries(1, get("/api/member/profile").param("id", MEMBER_ID));
+        assertQueries(1, get("/api/member/badge").param("memberId", MEMBER_ID));
+        assertQueries(1, get("/api/v/member/badge").param("memberId", MEMBER_ID));
+        assertQueries(1, get("/api/member/achievement").param("memberId", MEMBER_ID));
+        assertQueries(1, get("/api/v/member/achievement").param("memberId", MEMBER_ID));
+        assertQueries(1, get("/api/member/stats").param("memberId", MEMBER_ID));
+    }
+
+    @DisplayName("RIF 이력 조회 API는 페이지 크기와 관계없이 쿼리 수가 일정하다")
+    @Test
+    void rifLogReads() throws Exception {
+
+        assertQueries(2, get("/api/v/member/riflog").param("memberId", MEMBER_ID).param("page", "0").param("size", "20"));
+        assertQueries(2, get("/api/v/member/riflog/cursor").param("memberId", MEMBER_ID));
+        assertQueries(0, get("/api/member/riflog/ingest"));
+    }
+
+    @DisplayName("이름 목록, 검색, 랭킹 API는 멤버 수와 관계없이 쿼리 수가 일정하다")
+    @Test
+    void directoryAndRankingReads() throws Exception {
+
+        assertQueries(1, get("/api/member/name"));
+        assertQueries(1, get("/api/member/name/cursor").param("size", "5"));
+        assertQueries(0, get("/api/member/search").param("name", "강"));
+        assertQueries(0, get("/api/member/search/autocomplete").param("prefix", "강"));
+        assertQueries(1, get("/api/ranking"));
+        assertQueries(2, get("/api/v/ranking").param("memberId", MEMBER_ID));
+    }
+
+    @DisplayName("대표 뱃지/업적 토글은 멤버의 획득 컬렉션을 읽지 않는다")
+    @Test
+    void displayToggles() throws Exception {
+
+        // 획득 행 조회(뱃지/업적 함께), 획득 행 갱신, 멤버 비트셋 잠금, 비트셋 갱신
+        assertQueries(4, patch("/api/v/member/badge")
+                .param("memberId", MEMBER_ID)
+                .param("badgeId", badges.get(0).getId().toString()));
+
+        assertQueries(4, patch("/api/v/member/achievement")
+                .param("memberId", MEMBER_ID)
+                .param("achievementId", achievements.get(0).getId().toString()));
+    }
+
+    // 보안 필터를 끈 채라 지급 API의 관리자 권한은 테스트 스레드의 SecurityContext로 준다
+    @DisplayName("뽑기와 지급은 뽑은 횟수만큼만 쿼리가 늘어난다")
+    @Test
+    @WithMockUser(username = MEMBER_ID, roles = "ADMIN")
+    void gatchaAndBalance() throws Exception {
+
+        // 차감, 보유 목록, 그리고 새 뱃지라면 멤버 잠금, 획득 행 insert ignore, 획득 행 잠금 읽기, 비트셋 잠금과 갱신
+        assertQueries(8, post("/api/v/gatcha").param("memberId", MEMBER_ID));
+
+        // 새 뱃지마다 같은 5개
+        assertQueries(8 + 2 * 5, post("/api/v/gatcha").param("memberId", MEMBER_ID).param("count", "3"));
+
+        assertQueries(2, post("/api/v/admin/member/balance").param("memberId", MEMBER_ID).param("point", "100"));
+    }
+
+    @DisplayName("RIF 이력 저장은 멤버의 이력 수와 관계없고, 배치는 항목 수만큼만 쿼리가 늘어난다")
+    @Test
+    void rifLogWrites() throws Exception {
+
+        // 경험치 갱신, 시퀀스, 이력 저장, 카운터와 통계 확인/갱신, 업적 확인(멤버, 카운터, 획득한 업적 id)
+        assertQueries(11, post("/api/member/riflog")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rifLogRequest())));
+
+        int batchSize = 5;
+        List<RifLogSaveRequest> batch = new ArrayList<>();
+
+        for (int i = 0; i < batchSize; ++i)
+            batch.add(rifLogRequest());
+
+        // uid로 멤버 id/이름 조회, 카운터, 획득한 업적 id, 시퀀스 + 항목마다 경험치 갱신, 이력 저장, 카운터 확인/갱신, 통계 확인/갱신
+        assertQueries(4 + 6 * batchSize, post("/api/member/riflog/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)));
+    }
+
+    @DisplayName("가입과 프로필/비밀번호 변경은 멤버의 컬렉션을 읽지 않는다")
+    @Test
+    void memberWrites() throws Exception {
+
+        assertQueries(2, post("/api/member")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(MemberRegisterRequest.builder()
+                        .id("0999999")
+                        .password(PASSWORD)
+                        .uid("uid-new")
+                        .name("신입")
+                        .point(0)
+                        .exp(0)
+                        .build())));
+
+        assertQueries(2, patch("/api/v/member/profile")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(MemberResponse.builder()
+                        .id(MEMBER_ID)
+                        .profileImgPath("/profile/1.png")
+                        .build())));
+
+        assertQueries(2, patch("/api/v/member/password")
+                .param("memberId", MEMBER_ID)
+                .requestAttr(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE, Jwts.claims().setSubject(MEMBER_ID))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(PasswordChangeRequest.builder()
+                        .currentPassword(PASSWORD)
+                        .newPassword("rif5678")
+                        .newPasswordConfirm("rif5678")
+                        .build())));
+    }
+
+    @DisplayName("카탈로그 조회는 DB에 가지 않고, 추가는 한 건만 쓴다")
+    @Test
+    void catalog() throws Exception {
+
+        assertQueries(0, get("/api/badge"));
+        assertQueries(0, get("/api/achievement"));
+
+        BadgeSaveRequest badge = new BadgeSaveRequest();
+        badge.setTier(1);
+        badge.setTitle("새 뱃지");
+        badge.setDescription("새 뱃지");
+        badge.setImgPath("badge/new.png");
+
+        // 시퀀스, insert
+        assertQueries(2, post("/api/badge")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(badge)));
+
+        assertQueries(2, post("/api/achievement")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(AchievementSaveRequest.builder()
+                        .tier(1)
+                        .title("새 업적")
+                        .description("새 업적")
+                        .achievementImgPath("achievement/new.png")
+                        .tag(AchievementTag.RIF_FIRST_USE.name())
+                        .build())));
+    }
+
+    @DisplayName("탈퇴는 획득/이력 행을 하나씩 읽지 않고 테이블마다 한 번에 지운다")
+    @Test
+    void deleteMember() {
+
+        QueryCountInspector.reset();
+
+        memberService.deleteById(MEMBER_ID);
+
+        // 멤버, 획득/이력 삭제 3, 카운터와 통계 조회/삭제 4, 멤버 삭제
+        assertThat(QueryCountInspector.current()).isLessThanOrEqualTo(9);
+        assertThat(memberRepository.existsById(MEMBER_ID)).isFalse();
+    }
+
+    private void assertQueries(int max, MockHttpServletRequestBuilder request) throws Exception {
+
+        QueryCountInspector.reset();
+
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(QueryCountInspector.current())
+                .as("%s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+
+    private static RifLogSaveRequest rifLogRequest() {
+
+        return RifLogSaveRequest.builder()
+                .uid(UID)
+                .plasticTotal(2)
+                .plasticOk(2)
+                .recycleTotal(2)
+                .recycleOk(1)
+                .build();
+    }
+}
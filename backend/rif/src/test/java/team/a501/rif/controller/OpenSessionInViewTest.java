@@ -0,0 +1,122 @@
+package team.a501.rif.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import team.a501.rif.config.Metrics.ConnectionHoldDataSource;
+import team.a501.rif.dto.member.MemberRegisterRequest;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.service.member.MemberService;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// open-session-in-view를 껐으므로 트랜잭션 밖에서 지연 로딩을 건드리면 LazyInitializationException이 난다
+// 엔드포인트 전체는 EndpointQueryCountTest가 OSIV 없이 200을 받는지로 확인한다. 같은 설정이라 컨텍스트를 같이 쓴다
+@SpringBootTest(properties = "spring-doc.version=test")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("loadtest")
+class OpenSessionInViewTest {
+
+    private static final String MEMBER_ID = "0847836";
+    private static final String UID = "04:A2:19:7F";
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+
+        memberService.register(MemberRegisterRequest.builder()
+                .id(MEMBER_ID)
+                .password("rif1234")
+                .uid(UID)
+                .name("강승곤")
+                .point(0)
+                .exp(0)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        for (var id : memberRepository.findAllIds())
+            memberService.deleteById(id);
+    }
+
+    @DisplayName("요청 범위 영속성 컨텍스트(OSIV) 인터셉터가 등록되지 않는다")
+    @Test
+    void openInViewDisabled() {
+
+        assertThat(context.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @DisplayName("로그인용 UserDetails는 트랜잭션이 끝난 뒤에도 권한을 읽을 수 있다")
+    @Test
+    void userDetailsOutsideTransaction() {
+
+        UserDetails userDetails = memberService.loadUserByUsername(MEMBER_ID);
+
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+        assertThat(userDetails.getUsername()).isEqualTo(MEMBER_ID);
+        assertThat(userDetails.getAuthorities()).isNotNull();
+    }
+
+    @DisplayName("서비스가 돌려준 DTO는 트랜잭션 밖에서 JSON으로 직렬화된다")
+    @Test
+    void dtoSerializableOutsideTransaction() throws Exception {
+
+        assertThat(objectMapper.writeValueAsString(memberService.findById(MEMBER_ID))).contains(MEMBER_ID);
+        assertThat(objectMapper.writeValueAsString(memberService.findAllBadgeAcq(MEMBER_ID))).isNotNull();
+        assertThat(objectMapper.writeValueAsString(memberService.findAllAchievementAcq(MEMBER_ID))).isNotNull();
+        assertThat(objectMapper.writeValueAsString(memberService.getFirstAllByOrderByExp(MEMBER_ID))).isNotNull();
+
+        mockMvc.perform(get("/api/member/profile").param("id", MEMBER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(MEMBER_ID));
+    }
+
+    @DisplayName("커넥션 점유 시간은 커넥션을 반납할 때 스레드별로 쌓인다")
+    @Test
+    void connectionHoldTracked() {
+
+        assertThat(dataSource).isInstanceOf(ConnectionHoldDataSource.class);
+
+        ConnectionHoldDataSource.reset();
+
+        memberService.findById(MEMBER_ID);
+
+        assertThat(ConnectionHoldDataSource.acquisitions()).isPositive();
+        assertThat(ConnectionHoldDataSource.heldNanos()).isPositive();
+    }
+}
@@ -0,0 +1,134 @@
+package team.a501.rif.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import team.a501.rif.dto.member.MemberRegisterRequest;
+import team.a501.rif.dto.riflog.RifLogSaveRequest;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.repository.riflog.RifLogRepository;
+import team.a501.rif.service.member.MemberService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 배치 응답은 요청 순서대로 항목마다 하나씩 나오고, 없는 uid의 항목은 빠지지 않고 not found로 표시된다
+// EndpointQueryCountTest와 같은 설정이라 컨텍스트를 같이 쓴다
+@SpringBootTest(properties = "spring-doc.version=test")
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("loadtest")
+class RifLogBatchTest {
+
+    private static final String MEMBER_ID = "0847836";
+    private static final String UID = "04:A2:19:7F";
+    private static final String UNKNOWN_UID = "FF:FF:FF:FF";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private RifLogRepository rifLogRepository;
+
+    @BeforeEach
+    void setUp() {
+
+        memberService.register(MemberRegisterRequest.builder()
+                .id(MEMBER_ID)
+                .password("rif1234")
+                .uid(UID)
+                .name("강승곤")
+                .point(0)
+                .exp(0)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        for (var id : memberRepository.findAllIds())
+            memberService.deleteById(id);
+    }
+
+    @DisplayName("있는 uid와 없는 uid가 섞여 있으면 없는 항목만 not found이고 나머지는 저장된다")
+    @Test
+    void mixedUids() throws Exception {
+
+        List<RifLogSaveRequest> batch = List.of(
+                request(UID, 2, 2, 2, 1),
+                request(UNKNOWN_UID, 3, 3, 0, 0),
+                request(UID, 0, 0, 0, 0),
+                request(UID, 1, 1, 1, 1));
+
+        mockMvc.perform(post("/api/member/riflog/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].name").value("강승곤"))
+                .andExpect(jsonPath("$[0].createdAt").exists())
+                .andExpect(jsonPath("$[0].status").doesNotExist())
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].message").exists())
+                .andExpect(jsonPath("$[1].plasticTotal").value(3))
+                .andExpect(jsonPath("$[1].exp").value(0))
+                .andExpect(jsonPath("$[2].name").value("강승곤"))
+                .andExpect(jsonPath("$[2].exp").value(0))
+                .andExpect(jsonPath("$[2].status").doesNotExist())
+                .andExpect(jsonPath("$[3].createdAt").exists())
+                .andExpect(jsonPath("$[3].status").doesNotExist());
+
+        assertThat(rifLogRepository.count()).isEqualTo(2L);
+    }
+
+    @DisplayName("모든 uid가 없으면 항목마다 not found이고 아무것도 저장하지 않는다")
+    @Test
+    void unknownUids() throws Exception {
+
+        List<RifLogSaveRequest> batch = List.of(
+                request(UNKNOWN_UID, 1, 1, 0, 0),
+                request("EE:EE:EE:EE", 0, 0, 2, 2));
+
+        mockMvc.perform(post("/api/member/riflog/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value(404))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].recycleTotal").value(2));
+
+        assertThat(rifLogRepository.count()).isZero();
+    }
+
+    private static RifLogSaveRequest request(String uid, int plasticTotal, int plasticOk, int recycleTotal, int recycleOk) {
+
+        return RifLogSaveRequest.builder()
+                .uid(uid)
+                .plasticTotal(plasticTotal)
+                .plasticOk(plasticOk)
+                .recycleTotal(recycleTotal)
+                .recycleOk(recycleOk)
+                .build();
+    }
+}
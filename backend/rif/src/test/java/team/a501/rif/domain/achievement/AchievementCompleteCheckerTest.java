@@ -0,0 +1,76 @@
+package team.a501.rif.domain.achievement;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import team.a501.rif.domain.riflog.RifLogCounter;
+import team.a501.rif.dto.riflog.RifLogInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AchievementCompleteCheckerTest {
+
+    @DisplayName("누적 카운터 기반 판정과 RifLog 전체 스캔 판정 결과가 같다")
+    @Test
+    void counterMatchesFullScan() {
+
+        Random random = new Random(501);
+
+        List<RifLogInfo> rifLogInfoList = new ArrayList<>();
+        RifLogCounter counter = RifLogCounter.empty("0847836");
+
+        for (int i = 0; i < 30; ++i) {
+
+            int plasticTotal = random.nextInt(3);
+            int plasticOk = random.nextInt(plasticTotal + 1);
+            int recycleTotal = random.nextInt(3);
+            int recycleOk = random.nextInt(recycleTotal + 1);
+
+            rifLogInfoList.add(RifLogInfo.builder()
+                    .plasticTotal(plasticTotal)
+                    .plasticOk(plasticOk)
+                    .recycleTotal(recycleTotal)
+                    .recycleOk(recycleOk)
+                    .build());
+
+            counter = count(counter, plasticTotal, plasticOk, recycleTotal, recycleOk);
+
+            AchievementCompleteChecker fromScan = AchievementCompleteChecker.of(rifLogInfoList);
+            AchievementCompleteChecker fromCounter = AchievementCompleteChecker.of(counter);
+
+            for (AchievementTag tag : AchievementTag.values()) {
+                assertThat(fromCounter.isCompleted(tag)).isEqualTo(fromScan.isCompleted(tag));
+            }
+        }
+    }
+
+    @DisplayName("첫 플라스틱 성공 시 첫 사용, 첫 플라스틱 성공 업적만 달성")
+    @Test
+    void firstPlasticSuccess() {
+
+        RifLogCounter counter = count(RifLogCounter.empty("0847836"), 1, 1, 0, 0);
+
+        AchievementCompleteChecker checker = AchievementCompleteChecker.of(counter);
+
+        assertThat(checker.isCompleted(AchievementTag.RIF_FIRST_USE)).isTrue();
+        assertThat(checker.isCompleted(AchievementTag.PLASTIC_SUCCESS_FIRST)).isTrue();
+        assertThat(checker.isCompleted(AchievementTag.RECYCLE_SUCCESS_FIRST)).isFalse();
+        assertThat(checker.isCompleted(AchievementTag.RIF_PERFECT_FIRST)).isFalse();
+    }
+
+    // RifLogServiceImpl.countRifLog가 RifLogCounterRepository.increment에 넘기는 증가분을 더한 카운터
+    private static RifLogCounter count(RifLogCounter counter, int plasticTotal, int plasticOk, int recycleTotal, int recycleOk) {
+
+        boolean isPlasticSuccess = RifLogCounter.isPlasticSuccess(plasticTotal, plasticOk);
+        boolean isRecycleSuccess = RifLogCounter.isRecycleSuccess(recycleTotal, recycleOk);
+
+        return RifLogCounter.of(counter.getMemberId(),
+                counter.getRifUseCount() + 1,
+                counter.getPlasticSuccessCount() + (isPlasticSuccess ? 1 : 0),
+                counter.getRecycleSuccessCount() + (isRecycleSuccess ? 1 : 0),
+                counter.getPerfectSuccessCount() + (isPlasticSuccess && isRecycleSuccess ? 1 : 0));
+    }
+}
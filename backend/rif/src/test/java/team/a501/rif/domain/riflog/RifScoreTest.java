@@ -3,6 +3,8 @@ package team.a501.rif.domain.riflog;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 class RifScoreTest {
 
     @DisplayName("Rif Score 계산")
@@ -14,4 +16,46 @@ class RifScoreTest {
         System.out.println("score = " + score);
     }
 
+    @DisplayName("박싱 없는 점수 계산이 이전 계산식과 같은 값을 낸다")
+    @Test
+    void primitiveScoreMatchesBoxedFormula() {
+
+        for (int plasticTotal = 0; plasticTotal <= 300; ++plasticTotal) {
+            for (int plasticOk = 0; plasticOk <= plasticTotal; plasticOk += 3) {
+                for (int recycleTotal = 0; recycleTotal <= 300; recycleTotal += 7) {
+                    for (int recycleOk = 0; recycleOk <= recycleTotal; recycleOk += 5) {
+
+                        assertThat(RifScore.scoreOf(plasticTotal, plasticOk, recycleTotal, recycleOk))
+                                .isEqualTo(boxedScoreOf(plasticTotal, plasticOk, recycleTotal, recycleOk));
+                    }
+                }
+            }
+        }
+    }
+
+    @DisplayName("분리수거 내역이 없으면 -1")
+    @Test
+    void emptySubmission() {
+
+        assertThat(RifScore.scoreOf(0, 0, 0, 0)).isEqualTo(-1);
+        assertThat(RifScore.getScoreOf(0, 0, 0, 0)).isEqualTo(-1);
+    }
+
+    // 이전 구현
+    private static Integer boxedScoreOf(Integer plasticTotal, Integer plasticOk, Integer recycleTotal, Integer recycleOk) {
+
+        Integer numerator = plasticOk + recycleOk;
+        Integer denominator = plasticTotal + recycleTotal;
+
+        if (denominator <= 0)
+            return -1;
+
+        Double successRatio = numerator.doubleValue() / denominator;
+
+        Double okCountFactor = Math.log(Math.max(1, (plasticOk + recycleOk) * 2));
+
+        Long result = Math.round(50 * successRatio * okCountFactor);
+
+        return result.intValue();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package team.a501.rif.repository.member;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import team.a501.rif.domain.member.Member;
+import team.a501.rif.dto.member.MemberBalance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 스레드마다 따로 커밋해야 하므로 테스트 트랜잭션은 쓰지 않는다
+@DataJpaTest(showSql = false)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MemberAccountingRepositoryTest {
+
+    private static final String MEMBER_ID = "0000001";
+    private static final int THREADS = 16;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        memberRepository.save(Member.builder()
+                .id(MEMBER_ID)
+                .password(MEMBER_ID)
+                .uid(UUID.randomUUID().toString())
+                .name("kang")
+                .point(0)
+                .exp(0)
+                .profileImgPath("/profile/default.png")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+    }
+
+    @DisplayName("동시에 증가시켜도 합계가 맞는다")
+    @Test
+    void concurrentIncrements() throws Exception {
+
+        int increments = 2000;
+
+        List<Optional<MemberBalance>> results = runConcurrently(increments,
+                () -> memberRepository.addExpAndPoint(MEMBER_ID, 3, 1));
+
+        assertThat(results).allMatch(Optional::isPresent);
+
+        // 반환된 누적값은 커밋 순서대로 하나씩 증가하므로 모두 달라야 한다
+        assertThat(results.stream().map(r -> r.get().getExp()).distinct().count()).isEqualTo(increments);
+
+        Member member = memberRepository.findById(MEMBER_ID).orElseThrow();
+
+        assertThat(member.getExp()).isEqualTo(3 * increments);
+        assertThat(member.getPoint()).isEqualTo(increments);
+    }
+
+    @DisplayName("동시에 차감해도 잔액이 음수가 되지 않는다")
+    @Test
+    void concurrentDebits() throws Exception {
+
+        int balance = 1000;
+        int cost = 7;
+        int attempts = 500;
+
+        transactionTemplate.executeWithoutResult(status -> memberRepository.addExpAndPoint(MEMBER_ID, 0, balance));
+
+        List<Optional<MemberBalance>> results = runConcurrently(attempts,
+                () -> memberRepository.addExpAndPoint(MEMBER_ID, 0, -cost));
+
+        long succeeded = results.stream().filter(Optional::isPresent).count();
+
+        assertThat(succeeded).isEqualTo(balance / cost);
+        assertThat(memberRepository.findById(MEMBER_ID).orElseThrow().getPoint()).isEqualTo(balance % cost);
+    }
+
+    @DisplayName("이미 읽어 둔 멤버는 갱신 후 새 값을 보고, 다른 컬럼을 바꿔도 옛 값으로 덮어쓰지 않는다")
+    @Test
+    void refreshesManagedMember() {
+
+        transactionTemplate.executeWithoutResult(status -> {
+
+            Member member = memberRepository.findById(MEMBER_ID).orElseThrow();
+
+            memberRepository.addExpAndPoint(MEMBER_ID, 30, 10);
+
+            assertThat(member.getExp()).isEqualTo(30);
+            assertThat(member.getPoint()).isEqualTo(10);
+
+            member.setName("seung");
+        });
+
+        Member member = memberRepository.findById(MEMBER_ID).orElseThrow();
+
+        assertThat(member.getName()).isEqualTo("seung");
+        assertThat(member.getExp()).isEqualTo(30);
+        assertThat(member.getPoint()).isEqualTo(10);
+    }
+
+    @DisplayName("없는 멤버는 비어 있는 결과를 돌려준다")
+    @Test
+    void missingMember() {
+
+        Optional<MemberBalance> result = transactionTemplate.execute(status ->
+                memberRepository.addExpAndPoint("9999999", 10, 10));
+
+        assertThat(result).isEmpty();
+    }
+
+    private List<Optional<MemberBalance>> runConcurrently(int tasks, Callable<Optional<MemberBalance>> work) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+
+        try {
+            List<Future<Optional<MemberBalance>>> futures = new ArrayList<>();
+
+            for (int i = 0; i < tasks; ++i) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        return transactionTemplate.execute(status -> {
+                            try {
+                                return work.call();
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            }
+                        });
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                        throw e;
+                    }
+                }));
+            }
+
+            start.countDown();
+
+            List<Optional<MemberBalance>> results = new ArrayList<>();
+
+            for (var future : futures)
+                results.add(future.get(60, TimeUnit.SECONDS));
+
+            assertThat(failures.get()).isZero();
+
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
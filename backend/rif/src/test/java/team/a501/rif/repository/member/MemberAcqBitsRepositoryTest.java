@@ -0,0 +1,184 @@
+package team.a501.rif.repository.member;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import team.a501.rif.domain.badge.Badge;
+import team.a501.rif.domain.badge.BadgeAcq;
+import team.a501.rif.domain.member.AcqBits;
+import team.a501.rif.domain.member.Member;
+import team.a501.rif.repository.badge.BadgeAcqRepository;
+import team.a501.rif.repository.badge.BadgeRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 스레드마다 따로 커밋해야 하므로 테스트 트랜잭션은 쓰지 않는다
+@DataJpaTest(showSql = false)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MemberAcqBitsRepositoryTest {
+
+    private static final String MEMBER_ID = "0000001";
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BadgeRepository badgeRepository;
+
+    @Autowired
+    private BadgeAcqRepository badgeAcqRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private LocalDateTime acquiredAt;
+
+    @BeforeEach
+    void setUp() {
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+
+            Member member = memberRepository.save(Member.builder()
+                    .id(MEMBER_ID)
+                    .password(MEMBER_ID)
+                    .uid("uid-" + MEMBER_ID)
+                    .name("kang")
+                    .point(0)
+                    .exp(0)
+                    .profileImgPath(Member.DEFAULT_PROFILE_IMG)
+                    .build());
+
+            List<Badge> badges = new ArrayList<>();
+
+            for (int slot = 0; slot < 2; ++slot) {
+
+                Badge badge = Badge.builder().tier(1).title("뱃지 " + slot).build();
+                badge.assignSlot(slot);
+                badges.add(badgeRepository.save(badge));
+            }
+
+            // 비트셋이 생기기 전에 획득 테이블에만 들어 있던 뱃지
+            BadgeAcq acq = badgeAcqRepository.save(new BadgeAcq());
+            badges.get(1).addBadgeAcq(acq);
+            member.addBadgeAcq(acq);
+            acq.setOnDisplay(true);
+
+            acquiredAt = acq.getCreated();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        badgeAcqRepository.deleteAll();
+        badgeRepository.deleteAll();
+        memberRepository.deleteAll();
+    }
+
+    @DisplayName("비트셋이 없는 멤버는 읽을 때 획득 테이블에서 만들기만 하고 저장하지 않는다")
+    @Test
+    void derivesFromAcqTable() {
+
+        AcqBits bits = transactionTemplate.execute(status ->
+                memberRepository.findAcqBits(MEMBER_ID, AcqKind.BADGE).orElseThrow());
+
+        assertThat(bits.isOwned(0)).isFalse();
+        assertThat(bits.isOwned(1)).isTrue();
+        assertThat(bits.isDisplayed(1)).isTrue();
+        assertThat(bits.getAcquiredAt(1)).isEqualTo(acquiredAt.truncatedTo(ChronoUnit.SECONDS));
+
+        // 저장하지 않았으므로 획득 테이블이 비면 다시 읽어도 비어 있다
+        badgeAcqRepository.deleteAll();
+
+        AcqBits derived = transactionTemplate.execute(status ->
+                memberRepository.findAcqBits(MEMBER_ID, AcqKind.BADGE).orElseThrow());
+
+        assertThat(derived.isOwned(1)).isFalse();
+        assertThat(memberRepository.findAcqBits("9999999", AcqKind.BADGE)).isEmpty();
+    }
+
+    @DisplayName("백필하면 비트셋이 저장되고, 그다음부터는 저장된 비트셋을 읽는다")
+    @Test
+    void backfillStoresBits() {
+
+        Integer filled = transactionTemplate.execute(status -> memberRepository.backfillAcqBits(AcqKind.BADGE));
+
+        assertThat(filled).isEqualTo(1);
+
+        // 채운 멤버는 다시 백필 대상이 아니다
+        Integer refilled = transactionTemplate.execute(status -> memberRepository.backfillAcqBits(AcqKind.BADGE));
+
+        assertThat(refilled).isZero();
+
+        badgeAcqRepository.deleteAll();
+
+        AcqBits stored = transactionTemplate.execute(status ->
+                memberRepository.findAcqBits(MEMBER_ID, AcqKind.BADGE).orElseThrow());
+
+        assertThat(stored.isOwned(1)).isTrue();
+        assertThat(stored.isDisplayed(1)).isTrue();
+    }
+
+    @DisplayName("동시에 다른 slot을 획득하거나 대표로 설정해도 서로 덮어쓰지 않는다")
+    @Test
+    void concurrentMarks() throws Exception {
+
+        int slots = 64;
+        LocalDateTime at = LocalDateTime.of(2026, 10, 18, 12, 0, 0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int i = 2; i < slots; ++i) {
+
+                int slot = i;
+
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    transactionTemplate.executeWithoutResult(status -> {
+                        memberRepository.markAcquired(MEMBER_ID, AcqKind.BADGE, slot, at);
+                        memberRepository.markDisplayed(MEMBER_ID, AcqKind.BADGE, slot, slot % 2 == 0);
+                    });
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (var future : futures)
+                future.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        AcqBits bits = transactionTemplate.execute(status ->
+                memberRepository.findAcqBits(MEMBER_ID, AcqKind.BADGE).orElseThrow());
+
+        for (int slot = 1; slot < slots; ++slot) {
+            assertThat(bits.isOwned(slot)).isTrue();
+            assertThat(bits.isDisplayed(slot)).isEqualTo(slot == 1 || slot % 2 == 0);
+        }
+
+        assertThat(bits.isOwned(0)).isFalse();
+        assertThat(bits.getAcquiredAt(slots - 1)).isEqualTo(at);
+    }
+}
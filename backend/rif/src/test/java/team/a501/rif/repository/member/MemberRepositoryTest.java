@@ -1,11 +1,15 @@
 package team.a501.rif.repository.member;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import team.a501.rif.domain.member.Member;
+import team.a501.rif.dto.member.MemberIdentity;
+import team.a501.rif.dto.member.MemberResponse;
 
+import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,6 +20,9 @@ class MemberRepositoryTest {
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @DisplayName("임시 멤버 추가하기")
     @Test
     void createMember(){
@@ -48,4 +55,36 @@ class MemberRepositoryTest {
 
         assertThat(top10.size()).isEqualTo(2);
     }
+
+    @DisplayName("조회용 프로젝션은 필요한 값만 담고 엔티티를 영속성 컨텍스트에 올리지 않는다")
+    @Test
+    void projections() {
+
+        memberRepository.saveAndFlush(Member.builder()
+                .id("0847836")
+                .password("0847836")
+                .uid("04:A2:19:7F")
+                .name("kang")
+                .point(1000)
+                .exp(10)
+                .profileImgPath("/profile/1.png")
+                .build());
+
+        entityManager.clear();
+
+        MemberResponse response = memberRepository.findResponseById("0847836").orElseThrow();
+        MemberIdentity identity = memberRepository.findIdentityByUid("04:A2:19:7F").orElseThrow();
+        List<MemberResponse> responses = memberRepository.findResponsesByIdIn(List.of("0847836", "9999999"));
+
+        assertThat(response.getUid()).isEqualTo("04:A2:19:7F");
+        assertThat(response.getName()).isEqualTo("kang");
+        assertThat(response.getExp()).isEqualTo(10);
+        assertThat(response.getPoint()).isEqualTo(1000);
+        assertThat(response.getProfileImgPath()).isEqualTo("/profile/1.png");
+        assertThat(identity.getMemberId()).isEqualTo("0847836");
+        assertThat(responses).extracting(MemberResponse::getId).containsExactly("0847836");
+
+        assertThat(memberRepository.findResponseById("9999999")).isEmpty();
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
 }
\ No newline at end of file
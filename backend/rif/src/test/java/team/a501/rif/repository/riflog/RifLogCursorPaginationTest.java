@@ -0,0 +1,150 @@
+package team.a501.rif.repository.riflog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import team.a501.rif.domain.member.Member;
+import team.a501.rif.domain.riflog.RifLog;
+import team.a501.rif.dto.riflog.RifLogCursorResponse;
+import team.a501.rif.dto.riflog.RifLogInfo;
+import team.a501.rif.exception.RifCustomException;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.service.member.MemberStatsCreator;
+import team.a501.rif.service.member.MemberStatsServiceImpl;
+import team.a501.rif.service.member.MemberUidCache;
+import team.a501.rif.service.riflog.RifLogCounterCreator;
+import team.a501.rif.service.riflog.RifLogService;
+import team.a501.rif.service.riflog.RifLogServiceImpl;
+import team.a501.rif.service.stats.RifLogRollupBuffer;
+import team.a501.rif.service.stats.RifLogRollupServiceImpl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 롤업 버퍼가 upsert(on duplicate key update)를 쓰므로 H2도 MariaDB 모드로 띄운다
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:rif-riflog-page;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RifLogServiceImpl.class, MemberUidCache.class, MemberStatsServiceImpl.class, MemberStatsCreator.class,
+        RifLogCounterCreator.class, RifLogRollupBuffer.class, RifLogRollupServiceImpl.class})
+class RifLogCursorPaginationTest {
+
+    private static final String MEMBER_ID = "0847836";
+
+    @Autowired
+    private RifLogService rifLogService;
+
+    @Autowired
+    private RifLogRepository rifLogRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @BeforeEach
+    void setUp() {
+
+        Member member = memberRepository.save(Member.builder()
+                .id(MEMBER_ID)
+                .password(MEMBER_ID)
+                .uid("uid")
+                .name("kang")
+                .point(0)
+                .exp(0)
+                .profileImgPath("/profile/default.png")
+                .build());
+
+        Member other = memberRepository.save(Member.builder()
+                .id("0844947")
+                .password("0844947")
+                .uid("other")
+                .name("shin")
+                .point(0)
+                .exp(0)
+                .profileImgPath("/profile/default.png")
+                .build());
+
+        for (int i = 0; i < 25; ++i) {
+            rifLogRepository.save(rifLog(member));
+            rifLogRepository.save(rifLog(other));
+        }
+
+        // 실제 요청처럼 DB에서 다시 읽도록 영속성 컨텍스트를 비운다
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @DisplayName("커서를 따라가면 멤버의 이력을 최신순으로 빠짐없이, 겹치지 않게 읽는다")
+    @Test
+    void walksNewestFirst() {
+
+        List<Long> expected = rifLogRepository.findAll()
+                .stream()
+                .filter(r -> r.getMember().getId().equals(MEMBER_ID))
+                .sorted(Comparator.comparing(RifLog::getCreated).thenComparing(RifLog::getId).reversed())
+                .map(RifLog::getId)
+                .collect(Collectors.toList());
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            RifLogCursorResponse page = rifLogService.findByMember(MEMBER_ID, cursor, 10);
+
+            walked.addAll(page.getContent().stream().map(RifLogInfo::getId).collect(Collectors.toList()));
+            cursor = page.getNextCursor();
+            pages++;
+
+            assertThat(page.getHasNext()).isEqualTo(cursor != null);
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(walked).containsExactlyElementsOf(expected);
+    }
+
+    @DisplayName("잘못된 커서와 없는 멤버는 거절한다")
+    @Test
+    void rejectsBadInput() {
+
+        assertThatThrownBy(() -> rifLogService.findByMember(MEMBER_ID, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> rifLogService.findByMember(MEMBER_ID, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> rifLogService.findByMember("9999999", null, 10))
+                .isInstanceOf(RifCustomException.class);
+    }
+
+    private static RifLog rifLog(Member member) {
+
+        RifLog rifLog = RifLog.builder()
+                .plasticTotal(1)
+                .plasticOk(1)
+                .recycleTotal(1)
+                .recycleOk(0)
+                .exp(10)
+                .point(1)
+                .build();
+
+        rifLog.setMember(member);
+
+        return rifLog;
+    }
+}
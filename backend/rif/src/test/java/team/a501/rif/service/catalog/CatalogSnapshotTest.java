@@ -0,0 +1,58 @@
+package team.a501.rif.service.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import team.a501.rif.domain.achievement.AchievementTag;
+import team.a501.rif.dto.achievement.AchievementInfo;
+import team.a501.rif.dto.badge.BadgeInfo;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogSnapshotTest {
+
+    private BadgeInfo badge(Long id) {
+        return BadgeInfo.builder().id(id).tier(1).title("badge" + id).build();
+    }
+
+    private AchievementInfo achievement(Long id, AchievementTag tag) {
+        return AchievementInfo.builder().id(id).tier(1).title("achievement" + id).tag(tag.name()).build();
+    }
+
+    @DisplayName("id로 조회하면 id 순으로 정렬된 배열에서 찾는다")
+    @Test
+    void findById() {
+
+        CatalogSnapshot snapshot = new CatalogSnapshot(7L,
+                List.of(badge(30L), badge(10L), badge(20L)),
+                List.of(achievement(5L, AchievementTag.RIF_FIRST_USE)));
+
+        assertThat(snapshot.getBadges()).extracting(BadgeInfo::getId).containsExactly(10L, 20L, 30L);
+        assertThat(snapshot.getBadgeAt(1).getId()).isEqualTo(20L);
+        assertThat(snapshot.findBadge(30L)).map(BadgeInfo::getTitle).contains("badge30");
+        assertThat(snapshot.findBadge(40L)).isEmpty();
+        assertThat(snapshot.findAchievement(5L)).isPresent();
+        assertThat(snapshot.getETag()).isEqualTo("\"7\"");
+    }
+
+    @DisplayName("업적을 태그별로 묶고 스냅샷은 수정할 수 없다")
+    @Test
+    void groupAchievementsByTag() {
+
+        CatalogSnapshot snapshot = new CatalogSnapshot(1L, List.of(), List.of(
+                achievement(1L, AchievementTag.PLASTIC_SUCCESS_FIRST),
+                achievement(2L, AchievementTag.RIF_FIRST_USE),
+                achievement(3L, AchievementTag.PLASTIC_SUCCESS_FIRST)));
+
+        assertThat(snapshot.getAchievementsByTag().get(AchievementTag.PLASTIC_SUCCESS_FIRST))
+                .extracting(AchievementInfo::getId)
+                .containsExactly(1L, 3L);
+        assertThat(snapshot.getAchievementsByTag()).doesNotContainKey(AchievementTag.RIF_PERFECT_FIRST);
+        assertThat(snapshot.getBadgeCount()).isZero();
+
+        assertThatThrownBy(() -> snapshot.getAchievements().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,58 @@
+package team.a501.rif.service.gatcha;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class AliasTableTest {
+
+    @DisplayName("뽑힌 비율이 가중치 비율과 같다")
+    @Test
+    void sampleFollowsWeights() {
+
+        double[] weights = {50, 30, 15, 5, 0};
+        AliasTable table = new AliasTable(weights);
+
+        Random random = new Random(501);
+        int draws = 1_000_000;
+        int[] counts = new int[weights.length];
+
+        for (int i = 0; i < draws; ++i)
+            counts[table.sample(random)]++;
+
+        for (int i = 0; i < weights.length; ++i)
+            assertThat((double) counts[i] / draws).isCloseTo(weights[i] / 100, within(0.005));
+
+        assertThat(counts[4]).isZero();
+    }
+
+    @DisplayName("가중치가 모두 같으면 균등하게 뽑는다")
+    @Test
+    void uniformWeights() {
+
+        AliasTable table = new AliasTable(new double[]{1, 1, 1});
+
+        Random random = new Random(8);
+        int[] counts = new int[3];
+
+        for (int i = 0; i < 300_000; ++i)
+            counts[table.sample(random)]++;
+
+        for (int count : counts)
+            assertThat(count / 300_000.0).isCloseTo(1.0 / 3, within(0.005));
+    }
+
+    @DisplayName("비어 있거나 합이 0인 가중치는 거부한다")
+    @Test
+    void rejectInvalidWeights() {
+
+        assertThatThrownBy(() -> new AliasTable(new double[0])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[]{0, 0})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[]{1, -1})).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,144 @@
+package team.a501.rif.service.gatcha;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import team.a501.rif.dto.badge.BadgeAcqInfo;
+import team.a501.rif.dto.badge.BadgeInfo;
+import team.a501.rif.dto.badge.BadgeSaveRequest;
+import team.a501.rif.dto.member.MemberRegisterRequest;
+import team.a501.rif.repository.badge.BadgeAcqRepository;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.service.badge.BadgeService;
+import team.a501.rif.service.catalog.CatalogService;
+import team.a501.rif.service.member.MemberService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 뱃지가 하나뿐이라 모든 뽑기가 같은 뱃지를 낸다
+// 여러 번 뽑기와 직접 지급이 동시에 들어와도 획득 행은 하나이고, 포인트는 뽑은 횟수만큼만 줄어든다
+@SpringBootTest(properties = "spring-doc.version=test")
+@ActiveProfiles("loadtest")
+class BadgeGatchaConcurrencyTest {
+
+    private static final String MEMBER_ID = "0847836";
+    private static final int GATCHA_COST = 100;
+    private static final int INITIAL_POINT = 100_000;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private BadgeService badgeService;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BadgeAcqRepository badgeAcqRepository;
+
+    private BadgeInfo badge;
+
+    @BeforeEach
+    void setUp() {
+
+        BadgeSaveRequest request = new BadgeSaveRequest();
+        request.setTier(1);
+        request.setTitle("뱃지");
+        request.setDescription("뱃지");
+        request.setImgPath("badge/0.png");
+
+        badge = badgeService.saveAll(List.of(request)).get(0);
+        catalogService.invalidate();
+
+        memberService.register(MemberRegisterRequest.builder()
+                .id(MEMBER_ID)
+                .password("rif1234")
+                .uid("04:A2:19:7F")
+                .name("강승곤")
+                .point(INITIAL_POINT)
+                .exp(0)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        for (var id : memberRepository.findAllIds())
+            memberService.deleteById(id);
+
+        badgeService.deleteAll();
+        catalogService.invalidate();
+    }
+
+    @DisplayName("같은 뱃지를 동시에 여러 번 뽑고 지급해도 획득 행은 하나이고 포인트는 정확하다")
+    @Test
+    void concurrentMultiPulls() throws Exception {
+
+        int pulls = 8;
+        int count = 3;
+        int grants = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<List<Boolean>>> drawn = new ArrayList<>();
+        List<Future<?>> granted = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < pulls; ++i) {
+                drawn.add(executor.submit(() -> {
+                    start.await();
+                    return memberService.drawRandomBadges(MEMBER_ID, count)
+                            .stream()
+                            .map(r -> r.getReduplicated())
+                            .collect(Collectors.toList());
+                }));
+            }
+
+            for (int i = 0; i < grants; ++i) {
+                granted.add(executor.submit(() -> {
+                    start.await();
+                    return memberService.addBadgeAcq(MEMBER_ID, badge.getId());
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<?> future : granted)
+                future.get(60, TimeUnit.SECONDS);
+
+            for (Future<List<Boolean>> future : drawn) {
+
+                // 한 번의 여러 번 뽑기 안에서는 두 번째부터 항상 중복이다
+                List<Boolean> reduplicated = future.get(60, TimeUnit.SECONDS);
+
+                assertThat(reduplicated.subList(1, count)).containsOnly(true);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(badgeAcqRepository.count()).isEqualTo(1L);
+        assertThat(memberRepository.findById(MEMBER_ID).get().getPoint())
+                .isEqualTo(INITIAL_POINT - pulls * count * GATCHA_COST);
+
+        List<BadgeAcqInfo> owned = memberService.findAllBadgeAcq(MEMBER_ID);
+
+        assertThat(owned).hasSize(1);
+        assertThat(owned.get(0).getBadgeInfo().getId()).isEqualTo(badge.getId());
+        assertThat(owned.get(0).getHasBadge()).isTrue();
+    }
+}
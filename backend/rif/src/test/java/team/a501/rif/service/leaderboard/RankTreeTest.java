@@ -0,0 +1,76 @@
+package team.a501.rif.service.leaderboard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankTreeTest {
+
+    private static final Comparator<Map.Entry<String, Integer>> RANKING_ORDER =
+            Comparator.<Map.Entry<String, Integer>>comparingInt(Map.Entry::getValue).reversed()
+                    .thenComparing(Map.Entry::getKey);
+
+    @DisplayName("경험치 내림차순, 학번 오름차순 순위가 전체 정렬 결과와 같다")
+    @Test
+    void rankMatchesFullSort() {
+
+        Random random = new Random(501);
+
+        RankTree rankTree = new RankTree();
+        Map<String, Integer> expById = new HashMap<>();
+
+        for (int i = 0; i < 2000; ++i) {
+
+            String id = String.format("%07d", random.nextInt(500));
+            int exp = random.nextInt(50);
+
+            Integer previous = expById.put(id, exp);
+            if (previous != null) {
+                assertThat(rankTree.remove(id, previous)).isTrue();
+            }
+            rankTree.insert(id, exp);
+
+            if (random.nextInt(10) == 0) {
+                String removedId = expById.keySet().iterator().next();
+                assertThat(rankTree.remove(removedId, expById.remove(removedId))).isTrue();
+            }
+        }
+
+        List<String> sorted = expById.entrySet()
+                .stream()
+                .sorted(RANKING_ORDER)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        assertThat(rankTree.size()).isEqualTo(sorted.size());
+
+        for (int i = 0; i < sorted.size(); ++i) {
+            String id = sorted.get(i);
+            assertThat(rankTree.rank(id, expById.get(id))).isEqualTo(i + 1);
+        }
+
+        List<String> top10 = rankTree.top(10)
+                .stream()
+                .map(LeaderboardEntry::getMemberId)
+                .collect(Collectors.toList());
+
+        assertThat(top10).isEqualTo(sorted.subList(0, 10));
+    }
+
+    @DisplayName("없는 키 삭제는 트리를 바꾸지 않는다")
+    @Test
+    void removeMissing() {
+
+        RankTree rankTree = new RankTree();
+        rankTree.insert("0847836", 10);
+        rankTree.insert("1234567", 20);
+
+        assertThat(rankTree.remove("0847836", 20)).isFalse();
+        assertThat(rankTree.size()).isEqualTo(2);
+        assertThat(rankTree.rank("0847836", 10)).isEqualTo(2);
+    }
+}
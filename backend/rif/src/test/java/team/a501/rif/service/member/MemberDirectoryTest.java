@@ -0,0 +1,131 @@
+package team.a501.rif.service.member;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import team.a501.rif.domain.member.Member;
+import team.a501.rif.dto.member.GetMembersName;
+import team.a501.rif.dto.member.MemberDirectoryResponse;
+import team.a501.rif.repository.member.MemberRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 스트리밍은 별도 커넥션으로 읽으므로 테스트 트랜잭션 없이 커밋된 데이터를 쓴다
+// fetch-size를 회원 수보다 작게 두어 여러 번 나눠 읽게 한다
+@DataJpaTest(showSql = false, properties = "rif.member.directory.fetch-size=4")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({MemberDirectory.class, MemberDirectoryTest.DirectoryConfig.class})
+class MemberDirectoryTest {
+
+    private static final int MEMBERS = 23;
+
+    @TestConfiguration
+    static class DirectoryConfig {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Autowired
+    private MemberDirectory memberDirectory;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+
+        List<Member> members = new ArrayList<>();
+
+        // 저장 순서와 학번 순서를 다르게 둔다
+        for (int i = MEMBERS - 1; i >= 0; --i) {
+
+            String id = String.format("%07d", i);
+
+            members.add(Member.builder()
+                    .id(id)
+                    .password(id)
+                    .uid("uid-" + id)
+                    .name("회원" + i)
+                    .point(0)
+                    .exp(0)
+                    .profileImgPath(Member.DEFAULT_PROFILE_IMG)
+                    .build());
+        }
+
+        memberRepository.saveAll(members);
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+    }
+
+    @DisplayName("cursor를 따라가면 모든 회원을 학번순으로 한 번씩 읽는다")
+    @Test
+    void pagesByCursor() {
+
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            MemberDirectoryResponse page = memberDirectory.page(cursor, 5);
+
+            page.getContent().forEach(m -> names.add(m.getName()));
+            assertThat(page.getHasNext()).isEqualTo(page.getNextCursor() != null);
+
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(5);
+        assertThat(names).hasSize(MEMBERS).startsWith("회원0", "회원1").endsWith("회원22");
+    }
+
+    @DisplayName("size가 범위를 벗어나면 거절한다")
+    @Test
+    void rejectsSize() {
+
+        assertThatThrownBy(() -> memberDirectory.page(null, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> memberDirectory.page(null, MemberDirectory.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("스트리밍 응답은 /member/name과 같은 모양에 모든 회원이 학번순으로 들어 있다")
+    @Test
+    void streamsAll() throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int written = memberDirectory.writeAll(out);
+
+        JsonNode members = objectMapper.readTree(out.toByteArray()).get("members");
+
+        assertThat(written).isEqualTo(MEMBERS);
+        assertThat(members).hasSize(MEMBERS);
+        assertThat(objectMapper.treeToValue(members.get(0), GetMembersName.class).getName()).isEqualTo("회원0");
+        assertThat(members.get(MEMBERS - 1).get("name").asText()).isEqualTo("회원22");
+    }
+}
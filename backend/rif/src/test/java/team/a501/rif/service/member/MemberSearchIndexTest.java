@@ -0,0 +1,76 @@
+package team.a501.rif.service.member;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberSearchIndexTest {
+
+    private MemberSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+
+        // rebuild를 부르지 않으므로 저장소는 필요 없다
+        index = new MemberSearchIndex(null);
+
+        index.put("0000001", "박도윤", "/profile/1.png");
+        index.put("0000002", "박도현", "/profile/2.png");
+        index.put("0000003", "김도윤", "/profile/3.png");
+        index.put("0000004", "강승곤", "/profile/4.png");
+        index.put("0000005", "Kim Minji", "/profile/5.png");
+    }
+
+    @DisplayName("이름 가운데 들어 있는 글자로도 찾고 결과는 이름순이다")
+    @Test
+    void searchesSubstring() {
+
+        assertThat(names(index.search("도윤", 10))).containsExactly("김도윤", "박도윤");
+        assertThat(names(index.search("도", 10))).containsExactly("김도윤", "박도윤", "박도현");
+        assertThat(names(index.search("minji", 10))).containsExactly("Kim Minji");
+        assertThat(names(index.search("도윤현", 10))).isEmpty();
+    }
+
+    @DisplayName("자음만 주면 초성으로 찾는다")
+    @Test
+    void searchesChoseong() {
+
+        assertThat(names(index.search("ㅂㄷㅇ", 10))).containsExactly("박도윤");
+        assertThat(names(index.search("ㄷㅇ", 10))).containsExactly("김도윤", "박도윤");
+        assertThat(names(index.autocomplete("ㅂㄷ", 10))).containsExactly("박도윤", "박도현");
+    }
+
+    @DisplayName("자동완성은 접두사로 시작하는 이름만 limit개까지 돌려준다")
+    @Test
+    void autocompletesPrefix() {
+
+        assertThat(names(index.autocomplete("박", 10))).containsExactly("박도윤", "박도현");
+        assertThat(names(index.autocomplete("박", 1))).containsExactly("박도윤");
+        assertThat(names(index.autocomplete("도", 10))).isEmpty();
+        assertThat(names(index.search("도", 2))).hasSize(2);
+    }
+
+    @DisplayName("이름이 바뀌거나 탈퇴하면 색인에 바로 반영된다")
+    @Test
+    void followsRenameAndRemove() {
+
+        index.put("0000001", "이서연", "/profile/1.png");
+
+        assertThat(names(index.search("ㅂㄷㅇ", 10))).isEmpty();
+        assertThat(names(index.search("서연", 10))).containsExactly("이서연");
+
+        index.remove("0000001");
+
+        assertThat(index.search("서연", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    private static List<String> names(List<MemberSearchIndex.Hit> hits) {
+        return hits.stream().map(MemberSearchIndex.Hit::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,85 @@
+package team.a501.rif.service.member;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import team.a501.rif.domain.member.Member;
+import team.a501.rif.repository.member.MemberRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 배치 경계를 지나가도록 batch-size를 시드 건수보다 작게 둔다
+// 운영 시드(members.json) 대신 건수가 정해진 테스트 전용 시드(seed/members.json, 23건)를 읽는다
+@DataJpaTest(showSql = false, properties = {"rif.seed.batch-size=10", "rif.seed.hash-threads=4"})
+@Import({MemberSeedLoader.class, MemberUidCache.class, MemberSeedLoaderTest.SeedConfig.class})
+class MemberSeedLoaderTest {
+
+    @TestConfiguration
+    static class SeedConfig {
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Autowired
+    private MemberSeedLoader memberSeedLoader;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private static final int SEED_MEMBERS = 23;
+
+    @DisplayName("시드 파일을 스트리밍으로 읽어 모두 등록하고 비밀번호는 해시해서 저장한다")
+    @Test
+    void loadsMembersJson() throws IOException {
+
+        int loaded;
+        try (InputStream in = new ClassPathResource("seed/members.json").getInputStream()) {
+            loaded = memberSeedLoader.load(in);
+        }
+
+        assertThat(loaded).isEqualTo(SEED_MEMBERS);
+        assertThat(memberRepository.count()).isEqualTo(SEED_MEMBERS);
+
+        Member member = memberRepository.findById("0847836").orElseThrow();
+
+        assertThat(member.getUid()).isEqualTo("3485778741");
+        assertThat(member.getPoint()).isEqualTo(2000);
+        assertThat(member.getProfileImgPath()).isEqualTo(Member.DEFAULT_PROFILE_IMG);
+        assertThat(member.getPassword()).isNotEqualTo("0847836");
+        assertThat(passwordEncoder.matches("0847836", member.getPassword())).isTrue();
+    }
+
+    @DisplayName("배열이 아닌 시드 파일은 거절한다")
+    @Test
+    void rejectsNonArray() {
+
+        InputStream in = new ByteArrayInputStream("{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> memberSeedLoader.load(in)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
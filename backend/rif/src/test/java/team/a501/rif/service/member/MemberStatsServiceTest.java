@@ -0,0 +1,182 @@
+package team.a501.rif.service.member;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import team.a501.rif.domain.member.Member;
+import team.a501.rif.dto.member.MemberStatsResponse;
+import team.a501.rif.dto.riflog.RifLogSaveRequest;
+import team.a501.rif.exception.RifCustomException;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.repository.member.MemberStatsRepository;
+import team.a501.rif.repository.riflog.RifLogCounterRepository;
+import team.a501.rif.repository.riflog.RifLogRepository;
+import team.a501.rif.service.riflog.RifLogCounterCreator;
+import team.a501.rif.service.riflog.RifLogService;
+import team.a501.rif.service.riflog.RifLogServiceImpl;
+import team.a501.rif.service.stats.RifLogRollupBuffer;
+import team.a501.rif.service.stats.RifLogRollupServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+// 첫 통계 행은 별도 트랜잭션으로 만들어지므로 테스트 트랜잭션 없이 실제로 커밋한다
+// 커밋 뒤 롤업 버퍼가 upsert(on duplicate key update)를 쓰므로 H2도 MariaDB 모드로 띄운다
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:rif-stats;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({RifLogServiceImpl.class, MemberUidCache.class, MemberStatsServiceImpl.class, MemberStatsCreator.class,
+        RifLogCounterCreator.class, RifLogRollupBuffer.class, RifLogRollupServiceImpl.class})
+class MemberStatsServiceTest {
+
+    private static final String MEMBER_ID = "0847836";
+    private static final String UID = "3485778741";
+
+    @Autowired
+    private RifLogService rifLogService;
+
+    @Autowired
+    private MemberStatsService memberStatsService;
+
+    @Autowired
+    private MemberStatsRepository memberStatsRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private RifLogRepository rifLogRepository;
+
+    @Autowired
+    private RifLogCounterRepository rifLogCounterRepository;
+
+    @BeforeEach
+    void setUp() {
+        memberRepository.save(Member.builder()
+                .id(MEMBER_ID)
+                .password(MEMBER_ID)
+                .uid(UID)
+                .name("kang")
+                .point(0)
+                .exp(0)
+                .profileImgPath("/profile/default.png")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        rifLogRepository.deleteAll();
+        rifLogCounterRepository.deleteAll();
+        memberStatsRepository.deleteAll();
+        memberRepository.deleteAll();
+    }
+
+    @DisplayName("저장할 때마다 통계가 누적되고, RifLog로부터 다시 계산한 값과 같다")
+    @Test
+    void accumulatesAndRebuilds() {
+
+        assertThat(memberStatsService.findByMemberId(MEMBER_ID).getVisitCount()).isZero();
+
+        save(3, 2, 1, 1, 40);
+        save(2, 2, 0, 0, 75);
+        save(0, 0, 4, 1, 10);
+
+        MemberStatsResponse stats = memberStatsService.findByMemberId(MEMBER_ID);
+
+        assertThat(stats.getVisitCount()).isEqualTo(3L);
+        assertThat(stats.getItemsSorted()).isEqualTo(10L);
+        assertThat(stats.getPlasticAccuracy()).isCloseTo(4.0 / 5, within(1e-9));
+        assertThat(stats.getRecycleAccuracy()).isCloseTo(2.0 / 5, within(1e-9));
+        assertThat(stats.getBestScore()).isEqualTo(75);
+        assertThat(stats.getAverageExpPerVisit()).isCloseTo(125.0 / 3, within(1e-9));
+        assertThat(stats.getLastVisit()).isAfterOrEqualTo(stats.getFirstVisit());
+
+        memberStatsRepository.deleteAll();
+
+        assertThat(memberStatsService.rebuild(List.of(MEMBER_ID))).isEqualTo(1);
+
+        MemberStatsResponse rebuilt = memberStatsService.findByMemberId(MEMBER_ID);
+
+        assertThat(rebuilt.getVisitCount()).isEqualTo(stats.getVisitCount());
+        assertThat(rebuilt.getItemsSorted()).isEqualTo(stats.getItemsSorted());
+        assertThat(rebuilt.getPlasticAccuracy()).isEqualTo(stats.getPlasticAccuracy());
+        assertThat(rebuilt.getRecycleAccuracy()).isEqualTo(stats.getRecycleAccuracy());
+        assertThat(rebuilt.getBestScore()).isEqualTo(stats.getBestScore());
+        assertThat(rebuilt.getAverageExpPerVisit()).isEqualTo(stats.getAverageExpPerVisit());
+    }
+
+    @DisplayName("첫 저장이 동시에 들어와도 통계와 카운터 행은 하나이고 빠지는 방문이 없다")
+    @Test
+    void concurrentFirstVisits() throws Exception {
+
+        int visits = 32;
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int i = 0; i < visits; ++i) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    save(1, 1, 1, 1, 10);
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<?> future : futures)
+                future.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(memberStatsRepository.count()).isEqualTo(1L);
+        assertThat(memberStatsService.findByMemberId(MEMBER_ID).getVisitCount()).isEqualTo((long) visits);
+
+        assertThat(rifLogCounterRepository.count()).isEqualTo(1L);
+        assertThat(rifLogCounterRepository.findRowByMemberId(MEMBER_ID)).hasValueSatisfying(counter -> {
+            assertThat(counter.getRifUseCount()).isEqualTo((long) visits);
+            assertThat(counter.getPlasticSuccessCount()).isEqualTo((long) visits);
+            assertThat(counter.getRecycleSuccessCount()).isEqualTo((long) visits);
+            assertThat(counter.getPerfectSuccessCount()).isEqualTo((long) visits);
+        });
+    }
+
+    @DisplayName("없는 멤버의 통계는 조회할 수 없다")
+    @Test
+    void missingMember() {
+
+        assertThatThrownBy(() -> memberStatsService.findByMemberId("9999999"))
+                .isInstanceOf(RifCustomException.class);
+    }
+
+    private void save(int plasticTotal, int plasticOk, int recycleTotal, int recycleOk, int exp) {
+
+        rifLogService.save(RifLogSaveRequest.builder()
+                .uid(UID)
+                .plasticTotal(plasticTotal)
+                .plasticOk(plasticOk)
+                .recycleTotal(recycleTotal)
+                .recycleOk(recycleOk)
+                .build(), exp, 0);
+    }
+}
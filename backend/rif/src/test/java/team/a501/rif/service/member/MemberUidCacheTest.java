@@ -0,0 +1,76 @@
+package team.a501.rif.service.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import team.a501.rif.domain.member.Member;
+import team.a501.rif.dto.member.MemberIdentity;
+import team.a501.rif.exception.ErrorCode;
+import team.a501.rif.exception.RifCustomException;
+import team.a501.rif.repository.member.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@DataJpaTest(showSql = false)
+@Import(MemberUidCache.class)
+class MemberUidCacheTest {
+
+    private static final String UID = "04:A2:19:7F";
+
+    @Autowired
+    private MemberUidCache memberUidCache;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @DisplayName("등록된 uid는 캐시된 뒤 DB가 바뀌어도 invalidate 전까지 같은 값을 돌려준다")
+    @Test
+    void cachesKnownUid() {
+
+        saveMember("0847836", "kang");
+
+        MemberIdentity first = memberUidCache.resolve(UID);
+
+        memberRepository.deleteAll();
+
+        assertThat(memberUidCache.resolve(UID).getMemberId()).isEqualTo(first.getMemberId());
+
+        memberUidCache.invalidate(UID);
+
+        assertThat(memberUidCache.find(UID)).isEmpty();
+    }
+
+    @DisplayName("미등록 uid는 스택 트레이스 없이 거절되고, invalidate 전까지 DB를 다시 보지 않는다")
+    @Test
+    void cachesUnknownUid() {
+
+        RifCustomException e = catchThrowableOfType(() -> memberUidCache.resolve(UID), RifCustomException.class);
+
+        assertThat(e.getErrorCode()).isEqualTo(ErrorCode.ENTITY_INSTANCE_NOT_FOUND);
+        assertThat(e.getStackTrace()).isEmpty();
+
+        saveMember("0847836", "kang");
+
+        assertThat(memberUidCache.find(UID)).isEmpty();
+
+        memberUidCache.invalidate(UID);
+
+        assertThat(memberUidCache.resolve(UID).getName()).isEqualTo("kang");
+    }
+
+    private void saveMember(String id, String name) {
+
+        memberRepository.saveAndFlush(Member.builder()
+                .id(id)
+                .password(id)
+                .uid(UID)
+                .name(name)
+                .point(0)
+                .exp(0)
+                .profileImgPath("/profile/default.png")
+                .build());
+    }
+}
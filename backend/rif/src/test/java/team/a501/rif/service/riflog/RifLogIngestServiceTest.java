@@ -0,0 +1,186 @@
+package team.a501.rif.service.riflog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import team.a501.rif.RifGlobalExceptionHandler;
+import team.a501.rif.dto.member.MemberIdentity;
+import team.a501.rif.dto.riflog.RifLogSaveRequest;
+import team.a501.rif.exception.ErrorCode;
+import team.a501.rif.exception.ExceptionResponse;
+import team.a501.rif.exception.RifCustomException;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.service.member.MemberService;
+import team.a501.rif.service.member.MemberUidCache;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+// writer 스레드가 부르는 MemberService.addRifLogs만 흉내 내고 나머지는 실제 구현으로 돌린다
+class RifLogIngestServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @DisplayName("큐가 가득 차면 INGEST_QUEUE_FULL로 거절하고 503과 Retry-After로 응답한다")
+    @Test
+    void queueFull() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> saved = new CopyOnWriteArrayList<>();
+
+        RifLogIngestServiceImpl service = start(1, 1, requests -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            requests.forEach(r -> saved.add(r.getUid()));
+        });
+
+        try {
+            service.accept(request("a"));
+
+            // writer가 첫 항목을 들고 멈춰 있는 동안 큐 한 칸을 채운다
+            await(() -> service.getStats().getQueueDepth() == 0);
+            service.accept(request("b"));
+
+            RifCustomException e = catchThrowableOfType(() -> service.accept(request("c")), RifCustomException.class);
+
+            assertThat(e.getErrorCode()).isEqualTo(ErrorCode.INGEST_QUEUE_FULL);
+            assertThat(service.getStats().getRejectedCount()).isEqualTo(1L);
+
+            ResponseEntity<ExceptionResponse> response = new RifGlobalExceptionHandler().handleRifCustomException(e);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotBlank();
+        } finally {
+            release.countDown();
+            service.shutdown();
+        }
+
+        assertThat(saved).containsExactly("a", "b");
+    }
+
+    @DisplayName("커밋에 실패한 항목은 dead letter로 남고, 다음 시작 때 그 항목만 다시 적재된다")
+    @Test
+    void recoverAfterFailedCommit() throws Exception {
+
+        List<String> saved = new CopyOnWriteArrayList<>();
+
+        RifLogIngestServiceImpl first = start(10, 10, requests -> {
+            if (requests.stream().anyMatch(r -> r.getUid().equals("bad")))
+                throw new IllegalStateException("commit failed");
+            requests.forEach(r -> saved.add(r.getUid()));
+        });
+
+        first.accept(request("a"));
+        first.accept(request("bad"));
+        first.accept(request("b"));
+
+        await(() -> first.getStats().getCommittedCount() + first.getStats().getFailedCount() == 3);
+        first.shutdown();
+
+        assertThat(saved).containsExactlyInAnyOrder("a", "b");
+        assertThat(first.getStats().getFailedCount()).isEqualTo(1L);
+        assertThat(Files.readString(dir.resolve("riflog.deadletter"))).contains("\"bad\"");
+
+        // 커밋된 항목은 checkpoint를 지났고, 실패한 항목만 다시 적재된다
+        saved.clear();
+
+        RifLogIngestServiceImpl second = start(10, 10, requests -> requests.forEach(r -> saved.add(r.getUid())));
+
+        await(() -> second.getStats().getCommittedCount() == 1);
+        second.shutdown();
+
+        assertThat(saved).containsExactly("bad");
+        assertThat(dir.resolve("riflog.deadletter")).doesNotExist();
+        assertThat(dir.resolve("riflog.deadletter.replay")).doesNotExist();
+    }
+
+    private RifLogIngestServiceImpl start(int queueCapacity, int maxBatchSize, Consumer<List<RifLogSaveRequest>> addRifLogs) throws Exception {
+
+        MemberService memberService = stub(MemberService.class, (method, args) -> {
+            if (method.equals("addRifLogs")) {
+                @SuppressWarnings("unchecked")
+                List<RifLogSaveRequest> requests = (List<RifLogSaveRequest>) args[0];
+                addRifLogs.accept(requests);
+                return List.of();
+            }
+            throw new UnsupportedOperationException(method);
+        });
+
+        MemberRepository memberRepository = stub(MemberRepository.class, (method, args) -> {
+            if (method.equals("findIdentityByUid"))
+                return Optional.of(MemberIdentity.builder().memberId("0847836").uid((String) args[0]).name("kang").build());
+            throw new UnsupportedOperationException(method);
+        });
+
+        RifLogService rifLogService = stub(RifLogService.class, (method, args) -> {
+            if (method.equals("findBySubmissionId"))
+                return Optional.empty();
+            throw new UnsupportedOperationException(method);
+        });
+
+        RifLogIngestServiceImpl service = new RifLogIngestServiceImpl(memberService,
+                new MemberUidCache(memberRepository, 100, 600, 100, 30),
+                rifLogService,
+                new RifLogSubmissionCache(100, 600),
+                objectMapper,
+                true, queueCapacity, maxBatchSize, 0, 10_000, dir.toString());
+
+        service.start();
+
+        return service;
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Handler handler) {
+
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                method.getName().equals("toString") ? type.getSimpleName() : handler.invoke(method.getName(), args));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (!condition.getAsBoolean()) {
+
+            assertThat(System.nanoTime()).as("timed out").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static RifLogSaveRequest request(String uid) {
+
+        return RifLogSaveRequest.builder()
+                .uid(uid)
+                .plasticTotal(1)
+                .plasticOk(1)
+                .recycleTotal(1)
+                .recycleOk(1)
+                .build();
+    }
+}
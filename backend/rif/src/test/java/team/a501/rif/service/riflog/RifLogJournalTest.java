@@ -0,0 +1,109 @@
+package team.a501.rif.service.riflog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.a501.rif.dto.riflog.RifLogSaveRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RifLogJournalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    private RifLogSaveRequest request(String uid) {
+        return RifLogSaveRequest.builder()
+                .uid(uid)
+                .plasticTotal(3)
+                .plasticOk(2)
+                .recycleTotal(1)
+                .recycleOk(1)
+                .build();
+    }
+
+    @DisplayName("커밋되지 않은 항목만 재시작 후 복구된다")
+    @Test
+    void recoverUncommittedEntries() throws IOException {
+
+        RifLogJournal journal = new RifLogJournal(dir, objectMapper);
+        assertThat(journal.recover()).isEmpty();
+
+        journal.append(request("a"));
+        long second = journal.append(request("b"));
+        journal.append(request("c"));
+        journal.commit(second - 1);
+        journal.close();
+
+        RifLogJournal reopened = new RifLogJournal(dir, objectMapper);
+        List<RifLogJournal.Entry> pending = reopened.recover();
+
+        assertThat(pending.stream().map(e -> e.getRequest().getUid()).collect(Collectors.toList()))
+                .containsExactly("b", "c");
+        assertThat(pending.get(0).getRequest().getPlasticOk()).isEqualTo(2);
+
+        // seq는 재시작 후에도 이어진다
+        assertThat(reopened.append(request("d"))).isEqualTo(4L);
+        reopened.close();
+    }
+
+    @DisplayName("모두 커밋되면 저널을 비우고 seq는 계속 증가한다")
+    @Test
+    void truncateWhenFullyCommitted() throws IOException {
+
+        RifLogJournal journal = new RifLogJournal(dir, objectMapper);
+        journal.recover();
+
+        journal.append(request("a"));
+        long last = journal.append(request("b"));
+        journal.commit(last);
+
+        assertThat(Files.size(dir.resolve("riflog.journal"))).isZero();
+        assertThat(journal.append(request("c"))).isEqualTo(last + 1);
+        journal.close();
+
+        RifLogJournal reopened = new RifLogJournal(dir, objectMapper);
+        List<RifLogJournal.Entry> pending = reopened.recover();
+
+        assertThat(pending).hasSize(1);
+        assertThat(pending.get(0).getSeq()).isEqualTo(last + 1);
+        reopened.close();
+    }
+
+    @DisplayName("기록 도중 잘린 마지막 줄은 버리고 이어서 기록한다")
+    @Test
+    void skipTornLastLine() throws IOException {
+
+        RifLogJournal journal = new RifLogJournal(dir, objectMapper);
+        journal.recover();
+        journal.append(request("a"));
+        journal.close();
+
+        Files.write(dir.resolve("riflog.journal"), "2\t{\"uid\":\"b\",\"plas".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        RifLogJournal reopened = new RifLogJournal(dir, objectMapper);
+        assertThat(reopened.recover()).hasSize(1);
+
+        reopened.append(request("c"));
+        reopened.close();
+
+        RifLogJournal recovered = new RifLogJournal(dir, objectMapper);
+        List<RifLogJournal.Entry> pending = recovered.recover();
+
+        assertThat(pending.stream().map(e -> e.getRequest().getUid()).collect(Collectors.toList()))
+                .containsExactly("a", "c");
+        recovered.close();
+    }
+}
@@ -0,0 +1,153 @@
+package team.a501.rif.service.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import team.a501.rif.domain.member.Member;
+import team.a501.rif.domain.riflog.RifLog;
+import team.a501.rif.domain.stats.RollupGrain;
+import team.a501.rif.dto.stats.TimeSeriesPoint;
+import team.a501.rif.dto.stats.TimeSeriesResponse;
+import team.a501.rif.repository.member.MemberRepository;
+import team.a501.rif.repository.riflog.RifLogRepository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 롤업 upsert가 MariaDB 문법(on duplicate key update)이라 H2도 MariaDB 모드로 띄운다
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:rif-rollup;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RifLogRollupServiceImpl.class)
+class RifLogRollupServiceTest {
+
+    private static final LocalDateTime HOUR = LocalDateTime.of(2023, 3, 14, 9, 0);
+
+    @Autowired
+    private RifLogRollupService rifLogRollupService;
+
+    @Autowired
+    private RifLogRepository rifLogRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @DisplayName("시간 버킷 증가분이 일/월 롤업에도 더해지고, 빈 버킷은 0으로 채워진다")
+    @Test
+    void appliesToAllGrains() {
+
+        rifLogRollupService.apply(Map.of(HOUR, counts(2, 3, 2, 1, 1, 40),
+                HOUR.plusHours(2), counts(1, 1, 1, 0, 0, 10)));
+        rifLogRollupService.apply(Map.of(HOUR, counts(1, 0, 0, 2, 2, 5)));
+
+        TimeSeriesResponse hourly = rifLogRollupService.findTimeSeries(RollupGrain.HOUR, HOUR, HOUR.plusHours(3));
+
+        assertThat(hourly.getPoints()).extracting(TimeSeriesPoint::getSubmissions).containsExactly(3L, 0L, 1L);
+        assertThat(hourly.getPoints().get(0).getPlasticAccuracy()).isEqualTo(2.0 / 3);
+        assertThat(hourly.getPoints().get(0).getRecycleAccuracy()).isEqualTo(1.0);
+
+        TimeSeriesPoint day = rifLogRollupService
+                .findTimeSeries(RollupGrain.DAY, HOUR, HOUR.plusDays(1)).getPoints().get(0);
+
+        assertThat(day.getBucketStart()).isEqualTo(HOUR.toLocalDate().atStartOfDay());
+        assertThat(day.getSubmissions()).isEqualTo(4L);
+        assertThat(day.getExpTotal()).isEqualTo(55L);
+
+        TimeSeriesPoint month = rifLogRollupService
+                .findTimeSeries(RollupGrain.MONTH, HOUR, HOUR.plusMonths(1)).getPoints().get(0);
+
+        assertThat(month.getBucketStart()).isEqualTo(LocalDateTime.of(2023, 3, 1, 0, 0));
+        assertThat(month.getSubmissions()).isEqualTo(4L);
+    }
+
+    @DisplayName("보정하면 어긋난 롤업이 RifLog와 다시 일치한다")
+    @Test
+    void correctsFromRifLogs() {
+
+        Member member = memberRepository.save(Member.builder()
+                .id("0847836")
+                .password("0847836")
+                .uid("uid")
+                .name("kang")
+                .point(0)
+                .exp(0)
+                .profileImgPath("/profile/default.png")
+                .build());
+
+        for (int i = 0; i < 3; ++i) {
+
+            RifLog rifLog = RifLog.builder()
+                    .plasticTotal(2)
+                    .plasticOk(1)
+                    .recycleTotal(1)
+                    .recycleOk(1)
+                    .exp(20)
+                    .point(2)
+                    .build();
+
+            rifLog.setMember(member);
+            rifLogRepository.save(rifLog);
+        }
+
+        rifLogRepository.flush();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime hour = RollupGrain.HOUR.truncate(now);
+
+        // 잃어버린 증가분과 잘못 더해진 값을 흉내낸다
+        rifLogRollupService.apply(Map.of(hour, counts(1, 2, 1, 1, 1, 20),
+                hour.minusHours(1), counts(5, 5, 5, 5, 5, 5)));
+
+        int corrected = rifLogRollupService.correct(hour.minusHours(1), hour.plusHours(1));
+
+        assertThat(corrected).isEqualTo(1);
+
+        TimeSeriesResponse hourly = rifLogRollupService.findTimeSeries(RollupGrain.HOUR, hour.minusHours(1), hour.plusHours(1));
+
+        assertThat(hourly.getPoints()).extracting(TimeSeriesPoint::getSubmissions).containsExactly(0L, 3L);
+        assertThat(hourly.getPoints().get(1).getPlasticAccuracy()).isEqualTo(0.5);
+
+        assertThat(rifLogRollupService.findTimeSeries(RollupGrain.DAY, now, now.plusDays(1))
+                .getPoints().get(0).getSubmissions()).isEqualTo(3L);
+        assertThat(rifLogRollupService.findTimeSeries(RollupGrain.MONTH, now, now.plusMonths(1))
+                .getPoints().get(0).getExpTotal()).isEqualTo(60L);
+    }
+
+    @DisplayName("거꾸로 된 구간과 너무 긴 구간은 거절한다")
+    @Test
+    void rejectsBadRange() {
+
+        assertThatThrownBy(() -> rifLogRollupService.findTimeSeries(RollupGrain.HOUR, HOUR, HOUR))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> rifLogRollupService.findTimeSeries(RollupGrain.HOUR, HOUR, HOUR.plusYears(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> rifLogRollupService.correct(HOUR, HOUR.plusDays(32)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RollupCounts counts(int submissions, int plasticTotal, int plasticOk,
+                                       int recycleTotal, int recycleOk, int expTotal) {
+
+        RollupCounts counts = new RollupCounts();
+
+        counts.submissions = submissions;
+        counts.plasticTotal = plasticTotal;
+        counts.plasticOk = plasticOk;
+        counts.recycleTotal = recycleTotal;
+        counts.recycleOk = recycleOk;
+        counts.expTotal = expTotal;
+
+        return counts;
+    }
+}
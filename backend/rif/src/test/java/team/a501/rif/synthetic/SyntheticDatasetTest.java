@@ -0,0 +1,142 @@
+package team.a501.rif.synthetic;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import team.a501.rif.domain.achievement.AchievementCompleteChecker;
+import team.a501.rif.domain.achievement.AchievementTag;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticDatasetTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2022, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    private static final long[] BADGE_IDS = {1, 2, 3, 4, 5, 6, 7, 8};
+    private static final AchievementTag[] TAGS = AchievementTag.values();
+    private static final long[] ACHIEVEMENT_IDS = IntStream.rangeClosed(1, TAGS.length).asLongStream().toArray();
+
+    @DisplayName("같은 시드면 같은 데이터가, 다른 시드면 다른 데이터가 나온다")
+    @Test
+    void deterministicPerSeed() {
+
+        SyntheticDataset first = dataset(7);
+        SyntheticDataset second = dataset(7);
+
+        for (int i = 0; i < first.getMemberCount(); ++i) {
+            assertThat(first.getLogCount(i)).isEqualTo(second.getLogCount(i));
+            assertThat(record(first, i)).isEqualTo(record(second, i));
+        }
+
+        SyntheticDataset other = dataset(8);
+
+        assertThat(IntStream.range(0, 500).anyMatch(i -> first.getLogCount(i) != other.getLogCount(i))).isTrue();
+    }
+
+    @DisplayName("RifLog 수는 Zipf 분포로 소수의 멤버에게 몰리고 합은 요청한 수에 가깝다")
+    @Test
+    void zipfSkewedActivity() {
+
+        SyntheticDataset dataset = dataset(501);
+
+        int[] counts = IntStream.range(0, dataset.getMemberCount()).map(dataset::getLogCount).sorted().toArray();
+        long top = IntStream.range(counts.length - 50, counts.length).mapToLong(i -> counts[i]).sum();
+
+        assertThat(dataset.getTotalLogCount()).isBetween(95_000L, 105_000L);
+        assertThat(top).isGreaterThan(dataset.getTotalLogCount() / 2);
+        assertThat(dataset.getLogOffset(1)).isEqualTo(dataset.getLogCount(0));
+    }
+
+    @DisplayName("카운터, 경험치, 업적은 만들어진 RifLog와 일치하고 포인트는 음수가 되지 않는다")
+    @Test
+    void consistentWithRifLogs() {
+
+        SyntheticDataset dataset = dataset(501);
+
+        for (int i = 0; i < dataset.getMemberCount(); ++i) {
+
+            Recorder recorder = new Recorder();
+            SyntheticMember member = dataset.generate(i, recorder);
+
+            assertThat(recorder.rifLogs).isEqualTo(dataset.getLogCount(i));
+            assertThat(member.getRifUseCount()).isEqualTo(recorder.rifLogs);
+            assertThat(member.getPlasticSuccessCount()).isEqualTo(recorder.plasticSuccess);
+            assertThat(member.getRecycleSuccessCount()).isEqualTo(recorder.recycleSuccess);
+            assertThat(member.getPerfectSuccessCount()).isEqualTo(recorder.perfectSuccess);
+            assertThat(member.getExp()).isEqualTo(recorder.exp);
+            assertThat(member.getPoint()).isBetween(0, recorder.point);
+            assertThat((recorder.point - member.getPoint()) % SyntheticDataset.GATCHA_COST).isZero();
+
+            Set<Long> expected = new HashSet<>();
+            for (int a = 0; a < TAGS.length; ++a)
+                if (AchievementCompleteChecker.isCompleted(TAGS[a], member.getRifUseCount(), member.getPlasticSuccessCount(),
+                        member.getRecycleSuccessCount(), member.getPerfectSuccessCount()))
+                    expected.add(ACHIEVEMENT_IDS[a]);
+
+            assertThat(recorder.achievements).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(recorder.badges).doesNotHaveDuplicates();
+            assertThat(recorder.created).isSorted().allMatch(t -> !t.isBefore(START) && !t.isAfter(END));
+        }
+    }
+
+    private static SyntheticDataset dataset(long seed) {
+        return new SyntheticDataset(seed, 2000, 100_000, 1.1, START, END, BADGE_IDS, ACHIEVEMENT_IDS, TAGS);
+    }
+
+    private static List<Object> record(SyntheticDataset dataset, int index) {
+
+        Recorder recorder = new Recorder();
+        SyntheticMember member = dataset.generate(index, recorder);
+
+        return List.of(member.getName(), member.getExp(), member.getPoint(),
+                recorder.created, recorder.badges, recorder.achievements);
+    }
+
+    private static class Recorder implements SyntheticDataset.Sink {
+
+        int rifLogs;
+        int plasticSuccess;
+        int recycleSuccess;
+        int perfectSuccess;
+        int exp;
+        int point;
+
+        final List<LocalDateTime> created = new ArrayList<>();
+        final List<Long> badges = new ArrayList<>();
+        final List<Long> achievements = new ArrayList<>();
+
+        @Override
+        public void rifLog(long seq, int plasticTotal, int plasticOk, int recycleTotal, int recycleOk,
+                           int exp, int point, LocalDateTime created) {
+
+            boolean plastic = plasticTotal > 0 && plasticTotal == plasticOk;
+            boolean recycle = recycleTotal > 0 && recycleTotal == recycleOk;
+
+            rifLogs++;
+            if (plastic) plasticSuccess++;
+            if (recycle) recycleSuccess++;
+            if (plastic && recycle) perfectSuccess++;
+
+            this.exp += exp;
+            this.point += point;
+            this.created.add(created);
+        }
+
+        @Override
+        public void badgeAcq(int seq, long badgeId, LocalDateTime created) {
+            badges.add(badgeId);
+        }
+
+        @Override
+        public void achievementAcq(int seq, long achievementId, LocalDateTime created) {
+            achievements.add(achievementId);
+        }
+    }
+}
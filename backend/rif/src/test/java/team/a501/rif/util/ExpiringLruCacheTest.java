@@ -0,0 +1,101 @@
+package team.a501.rif.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringLruCacheTest {
+
+    // 테스트에서 시간을 직접 움직이기 위한 시계
+    private static class ManualClock extends Clock {
+
+        private long millis;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    @DisplayName("가득 차면 가장 오래 쓰이지 않은 항목부터 밀려난다")
+    @Test
+    void evictLeastRecentlyUsed() {
+
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(2, Duration.ofMinutes(1));
+
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertThat(cache.get("a")).contains(1);
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("c")).contains(3);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @DisplayName("유효 시간이 지난 항목은 조회되지 않는다")
+    @Test
+    void expireAfterTtl() {
+
+        ManualClock clock = new ManualClock();
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, Duration.ofSeconds(10), clock);
+
+        cache.put("a", 1);
+        clock.advance(Duration.ofSeconds(5));
+        cache.put("b", 2);
+        clock.advance(Duration.ofSeconds(5));
+
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.get("b")).contains(2);
+
+        clock.advance(Duration.ofSeconds(5));
+
+        assertThat(cache.evictExpired()).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+    }
+
+    @DisplayName("항목별 만료 시각을 지정할 수 있다")
+    @Test
+    void perEntryExpiry() {
+
+        ManualClock clock = new ManualClock();
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, Duration.ofHours(1), clock);
+
+        cache.put("short", 1, clock.millis() + 1000);
+        cache.put("expired", 2, clock.millis());
+
+        assertThat(cache.get("expired")).isEmpty();
+        assertThat(cache.get("short")).contains(1);
+
+        clock.advance(Duration.ofSeconds(1));
+
+        assertThat(cache.get("short")).isEmpty();
+    }
+}